@@ -5,25 +5,37 @@ import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.SignatureException;
+import de.mhus.nimbus.shared.utils.VersionedCache;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for creating and validating JWT tokens.
  * <p>
  * Uses the KeyService to resolve signing and verification keys by key id.
  * Supports both symmetric (HMAC with SecretKey) and asymmetric (RSA/ECDSA with PublicKey) algorithms.
+ * <p>
+ * Tokens verified with a public key are cached by their SHA-256 digest (bounded LRU,
+ * security.token-cache.*) for a short time and never beyond their expiration, so repeated requests
+ * with the same token skip the signature check. Key changes (KeyService.getKeyGeneration()) drop the entries.
  */
 @Service
 @Slf4j
@@ -32,6 +44,24 @@ public class JwtService {
 
     private final KeyService keyService;
 
+    @Value("${security.token-cache.max-entries:10000}")
+    private int tokenCacheMaxEntries = 10000;
+
+    @Value("${security.token-cache.ttl-seconds:30}")
+    private long tokenCacheTtlSeconds = 30;
+
+    private record VerifiedToken(Jws<Claims> jws, long validUntil, long keyGeneration) {
+    }
+
+    /**
+     * Token digest → verified claims.
+     */
+    private final VersionedCache<String, VerifiedToken> verifiedTokens =
+            new VersionedCache<>(() -> tokenCacheMaxEntries, () -> tokenCacheTtlSeconds * 1000);
+
+    private final AtomicLong tokenCacheHits = new AtomicLong();
+    private final AtomicLong tokenCacheMisses = new AtomicLong();
+
     public String createTokenWithPrivateKey(@NonNull KeyType type,
                                             @NonNull KeyIntent intent,
                                             @NonNull String subject,
@@ -118,14 +148,75 @@ public class JwtService {
      * @return optional containing the parsed claims if valid; empty if validation fails
      */
     public Optional<Jws<Claims>> validateTokenWithPublicKey(@NonNull String token, KeyType type, @NonNull KeyIntent intent) {
+        if (tokenCacheTtlSeconds <= 0) {
+            return verifyWithPublicKeys(token, type, intent);
+        }
+
+        String digest = tokenDigest(token, type, intent);
+        long now = System.currentTimeMillis();
+        long generation = keyService.getKeyGeneration();
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.validUntil() > now && cached.keyGeneration() == generation) {
+            tokenCacheHits.incrementAndGet();
+            return Optional.of(cached.jws());
+        }
+        tokenCacheMisses.incrementAndGet();
+        long loadVersion = verifiedTokens.getVersion();
+
+        Optional<Jws<Claims>> result = verifyWithPublicKeys(token, type, intent);
+        result.ifPresent(jws -> {
+            long validUntil = now + tokenCacheTtlSeconds * 1000;
+            Date expiration = jws.getPayload().getExpiration();
+            if (expiration != null) {
+                validUntil = Math.min(validUntil, expiration.getTime());
+            }
+            verifiedTokens.put(digest, new VerifiedToken(jws, validUntil, generation), loadVersion);
+        });
+        return result;
+    }
 
-        for (var publicKey : keyService.getPublicKeysForIntent(type, intent)) {
+    public long getTokenCacheHits() {
+        return tokenCacheHits.get();
+    }
+
+    public long getTokenCacheMisses() {
+        return tokenCacheMisses.get();
+    }
+
+    public int getTokenCacheSize() {
+        return verifiedTokens.size();
+    }
+
+    /**
+     * Verify with the cached public keys of the intent, reload the keys once if none matches.
+     */
+    private Optional<Jws<Claims>> verifyWithPublicKeys(String token, KeyType type, KeyIntent intent) {
+        List<PublicKey> keys = keyService.getPublicKeysForIntent(type, intent);
+        for (var publicKey : keys) {
             Optional<Jws<Claims>> result = parseToken(token, publicKey);
             if (result.isPresent()) return result;
         }
+        Optional<List<PublicKey>> reloaded = keyService.refreshPublicKeysForIntent(type, intent);
+        if (reloaded.isPresent()) {
+            for (var publicKey : reloaded.get()) {
+                if (keys.contains(publicKey)) continue;
+                Optional<Jws<Claims>> result = parseToken(token, publicKey);
+                if (result.isPresent()) return result;
+            }
+        }
         return Optional.empty();
     }
 
+    private static String tokenDigest(String token, KeyType type, KeyIntent intent) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((type + "/" + intent.owner() + "/" + intent.intent() + "/").getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Parses and validates a JWT token using the provided key.
      *
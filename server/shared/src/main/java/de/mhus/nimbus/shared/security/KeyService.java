@@ -5,6 +5,7 @@ import de.mhus.nimbus.shared.persistence.SKeyRepository;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -17,12 +18,20 @@ import java.security.PublicKey;
 import java.security.spec.ECGenParameterSpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementierung der Provider-Interfaces, die Schlüssel aus der SKey-Entity lädt.
+ *
+ * Public keys for an intent (token verification) are cached decoded. Changes through this service drop
+ * the cache, changes on other instances are loaded after security.key-cache.ttl-seconds or when a
+ * verification fails (refreshPublicKeysForIntent(), at most every security.key-cache.min-refresh-seconds).
  */
 @Service
 @RequiredArgsConstructor
@@ -35,19 +44,99 @@ public class KeyService {
 
     private final SKeyRepository repository;
 
+    @Value("${security.key-cache.ttl-seconds:60}")
+    private long keyCacheTtlSeconds = 60;
+
+    @Value("${security.key-cache.min-refresh-seconds:5}")
+    private long keyCacheMinRefreshSeconds = 5;
+
+    private record CachedPublicKey(PublicKey key, Instant expiresAt) {
+    }
+
+    private record CachedPublicKeys(List<CachedPublicKey> keys, long loadedAt) {
+    }
+
+    /**
+     * Decoded public keys by "type/owner/intent".
+     */
+    private final Map<String, CachedPublicKeys> publicKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented when keys are changed, caches of verified tokens compare it (see JwtService).
+     */
+    private final AtomicLong keyGeneration = new AtomicLong();
+
     public Optional<PublicKey> getPublicKey(KeyType type, KeyId id) {
         return repository
                 .findByTypeAndKindAndOwnerAndKeyId(type.name(), KIND_PUBLIC, id.owner(), id.id())
                 .flatMap(this::toPublicKey);
     }
 
+    /**
+     * Enabled and not expired public keys of the intent, newest first. Served from the key cache.
+     */
     public List<PublicKey> getPublicKeysForIntent(KeyType type, KeyIntent intent) {
-        return repository.findAllByTypeAndKindAndOwnerAndIntentOrderByCreatedAtDesc(type.name(), KIND_PUBLIC, intent.owner(), intent.intent())
+        CachedPublicKeys cached = publicKeys.get(publicKeyCacheKey(type, intent));
+        if (cached == null || System.currentTimeMillis() - cached.loadedAt() >= keyCacheTtlSeconds * 1000) {
+            cached = loadPublicKeys(type, intent);
+        }
+        return usable(cached);
+    }
+
+    /**
+     * Reload the public keys of the intent, e.g. if no cached key verifies a token (new key of another instance).
+     * Reloads at most every security.key-cache.min-refresh-seconds.
+     *
+     * @return The reloaded keys, empty if the cache is recent
+     */
+    public Optional<List<PublicKey>> refreshPublicKeysForIntent(KeyType type, KeyIntent intent) {
+        CachedPublicKeys cached = publicKeys.get(publicKeyCacheKey(type, intent));
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < keyCacheMinRefreshSeconds * 1000) {
+            return Optional.empty();
+        }
+        return Optional.of(usable(loadPublicKeys(type, intent)));
+    }
+
+    /**
+     * Drop the cached public keys, called when keys are stored or deleted.
+     */
+    public void invalidatePublicKeys() {
+        keyGeneration.incrementAndGet();
+        publicKeys.clear();
+    }
+
+    public long getKeyGeneration() {
+        return keyGeneration.get();
+    }
+
+    private CachedPublicKeys loadPublicKeys(KeyType type, KeyIntent intent) {
+        long generation = keyGeneration.get();
+        long now = System.currentTimeMillis();
+        List<CachedPublicKey> keys = repository.findAllByTypeAndKindAndOwnerAndIntentOrderByCreatedAtDesc(type.name(), KIND_PUBLIC, intent.owner(), intent.intent())
                 .stream()
                 .filter(sKey -> sKey.isEnabled() && !sKey.isExpired())
-                .map(key -> toPublicKey(key).orElse(null))
+                .map(sKey -> toPublicKey(sKey).map(key -> new CachedPublicKey(key, sKey.getExpiresAt())).orElse(null))
                 .filter(key -> key != null)
                 .toList();
+        CachedPublicKeys cached = new CachedPublicKeys(keys, now);
+        // A load overlapping a key change is returned but not cached
+        if (keyGeneration.get() == generation) {
+            publicKeys.put(publicKeyCacheKey(type, intent), cached);
+        }
+        log.debug("Loaded {} public keys type={} intent={}", keys.size(), type, intent);
+        return cached;
+    }
+
+    private static List<PublicKey> usable(CachedPublicKeys cached) {
+        Instant now = Instant.now();
+        return cached.keys().stream()
+                .filter(key -> key.expiresAt() == null || key.expiresAt().isAfter(now))
+                .map(CachedPublicKey::key)
+                .toList();
+    }
+
+    private static String publicKeyCacheKey(KeyType type, KeyIntent intent) {
+        return type.name() + "/" + intent.owner() + "/" + intent.intent();
     }
 
     public Optional<PrivateKey> getPrivateKey(KeyType type, KeyId id) {
@@ -190,18 +279,21 @@ public class KeyService {
     public void storeKeyPair(KeyType keyType, KeyId keyId, KeyPair keyPair) {
         repository.save(SKey.ofPrivateKey(keyType, keyId, keyPair.getPrivate()));
         repository.save(SKey.ofPublicKey(keyType, keyId, keyPair.getPublic()));
+        invalidatePublicKeys();
     }
 
     public void deleteAllForIntent(KeyIntent intent) {
         repository.deleteAllByTypeAndKindAndOwnerAndIntent(KeyType.UNIVERSE.name(), KeyKind.PUBLIC.name(), intent.owner(), intent.intent());
         repository.deleteAllByTypeAndKindAndOwnerAndIntent(KeyType.UNIVERSE.name(), KeyKind.PRIVATE.name(), intent.owner(), intent.intent());
         repository.deleteAllByTypeAndKindAndOwnerAndIntent(KeyType.UNIVERSE.name(), KeyKind.SECRET.name(), intent.owner(), intent.intent());
+        invalidatePublicKeys();
     }
 
     public void deleteAllForIntent(KeyType keyType, KeyIntent intent) {
         repository.deleteAllByTypeAndKindAndOwnerAndIntent(keyType.name(), KeyKind.PUBLIC.name(), intent.owner(), intent.intent());
         repository.deleteAllByTypeAndKindAndOwnerAndIntent(keyType.name(), KeyKind.PRIVATE.name(), intent.owner(), intent.intent());
         repository.deleteAllByTypeAndKindAndOwnerAndIntent(keyType.name(), KeyKind.SECRET.name(), intent.owner(), intent.intent());
+        invalidatePublicKeys();
     }
 
     public void storePublicKey(KeyType type, FormattedKey formattedKey) {
@@ -263,6 +355,7 @@ public class KeyService {
         }
         try {
             repository.save(SKey.ofPublicKey(type, keyId, pubKey));
+            invalidatePublicKeys();
             log.info("storePublicKey: Public Key gespeichert type={} owner={} intent={} keyId={} alg={}", type, ownerStr, intentStr, keyId.id(), algorithm);
         } catch (Exception e) {
             log.error("storePublicKey: Fehler beim Speichern des Public Keys type={} owner={} intent={} keyId={}: {}", type, ownerStr, intentStr, keyId.id(), e.toString());
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.Document;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -30,6 +31,10 @@ import java.util.List;
  *   <li>Files use .jsonl extension</li>
  * </ul>
  *
+ * <p>Per-world exports of storage_data are self-contained: headers of deduplicated content (contentId)
+ * are written as chunks of the storage object with the data of the content, like objects stored before
+ * deduplication. The shared content chunks have no world and would be missing otherwise.</p>
+ *
  * <p>Example usage:</p>
  * <pre>
  * ExportResult result = exportService.exportCollection("w_entities", WEntity.class, outputPath);
@@ -40,6 +45,8 @@ import java.util.List;
 @Slf4j
 public class ExportService {
 
+    private static final String STORAGE_COLLECTION = "storage_data";
+
     private final MongoTemplate mongoTemplate;
     private final ObjectMapper objectMapper;
 
@@ -89,12 +96,17 @@ public class ExportService {
 
             log.debug("Found {} documents in collection '{}'", totalCount, collectionName);
 
+            boolean inlineContent = STORAGE_COLLECTION.equals(collectionName) && worldId != null && !"*".equals(worldId);
+
             // Write each document as one line (JSON)
             for (Document document : documents) {
                 try {
-                    String json = document.toJson();
-                    writer.write(json);
-                    writer.newLine();
+                    if (inlineContent && document.getString("contentId") != null) {
+                        writeWithContent(writer, document, collectionName);
+                    } else {
+                        writer.write(document.toJson());
+                        writer.newLine();
+                    }
                     successCount++;
 
                     if (successCount % 1000 == 0) {
@@ -126,6 +138,33 @@ public class ExportService {
         return result;
     }
 
+    /**
+     * Write a storage header with deduplicated content as chunks of the storage object.
+     * The first chunk keeps the id of the header, the final chunk gets the size of the object.
+     */
+    private void writeWithContent(BufferedWriter writer, Document header, String collectionName) throws IOException {
+        String contentId = header.getString("contentId");
+        Query query = new Query(Criteria.where("uuid").is(contentId)).with(Sort.by(Sort.Direction.ASC, "index"));
+        List<Document> chunks = mongoTemplate.find(query, Document.class, collectionName);
+        if (chunks.isEmpty()) {
+            throw new IOException("Content of storage object not found: uuid=" + header.getString("uuid") + " contentId=" + contentId);
+        }
+        Object headerId = header.get("_id");
+        for (int i = 0; i < chunks.size(); i++) {
+            Document chunk = new Document(header);
+            chunk.remove("contentId");
+            chunk.put("_id", i == 0 ? headerId : headerId + ":" + i);
+            chunk.put("index", i);
+            chunk.put("data", chunks.get(i).get("data"));
+            boolean last = i == chunks.size() - 1;
+            chunk.put("isFinal", last);
+            chunk.put("size", last ? header.get("size") : 0L);
+            chunk.put("content", false);
+            writer.write(chunk.toJson());
+            writer.newLine();
+        }
+    }
+
     /**
      * Result of an export operation.
      */
@@ -16,12 +16,14 @@ import java.util.List;
  *
  * Memory usage: O(chunk-size) - maximum 512KB regardless of file size.
  * Works with files of ANY size (1GB, 10GB, etc.) without memory issues.
+ *
+ * If the first chunk is a header of deduplicated content (contentId set), the chunks of the content are read.
  */
 @Slf4j
 public class ChunkedInputStream extends InputStream {
 
     private final StorageDataRepository repository;
-    private final String uuid;
+    private String uuid;
 
     private int currentChunkIndex = 0;
     private byte[] currentChunkData = null;
@@ -110,6 +112,39 @@ public class ChunkedInputStream extends InputStream {
         return totalRead > 0 ? totalRead : -1;
     }
 
+    /**
+     * Skip without loading the skipped chunks: all chunks except the final one have the size
+     * of the first chunk, the target chunk is loaded directly (e.g. for HTTP range requests).
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        ensureOpen();
+
+        if (n <= 0 || currentChunkData == null) {
+            return 0;
+        }
+
+        int inChunk = (int) Math.min(n, currentChunkData.length - positionInChunk);
+        positionInChunk += inChunk;
+        long remaining = n - inChunk;
+        if (remaining == 0 || isEOF) {
+            return inChunk;
+        }
+
+        // Current chunk is not final and exhausted, its size is the chunk size
+        int chunkLength = currentChunkData.length;
+        if (chunkLength == 0) {
+            return inChunk;
+        }
+        currentChunkIndex += (int) (remaining / chunkLength);
+        loadNextChunk();
+        if (currentChunkData == null) {
+            return inChunk; // Skipped beyond EOF
+        }
+        positionInChunk = (int) Math.min(remaining % chunkLength, currentChunkData.length);
+        return n;
+    }
+
     @Override
     public int available() throws IOException {
         ensureOpen();
@@ -162,6 +197,14 @@ public class ChunkedInputStream extends InputStream {
                 return;
             }
 
+            // Header of deduplicated content, continue with the chunks of the content
+            if (currentChunkIndex == 0 && chunk.getContentId() != null && !chunk.getContentId().equals(uuid)) {
+                log.trace("Resolved content: uuid={} contentId={}", uuid, chunk.getContentId());
+                uuid = chunk.getContentId();
+                loadNextChunk();
+                return;
+            }
+
             // Validate chunk sequence integrity
             if (chunk.getIndex() != currentChunkIndex) {
                 throw new IllegalStateException(
@@ -27,6 +27,7 @@ public class ChunkedOutputStream extends OutputStream {
     private final String worldId;
     private final String schema;
     private final String schemaVersion;
+    private final boolean content;
 
     private byte[] buffer;
     private int bufferPosition = 0;
@@ -46,7 +47,26 @@ public class ChunkedOutputStream extends OutputStream {
      */
     public ChunkedOutputStream(StorageDataRepository repository, String uuid, String schema, String schemaVersion, String worldId, String path,
                                int chunkSize, Date createdAt) {
+        this(repository, uuid, schema, schemaVersion, worldId, path, chunkSize, createdAt, false);
+    }
+
+    /**
+     * Creates a new ChunkedOutputStream for the chunks of deduplicated content (see StorageContent).
+     * Content chunks have no world, path or schema, these are stored in the header chunks referencing the content.
+     *
+     * @param repository Repository for saving chunks
+     * @param contentId  Content identifier (UUID)
+     * @param chunkSize  Maximum chunk size in bytes (typically 512KB)
+     * @param createdAt  Creation timestamp for all chunks
+     */
+    public ChunkedOutputStream(StorageDataRepository repository, String contentId, int chunkSize, Date createdAt) {
+        this(repository, contentId, null, null, null, null, chunkSize, createdAt, true);
+    }
+
+    private ChunkedOutputStream(StorageDataRepository repository, String uuid, String schema, String schemaVersion, String worldId, String path,
+                                int chunkSize, Date createdAt, boolean content) {
         this.repository = repository;
+        this.content = content;
         this.uuid = uuid;
         this.worldId = worldId;
         this.schema = schema;
@@ -128,6 +148,7 @@ public class ChunkedOutputStream extends OutputStream {
                         .worldId(worldId)
                         .schema(schema)
                         .schemaVersion(schemaVersion)
+                        .content(content)
                         .build();
                 repository.save(finalChunk);
                 log.trace("Updated last chunk as final: uuid={} index={}", uuid, lastChunk.getIndex());
@@ -178,6 +199,7 @@ public class ChunkedOutputStream extends OutputStream {
                 .worldId(worldId)
                 .schema(schema)
                 .schemaVersion(schemaVersion)
+                .content(content)
                 .build();
 
         try {
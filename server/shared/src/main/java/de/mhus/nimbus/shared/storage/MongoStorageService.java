@@ -4,13 +4,23 @@ import de.mhus.nimbus.shared.types.SchemaVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +34,11 @@ import java.util.UUID;
  * - Soft-delete with 5-minute delay for safe cleanup
  * - Stream-based API for memory-efficient large file handling
  *
+ * Content is deduplicated: the data is stored as StorageContent (chunks with uuid = contentId, keyed by
+ * SHA-256 with reference count), a storage object is a header chunk with its metadata and the contentId.
+ * Identical uploads are stored once and duplicate() only adds a header. Objects stored before
+ * deduplication keep their own chunks (no contentId) and are still supported.
+ *
  * Memory usage: O(chunk-size) regardless of file size
  */
 @Service
@@ -33,10 +48,15 @@ public class MongoStorageService extends StorageService {
 
     private final StorageDataRepository storageDataRepository;
     private final StorageDeleteRepository storageDeleteRepository;
+    private final StorageContentRepository storageContentRepository;
+    private final MongoTemplate mongoTemplate;
 
     @Value("${nimbus.storage.chunk-size:524288}")
     private int chunkSize; // 512KB default
 
+    private record ContentRef(String contentId, long size) {
+    }
+
     @Override
     public StorageInfo store(String schema, SchemaVersion schemaVersion, String worldId, String path, InputStream stream) {
         String uuid = UUID.randomUUID().toString();
@@ -51,24 +71,183 @@ public class MongoStorageService extends StorageService {
         }
 
         Date createdAt = new Date();
+        ContentRef content = storeContent(stream, path);
+        saveHeader(storageId, content, schema, schemaVersion.toString(), worldId, path, createdAt);
 
-        try (ChunkedOutputStream outputStream = new ChunkedOutputStream(
-                storageDataRepository, storageId, schema, schemaVersion.toString(), worldId, path, chunkSize, createdAt)) {
+        log.debug("Stored file: uuid={} path={} size={} contentId={}", storageId, path, content.size(), content.contentId());
 
-            // Copy from input stream to chunked output stream
-            // ChunkedOutputStream automatically splits into chunks and saves to MongoDB
-            stream.transferTo(outputStream);
+        return new StorageInfo(storageId, content.size(), createdAt, worldId, path, schema, schemaVersion);
+    }
 
-            long totalSize = outputStream.getTotalBytesWritten();
+    /**
+     * Store the data as content chunks, or reference identical content if already stored.
+     */
+    private ContentRef storeContent(InputStream stream, String path) {
+        String contentId = UUID.randomUUID().toString();
+        Date createdAt = new Date();
+        MessageDigest digest = sha256();
+        long size;
+
+        try (ChunkedOutputStream outputStream = new ChunkedOutputStream(storageDataRepository, contentId, chunkSize, createdAt);
+             DigestOutputStream digestStream = new DigestOutputStream(outputStream, digest)) {
 
-            log.debug("Stored file: uuid={} path={} size={}", storageId, path, totalSize);
+            // Copy from input stream to chunked output stream
+            // ChunkedOutputStream automatically splits into chunks and saves to MongoDB
+            stream.transferTo(digestStream);
 
-            return new StorageInfo(storageId, totalSize, createdAt, worldId, path, schema, schemaVersion);
+            size = outputStream.getTotalBytesWritten();
 
         } catch (IOException e) {
             log.error("Error storing file: path={}", path, e);
             throw new RuntimeException("Failed to store file", e);
         }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        String existingId = acquireByHash(hash);
+        if (existingId != null) {
+            // Identical content already stored, the written chunks are not referenced
+            storageDataRepository.deleteByUuid(contentId);
+            log.debug("Deduplicated content: contentId={} size={}", existingId, size);
+            return new ContentRef(existingId, size);
+        }
+
+        StorageContent content = StorageContent.builder()
+                .id(contentId)
+                .hash(hash)
+                .size(size)
+                .refCount(1)
+                .createdAt(createdAt)
+                .build();
+        try {
+            storageContentRepository.insert(content);
+        } catch (DuplicateKeyException e) {
+            // Same content stored concurrently
+            existingId = acquireByHash(hash);
+            if (existingId != null) {
+                storageDataRepository.deleteByUuid(contentId);
+                return new ContentRef(existingId, size);
+            }
+            // The other content is being deleted, keep this one without hash
+            content.setHash(null);
+            storageContentRepository.insert(content);
+        }
+        return new ContentRef(contentId, size);
+    }
+
+    private void saveHeader(String storageId, ContentRef content, String schema, String schemaVersion,
+                            String worldId, String path, Date createdAt) {
+        storageDataRepository.save(StorageData.builder()
+                .uuid(storageId)
+                .path(path)
+                .index(0)
+                .isFinal(true)
+                .size(content.size())
+                .createdAt(createdAt)
+                .worldId(worldId)
+                .schema(schema)
+                .schemaVersion(schemaVersion)
+                .contentId(content.contentId())
+                .build());
+    }
+
+    /**
+     * Add a reference to stored content with the hash.
+     *
+     * @return The contentId, null if not stored
+     */
+    private String acquireByHash(String hash) {
+        return storageContentRepository.findByHash(hash)
+                .filter(content -> acquire(content.getId()))
+                .map(StorageContent::getId)
+                .orElse(null);
+    }
+
+    /**
+     * Add a reference to the content. Fails if the last reference was already removed (content is deleted).
+     */
+    private boolean acquire(String contentId) {
+        StorageContent content = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(contentId).and("refCount").gt(0)),
+                new Update().inc("refCount", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                StorageContent.class);
+        return content != null;
+    }
+
+    /**
+     * Remove a reference to the content, the content is deleted with the last reference.
+     */
+    private void release(String contentId) {
+        StorageContent content = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(contentId)),
+                new Update().inc("refCount", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                StorageContent.class);
+        if (content == null) {
+            log.warn("Released unknown content: contentId={}", contentId);
+            return;
+        }
+        if (content.getRefCount() > 0) {
+            return;
+        }
+        // Only if no reference was added in the meantime
+        var removed = mongoTemplate.remove(
+                new Query(Criteria.where("_id").is(contentId).and("refCount").lte(0)),
+                StorageContent.class);
+        if (removed.getDeletedCount() > 0) {
+            storageDataRepository.deleteByUuid(contentId);
+            log.debug("Deleted unreferenced content: contentId={}", contentId);
+        }
+    }
+
+    /**
+     * Delete the chunks of the storage object now and release its content.
+     * Called by the StorageCleanupScheduler for scheduled deletions.
+     *
+     * @return Number of deleted chunks of the storage object
+     */
+    @Transactional
+    public long purge(String storageId) {
+        StorageData first = storageDataRepository.findByUuidAndIndex(storageId, 0);
+        long chunkCount = storageDataRepository.countByUuid(storageId);
+        storageDataRepository.deleteByUuid(storageId);
+        if (first != null && first.getContentId() != null) {
+            release(first.getContentId());
+        }
+        return chunkCount;
+    }
+
+    /**
+     * Delete content chunks without StorageContent document, left by failed or interrupted uploads
+     * and by deletions interrupted between the content document and its chunks.
+     * Content chunks are written before their StorageContent, only chunks older than the given date are deleted.
+     * Called by the StorageCleanupScheduler.
+     *
+     * @param createdBefore Only chunks created before this date
+     * @return Number of deleted orphaned contents
+     */
+    public int purgeOrphanedContent(Date createdBefore) {
+        List<String> contentIds = mongoTemplate.findDistinct(
+                new Query(Criteria.where("content").is(true).and("createdAt").lt(createdBefore)),
+                "uuid",
+                StorageData.class,
+                String.class);
+        int deleted = 0;
+        for (String contentId : contentIds) {
+            if (storageContentRepository.existsById(contentId)) continue;
+            storageDataRepository.deleteByUuid(contentId);
+            deleted++;
+            log.debug("Deleted orphaned content chunks: contentId={}", contentId);
+        }
+        return deleted;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     @Override
@@ -171,16 +350,18 @@ public class MongoStorageService extends StorageService {
         if (schema == null) schema = oldChunk.getSchema();
         if (schemaVersion == null) schemaVersion = SchemaVersion.create(oldChunk.getSchemaVersion());
 
+        // Store the new content before the old data is removed
+        Date createdAt = new Date();
+        ContentRef content = storeContent(stream, path);
+
         // delete the old data immediately
-        List<StorageData> deleteMe = storageDataRepository.findAllByUuid(storageId);
-        deleteMe.forEach(chunk -> {
-            storageDataRepository.delete(chunk);
-        });
+        purge(storageId);
 
         // Store new version with same UUID
-        StorageInfo newInfo = store(storageId, schema, schemaVersion, worldId, path, stream);
+        saveHeader(storageId, content, schema, schemaVersion.toString(), worldId, path, createdAt);
+        log.debug("Replaced storage: storageId={} contentId={}", storageId, content.contentId());
 
-        return newInfo;
+        return new StorageInfo(storageId, content.size(), createdAt, worldId, path, schema, schemaVersion);
     }
 
     @Override
@@ -250,7 +431,22 @@ public class MongoStorageService extends StorageService {
             return null;
         }
 
-        // Load source data
+        // Deduplicated content: reference the content with a new header, no data is copied
+        StorageData sourceHeader = storageDataRepository.findByUuidAndIndex(sourceStorageId, 0);
+        if (sourceHeader != null && sourceHeader.getContentId() != null) {
+            if (!acquire(sourceHeader.getContentId())) {
+                log.error("Source content already deleted: storageId={} contentId={}", sourceStorageId, sourceHeader.getContentId());
+                return null;
+            }
+            String storageId = UUID.randomUUID().toString();
+            saveHeader(storageId, new ContentRef(sourceHeader.getContentId(), sourceInfo.size()), sourceInfo.schema(),
+                    sourceHeader.getSchemaVersion(), targetWorldId, sourceInfo.path(), new Date());
+            log.debug("Duplicated storage: sourceId={} targetId={} targetWorldId={} contentId={}",
+                    sourceStorageId, storageId, targetWorldId, sourceHeader.getContentId());
+            return storageId;
+        }
+
+        // Stored before deduplication, copy the data (the copy is deduplicated content)
         InputStream sourceStream = load(sourceStorageId);
         if (sourceStream == null) {
             log.error("Cannot load source storage data: {}", sourceStorageId);
@@ -2,6 +2,7 @@ package de.mhus.nimbus.shared.storage;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -16,10 +17,14 @@ import java.util.List;
  *
  * Runs periodically (default: every 15 minutes) to process StorageDelete entries.
  * Deletes all StorageData chunks for entries where deletedAt <= current time,
- * then removes the StorageDelete entries themselves.
+ * then removes the StorageDelete entries themselves. Deduplicated content
+ * (StorageContent) is deleted when its last storage object is removed.
  *
  * This delayed cleanup strategy ensures that ongoing read operations can complete
  * safely before data is permanently removed.
+ *
+ * A second task (default: every hour) deletes content chunks without StorageContent, e.g. of
+ * failed uploads. Content chunks have no world, they are not found by world based cleanups.
  */
 @Component
 @ConditionalOnProperty(
@@ -31,8 +36,14 @@ import java.util.List;
 @Slf4j
 public class StorageCleanupScheduler {
 
-    private final StorageDataRepository storageDataRepository;
     private final StorageDeleteRepository storageDeleteRepository;
+    private final MongoStorageService storageService;
+
+    /**
+     * Minimum age of orphaned content chunks, younger chunks may belong to a running upload.
+     */
+    @Value("${nimbus.storage.orphaned-content-min-age-ms:3600000}")
+    private long orphanedContentMinAgeMs = 3600000;
 
     /**
      * Cleanup scheduled deletions.
@@ -60,10 +71,9 @@ public class StorageCleanupScheduler {
             for (StorageDelete entry : toDelete) {
                 try {
                     String storageId = entry.getStorageId();
-                    long chunkCount = storageDataRepository.countByUuid(storageId);
 
-                    // Delete all chunks for this UUID
-                    storageDataRepository.deleteByUuid(storageId);
+                    // Delete all chunks for this UUID and release the content
+                    long chunkCount = storageService.purge(storageId);
 
                     // Remove the deletion entry
                     storageDeleteRepository.delete(entry);
@@ -85,4 +95,22 @@ public class StorageCleanupScheduler {
             log.error("Error during storage cleanup task", e);
         }
     }
+
+    /**
+     * Delete orphaned content chunks older than nimbus.storage.orphaned-content-min-age-ms.
+     * Default interval: every hour (3600000ms).
+     * Configurable via nimbus.storage.orphaned-content-cleanup-interval-ms property.
+     */
+    @Scheduled(fixedDelayString = "#{${nimbus.storage.orphaned-content-cleanup-interval-ms:3600000}}")
+    public void cleanupOrphanedContent() {
+        try {
+            int deleted = storageService.purgeOrphanedContent(
+                    new Date(System.currentTimeMillis() - orphanedContentMinAgeMs));
+            if (deleted > 0) {
+                log.info("Orphaned content cleanup completed: deleted={}", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Error during orphaned content cleanup task", e);
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package de.mhus.nimbus.shared.storage;
+
+import de.mhus.nimbus.shared.persistence.ActualSchemaVersion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * MongoDB entity for deduplicated storage content.
+ * The data is stored as StorageData chunks with uuid = id, storage objects reference it by header chunks (contentId).
+ * Identical content is stored once (hash), the content is deleted when the last reference is removed.
+ */
+@Document(collection = "storage_content")
+@ActualSchemaVersion("1.0.0")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StorageContent {
+
+    /**
+     * Content identifier (UUID), uuid of the content chunks.
+     */
+    @Id
+    private String id;
+
+    /**
+     * SHA-256 of the data (hex), identical uploads are stored once.
+     */
+    @Indexed(unique = true, sparse = true)
+    private String hash;
+
+    /**
+     * Total size in bytes.
+     */
+    private long size;
+
+    /**
+     * Number of storage objects referencing the content.
+     * Changed atomically by MongoStorageService only.
+     */
+    private long refCount;
+
+    private Date createdAt;
+}
@@ -0,0 +1,22 @@
+package de.mhus.nimbus.shared.storage;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for deduplicated storage content.
+ * Reference counts are changed with atomic updates in MongoStorageService.
+ */
+@Repository
+public interface StorageContentRepository extends MongoRepository<StorageContent, String> {
+
+    /**
+     * Find content by the SHA-256 of its data.
+     *
+     * @param hash SHA-256 (hex)
+     * @return Content or empty if not stored
+     */
+    Optional<StorageContent> findByHash(String hash);
+}
@@ -90,6 +90,18 @@ public class StorageData implements Identifiable {
      */
     private long size;
 
+    /**
+     * Set on the header chunk of a storage object with deduplicated content.
+     * The header has no data, the data is in the chunks of the content (uuid = contentId).
+     */
+    private String contentId;
+
+    /**
+     * Indicates a chunk of deduplicated content (see StorageContent).
+     * Content chunks have no world, path or schema and are shared by header chunks.
+     */
+    private boolean content;
+
     /**
      * Chunk creation timestamp (auto-populated by @EnableMongoAuditing).
      */
@@ -56,7 +56,7 @@ public abstract class StorageService {
 
     /**
      * Duplicate existing stored data with a new worldId.
-     * Loads the data from the source storageId and stores it with the target worldId.
+     * The duplicate is a new storage object with the target worldId, the data may be shared with the source.
      *
      * @param sourceStorageId The storageId to duplicate
      * @param targetWorldId The target worldId for the duplicated data
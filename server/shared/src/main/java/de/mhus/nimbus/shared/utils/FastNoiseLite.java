@@ -63,7 +63,9 @@ public class FastNoiseLite
         Cellular,
         Perlin,
         ValueCubic,
-        Value
+        Value,
+        /** Simplified gradient noise of the former world-shared generator, 2D only. Keeps default chunks of existing worlds unchanged. */
+        Gradient
     };
 
     public enum RotationType3D
@@ -451,6 +453,81 @@ public class FastNoiseLite
         }
     }
 
+    /// <summary>
+    /// 2D noise at many positions using current settings
+    /// </summary>
+    /// <remarks>
+    /// Results are identical to calling GetNoise(x, y) for each position.
+    /// Noise and fractal type are resolved once per batch, every stage runs as a plain loop
+    /// over the arrays so the JIT can keep the hot loops free of branches.
+    /// Input arrays are not modified.
+    /// </remarks>
+    public void GetNoise(/*FNLfloat*/ float[] xs, /*FNLfloat*/ float[] ys, float[] out, int count)
+    {
+        if (xs.length < count || ys.length < count || out.length < count)
+            throw new IllegalArgumentException("Arrays smaller than count " + count);
+
+        /*FNLfloat*/ float[] x = new /*FNLfloat*/ float[count];
+        /*FNLfloat*/ float[] y = new /*FNLfloat*/ float[count];
+        System.arraycopy(xs, 0, x, 0, count);
+        System.arraycopy(ys, 0, y, 0, count);
+        GenNoiseBatch(x, y, out, count);
+    }
+
+    /// <summary>
+    /// 2D noise for a grid of width x height positions using current settings
+    /// </summary>
+    /// <remarks>
+    /// Position of cell (i, j) is (startX + i * stepX, startY + j * stepY),
+    /// the result is stored row major at out[i + j * width].
+    /// </remarks>
+    public void GetNoiseGrid(float[] out, /*FNLfloat*/ float startX, /*FNLfloat*/ float startY, int width, int height, /*FNLfloat*/ float stepX, /*FNLfloat*/ float stepY)
+    {
+        GetNoiseGrid(out, startX, startY, width, height, stepX, stepY, null);
+    }
+
+    /// <summary>
+    /// 2D noise for a grid of positions, each position domain warped before sampling
+    /// </summary>
+    /// <remarks>
+    /// Same as GetNoiseGrid without warp, but every position is passed through
+    /// warp.DomainWarp(Vector2) first. The warp instance uses its own settings.
+    /// </remarks>
+    public void GetNoiseGrid(float[] out, /*FNLfloat*/ float startX, /*FNLfloat*/ float startY, int width, int height, /*FNLfloat*/ float stepX, /*FNLfloat*/ float stepY, FastNoiseLite warp)
+    {
+        int count = width * height;
+        if (width < 0 || height < 0 || out.length < count)
+            throw new IllegalArgumentException("Invalid grid " + width + "x" + height + " for " + out.length + " values");
+
+        /*FNLfloat*/ float[] x = new /*FNLfloat*/ float[count];
+        /*FNLfloat*/ float[] y = new /*FNLfloat*/ float[count];
+        for (int j = 0; j < height; j++)
+        {
+            /*FNLfloat*/ float py = startY + j * stepY;
+            int row = j * width;
+            for (int i = 0; i < width; i++)
+            {
+                x[row + i] = startX + i * stepX;
+                y[row + i] = py;
+            }
+        }
+
+        if (warp != null)
+        {
+            Vector2 coord = new Vector2(0, 0);
+            for (int i = 0; i < count; i++)
+            {
+                coord.x = x[i];
+                coord.y = y[i];
+                warp.DomainWarp(coord);
+                x[i] = coord.x;
+                y[i] = coord.y;
+            }
+        }
+
+        GenNoiseBatch(x, y, out, count);
+    }
+
 
     private static final float[] Gradients2D = {
          0.130526192220052f,  0.99144486137381f,   0.38268343236509f,   0.923879532511287f,  0.608761429008721f,  0.793353340291235f,  0.793353340291235f,  0.608761429008721f,
@@ -703,6 +780,8 @@ public class FastNoiseLite
                 return SingleValueCubic(seed, x, y);
             case Value:
                 return SingleValue(seed, x, y);
+            case Gradient:
+                return SingleGradient(seed, x, y);
             default:
                 return 0;
         }
@@ -915,6 +994,169 @@ public class FastNoiseLite
     }
 
 
+    // Batch noise gen, operation order matches the single position path
+
+    private void GenNoiseBatch(/*FNLfloat*/ float[] x, /*FNLfloat*/ float[] y, float[] out, int count)
+    {
+        /*FNLfloat*/ float frequency = mFrequency;
+        for (int i = 0; i < count; i++)
+        {
+            x[i] *= frequency;
+            y[i] *= frequency;
+        }
+
+        switch (mNoiseType)
+        {
+            case OpenSimplex2:
+            case OpenSimplex2S:
+                {
+                    final /*FNLfloat*/ float SQRT3 = (/*FNLfloat*/ float)1.7320508075688772935274463415059;
+                    final /*FNLfloat*/ float F2 = 0.5f * (SQRT3 - 1);
+                    for (int i = 0; i < count; i++)
+                    {
+                        /*FNLfloat*/ float t = (x[i] + y[i]) * F2;
+                        x[i] += t;
+                        y[i] += t;
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+
+        switch (mFractalType)
+        {
+            default:
+                GenNoiseSingleBatch(mSeed, x, y, out, count);
+                break;
+            case FBm:
+                GenFractalFBmBatch(x, y, out, count);
+                break;
+            case Ridged:
+                GenFractalRidgedBatch(x, y, out, count);
+                break;
+            case PingPong:
+                GenFractalPingPongBatch(x, y, out, count);
+                break;
+        }
+    }
+
+    private void GenNoiseSingleBatch(int seed, /*FNLfloat*/ float[] x, /*FNLfloat*/ float[] y, float[] out, int count)
+    {
+        switch (mNoiseType)
+        {
+            case OpenSimplex2:
+                for (int i = 0; i < count; i++) out[i] = SingleSimplex(seed, x[i], y[i]);
+                break;
+            case OpenSimplex2S:
+                for (int i = 0; i < count; i++) out[i] = SingleOpenSimplex2S(seed, x[i], y[i]);
+                break;
+            case Cellular:
+                for (int i = 0; i < count; i++) out[i] = SingleCellular(seed, x[i], y[i]);
+                break;
+            case Perlin:
+                for (int i = 0; i < count; i++) out[i] = SinglePerlin(seed, x[i], y[i]);
+                break;
+            case ValueCubic:
+                for (int i = 0; i < count; i++) out[i] = SingleValueCubic(seed, x[i], y[i]);
+                break;
+            case Value:
+                for (int i = 0; i < count; i++) out[i] = SingleValue(seed, x[i], y[i]);
+                break;
+            case Gradient:
+                for (int i = 0; i < count; i++) out[i] = SingleGradient(seed, x[i], y[i]);
+                break;
+            default:
+                for (int i = 0; i < count; i++) out[i] = 0;
+                break;
+        }
+    }
+
+    private void ScaleBatch(/*FNLfloat*/ float[] x, /*FNLfloat*/ float[] y, int count)
+    {
+        /*FNLfloat*/ float lacunarity = mLacunarity;
+        for (int i = 0; i < count; i++)
+        {
+            x[i] *= lacunarity;
+            y[i] *= lacunarity;
+        }
+    }
+
+    private void GenFractalFBmBatch(/*FNLfloat*/ float[] x, /*FNLfloat*/ float[] y, float[] out, int count)
+    {
+        int seed = mSeed;
+        float[] noise = new float[count];
+        float[] amp = new float[count];
+        for (int i = 0; i < count; i++)
+        {
+            out[i] = 0;
+            amp[i] = mFractalBounding;
+        }
+
+        for (int o = 0; o < mOctaves; o++)
+        {
+            GenNoiseSingleBatch(seed++, x, y, noise, count);
+            for (int i = 0; i < count; i++)
+            {
+                out[i] += noise[i] * amp[i];
+                amp[i] *= Lerp(1.0f, FastMin(noise[i] + 1, 2) * 0.5f, mWeightedStrength);
+                amp[i] *= mGain;
+            }
+            ScaleBatch(x, y, count);
+        }
+    }
+
+    private void GenFractalRidgedBatch(/*FNLfloat*/ float[] x, /*FNLfloat*/ float[] y, float[] out, int count)
+    {
+        int seed = mSeed;
+        float[] noise = new float[count];
+        float[] amp = new float[count];
+        for (int i = 0; i < count; i++)
+        {
+            out[i] = 0;
+            amp[i] = mFractalBounding;
+        }
+
+        for (int o = 0; o < mOctaves; o++)
+        {
+            GenNoiseSingleBatch(seed++, x, y, noise, count);
+            for (int i = 0; i < count; i++)
+            {
+                float n = FastAbs(noise[i]);
+                out[i] += (n * -2 + 1) * amp[i];
+                amp[i] *= Lerp(1.0f, 1 - n, mWeightedStrength);
+                amp[i] *= mGain;
+            }
+            ScaleBatch(x, y, count);
+        }
+    }
+
+    private void GenFractalPingPongBatch(/*FNLfloat*/ float[] x, /*FNLfloat*/ float[] y, float[] out, int count)
+    {
+        int seed = mSeed;
+        float[] noise = new float[count];
+        float[] amp = new float[count];
+        for (int i = 0; i < count; i++)
+        {
+            out[i] = 0;
+            amp[i] = mFractalBounding;
+        }
+
+        for (int o = 0; o < mOctaves; o++)
+        {
+            GenNoiseSingleBatch(seed++, x, y, noise, count);
+            for (int i = 0; i < count; i++)
+            {
+                float n = PingPong((noise[i] + 1) * mPingPongStrength);
+                out[i] += (n - 0.5f) * 2 * amp[i];
+                amp[i] *= Lerp(1.0f, n, mWeightedStrength);
+                amp[i] *= mGain;
+            }
+            ScaleBatch(x, y, count);
+        }
+    }
+
+
     // Simplex/OpenSimplex2 Noise
 
     private float SingleSimplex(int seed, /*FNLfloat*/ float x, /*FNLfloat*/ float y)
@@ -1692,6 +1934,48 @@ public class FastNoiseLite
     }
 
 
+    // Gradient Noise, ported unchanged from the former world-shared generator
+
+    private static float SingleGradient(int seed, /*FNLfloat*/ float x, /*FNLfloat*/ float y)
+    {
+        int x0 = (int) Math.floor(x);
+        int y0 = (int) Math.floor(y);
+        int x1 = x0 + 1;
+        int y1 = y0 + 1;
+
+        float sx = x - x0;
+        float sy = y - y0;
+
+        float n0 = GradientDot(GradientHash(seed, x0, y0), x - x0, y - y0);
+        float n1 = GradientDot(GradientHash(seed, x1, y0), x - x1, y - y0);
+        float ix0 = Lerp(n0, n1, InterpQuintic(sx));
+
+        n0 = GradientDot(GradientHash(seed, x0, y1), x - x0, y - y1);
+        n1 = GradientDot(GradientHash(seed, x1, y1), x - x1, y - y1);
+        float ix1 = Lerp(n0, n1, InterpQuintic(sx));
+
+        return Lerp(ix0, ix1, InterpQuintic(sy));
+    }
+
+    private static int GradientHash(int seed, int x, int y)
+    {
+        int n = seed;
+        n ^= x * 1619;
+        n ^= y * 31337;
+        n = n * n * n * 60493;
+        n = (n >> 13) ^ n;
+        return n;
+    }
+
+    private static float GradientDot(int hash, float x, float y)
+    {
+        int h = hash & 7;
+        float u = h < 4 ? x : y;
+        float v = h < 4 ? y : x;
+        return ((h & 1) == 0 ? u : -u) + ((h & 2) == 0 ? v : -v);
+    }
+
+
     // Perlin Noise
 
     private float SinglePerlin(int seed, /*FNLfloat*/ float x, /*FNLfloat*/ float y)
@@ -0,0 +1,202 @@
+package de.mhus.nimbus.shared.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * LRU cache with time to live for read-through caches that are invalidated by change messages.
+ *
+ * Every invalidation gets the next version of the cache and stamps the key. A load that overlaps
+ * an invalidation of its key is returned but not cached (version check), so a stale value loaded
+ * before the change can not overwrite the invalidation. Loads of other keys are not affected.
+ * The stamps of the most recent invalidations are kept, older ones and invalidateIf/clear raise
+ * a version floor that applies to all keys.
+ *
+ * Size and time to live are read on every access, so they can be taken from fields injected
+ * after construction. A time to live of 0 or less keeps entries until they are evicted or invalidated.
+ * Values must not be null, use Optional to cache missing entities.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class VersionedCache<K, V> {
+
+    private final LongSupplier ttlMs;
+
+    /**
+     * Invalidation stamps kept per possible entry, older stamps raise the floor.
+     */
+    private static final int STAMPS_PER_ENTRY = 2;
+
+    /**
+     * Incremented on every invalidation. Guarded by entries.
+     */
+    private long version;
+
+    /**
+     * Loads started before this version are not cached. Guarded by entries.
+     */
+    private long floor;
+
+    /**
+     * Version of the last invalidation per key, oldest first. Guarded by entries.
+     */
+    private final LinkedHashMap<K, Long> invalidated;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    /**
+     * LRU order. Guarded by itself.
+     */
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    /**
+     * @param maxEntries Maximum number of entries
+     * @param ttlMs Time to live in milliseconds, 0 or less for none
+     */
+    public VersionedCache(IntSupplier maxEntries, LongSupplier ttlMs) {
+        this.ttlMs = ttlMs;
+        this.invalidated = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                if (size() <= Math.max(16, maxEntries.getAsInt() * STAMPS_PER_ENTRY)) {
+                    return false;
+                }
+                floor = Math.max(floor, eldest.getValue());
+                return true;
+            }
+        };
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries.getAsInt();
+            }
+        };
+    }
+
+    /**
+     * Cached value or the value of the loader. The loader is called without lock,
+     * concurrent misses of the same key may load more than once.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadVersion;
+        synchronized (entries) {
+            V value = getIfPresent(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                return value;
+            }
+            loadVersion = version;
+        }
+        misses.incrementAndGet();
+
+        V value = loader.apply(key);
+        put(key, value, loadVersion);
+        return value;
+    }
+
+    /**
+     * Cached value if loaded within the time to live, otherwise null.
+     */
+    public V getIfPresent(K key) {
+        long ttl = ttlMs.getAsLong();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) return null;
+            if (ttl > 0 && System.currentTimeMillis() - entry.loadedAt() >= ttl) {
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    /**
+     * Current version, take it before loading a value for put().
+     */
+    public long getVersion() {
+        synchronized (entries) {
+            return version;
+        }
+    }
+
+    /**
+     * Cache a loaded value if the key was not invalidated since the version was taken.
+     *
+     * @return true if cached
+     */
+    public boolean put(K key, V value, long loadVersion) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            if (floor > loadVersion || invalidated.getOrDefault(key, 0L) > loadVersion) {
+                return false;
+            }
+            entries.put(key, new Entry<>(value, now));
+            return true;
+        }
+    }
+
+    /**
+     * Change the cached value in place, if cached. Loads of the key running meanwhile are not cached.
+     */
+    public void update(K key, Consumer<? super V> change) {
+        synchronized (entries) {
+            stamp(key);
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                change.accept(entry.value());
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            stamp(key);
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateIf(Predicate<? super K> filter) {
+        synchronized (entries) {
+            floor = ++version;
+            entries.keySet().removeIf(filter);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            floor = ++version;
+            invalidated.clear();
+            entries.clear();
+        }
+    }
+
+    private void stamp(K key) {
+        // re-insert to keep the order of the stamps
+        invalidated.remove(key);
+        invalidated.put(key, ++version);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -59,4 +59,43 @@ class JwtServiceTest {
         Mockito.when(keyService.getPublicKeysForIntent(KeyType.UNIVERSE, intent)).thenReturn(java.util.List.of(other.getPublic()));
         assertTrue(jwtService.validateTokenWithPublicKey(token, KeyType.UNIVERSE, intent).isEmpty());
     }
+
+    @Test
+    void validateTokenWithPublicKey_cachesVerifiedToken() throws Exception {
+        KeyService keyService = Mockito.mock(KeyService.class);
+        JwtService jwtService = new JwtService(keyService);
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+        kpg.initialize(256);
+        KeyPair pair = kpg.generateKeyPair();
+        String token = jwtService.createTokenWithPrivateKey(pair.getPrivate(), "user1", null, Instant.now().plusSeconds(60));
+        KeyIntent intent = KeyIntent.of("system","auth");
+        Mockito.when(keyService.getPublicKeysForIntent(KeyType.UNIVERSE, intent)).thenReturn(java.util.List.of(pair.getPublic()));
+
+        assertTrue(jwtService.validateTokenWithPublicKey(token, KeyType.UNIVERSE, intent).isPresent());
+        assertEquals("user1", jwtService.validateTokenWithPublicKey(token, KeyType.UNIVERSE, intent).orElseThrow().getPayload().getSubject());
+        Mockito.verify(keyService, Mockito.times(1)).getPublicKeysForIntent(KeyType.UNIVERSE, intent);
+        assertEquals(1, jwtService.getTokenCacheHits());
+        assertEquals(1, jwtService.getTokenCacheMisses());
+
+        // Changed keys drop verified tokens
+        Mockito.when(keyService.getKeyGeneration()).thenReturn(1L);
+        Mockito.when(keyService.getPublicKeysForIntent(KeyType.UNIVERSE, intent)).thenReturn(java.util.List.of());
+        assertTrue(jwtService.validateTokenWithPublicKey(token, KeyType.UNIVERSE, intent).isEmpty());
+    }
+
+    @Test
+    void validateTokenWithPublicKey_refreshesKeysOnce() throws Exception {
+        KeyService keyService = Mockito.mock(KeyService.class);
+        JwtService jwtService = new JwtService(keyService);
+        KeyPairGenerator kpg = KeyPairGenerator.getInstance("EC");
+        kpg.initialize(256);
+        KeyPair pair = kpg.generateKeyPair();
+        String token = jwtService.createTokenWithPrivateKey(pair.getPrivate(), "user1", null, Instant.now().plusSeconds(60));
+        KeyIntent intent = KeyIntent.of("system","auth");
+        // Key created by another instance, not yet in the key cache
+        Mockito.when(keyService.getPublicKeysForIntent(KeyType.UNIVERSE, intent)).thenReturn(java.util.List.of());
+        Mockito.when(keyService.refreshPublicKeysForIntent(KeyType.UNIVERSE, intent)).thenReturn(Optional.of(java.util.List.of(pair.getPublic())));
+
+        assertTrue(jwtService.validateTokenWithPublicKey(token, KeyType.UNIVERSE, intent).isPresent());
+    }
 }
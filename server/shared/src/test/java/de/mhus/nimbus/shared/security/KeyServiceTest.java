@@ -65,4 +65,26 @@ class KeyServiceTest {
         assertTrue(service.parseKeyId("no-colon").isEmpty());
         assertTrue(service.parseKeyId(null).isEmpty());
     }
+
+    @Test
+    void getPublicKeysForIntent_cachedUntilKeysChange() throws Exception {
+        SKeyRepository repo = Mockito.mock(SKeyRepository.class);
+        KeyService service = new KeyService(repo);
+        KeyIntent intent = KeyIntent.of("system", "auth");
+        KeyPair pair = service.createECCKeys();
+        Mockito.when(repo.findAllByTypeAndKindAndOwnerAndIntentOrderByCreatedAtDesc("UNIVERSE", "PUBLIC", "system", "auth"))
+                .thenReturn(List.of(SKey.ofPublicKey(KeyType.UNIVERSE, KeyId.of(intent, "kid"), pair.getPublic())));
+
+        assertEquals(List.of(pair.getPublic()), service.getPublicKeysForIntent(KeyType.UNIVERSE, intent));
+        assertEquals(List.of(pair.getPublic()), service.getPublicKeysForIntent(KeyType.UNIVERSE, intent));
+        Mockito.verify(repo, Mockito.times(1)).findAllByTypeAndKindAndOwnerAndIntentOrderByCreatedAtDesc(anyString(), anyString(), anyString(), anyString());
+        // Recently loaded, no reload on failed verification
+        assertTrue(service.refreshPublicKeysForIntent(KeyType.UNIVERSE, intent).isEmpty());
+
+        long generation = service.getKeyGeneration();
+        service.storeKeyPair(KeyType.UNIVERSE, KeyId.of(intent, "kid2"), service.createECCKeys());
+        assertTrue(service.getKeyGeneration() > generation);
+        service.getPublicKeysForIntent(KeyType.UNIVERSE, intent);
+        Mockito.verify(repo, Mockito.times(2)).findAllByTypeAndKindAndOwnerAndIntentOrderByCreatedAtDesc(anyString(), anyString(), anyString(), anyString());
+    }
 }
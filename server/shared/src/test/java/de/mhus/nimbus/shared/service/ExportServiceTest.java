@@ -0,0 +1,94 @@
+package de.mhus.nimbus.shared.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExportServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ExportService service = new ExportService(mongoTemplate, new ObjectMapper());
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void worldStorageExportContainsContentData() throws Exception {
+        Document header = new Document("_id", "header-1")
+                .append("uuid", "storage-1")
+                .append("worldId", "w1")
+                .append("path", "a.bin")
+                .append("index", 0)
+                .append("isFinal", true)
+                .append("size", 5L)
+                .append("contentId", "content-1")
+                .append("_class", "de.mhus.nimbus.shared.storage.StorageData");
+        Document legacy = new Document("_id", "legacy-1")
+                .append("uuid", "storage-2")
+                .append("worldId", "w1")
+                .append("index", 0)
+                .append("isFinal", true)
+                .append("data", new Binary("xyz".getBytes()));
+        when(mongoTemplate.find(argThat((Query query) -> query != null && "w1".equals(query.getQueryObject().get("worldId"))),
+                eq(Document.class), eq("storage_data"))).thenReturn(List.of(header, legacy));
+        when(mongoTemplate.find(argThat((Query query) -> query != null && "content-1".equals(query.getQueryObject().get("uuid"))),
+                eq(Document.class), eq("storage_data"))).thenReturn(List.of(
+                new Document("uuid", "content-1").append("index", 0).append("content", true).append("data", new Binary("abc".getBytes())),
+                new Document("uuid", "content-1").append("index", 1).append("content", true).append("data", new Binary("de".getBytes()))));
+
+        Path file = tempDir.resolve("storage_data.jsonl");
+        ExportService.ExportResult result = service.exportCollection("storage_data", file, "w1");
+
+        assertEquals(2, result.getSuccessCount());
+        List<Document> lines = Files.readAllLines(file).stream().map(Document::parse).toList();
+        assertEquals(3, lines.size());
+
+        Document first = lines.get(0);
+        assertEquals("header-1", first.get("_id"));
+        assertEquals("storage-1", first.get("uuid"));
+        assertEquals("w1", first.get("worldId"));
+        assertFalse(first.containsKey("contentId"));
+        assertFalse(first.getBoolean("isFinal"));
+        assertArrayEquals("abc".getBytes(), first.get("data", Binary.class).getData());
+
+        Document second = lines.get(1);
+        assertEquals(1, second.getInteger("index"));
+        assertTrue(second.getBoolean("isFinal"));
+        assertEquals(5L, ((Number) second.get("size")).longValue());
+        assertArrayEquals("de".getBytes(), second.get("data", Binary.class).getData());
+        assertEquals("de.mhus.nimbus.shared.storage.StorageData", second.get("_class"));
+
+        assertEquals("legacy-1", lines.get(2).get("_id"));
+    }
+
+    @Test
+    void missingContentIsAnError() throws Exception {
+        Document header = new Document("_id", "header-1")
+                .append("uuid", "storage-1")
+                .append("worldId", "w1")
+                .append("contentId", "content-1");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("storage_data")))
+                .thenReturn(List.of(header))
+                .thenReturn(List.of());
+
+        ExportService.ExportResult result = service.exportCollection("storage_data", tempDir.resolve("storage_data.jsonl"), "w1");
+
+        assertEquals(1, result.getErrorCount());
+        assertTrue(result.hasErrors());
+    }
+}
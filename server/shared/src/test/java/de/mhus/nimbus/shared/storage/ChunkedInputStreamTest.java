@@ -13,6 +13,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -387,4 +389,36 @@ class ChunkedInputStreamTest {
         stream.close();
         stream.close(); // Should not throw
     }
+
+    @Test
+    void testSkipLoadsTargetChunkOnly() throws IOException {
+        // Setup: Chunks of 4 bytes "0123" "4567" "89ab" and final "cd"
+        String[] parts = {"0123", "4567", "89ab", "cd"};
+        for (int i = 0; i < parts.length; i++) {
+            StorageData chunk = StorageData.builder()
+                    .uuid(TEST_UUID)
+                    .index(i)
+                    .data(parts[i].getBytes())
+                    .isFinal(i == parts.length - 1)
+                    .createdAt(new Date())
+                    .build();
+            if (i != 1) {
+                when(repository.findByUuidAndIndex(TEST_UUID, i)).thenReturn(chunk);
+            }
+        }
+
+        ChunkedInputStream stream = new ChunkedInputStream(repository, TEST_UUID);
+
+        assertThat(stream.read()).isEqualTo('0');
+        assertThat(stream.skip(9)).isEqualTo(9);
+        assertThat(new String(stream.readNBytes(2))).isEqualTo("ab");
+        assertThat(stream.skip(1)).isEqualTo(1);
+        assertThat(stream.read()).isEqualTo('d');
+        assertThat(stream.read()).isEqualTo(-1);
+
+        // Chunk 1 was skipped without loading
+        verify(repository, never()).findByUuidAndIndex(TEST_UUID, 1);
+
+        stream.close();
+    }
 }
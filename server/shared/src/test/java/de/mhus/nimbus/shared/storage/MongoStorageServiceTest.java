@@ -1,5 +1,6 @@
 package de.mhus.nimbus.shared.storage;
 
+import com.mongodb.client.result.DeleteResult;
 import de.mhus.nimbus.shared.types.SchemaVersion;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,11 +9,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -31,6 +38,12 @@ class MongoStorageServiceTest {
     @Mock
     private StorageDeleteRepository storageDeleteRepository;
 
+    @Mock
+    private StorageContentRepository storageContentRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
     @InjectMocks
     private MongoStorageService service;
 
@@ -55,18 +68,136 @@ class MongoStorageServiceTest {
         assertThat(result.path()).isEqualTo(testPath);
         assertThat(result.createdAt()).isNotNull();
 
-        // Verify one chunk was saved (small file)
-        verify(storageDataRepository, times(1)).save(any(StorageData.class));
-
+        // Verify one content chunk (small file) and the header were saved
         ArgumentCaptor<StorageData> captor = ArgumentCaptor.forClass(StorageData.class);
-        verify(storageDataRepository).save(captor.capture());
+        verify(storageDataRepository, times(2)).save(captor.capture());
+
+        StorageData content = captor.getAllValues().get(0);
+        assertThat(content.isContent()).isTrue();
+        assertThat(content.getData()).isEqualTo(testData);
+        assertThat(content.getWorldId()).isNull();
 
-        StorageData saved = captor.getValue();
+        StorageData saved = captor.getAllValues().get(1);
         assertThat(saved.getUuid()).isEqualTo(result.id());
+        assertThat(saved.getContentId()).isEqualTo(content.getUuid());
         assertThat(saved.getPath()).isEqualTo(testPath);
         assertThat(saved.getIndex()).isEqualTo(0);
         assertThat(saved.isFinal()).isTrue();
         assertThat(saved.getSize()).isEqualTo(testData.length);
+
+        ArgumentCaptor<StorageContent> contentCaptor = ArgumentCaptor.forClass(StorageContent.class);
+        verify(storageContentRepository).insert(contentCaptor.capture());
+        assertThat(contentCaptor.getValue().getId()).isEqualTo(content.getUuid());
+        assertThat(contentCaptor.getValue().getHash()).hasSize(64);
+        assertThat(contentCaptor.getValue().getRefCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testStoreIdenticalContentIsDeduplicated() {
+        StorageContent existing = StorageContent.builder().id("content-1").refCount(2).build();
+        when(storageContentRepository.findByHash(any())).thenReturn(Optional.of(existing));
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(StorageContent.class)))
+                .thenReturn(existing);
+
+        StorageService.StorageInfo result = service.store("test", SchemaVersion.create("1.0"), "w1", "test/file.txt",
+                new ByteArrayInputStream("Hello World".getBytes()));
+
+        ArgumentCaptor<StorageData> captor = ArgumentCaptor.forClass(StorageData.class);
+        verify(storageDataRepository, times(2)).save(captor.capture());
+        String writtenContentId = captor.getAllValues().get(0).getUuid();
+        StorageData header = captor.getAllValues().get(1);
+
+        // The written chunks are dropped, the header references the existing content
+        verify(storageDataRepository).deleteByUuid(writtenContentId);
+        verify(storageContentRepository, never()).insert(any(StorageContent.class));
+        assertThat(header.getUuid()).isEqualTo(result.id());
+        assertThat(header.getContentId()).isEqualTo("content-1");
+    }
+
+    @Test
+    void testDuplicateReferencesContent() {
+        StorageData header = StorageData.builder()
+                .uuid("source")
+                .path("test/file.txt")
+                .worldId("w1")
+                .index(0)
+                .isFinal(true)
+                .size(11)
+                .createdAt(new Date())
+                .schema("test")
+                .schemaVersion("1.0")
+                .contentId("content-1")
+                .build();
+        when(storageDataRepository.findByUuidAndIsFinalTrue("source")).thenReturn(header);
+        when(storageDataRepository.findByUuidAndIndex("source", 0)).thenReturn(header);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(StorageContent.class)))
+                .thenReturn(StorageContent.builder().id("content-1").refCount(2).build());
+
+        String duplicateId = service.duplicate("source", "w2");
+
+        assertThat(duplicateId).isNotBlank().isNotEqualTo("source");
+        ArgumentCaptor<StorageData> captor = ArgumentCaptor.forClass(StorageData.class);
+        verify(storageDataRepository, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getUuid()).isEqualTo(duplicateId);
+        assertThat(captor.getValue().getWorldId()).isEqualTo("w2");
+        assertThat(captor.getValue().getContentId()).isEqualTo("content-1");
+        assertThat(captor.getValue().getSize()).isEqualTo(11);
+        verify(storageDataRepository, never()).findByUuidAndIndex("content-1", 0);
+    }
+
+    @Test
+    void testPurgeDeletesContentWithLastReference() {
+        StorageData header = StorageData.builder().uuid("storage-1").index(0).isFinal(true).contentId("content-1").build();
+        when(storageDataRepository.findByUuidAndIndex("storage-1", 0)).thenReturn(header);
+        when(storageDataRepository.countByUuid("storage-1")).thenReturn(1L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(StorageContent.class)))
+                .thenReturn(StorageContent.builder().id("content-1").refCount(0).build());
+        when(mongoTemplate.remove(any(Query.class), eq(StorageContent.class))).thenReturn(DeleteResult.acknowledged(1));
+
+        assertThat(service.purge("storage-1")).isEqualTo(1);
+
+        verify(storageDataRepository).deleteByUuid("storage-1");
+        verify(storageDataRepository).deleteByUuid("content-1");
+    }
+
+    @Test
+    void testPurgeKeepsReferencedContent() {
+        StorageData header = StorageData.builder().uuid("storage-1").index(0).isFinal(true).contentId("content-1").build();
+        when(storageDataRepository.findByUuidAndIndex("storage-1", 0)).thenReturn(header);
+        when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class), any(FindAndModifyOptions.class), eq(StorageContent.class)))
+                .thenReturn(StorageContent.builder().id("content-1").refCount(1).build());
+
+        service.purge("storage-1");
+
+        verify(storageDataRepository).deleteByUuid("storage-1");
+        verify(storageDataRepository, never()).deleteByUuid("content-1");
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(StorageContent.class));
+    }
+
+    @Test
+    void testPurgeOrphanedContentDeletesChunksWithoutContent() {
+        when(mongoTemplate.findDistinct(any(Query.class), eq("uuid"), eq(StorageData.class), eq(String.class)))
+                .thenReturn(List.of("content-1", "orphan-1"));
+        when(storageContentRepository.existsById("content-1")).thenReturn(true);
+        when(storageContentRepository.existsById("orphan-1")).thenReturn(false);
+
+        assertThat(service.purgeOrphanedContent(new Date())).isEqualTo(1);
+
+        verify(storageDataRepository).deleteByUuid("orphan-1");
+        verify(storageDataRepository, never()).deleteByUuid("content-1");
+    }
+
+    @Test
+    void testLoadResolvesContent() throws Exception {
+        StorageData header = StorageData.builder().uuid("storage-1").index(0).isFinal(true).contentId("content-1").build();
+        StorageData chunk = StorageData.builder().uuid("content-1").index(0).isFinal(true).content(true)
+                .data("Test Data".getBytes()).build();
+        when(storageDataRepository.findByUuidAndIndex("storage-1", 0)).thenReturn(header);
+        when(storageDataRepository.findByUuidAndIndex("content-1", 0)).thenReturn(chunk);
+
+        try (InputStream result = service.load("storage-1")) {
+            assertThat(result.readAllBytes()).isEqualTo("Test Data".getBytes());
+        }
     }
 
     @Test
@@ -83,8 +214,8 @@ class MongoStorageServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.size()).isEqualTo(testData.length);
 
-        // Verify 3 chunks were saved
-        verify(storageDataRepository, times(3)).save(any(StorageData.class));
+        // Verify 3 content chunks and the header were saved
+        verify(storageDataRepository, times(4)).save(any(StorageData.class));
     }
 
     @Test
@@ -2,6 +2,7 @@ package de.mhus.nimbus.shared.storage;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -11,6 +12,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -21,10 +23,10 @@ import static org.mockito.Mockito.*;
 class StorageCleanupSchedulerTest {
 
     @Mock
-    private StorageDataRepository storageDataRepository;
+    private StorageDeleteRepository storageDeleteRepository;
 
     @Mock
-    private StorageDeleteRepository storageDeleteRepository;
+    private MongoStorageService storageService;
 
     @InjectMocks
     private StorageCleanupScheduler scheduler;
@@ -37,7 +39,7 @@ class StorageCleanupSchedulerTest {
         scheduler.cleanupDeletedStorage();
 
         // No deletions should occur
-        verify(storageDataRepository, never()).deleteByUuid(any());
+        verify(storageService, never()).purge(any());
         verify(storageDeleteRepository, never()).delete(any(StorageDelete.class));
     }
 
@@ -52,13 +54,12 @@ class StorageCleanupSchedulerTest {
 
         when(storageDeleteRepository.findByDeletedAtLessThanEqual(any(Date.class)))
                 .thenReturn(Collections.singletonList(deleteEntry));
-        when(storageDataRepository.countByUuid(storageId)).thenReturn(3L);
+        when(storageService.purge(storageId)).thenReturn(3L);
 
         scheduler.cleanupDeletedStorage();
 
         // Verify chunks were deleted
-        verify(storageDataRepository).countByUuid(storageId);
-        verify(storageDataRepository).deleteByUuid(storageId);
+        verify(storageService).purge(storageId);
 
         // Verify delete entry was removed
         verify(storageDeleteRepository).delete(deleteEntry);
@@ -88,15 +89,15 @@ class StorageCleanupSchedulerTest {
 
         when(storageDeleteRepository.findByDeletedAtLessThanEqual(any(Date.class)))
                 .thenReturn(deleteList);
-        when(storageDataRepository.countByUuid(anyString())).thenReturn(5L);
+        when(storageService.purge(anyString())).thenReturn(5L);
 
         scheduler.cleanupDeletedStorage();
 
         // Verify all entries were processed
-        verify(storageDataRepository, times(3)).deleteByUuid(anyString());
-        verify(storageDataRepository).deleteByUuid("uuid-1");
-        verify(storageDataRepository).deleteByUuid("uuid-2");
-        verify(storageDataRepository).deleteByUuid("uuid-3");
+        verify(storageService, times(3)).purge(anyString());
+        verify(storageService).purge("uuid-1");
+        verify(storageService).purge("uuid-2");
+        verify(storageService).purge("uuid-3");
 
         verify(storageDeleteRepository, times(3)).delete(any(StorageDelete.class));
     }
@@ -119,22 +120,20 @@ class StorageCleanupSchedulerTest {
                 .thenReturn(Arrays.asList(delete1, delete2));
 
         // First deletion fails
-        when(storageDataRepository.countByUuid("uuid-1"))
+        when(storageService.purge("uuid-1"))
                 .thenThrow(new RuntimeException("MongoDB connection failed"));
 
         // Second deletion succeeds
-        when(storageDataRepository.countByUuid("uuid-2")).thenReturn(2L);
+        when(storageService.purge("uuid-2")).thenReturn(2L);
 
         scheduler.cleanupDeletedStorage();
 
         // Verify first deletion was attempted but failed
-        verify(storageDataRepository).countByUuid("uuid-1");
-        verify(storageDataRepository, never()).deleteByUuid("uuid-1");
-        verify(storageDeleteRepository, never()).delete(delete1);
+        verify(storageService).purge("uuid-1");
+                verify(storageDeleteRepository, never()).delete(delete1);
 
         // Verify second deletion succeeded
-        verify(storageDataRepository).countByUuid("uuid-2");
-        verify(storageDataRepository).deleteByUuid("uuid-2");
+        verify(storageService).purge("uuid-2");
         verify(storageDeleteRepository).delete(delete2);
     }
 
@@ -146,7 +145,7 @@ class StorageCleanupSchedulerTest {
         // Should not throw exception, just log error
         scheduler.cleanupDeletedStorage();
 
-        verify(storageDataRepository, never()).deleteByUuid(any());
+        verify(storageService, never()).purge(any());
     }
 
     @Test
@@ -174,14 +173,13 @@ class StorageCleanupSchedulerTest {
 
         when(storageDeleteRepository.findByDeletedAtLessThanEqual(any(Date.class)))
                 .thenReturn(Collections.singletonList(deleteEntry));
-        when(storageDataRepository.countByUuid(storageId)).thenReturn(3L);
+        when(storageService.purge(storageId)).thenReturn(3L);
 
         scheduler.cleanupDeletedStorage();
 
         // Verify order: chunks deleted first, then delete entry
-        var inOrder = inOrder(storageDataRepository, storageDeleteRepository);
-        inOrder.verify(storageDataRepository).countByUuid(storageId);
-        inOrder.verify(storageDataRepository).deleteByUuid(storageId);
+        var inOrder = inOrder(storageService, storageDeleteRepository);
+        inOrder.verify(storageService).purge(storageId);
         inOrder.verify(storageDeleteRepository).delete(deleteEntry);
     }
 
@@ -196,13 +194,12 @@ class StorageCleanupSchedulerTest {
 
         when(storageDeleteRepository.findByDeletedAtLessThanEqual(any(Date.class)))
                 .thenReturn(Collections.singletonList(deleteEntry));
-        when(storageDataRepository.countByUuid(storageId)).thenReturn(0L);
+        when(storageService.purge(storageId)).thenReturn(0L);
 
         scheduler.cleanupDeletedStorage();
 
         // Should still try to delete (no-op) and remove entry
-        verify(storageDataRepository).countByUuid(storageId);
-        verify(storageDataRepository).deleteByUuid(storageId);
+        verify(storageService).purge(storageId);
         verify(storageDeleteRepository).delete(deleteEntry);
     }
 
@@ -230,27 +227,39 @@ class StorageCleanupSchedulerTest {
                 .thenReturn(Arrays.asList(delete1, delete2, delete3));
 
         // First succeeds
-        when(storageDataRepository.countByUuid("uuid-1")).thenReturn(2L);
+        when(storageService.purge("uuid-1")).thenReturn(2L);
 
         // Second fails
-        when(storageDataRepository.countByUuid("uuid-2"))
+        when(storageService.purge("uuid-2"))
                 .thenThrow(new RuntimeException("Error"));
 
         // Third succeeds
-        when(storageDataRepository.countByUuid("uuid-3")).thenReturn(1L);
+        when(storageService.purge("uuid-3")).thenReturn(1L);
 
         scheduler.cleanupDeletedStorage();
 
         // Verify first deletion succeeded
-        verify(storageDataRepository).deleteByUuid("uuid-1");
+        verify(storageService).purge("uuid-1");
         verify(storageDeleteRepository).delete(delete1);
 
         // Verify second deletion failed
-        verify(storageDataRepository, never()).deleteByUuid("uuid-2");
+        verify(storageService).purge("uuid-2");
         verify(storageDeleteRepository, never()).delete(delete2);
 
         // Verify third deletion succeeded (scheduler continues after error)
-        verify(storageDataRepository).deleteByUuid("uuid-3");
+        verify(storageService).purge("uuid-3");
         verify(storageDeleteRepository).delete(delete3);
     }
+
+    @Test
+    void testCleanupOrphanedContentUsesMinimumAge() {
+        long before = System.currentTimeMillis();
+
+        scheduler.cleanupOrphanedContent();
+
+        ArgumentCaptor<Date> createdBefore = ArgumentCaptor.forClass(Date.class);
+        verify(storageService).purgeOrphanedContent(createdBefore.capture());
+        assertTrue(createdBefore.getValue().getTime() >= before - 3600000);
+        assertTrue(createdBefore.getValue().getTime() <= System.currentTimeMillis() - 3600000);
+    }
 }
@@ -0,0 +1,99 @@
+package de.mhus.nimbus.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FastNoiseLiteTest {
+
+    private static FastNoiseLite noise(FastNoiseLite.NoiseType noiseType, FastNoiseLite.FractalType fractalType) {
+        FastNoiseLite noise = new FastNoiseLite(4711);
+        noise.SetNoiseType(noiseType);
+        noise.SetFractalType(fractalType);
+        noise.SetFrequency(0.03f);
+        noise.SetFractalOctaves(4);
+        noise.SetFractalWeightedStrength(0.3f);
+        return noise;
+    }
+
+    @Test
+    void grid_shouldMatchSinglePositions() {
+        int width = 17;
+        int height = 9;
+        float[] out = new float[width * height];
+
+        for (FastNoiseLite.NoiseType noiseType : FastNoiseLite.NoiseType.values()) {
+            for (FastNoiseLite.FractalType fractalType : new FastNoiseLite.FractalType[]{
+                    FastNoiseLite.FractalType.None, FastNoiseLite.FractalType.FBm,
+                    FastNoiseLite.FractalType.Ridged, FastNoiseLite.FractalType.PingPong}) {
+                FastNoiseLite noise = noise(noiseType, fractalType);
+                noise.GetNoiseGrid(out, -5.5f, 120f, width, height, 0.75f, 2f);
+
+                for (int j = 0; j < height; j++) {
+                    for (int i = 0; i < width; i++) {
+                        float expected = noise.GetNoise(-5.5f + i * 0.75f, 120f + j * 2f);
+                        assertThat(out[i + j * width])
+                                .as("%s %s at %d,%d", noiseType, fractalType, i, j)
+                                .isEqualTo(expected);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void gradient_shouldMatchFormerGenerator() {
+        // values of the former world-shared generator with the settings of WChunkService
+        FastNoiseLite noise = new FastNoiseLite(1337);
+        noise.SetNoiseType(FastNoiseLite.NoiseType.Gradient);
+        noise.SetFrequency(0.02f);
+
+        assertThat(noise.GetNoise(10f, 20f)).isEqualTo(-0.20667265f);
+        assertThat(noise.GetNoise(-37f, 5f)).isEqualTo(0.22807105f);
+        assertThat(noise.GetNoise(1234f, -987f)).isEqualTo(0.35287967f);
+    }
+
+    @Test
+    void points_shouldMatchSinglePositionsAndKeepInput() {
+        FastNoiseLite noise = noise(FastNoiseLite.NoiseType.OpenSimplex2, FastNoiseLite.FractalType.FBm);
+        float[] xs = {0f, 1.5f, -300.25f, 1e5f};
+        float[] ys = {0f, -7f, 42.5f, 3f};
+        float[] out = new float[4];
+
+        noise.GetNoise(xs, ys, out, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(out[i]).isEqualTo(noise.GetNoise(xs[i], ys[i]));
+        }
+        assertThat(out[3]).isZero();
+        assertThat(xs).containsExactly(0f, 1.5f, -300.25f, 1e5f);
+    }
+
+    @Test
+    void warpedGrid_shouldMatchWarpedSinglePositions() {
+        FastNoiseLite noise = noise(FastNoiseLite.NoiseType.Perlin, FastNoiseLite.FractalType.None);
+        FastNoiseLite warp = new FastNoiseLite(99);
+        warp.SetDomainWarpAmp(20f);
+        float[] out = new float[8 * 8];
+
+        noise.GetNoiseGrid(out, 0f, 0f, 8, 8, 1f, 1f, warp);
+
+        FastNoiseLite.Vector2 coord = new FastNoiseLite.Vector2(0, 0);
+        for (int j = 0; j < 8; j++) {
+            for (int i = 0; i < 8; i++) {
+                coord.x = i;
+                coord.y = j;
+                warp.DomainWarp(coord);
+                assertThat(out[i + j * 8]).isEqualTo(noise.GetNoise(coord.x, coord.y));
+            }
+        }
+    }
+
+    @Test
+    void grid_shouldRejectTooSmallOutput() {
+        FastNoiseLite noise = new FastNoiseLite();
+        assertThatThrownBy(() -> noise.GetNoiseGrid(new float[10], 0f, 0f, 4, 4, 1f, 1f))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
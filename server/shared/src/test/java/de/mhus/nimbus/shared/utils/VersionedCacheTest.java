@@ -0,0 +1,120 @@
+package de.mhus.nimbus.shared.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedCacheTest {
+
+    @Test
+    void valuesAreLoadedOnce() {
+        VersionedCache<String, String> cache = new VersionedCache<>(() -> 10, () -> 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("a!", cache.get("a", key -> {
+            loads.incrementAndGet();
+            return key + "!";
+        }));
+        assertEquals("a!", cache.get("a", key -> "other"));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        VersionedCache<String, String> cache = new VersionedCache<>(() -> 2, () -> 0);
+        cache.get("a", key -> key);
+        cache.get("b", key -> key);
+        cache.get("a", key -> key);
+        cache.get("c", key -> key);
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    @Test
+    void expiredEntriesAreLoadedAgain() {
+        AtomicLong ttl = new AtomicLong(60000);
+        VersionedCache<String, String> cache = new VersionedCache<>(() -> 10, ttl::get);
+        cache.get("a", key -> "old");
+        assertEquals("old", cache.getIfPresent("a"));
+
+        ttl.set(1);
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("new", cache.get("a", key -> "new"));
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsNotCached() {
+        VersionedCache<String, String> cache = new VersionedCache<>(() -> 10, () -> 0);
+
+        assertEquals("stale", cache.get("a", key -> {
+            cache.invalidate("a");
+            return "stale";
+        }));
+        assertNull(cache.getIfPresent("a"));
+
+        long version = cache.getVersion();
+        cache.invalidateIf(key -> key.startsWith("x"));
+        assertFalse(cache.put("a", "stale", version));
+        assertTrue(cache.put("a", "fresh", cache.getVersion()));
+        assertEquals("fresh", cache.getIfPresent("a"));
+    }
+
+    @Test
+    void invalidationOfOtherKeyDoesNotDropLoad() {
+        VersionedCache<String, String> cache = new VersionedCache<>(() -> 10, () -> 0);
+
+        assertEquals("b", cache.get("b", key -> {
+            cache.invalidate("a");
+            cache.update("c", value -> fail("not cached"));
+            return key;
+        }));
+        assertEquals("b", cache.getIfPresent("b"));
+
+        long version = cache.getVersion();
+        cache.invalidate("a");
+        assertFalse(cache.put("a", "stale", version));
+        assertTrue(cache.put("b", "fresh", version));
+    }
+
+    @Test
+    void evictedStampsStillRejectOlderLoads() {
+        VersionedCache<String, String> cache = new VersionedCache<>(() -> 1, () -> 0);
+        long version = cache.getVersion();
+
+        for (int i = 0; i < 100; i++) {
+            cache.invalidate("k" + i);
+        }
+
+        // the stamp of k0 is gone, the floor covers it
+        assertFalse(cache.put("k0", "stale", version));
+        assertTrue(cache.put("k0", "fresh", cache.getVersion()));
+    }
+
+    @Test
+    void updateChangesCachedValue() {
+        VersionedCache<String, List<String>> cache = new VersionedCache<>(() -> 10, () -> 0);
+        cache.get("a", key -> new ArrayList<>());
+
+        cache.update("a", list -> list.add("x"));
+        cache.update("b", list -> fail("not cached"));
+
+        assertEquals(List.of("x"), cache.getIfPresent("a"));
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
@@ -9,6 +9,7 @@ import de.mhus.nimbus.world.shared.client.WorldClientService;
 import de.mhus.nimbus.world.shared.commands.CommandContext;
 import de.mhus.nimbus.world.shared.edit.BlockUpdateService;
 import de.mhus.nimbus.world.shared.session.EditState;
+import de.mhus.nimbus.world.shared.layer.WEditJournal;
 import de.mhus.nimbus.world.shared.layer.WLayer;
 import de.mhus.nimbus.world.shared.layer.WLayerService;
 import de.mhus.nimbus.world.shared.redis.WorldRedisService;
@@ -479,6 +480,62 @@ public class EditorController extends BaseEditorController {
         }
     }
 
+    /**
+     * POST /control/editor/{worldId}/session/{sessionId}/undo
+     * Reverts the last journaled edit operation of the session.
+     */
+    @PostMapping("/{worldId}/session/{sessionId}/undo")
+    public ResponseEntity<?> undo(
+            @PathVariable String worldId,
+            @PathVariable String sessionId) {
+
+        WorldId.of(worldId).orElseThrow(
+                () -> new IllegalStateException("Invalid worldId: " + worldId)
+        );
+        try {
+            Optional<WEditJournal> operation = editService.undo(worldId, sessionId);
+            if (operation.isEmpty()) {
+                return bad("Nothing to undo");
+            }
+            return ResponseEntity.ok().body(journalResult(operation.get(), "Undone"));
+        } catch (Exception e) {
+            log.error("Failed to undo: worldId={}, sessionId={}", worldId, sessionId, e);
+            return bad("Failed to undo: " + e.getMessage());
+        }
+    }
+
+    /**
+     * POST /control/editor/{worldId}/session/{sessionId}/redo
+     * Applies the last undone edit operation of the session again.
+     */
+    @PostMapping("/{worldId}/session/{sessionId}/redo")
+    public ResponseEntity<?> redo(
+            @PathVariable String worldId,
+            @PathVariable String sessionId) {
+
+        WorldId.of(worldId).orElseThrow(
+                () -> new IllegalStateException("Invalid worldId: " + worldId)
+        );
+        try {
+            Optional<WEditJournal> operation = editService.redo(worldId, sessionId);
+            if (operation.isEmpty()) {
+                return bad("Nothing to redo");
+            }
+            return ResponseEntity.ok().body(journalResult(operation.get(), "Redone"));
+        } catch (Exception e) {
+            log.error("Failed to redo: worldId={}, sessionId={}", worldId, sessionId, e);
+            return bad("Failed to redo: " + e.getMessage());
+        }
+    }
+
+    private Map<String, Object> journalResult(WEditJournal operation, String action) {
+        return Map.of(
+                "operation", operation.getTitle() != null ? operation.getTitle() : "",
+                "blocks", operation.getBlocks(),
+                "message", action + " " + operation.getTitle() + " (" + operation.getBlocks() + " blocks)"
+        );
+    }
+
     /**
      * POST /control/editor/{worldId}/session/{sessionId}/change
      * Deactivates edit mode and clears layer/model selection.
@@ -443,8 +443,6 @@ public class HexGridController extends BaseEditorController {
                 return notFound("Hex grid not found at position: " + q + ":" + r);
             }
 
-            WHexGrid hexGrid = hexGridOpt.get();
-
             // Get world entity for chunk size calculation
             var world = worldService.getByWorldId(worldId).orElseThrow(
                     () -> new IllegalArgumentException("World not found: " + worldId)
@@ -461,8 +459,8 @@ public class HexGridController extends BaseEditorController {
                 return bad("World chunkSize is not configured (value: " + world.getPublicData().getChunkSize() + "). Please configure chunkSize in world settings.");
             }
 
-            // Get all affected chunk keys
-            java.util.Set<String> affectedChunks = hexGrid.getAffectedChunkKeys(world);
+            // Get all chunks overlapped by the hex from the chunk to hex table
+            java.util.Set<String> affectedChunks = hexGridService.getChunkKeys(world, position);
 
             if (affectedChunks.isEmpty()) {
                 return bad("No chunks affected by this hex grid");
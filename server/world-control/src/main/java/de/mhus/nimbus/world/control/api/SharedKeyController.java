@@ -3,6 +3,7 @@ package de.mhus.nimbus.world.control.api;
 import de.mhus.nimbus.shared.persistence.SKey;
 import de.mhus.nimbus.shared.persistence.SKeyRepository;
 import de.mhus.nimbus.shared.security.KeyKind;
+import de.mhus.nimbus.shared.security.KeyService;
 import de.mhus.nimbus.shared.security.KeyType;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -33,9 +34,11 @@ import java.util.stream.StreamSupport;
 public class SharedKeyController {
 
     private final SKeyRepository repository;
+    private final KeyService keyService;
 
-    public SharedKeyController(SKeyRepository repository) {
+    public SharedKeyController(SKeyRepository repository, KeyService keyService) {
         this.repository = repository;
+        this.keyService = keyService;
     }
 
     @GetMapping
@@ -90,6 +93,7 @@ public class SharedKeyController {
             }
         }
         SKey saved = repository.save(e);
+        keyService.invalidatePublicKeys();
         return ResponseEntity.ok(toDto(saved));
     }
 
@@ -107,6 +111,7 @@ public class SharedKeyController {
     public ResponseEntity<Void> delete(@PathVariable("id") String id) {
         if (!repository.existsById(id)) return ResponseEntity.notFound().build();
         repository.deleteById(id);
+        keyService.invalidatePublicKeys();
         return ResponseEntity.noContent().build();
     }
 
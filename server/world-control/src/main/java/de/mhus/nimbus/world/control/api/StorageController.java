@@ -57,9 +57,10 @@ public class StorageController {
         if (limit < 1) limit = 1;
         if (offset < 0) offset = 0;
 
-        // Build MongoDB query for final chunks only
+        // Build MongoDB query for final chunks only, without chunks of deduplicated content
         Query mongoQuery = new Query();
         mongoQuery.addCriteria(Criteria.where("isFinal").is(true));
+        mongoQuery.addCriteria(Criteria.where("content").ne(true));
 
         // Add search criteria if query provided
         if (query != null && !query.trim().isEmpty()) {
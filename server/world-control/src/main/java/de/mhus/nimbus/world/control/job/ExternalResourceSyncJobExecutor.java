@@ -48,6 +48,12 @@ public class ExternalResourceSyncJobExecutor implements JobExecutor {
         return "externalResourceSync";
     }
 
+    @Override
+    public boolean isIoBound() {
+        // Waits for git and storage
+        return true;
+    }
+
     @Override
     public JobResult execute(WJob job) throws JobExecutionException {
         String jobType = job.getType();
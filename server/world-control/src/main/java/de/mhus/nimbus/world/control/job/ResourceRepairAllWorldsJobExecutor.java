@@ -7,9 +7,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import de.mhus.nimbus.world.shared.job.JobCheckpoint;
 import de.mhus.nimbus.world.shared.job.JobExecutionException;
 import de.mhus.nimbus.world.shared.job.JobExecutor;
 import de.mhus.nimbus.world.shared.job.WJob;
+import de.mhus.nimbus.world.shared.job.WJobService;
 
 import java.util.*;
 
@@ -37,7 +39,13 @@ import java.util.*;
  * - ground
  * - storage
  *
- * Parameters: None required
+ * Optional parameters:
+ * - partitions: Fan the job out into this number of partition jobs, each repairing a share of the worlds.
+ *   The partition jobs can run on different pods. The job waits (async) until all partition jobs are
+ *   finished and completes with their results, onSuccess/onError run after that.
+ *
+ * Each successfully repaired world is recorded in the job checkpoint, a retried or resumed job skips them.
+ * Worlds with failed repairs are repaired again.
  */
 @Component
 @RequiredArgsConstructor
@@ -46,6 +54,7 @@ public class ResourceRepairAllWorldsJobExecutor implements JobExecutor {
 
     private final ResourceRepairService repairService;
     private final List<DeleteWorldResources> deleteServices;
+    private final WJobService jobService;
 
     @Override
     public String getExecutorName() {
@@ -54,7 +63,24 @@ public class ResourceRepairAllWorldsJobExecutor implements JobExecutor {
 
     @Override
     public JobResult execute(WJob job) throws JobExecutionException {
+        return execute(job, JobCheckpoint.detached(job));
+    }
+
+    @Override
+    public JobResult execute(WJob job, JobCheckpoint checkpoint) throws JobExecutionException {
         try {
+            // Fan out: the partition jobs do the work
+            String partitions = job.getParameters().get(JobCheckpoint.PARAM_PARTITIONS);
+            if (partitions != null && !job.getParameters().containsKey(JobCheckpoint.PARAM_PARTITION)) {
+                int count = Integer.parseInt(partitions.trim());
+                if (count > 1) {
+                    List<WJob> created = jobService.createPartitionJobs(job, count);
+                    // Completed by the last finished partition job
+                    return JobResult.async("Resource repair for all worlds split into " + created.size()
+                            + " partition jobs: " + created.stream().map(WJob::getId).toList());
+                }
+            }
+
             // Parse resource types from job type
             List<String> types = parseResourceTypesFromJobType(job.getType());
 
@@ -79,8 +105,8 @@ public class ResourceRepairAllWorldsJobExecutor implements JobExecutor {
 
             log.info("Found {} distinct worldIds in resources", allKnownWorldIds.size());
 
-            // 2. Filter to main world IDs (remove instance IDs)
-            Set<String> mainWorldIds = new HashSet<>();
+            // 2. Filter to main world IDs (remove instance IDs), sorted for a stable order on resume
+            Set<String> mainWorldIds = new TreeSet<>();
             for (String worldId : allKnownWorldIds) {
                 var parsed = WorldId.of(worldId);
                 if (parsed.isPresent()) {
@@ -100,11 +126,20 @@ public class ResourceRepairAllWorldsJobExecutor implements JobExecutor {
             }
             resultMessage.append(":\n\n");
 
-            int totalWorlds = mainWorldIds.size();
+            List<String> ownWorldIds = mainWorldIds.stream().filter(checkpoint::isMine).toList();
+            checkpoint.setTotal(ownWorldIds.size());
+
+            int totalWorlds = ownWorldIds.size();
             int successfulWorlds = 0;
             int failedWorlds = 0;
+            int skippedWorlds = 0;
 
-            for (String worldIdStr : mainWorldIds) {
+            for (String worldIdStr : ownWorldIds) {
+                if (checkpoint.isDone(worldIdStr)) {
+                    // Repaired by a previous execution of this job
+                    skippedWorlds++;
+                    continue;
+                }
                 try {
                     WorldId worldId = WorldId.of(worldIdStr).orElseThrow();
                     log.info("Repairing world: {}", worldId);
@@ -118,6 +153,7 @@ public class ResourceRepairAllWorldsJobExecutor implements JobExecutor {
 
                     if (successCount == worldResults.size()) {
                         successfulWorlds++;
+                        checkpoint.markDone(worldIdStr);
                     } else {
                         failedWorlds++;
                     }
@@ -148,8 +184,8 @@ public class ResourceRepairAllWorldsJobExecutor implements JobExecutor {
             }
 
             // Add final summary
-            resultMessage.append(String.format("\nSummary: %d/%d worlds repaired successfully, %d failed\n",
-                    successfulWorlds, totalWorlds, failedWorlds));
+            resultMessage.append(String.format("\nSummary: %d/%d worlds repaired successfully, %d failed, %d done before\n",
+                    successfulWorlds, totalWorlds, failedWorlds, skippedWorlds));
 
             String finalMessage = resultMessage.toString();
             log.info("Resource repair for all worlds completed:\n{}", finalMessage);
@@ -5,6 +5,7 @@ import de.mhus.nimbus.generated.types.Block;
 import de.mhus.nimbus.generated.types.ChunkData;
 import de.mhus.nimbus.generated.types.Vector3Int;
 import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.shared.layer.BlockRegion;
 import de.mhus.nimbus.world.shared.layer.WLayer;
 import de.mhus.nimbus.world.shared.layer.WLayerService;
 import de.mhus.nimbus.world.shared.redis.WorldRedisService;
@@ -135,6 +136,125 @@ public class BlockInfoService {
         return blockInfo;
     }
 
+    /**
+     * Load the blocks of a region with the same priority as loadBlockInfo():
+     * in edit mode WEditCache and the selected layer, then the merged WChunk.
+     * Each source is read once per chunk instead of once per position.
+     *
+     * @param worldId   World identifier
+     * @param sessionId Session identifier (optional - if null, loads from WChunk only)
+     * @param bounds    Region bounds
+     * @return Blocks in the region, positions without block are empty (air)
+     */
+    @Transactional(readOnly = true)
+    public BlockRegion<Block> loadBlockRegion(String worldId, String sessionId, BlockRegion<?> bounds) {
+        BlockRegion<Block> region = bounds.withSameBounds();
+
+        WWorld world = worldService.getByWorldId(worldId).orElse(null);
+        if (world == null) {
+            log.warn("World not found: {}", worldId);
+            return region;
+        }
+
+        // Check edit mode and layer selection
+        boolean editMode = false;
+        String layerName = null;
+        if (sessionId != null && !sessionId.isBlank()) {
+            EditState state = editService.getEditState(worldId, sessionId);
+            editMode = state.isEditMode();
+            layerName = state.getSelectedLayer();
+        }
+
+        if (editMode && layerName != null && !layerName.isBlank()) {
+            Optional<WLayer> layerOpt = layerService.findLayer(worldId, layerName);
+            if (layerOpt.isPresent()) {
+                // 1. WEditCache (edited but not committed)
+                editCacheService.findByRegion(world, layerOpt.get().getLayerDataId(), bounds).forEach((x, y, z, cache) -> {
+                    if (cache.getBlock() != null && cache.getBlock().getBlock() != null) {
+                        region.putIfAbsent(x, y, z, cache.getBlock().getBlock());
+                    }
+                });
+                // 2. Selected layer
+                loadRegionFromLayer(worldId, layerOpt.get(), region);
+            }
+        }
+
+        // 3. Merged WChunk
+        if (!region.isComplete()) {
+            loadRegionFromChunks(world, region);
+        }
+
+        log.debug("Loaded block region: worldId={} blocks={} volume={}", worldId, region.size(), region.volume());
+        return region;
+    }
+
+    /**
+     * Fill empty positions of the region from the selected layer.
+     */
+    private void loadRegionFromLayer(String worldId, WLayer layer, BlockRegion<Block> region) {
+        try {
+            switch (layer.getLayerType()) {
+                case GROUND:
+                    layerService.loadTerrainRegion(worldId, layer.getLayerDataId(), region).forEach((x, y, z, layerBlock) -> {
+                        if (layerBlock.getBlock() != null) {
+                            region.putIfAbsent(x, y, z, layerBlock.getBlock());
+                        }
+                    });
+                    break;
+
+                case MODEL:
+                    Optional<de.mhus.nimbus.world.shared.layer.WLayerModel> modelOpt =
+                            layerService.loadModelById(layer.getLayerDataId());
+                    if (modelOpt.isEmpty() || modelOpt.get().getContent() == null) {
+                        break;
+                    }
+                    de.mhus.nimbus.world.shared.layer.WLayerModel model = modelOpt.get();
+                    for (de.mhus.nimbus.world.shared.layer.LayerBlock layerBlock : model.getContent()) {
+                        Block block = layerBlock.getBlock();
+                        if (block == null || block.getPosition() == null) {
+                            continue;
+                        }
+                        int x = block.getPosition().getX() + model.getMountX();
+                        int y = block.getPosition().getY() + model.getMountY();
+                        int z = block.getPosition().getZ() + model.getMountZ();
+                        if (region.contains(x, y, z) && region.get(x, y, z) == null) {
+                            region.put(x, y, z, absoluteBlock(block, x, y, z));
+                        }
+                    }
+                    break;
+
+                default:
+                    log.warn("Unknown layer type: {}", layer.getLayerType());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load region from layer {}: {}", layer.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Fill empty positions of the region from the merged WChunks.
+     */
+    private void loadRegionFromChunks(WWorld world, BlockRegion<Block> region) {
+        WorldId wid = WorldId.of(world.getWorldId()).orElse(null);
+        if (wid == null) {
+            log.warn("Invalid worldId: {}", world.getWorldId());
+            return;
+        }
+
+        for (String chunkKey : region.chunkKeys(world.getPublicData().getChunkSize())) {
+            Optional<ChunkData> chunkDataOpt = chunkService.loadChunkData(wid, chunkKey, false);
+            if (chunkDataOpt.isEmpty() || chunkDataOpt.get().getBlocks() == null) {
+                continue;
+            }
+            for (Block block : chunkDataOpt.get().getBlocks()) {
+                Vector3Int pos = block.getPosition();
+                if (pos != null) {
+                    region.putIfAbsent(pos.getX(), pos.getY(), pos.getZ(), block);
+                }
+            }
+        }
+    }
+
     /**
      * Load block from WEditCache (edited but not committed).
      *
@@ -241,20 +361,9 @@ public class BlockInfoService {
 
         de.mhus.nimbus.world.shared.layer.LayerChunkData chunkData = chunkDataOpt.get();
 
-        // Find block at position
-        if (chunkData.getBlocks() != null) {
-            for (de.mhus.nimbus.world.shared.layer.LayerBlock layerBlock : chunkData.getBlocks()) {
-                Block block = layerBlock.getBlock();
-                if (block != null && block.getPosition() != null) {
-                    Vector3Int pos = block.getPosition();
-                    if (pos.getX() == x && pos.getY() == y && pos.getZ() == z) {
-                        return block;
-                    }
-                }
-            }
-        }
-
-        return null;
+        // Find block at position, decodes only this block
+        de.mhus.nimbus.world.shared.layer.LayerBlock layerBlock = chunkData.findBlock(x, y, z);
+        return layerBlock != null ? layerBlock.getBlock() : null;
     }
 
     /**
@@ -287,16 +396,7 @@ public class BlockInfoService {
                 if (block != null && block.getPosition() != null) {
                     Vector3Int pos = block.getPosition();
                     if ((int) pos.getX() == relativeX && (int) pos.getY() == relativeY && (int) pos.getZ() == relativeZ) {
-                        // Create new block with absolute position
-                        Block absoluteBlock = Block.builder()
-                                .position(Vector3Int.builder().x(x).y(y).z(z).build())
-                                .blockTypeId(block.getBlockTypeId())
-                                .offsets(block.getOffsets())
-                                .status(block.getStatus())
-                                .modifiers(block.getModifiers())
-                                .metadata(block.getMetadata())
-                                .build();
-                        return absoluteBlock;
+                        return absoluteBlock(block, x, y, z);
                     }
                 }
             }
@@ -305,6 +405,20 @@ public class BlockInfoService {
         return null;
     }
 
+    /**
+     * Copy of a model block with absolute position.
+     */
+    private Block absoluteBlock(Block block, int x, int y, int z) {
+        return Block.builder()
+                .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                .blockTypeId(block.getBlockTypeId())
+                .offsets(block.getOffsets())
+                .status(block.getStatus())
+                .modifiers(block.getModifiers())
+                .metadata(block.getMetadata())
+                .build();
+    }
+
     /**
      * Load block from merged WChunk (final rendered result).
      */
@@ -7,7 +7,11 @@ import de.mhus.nimbus.generated.types.Vector3Int;
 import de.mhus.nimbus.world.shared.client.WorldClientService;
 import de.mhus.nimbus.world.shared.commands.CommandContext;
 import de.mhus.nimbus.world.shared.edit.BlockUpdateService;
+import de.mhus.nimbus.world.shared.layer.BlockRegion;
 import de.mhus.nimbus.world.shared.layer.LayerType;
+import de.mhus.nimbus.world.shared.layer.WEditCacheBatch;
+import de.mhus.nimbus.world.shared.layer.WEditJournal;
+import de.mhus.nimbus.world.shared.layer.WEditJournalService;
 import de.mhus.nimbus.world.shared.layer.WLayer;
 import de.mhus.nimbus.world.shared.layer.WLayerService;
 import de.mhus.nimbus.world.shared.redis.WorldRedisService;
@@ -57,6 +61,7 @@ public class EditService {
     private final BlockUpdateService blockUpdateService;
     private final de.mhus.nimbus.world.shared.layer.WEditCacheService editCacheService;
     private final de.mhus.nimbus.world.shared.layer.WEditCacheDirtyService editCacheDirtyService;
+    private final WEditJournalService editJournalService;
 
     private static final Duration EDIT_STATE_TTL = Duration.ofHours(24);
     private static final String EDIT_STATE_PREFIX = "edit:";
@@ -512,6 +517,32 @@ public class EditService {
         return deletedCount;
     }
 
+    /**
+     * Undo the last edit operation of the session, see WEditJournalService.
+     *
+     * @param worldId World identifier
+     * @param sessionId Session identifier
+     * @return The reverted operation, empty if there is nothing to undo
+     */
+    public Optional<WEditJournal> undo(String worldId, String sessionId) {
+        var world = worldService.getByWorldId(worldId)
+                .orElseThrow(() -> new IllegalStateException("World not found: " + worldId));
+        return editJournalService.undo(world, sessionId);
+    }
+
+    /**
+     * Apply the last undone edit operation of the session again.
+     *
+     * @param worldId World identifier
+     * @param sessionId Session identifier
+     * @return The applied operation, empty if there is nothing to redo
+     */
+    public Optional<WEditJournal> redo(String worldId, String sessionId) {
+        var world = worldService.getByWorldId(worldId)
+                .orElseThrow(() -> new IllegalStateException("World not found: " + worldId));
+        return editJournalService.redo(world, sessionId);
+    }
+
     /**
      * Get edit cache statistics for a world.
      * Returns grouped statistics per layer with block count and timestamps.
@@ -634,8 +665,10 @@ public class EditService {
         de.mhus.nimbus.world.shared.world.WWorld world = worldService.getByWorldId(worldId)
                 .orElseThrow(() -> new IllegalStateException("World not found: " + worldId));
 
-        // Save to WEditCache with modelName
-        editCacheService.doSetAndSendBlock(world, layerDataId, modelName, pastedBlock, editState.getSelectedGroup());
+        // Save to WEditCache with modelName, journaled for undo
+        try (WEditCacheBatch batch = editJournalService.openBatch(world, sessionId, "set-block")) {
+            batch.setBlock(layerDataId, modelName, pastedBlock, editState.getSelectedGroup());
+        }
 
         log.info("Block pasted: session={} layer={} to=({},{},{}) type={}",
                 sessionId, layer.getName(), x, y, z, pastedBlock.getBlockTypeId());
@@ -949,6 +982,28 @@ public class EditService {
         }
     }
 
+    /**
+     * Get all blocks in a region, with the same priority as getBlock().
+     * Reads each source once per chunk, use this instead of getBlock() for many positions.
+     *
+     * @param editState Edit state containing layer selection
+     * @param sessionId Session ID for overlay lookup
+     * @param bounds Region bounds
+     * @return Copies of the blocks in the region, positions without block are empty (air)
+     */
+    public BlockRegion<Block> getBlocks(EditState editState, String sessionId, BlockRegion<?> bounds) {
+        BlockRegion<Block> blocks = blockInfoService.loadBlockRegion(editState.getWorldId(), sessionId, bounds);
+        BlockRegion<Block> copies = bounds.withSameBounds();
+        blocks.forEach((x, y, z, block) -> {
+            try {
+                copies.put(x, y, z, objectMapper.convertValue(block, Block.class));
+            } catch (Exception e) {
+                log.warn("Failed to convert block at ({},{},{}): {}", x, y, z, e.getMessage());
+            }
+        });
+        return copies;
+    }
+
     /**
      * Update block at position.
      * Writes to overlay and sends update to client.
@@ -1012,7 +1067,9 @@ public class EditService {
         var world = worldService.getByWorldId(worldId)
                 .orElseThrow(() -> new IllegalStateException("World not found: " + worldId));
 
-        editCacheService.doSetAndSendBlock(world, layerDataId, modelName, block, editState.getSelectedGroup());
+        try (WEditCacheBatch batch = editJournalService.openBatch(world, sessionId, "update-block")) {
+            batch.setBlock(layerDataId, modelName, block, editState.getSelectedGroup());
+        }
 
         return true;
     }
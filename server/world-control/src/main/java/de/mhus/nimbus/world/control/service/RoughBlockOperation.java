@@ -1,6 +1,7 @@
 package de.mhus.nimbus.world.control.service;
 
 import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.world.shared.layer.BlockRegion;
 import de.mhus.nimbus.world.shared.session.EditState;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
@@ -33,8 +34,10 @@ public class RoughBlockOperation {
     public void execute() {
         log.debug("Executing rough operation at ({},{},{})", centerX, centerY, centerZ);
 
-        // Read center block
-        Block centerBlock = editService.getBlock(editState, sessionId, centerX, centerY, centerZ);
+        // Read center and neighbor blocks with one region read
+        BlockRegion<Block> blocks = editService.getBlocks(editState, sessionId, new BlockRegion<>(
+                centerX - 1, centerY - 1, centerZ - 1, centerX + 1, centerY + 1, centerZ + 1));
+        Block centerBlock = blocks.get(centerX, centerY, centerZ);
         if (centerBlock == null) {
             log.debug("No center block found at ({},{},{})", centerX, centerY, centerZ);
             return;
@@ -58,7 +61,7 @@ public class RoughBlockOperation {
 
         // Process each direction
         for (int[] neighborPos : neighbors) {
-            roughenBlockPair(centerX, centerY, centerZ, neighborPos[0], neighborPos[1], neighborPos[2]);
+            roughenBlockPair(blocks, centerX, centerY, centerZ, neighborPos[0], neighborPos[1], neighborPos[2]);
         }
     }
 
@@ -66,9 +69,10 @@ public class RoughBlockOperation {
      * Roughen the transition between two blocks.
      * Increases offset differences by diverging from the average.
      */
-    private void roughenBlockPair(int x1, int y1, int z1, int x2, int y2, int z2) {
-        Block block1 = editService.getBlock(editState, sessionId, x1, y1, z1);
-        Block block2 = editService.getBlock(editState, sessionId, x2, y2, z2);
+    private void roughenBlockPair(BlockRegion<Block> blocks, int x1, int y1, int z1, int x2, int y2, int z2) {
+        // Updated blocks are modified in the region, later pairs see the update
+        Block block1 = blocks.get(x1, y1, z1);
+        Block block2 = blocks.get(x2, y2, z2);
 
         if (block1 == null || block2 == null) {
             return;
@@ -1,6 +1,7 @@
 package de.mhus.nimbus.world.control.service;
 
 import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.world.shared.layer.BlockRegion;
 import de.mhus.nimbus.world.shared.session.EditState;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
@@ -30,8 +31,10 @@ public class SmoothBlockOperation {
     public void execute() {
         log.debug("Executing smooth operation at ({},{},{})", centerX, centerY, centerZ);
 
-        // Read center block
-        Block centerBlock = editService.getBlock(editState, sessionId, centerX, centerY, centerZ);
+        // Read center and neighbor blocks with one region read
+        BlockRegion<Block> blocks = editService.getBlocks(editState, sessionId, new BlockRegion<>(
+                centerX - 1, centerY - 1, centerZ - 1, centerX + 1, centerY + 1, centerZ + 1));
+        Block centerBlock = blocks.get(centerX, centerY, centerZ);
         if (centerBlock == null) {
             log.debug("No center block found at ({},{},{})", centerX, centerY, centerZ);
             return;
@@ -55,7 +58,7 @@ public class SmoothBlockOperation {
 
         // Process each direction
         for (int[] neighborPos : neighbors) {
-            smoothBlockPair(centerX, centerY, centerZ, neighborPos[0], neighborPos[1], neighborPos[2]);
+            smoothBlockPair(blocks, centerX, centerY, centerZ, neighborPos[0], neighborPos[1], neighborPos[2]);
         }
     }
 
@@ -63,9 +66,10 @@ public class SmoothBlockOperation {
      * Smooth the transition between two blocks.
      * Adjusts offsets by averaging them to create a smooth transition.
      */
-    private void smoothBlockPair(int x1, int y1, int z1, int x2, int y2, int z2) {
-        Block block1 = editService.getBlock(editState, sessionId, x1, y1, z1);
-        Block block2 = editService.getBlock(editState, sessionId, x2, y2, z2);
+    private void smoothBlockPair(BlockRegion<Block> blocks, int x1, int y1, int z1, int x2, int y2, int z2) {
+        // Updated blocks are modified in the region, later pairs see the update
+        Block block1 = blocks.get(x1, y1, z1);
+        Block block2 = blocks.get(x2, y2, z2);
 
         if (block1 == null || block2 == null) {
             return;
@@ -2,6 +2,7 @@ package de.mhus.nimbus.world.control.service.delete;
 
 import de.mhus.nimbus.shared.storage.StorageService;
 import de.mhus.nimbus.world.shared.world.SAsset;
+import de.mhus.nimbus.world.shared.world.SAssetPathIndex;
 import de.mhus.nimbus.world.shared.world.SAssetRepository;
 import de.mhus.nimbus.world.shared.world.SAssetService;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +23,7 @@ public class DeleteAssetsService implements DeleteWorldResources {
     private final SAssetRepository assetRepository;
     private final StorageService storageService;
     private final SAssetService sAssetService;
+    private final SAssetPathIndex pathIndex;
 
     @Override
     public String name() {
@@ -53,6 +55,7 @@ public class DeleteAssetsService implements DeleteWorldResources {
             assetRepository.delete(asset);
             deletedCount++;
         }
+        pathIndex.invalidate(worldId);
 
         log.info("Deleted {} assets (including {} storage items) for world {}",
                 deletedCount, storageCount, worldId);
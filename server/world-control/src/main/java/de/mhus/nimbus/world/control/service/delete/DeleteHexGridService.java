@@ -2,6 +2,7 @@ package de.mhus.nimbus.world.control.service.delete;
 
 import de.mhus.nimbus.world.shared.world.WHexGrid;
 import de.mhus.nimbus.world.shared.world.WHexGridRepository;
+import de.mhus.nimbus.world.shared.world.WHexGridService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -20,6 +21,7 @@ import java.util.List;
 public class DeleteHexGridService implements DeleteWorldResources {
 
     private final WHexGridRepository hexGridRepository;
+    private final WHexGridService hexGridService;
     private final MongoTemplate mongoTemplate;
 
     @Override
@@ -34,7 +36,8 @@ public class DeleteHexGridService implements DeleteWorldResources {
         List<WHexGrid> hexGrids = hexGridRepository.findByWorldId(worldId);
         log.info("Found {} hex grids in world {}", hexGrids.size(), worldId);
 
-        hexGridRepository.deleteAll(hexGrids);
+        // deleted by the service to invalidate cached grids of the world
+        hexGridService.deleteAll(hexGrids);
 
         log.info("Deleted {} hex grids for world {}", hexGrids.size(), worldId);
     }
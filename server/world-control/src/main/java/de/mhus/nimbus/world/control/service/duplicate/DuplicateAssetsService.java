@@ -2,6 +2,7 @@ package de.mhus.nimbus.world.control.service.duplicate;
 
 import de.mhus.nimbus.shared.storage.StorageService;
 import de.mhus.nimbus.world.shared.world.SAsset;
+import de.mhus.nimbus.world.shared.world.SAssetPathIndex;
 import de.mhus.nimbus.world.shared.world.SAssetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +22,7 @@ public class DuplicateAssetsService implements DuplicateToWorld {
 
     private final SAssetRepository assetRepository;
     private final StorageService storageService;
+    private final SAssetPathIndex pathIndex;
 
     @Override
     public String name() {
@@ -60,6 +62,7 @@ public class DuplicateAssetsService implements DuplicateToWorld {
             assetRepository.save(targetAsset);
             duplicatedCount++;
         }
+        pathIndex.invalidate(targetWorldId);
 
         log.info("Duplicated {} assets (including {} storage items) from world {} to {}",
                 duplicatedCount, storageCount, sourceWorldId, targetWorldId);
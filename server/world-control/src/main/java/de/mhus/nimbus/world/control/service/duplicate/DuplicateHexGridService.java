@@ -2,10 +2,12 @@ package de.mhus.nimbus.world.control.service.duplicate;
 
 import de.mhus.nimbus.world.shared.world.WHexGrid;
 import de.mhus.nimbus.world.shared.world.WHexGridRepository;
+import de.mhus.nimbus.world.shared.world.WHexGridService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,6 +20,7 @@ import java.util.List;
 public class DuplicateHexGridService implements DuplicateToWorld {
 
     private final WHexGridRepository hexGridRepository;
+    private final WHexGridService hexGridService;
 
     @Override
     public String name() {
@@ -31,8 +34,7 @@ public class DuplicateHexGridService implements DuplicateToWorld {
         List<WHexGrid> sourceHexGrids = hexGridRepository.findByWorldId(sourceWorldId);
         log.info("Found {} hex grids in source world {}", sourceHexGrids.size(), sourceWorldId);
 
-        int duplicatedCount = 0;
-
+        List<WHexGrid> targetHexGrids = new ArrayList<>(sourceHexGrids.size());
         for (WHexGrid sourceHexGrid : sourceHexGrids) {
             WHexGrid targetHexGrid = WHexGrid.builder()
                     .worldId(targetWorldId)
@@ -43,12 +45,12 @@ public class DuplicateHexGridService implements DuplicateToWorld {
                     .enabled(sourceHexGrid.isEnabled())
                     .build();
 
-            targetHexGrid.touchCreate();
-            hexGridRepository.save(targetHexGrid);
-            duplicatedCount++;
+            targetHexGrids.add(targetHexGrid);
         }
+        // saved by the service to invalidate cached grids of the target world
+        hexGridService.saveAll(targetHexGrids);
 
         log.info("Duplicated {} hex grids from world {} to {}",
-                duplicatedCount, sourceWorldId, targetWorldId);
+                targetHexGrids.size(), sourceWorldId, targetWorldId);
     }
 }
@@ -4,6 +4,7 @@ import de.mhus.nimbus.shared.storage.StorageService;
 import de.mhus.nimbus.shared.types.WorldId;
 import de.mhus.nimbus.world.control.service.repair.ResourceRepairService;
 import de.mhus.nimbus.world.control.service.repair.ResourceRepairer;
+import de.mhus.nimbus.world.shared.world.SAssetPathIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.Document;
@@ -30,6 +31,7 @@ public class AssetResourceRepairer implements ResourceRepairer {
 
     private final MongoTemplate mongoTemplate;
     private final StorageService storageService;
+    private final SAssetPathIndex pathIndex;
 
     @Override
     public String name() {
@@ -148,6 +150,10 @@ public class AssetResourceRepairer implements ResourceRepairer {
             }
         }
 
+        if (duplicatesRemoved > 0) {
+            pathIndex.invalidate(worldId.getId());
+        }
+
         log.info("Asset repair completed: {} duplicates found, {} removed, {} orphaned storage found, {} removed",
                 duplicatesFound, duplicatesRemoved, orphanedStorageFound, orphanedStorageRemoved);
 
@@ -235,7 +235,7 @@ public class AssetResourceSyncType implements ResourceSyncType {
                     mongoTemplate.save(migratedDoc, COLLECTION_NAME);
 
                     // Update binary content using transformed worldId and path
-                    SAsset asset = assetService.findByPath(WorldId.of(targetWorldId).get(), targetPath).orElse(null);
+                    SAsset asset = assetService.refreshByPath(WorldId.of(targetWorldId).get(), targetPath).orElse(null);
                     if (asset != null) {
                         try (InputStream stream = Files.newInputStream(binaryFile)) {
                             assetService.updateContent(asset, stream);
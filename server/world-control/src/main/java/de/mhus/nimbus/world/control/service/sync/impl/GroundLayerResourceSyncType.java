@@ -137,6 +137,9 @@ public class GroundLayerResourceSyncType implements ResourceSyncType {
                                 json = new String(data, StandardCharsets.UTF_8);
                             }
 
+                            // Storage may hold the palette form, export the block list
+                            json = objectMapper.writeValueAsString(objectMapper.readValue(json, LayerChunkData.class));
+
                             // Format JSON for better git diff (newlines, no spaces)
                             String formattedJson = formatJsonForGit(json);
 
@@ -74,6 +74,12 @@ public class AssetDescriptionGeneratorExecutor implements JobExecutor {
         return EXECUTOR_NAME;
     }
 
+    @Override
+    public boolean isIoBound() {
+        // Waits for the AI model
+        return true;
+    }
+
     /**
      * Generate description for a specific asset.
      * Can be called directly without creating a job.
@@ -105,6 +105,12 @@ public class AssetImageGeneratorExecutor implements JobExecutor {
         return EXECUTOR_NAME;
     }
 
+    @Override
+    public boolean isIoBound() {
+        // Waits for the AI model
+        return true;
+    }
+
     @Override
     public JobResult execute(WJob job) throws JobExecutionException {
         try {
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.mhus.nimbus.shared.types.BlockDef;
 import de.mhus.nimbus.world.generator.blocks.generator.EditCachePainter;
 import de.mhus.nimbus.world.shared.layer.WEditCacheService;
+import de.mhus.nimbus.world.shared.layer.WEditJournalService;
 import de.mhus.nimbus.world.shared.session.WSession;
 import de.mhus.nimbus.world.shared.session.WSessionPosition;
 import de.mhus.nimbus.world.shared.session.WSessionService;
@@ -33,6 +34,7 @@ public class BlockManipulatorService {
     private final WSessionService wSessionService;
     private final WEditCacheService editCacheService;
     private final WWorldService worldService;
+    private final WEditJournalService editJournalService;
     private Map<String, BlockManipulator> manipulatorMap;
     private Map<String, de.mhus.nimbus.world.generator.blocks.painter.BlockPainterProvider> painterProviderMap;
     private final Map<String, Object> defaultParameters = new HashMap<>();
@@ -47,6 +49,7 @@ public class BlockManipulatorService {
      * @param wSessionService service for accessing player position and session data
      * @param editCacheService service for block editing operations
      * @param worldService service for loading world data
+     * @param editJournalService service for recording the undo journal
      */
     @Autowired
     public BlockManipulatorService(List<BlockManipulator> manipulators,
@@ -54,13 +57,15 @@ public class BlockManipulatorService {
                                   ObjectMapper objectMapper,
                                   WSessionService wSessionService,
                                   WEditCacheService editCacheService,
-                                  WWorldService worldService) {
+                                  WWorldService worldService,
+                                  WEditJournalService editJournalService) {
         this.manipulators = manipulators;
         this.painterProviders = painterProviders;
         this.objectMapper = objectMapper;
         this.wSessionService = wSessionService;
         this.editCacheService = editCacheService;
         this.worldService = worldService;
+        this.editJournalService = editJournalService;
         log.info("BlockManipulatorService initialized with {} manipulators and {} painter providers (lazy-loaded)",
                 manipulators != null ? manipulators.size() : 0,
                 painterProviders != null ? painterProviders.size() : 0);
@@ -201,12 +206,30 @@ public class BlockManipulatorService {
         // Apply transformations (position, marker, forward, etc.)
         applyTransformations(context);
 
+        if (context.getJournalTitle() == null) {
+            context.setJournalTitle(manipulatorName);
+        }
+        boolean ownBatch = context.getEditBatch() == null;
+
         log.info("Executing manipulator '{}' - {}", manipulatorName, manipulator.getTitle());
         log.debug("Context: originalParams={}, params={}",
                 context.getOriginalParams(), context.getParams());
 
         try {
-            ManipulatorResult result = manipulator.execute(context);
+            ManipulatorResult result;
+            try {
+                result = manipulator.execute(context);
+            } finally {
+                // Write blocks collected by the painters, a batch opened by this execution is journaled
+                if (context.getEditBatch() != null) {
+                    if (ownBatch) {
+                        context.getEditBatch().close();
+                        context.setEditBatch(null);
+                    } else {
+                        context.getEditBatch().flush();
+                    }
+                }
+            }
 
             log.info("Manipulator '{}' completed: successful={}, message={}",
                     manipulatorName, result.isSuccess(), result.getMessage());
@@ -595,10 +618,19 @@ public class BlockManipulatorService {
 
         WWorld world = worldOpt.get();
 
+        // Blocks are collected in the painting session of the execution
+        if (context.getEditBatch() == null || !context.getEditBatch().getWorld().getWorldId().equals(worldId)) {
+            if (context.getEditBatch() != null) {
+                context.getEditBatch().close();
+            }
+            context.setEditBatch(editJournalService.openBatch(world, context.getSessionId(), context.getJournalTitle()));
+        }
+
         // Create painter
         EditCachePainter painter = new EditCachePainter(editCacheService);
         painter.setContext(world, layerDataId, modelName, groupId, blockDef);
         painter.setManipulatorContext(context);
+        painter.setBatch(context.getEditBatch());
 
         // Apply painter type if specified via "painter" parameter
         String painterType = context.getParameter("painter");
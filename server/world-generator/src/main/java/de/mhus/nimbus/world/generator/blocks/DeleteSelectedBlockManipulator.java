@@ -1,6 +1,9 @@
 package de.mhus.nimbus.world.generator.blocks;
 
+import de.mhus.nimbus.world.shared.layer.WEditCache;
+import de.mhus.nimbus.world.shared.layer.WEditCacheBatch;
 import de.mhus.nimbus.world.shared.layer.WEditCacheService;
+import de.mhus.nimbus.world.shared.layer.WEditJournalService;
 import de.mhus.nimbus.world.shared.session.WSessionService;
 import de.mhus.nimbus.world.shared.util.ModelSelector;
 import de.mhus.nimbus.world.shared.util.ModelSelectorUtil;
@@ -10,8 +13,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Delete Selected Blocks Manipulator.
@@ -24,8 +31,8 @@ import java.util.Optional;
  * }
  * </pre>
  *
- * Reads the ModelSelector from WSession and deletes all selected blocks
- * using WEditCacheService.doDeleteAndSendBlock().
+ * Reads the ModelSelector from WSession and deletes the cached blocks of all models at the
+ * selected positions with one journaled WEditCacheBatch (one lookup per chunk).
  */
 @Component
 @RequiredArgsConstructor
@@ -35,6 +42,7 @@ public class DeleteSelectedBlockManipulator implements BlockManipulator {
     private final WSessionService wSessionService;
     private final WEditCacheService editCacheService;
     private final WWorldService worldService;
+    private final WEditJournalService editJournalService;
 
     @Override
     public String getName() {
@@ -100,6 +108,7 @@ public class DeleteSelectedBlockManipulator implements BlockManipulator {
         int deletedCount = 0;
         int errorCount = 0;
         List<String> blocks = modelSelector.getBlocks();
+        Map<String, Set<String>> positionsByChunk = new HashMap<>();
 
         for (String blockEntry : blocks) {
             try {
@@ -115,12 +124,9 @@ public class DeleteSelectedBlockManipulator implements BlockManipulator {
                 int y = Integer.parseInt(parts[1].trim());
                 int z = Integer.parseInt(parts[2].trim());
 
-                // Delete block using WEditCacheService
-                editCacheService.doDeleteAndSendBlock(world, layerDataId, x, y, z);
+                positionsByChunk.computeIfAbsent(world.getChunkKey(x, z), k -> new HashSet<>()).add(x + "," + y + "," + z);
                 deletedCount++;
 
-                log.debug("Deleted block at ({},{},{})", x, y, z);
-
             } catch (NumberFormatException e) {
                 log.warn("Failed to parse block coordinates from entry: {}", blockEntry, e);
                 errorCount++;
@@ -130,6 +136,21 @@ public class DeleteSelectedBlockManipulator implements BlockManipulator {
             }
         }
 
+        // Delete the cached blocks of all models at the positions
+        try (WEditCacheBatch batch = editJournalService.openBatch(world, sessionId, getName())) {
+            for (Map.Entry<String, Set<String>> entry : positionsByChunk.entrySet()) {
+                for (WEditCache cached : editCacheService.findByWorldIdAndLayerDataIdAndChunk(worldId, layerDataId, entry.getKey())) {
+                    if (entry.getValue().contains(cached.getX() + "," + cached.getY() + "," + cached.getZ())) {
+                        batch.deleteBlock(layerDataId, cached.getModelName(), cached.getX(), cached.getY(), cached.getZ());
+                    }
+                }
+            }
+            log.debug("Deleted {} cached blocks", batch.getPendingCount() + batch.getFlushedBlocks());
+        } catch (Exception e) {
+            log.error("Failed to delete selected blocks", e);
+            return ManipulatorResult.error("Failed to delete selected blocks: " + e.getMessage());
+        }
+
         // Clear ModelSelector after deletion
         wSessionService.updateModelSelector(sessionId, null);
         log.debug("Cleared ModelSelector for session: {}", sessionId);
@@ -3,6 +3,7 @@ package de.mhus.nimbus.world.generator.blocks;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.mhus.nimbus.world.shared.layer.WEditCacheBatch;
 import de.mhus.nimbus.world.shared.util.ModelSelector;
 import lombok.Builder;
 import lombok.Data;
@@ -72,6 +73,18 @@ public class ManipulatorContext {
      */
     private ModelSelector modelSelector;
 
+    /**
+     * Painting session shared by the painters of this execution.
+     * Opened by BlockManipulatorService.createBlockPainter() and closed after the execution,
+     * the changes are one operation in the undo journal of the session.
+     */
+    private WEditCacheBatch editBatch;
+
+    /**
+     * Title of the operation in the undo journal, the manipulator name if not set.
+     */
+    private String journalTitle;
+
     /**
      * Get a parameter value as String.
      *
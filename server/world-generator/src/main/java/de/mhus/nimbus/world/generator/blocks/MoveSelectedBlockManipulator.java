@@ -4,7 +4,9 @@ import de.mhus.nimbus.generated.types.Block;
 import de.mhus.nimbus.generated.types.Vector3Int;
 import de.mhus.nimbus.world.shared.layer.LayerBlock;
 import de.mhus.nimbus.world.shared.layer.WEditCache;
+import de.mhus.nimbus.world.shared.layer.WEditCacheBatch;
 import de.mhus.nimbus.world.shared.layer.WEditCacheService;
+import de.mhus.nimbus.world.shared.layer.WEditJournalService;
 import de.mhus.nimbus.world.shared.session.WSessionService;
 import de.mhus.nimbus.world.shared.util.ModelSelector;
 import de.mhus.nimbus.world.shared.util.ModelSelectorUtil;
@@ -48,6 +50,7 @@ public class MoveSelectedBlockManipulator implements BlockManipulator {
     private final WSessionService wSessionService;
     private final WEditCacheService editCacheService;
     private final WWorldService worldService;
+    private final WEditJournalService editJournalService;
 
     @Override
     public String getName() {
@@ -159,6 +162,9 @@ public class MoveSelectedBlockManipulator implements BlockManipulator {
                 .autoSelectName(autoSelectName)
                 .build();
 
+        // Collect changes and write them with one bulk write after the loop
+        WEditCacheBatch batch = editJournalService.openBatch(world, context.getSessionId(), getName());
+
         for (String blockEntry : blocks) {
             try {
                 // Parse block entry: "x,y,z,#color"
@@ -212,10 +218,10 @@ public class MoveSelectedBlockManipulator implements BlockManipulator {
                         .build();
 
                 // Delete old block
-                editCacheService.doDeleteAndSendBlock(world, layerDataId, x, y, z);
+                batch.deleteBlock(layerDataId, cachedBlock.getModelName(), x, y, z);
 
                 // Set new block at new position
-                editCacheService.doSetAndSendBlock(world, layerDataId, modelName, newBlock, groupId);
+                batch.setBlock(layerDataId, modelName, newBlock, groupId);
 
                 // Add to new ModelSelector
                 newModelSelector.addBlock(newX, newY, newZ, color);
@@ -233,6 +239,8 @@ public class MoveSelectedBlockManipulator implements BlockManipulator {
             }
         }
 
+        batch.close();
+
         // Update ModelSelector in session with new positions
         wSessionService.updateModelSelector(sessionId, ModelSelectorUtil.toStringList(newModelSelector));
         log.debug("Updated ModelSelector for session: {}", sessionId);
@@ -3,9 +3,12 @@ package de.mhus.nimbus.world.generator.blocks;
 import de.mhus.nimbus.generated.types.Block;
 import de.mhus.nimbus.generated.types.RotationXY;
 import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.world.shared.layer.BlockRegion;
 import de.mhus.nimbus.world.shared.layer.LayerBlock;
 import de.mhus.nimbus.world.shared.layer.WEditCache;
+import de.mhus.nimbus.world.shared.layer.WEditCacheBatch;
 import de.mhus.nimbus.world.shared.layer.WEditCacheService;
+import de.mhus.nimbus.world.shared.layer.WEditJournalService;
 import de.mhus.nimbus.world.shared.session.WSessionService;
 import de.mhus.nimbus.world.shared.util.ModelSelector;
 import de.mhus.nimbus.world.shared.util.ModelSelectorUtil;
@@ -15,9 +18,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -52,6 +53,7 @@ public class RotateSelectedBlockManipulator implements BlockManipulator {
     private final WSessionService wSessionService;
     private final WEditCacheService editCacheService;
     private final WWorldService worldService;
+    private final WEditJournalService editJournalService;
 
     @Override
     public String getName() {
@@ -138,26 +140,6 @@ public class RotateSelectedBlockManipulator implements BlockManipulator {
         log.info("Rotating {} selected blocks by angles (x:{}, y:{}, z:{}) in layer {}",
                 modelSelector.getBlockCount(), rotX, rotY, rotZ, layerDataId);
 
-        // Load all cached blocks for the layer
-        List<WEditCache> cachedBlocks = editCacheService.findByWorldIdAndLayerDataId(worldId, layerDataId);
-
-        // Create a map for quick lookup by coordinates (x,y,z)
-        Map<String, WEditCache> blockMap = new HashMap<>();
-        for (WEditCache cache : cachedBlocks) {
-            LayerBlock layerBlock = cache.getBlock();
-            if (layerBlock != null && layerBlock.getBlock() != null) {
-                Block block = layerBlock.getBlock();
-                if (block.getPosition() != null) {
-                    String key = block.getPosition().getX() + "," +
-                               block.getPosition().getY() + "," +
-                               block.getPosition().getZ();
-                    blockMap.put(key, cache);
-                }
-            }
-        }
-
-        log.debug("Loaded {} cached blocks for layer {}", blockMap.size(), layerDataId);
-
         // Calculate center of selection
         List<String> blocks = modelSelector.getBlocks();
         int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
@@ -184,6 +166,16 @@ public class RotateSelectedBlockManipulator implements BlockManipulator {
             }
         }
 
+        if (minX > maxX) {
+            return ManipulatorResult.error("No valid block positions in selection.");
+        }
+
+        // Load the cached blocks of the selection bounds, one lookup per chunk
+        BlockRegion<WEditCache> cachedBlocks = editCacheService.findByRegion(world, layerDataId,
+                new BlockRegion<>(minX, minY, minZ, maxX, maxY, maxZ));
+
+        log.debug("Loaded {} cached blocks for layer {}", cachedBlocks.size(), layerDataId);
+
         double centerX = (minX + maxX) / 2.0;
         double centerY = (minY + maxY) / 2.0;
         double centerZ = (minZ + maxZ) / 2.0;
@@ -205,6 +197,9 @@ public class RotateSelectedBlockManipulator implements BlockManipulator {
                 .autoSelectName(autoSelectName)
                 .build();
 
+        // Collect changes and write them with one bulk write after the loop
+        WEditCacheBatch batch = editJournalService.openBatch(world, context.getSessionId(), getName());
+
         for (String blockEntry : blocks) {
             try {
                 // Parse block entry: "x,y,z,#color"
@@ -221,10 +216,9 @@ public class RotateSelectedBlockManipulator implements BlockManipulator {
                 String color = parts.length > 3 ? parts[3].trim() : modelSelector.getDefaultColor();
 
                 // Find the cached block
-                String key = x + "," + y + "," + z;
-                WEditCache cachedBlock = blockMap.get(key);
+                WEditCache cachedBlock = cachedBlocks.get(x, y, z);
 
-                if (cachedBlock == null) {
+                if (cachedBlock == null || cachedBlock.getBlock() == null || cachedBlock.getBlock().getBlock() == null) {
                     log.warn("Block not found in cache at ({},{},{}), skipping", x, y, z);
                     errorCount++;
                     continue;
@@ -255,10 +249,10 @@ public class RotateSelectedBlockManipulator implements BlockManipulator {
                         .build();
 
                 // Delete old block
-                editCacheService.doDeleteAndSendBlock(world, layerDataId, x, y, z);
+                batch.deleteBlock(layerDataId, cachedBlock.getModelName(), x, y, z);
 
                 // Set new block at new position
-                editCacheService.doSetAndSendBlock(world, layerDataId, modelName, newBlock, groupId);
+                batch.setBlock(layerDataId, modelName, newBlock, groupId);
 
                 // Add to new ModelSelector
                 newModelSelector.addBlock(newPosition.getX(), newPosition.getY(), newPosition.getZ(), color);
@@ -276,6 +270,8 @@ public class RotateSelectedBlockManipulator implements BlockManipulator {
             }
         }
 
+        batch.close();
+
         // Update ModelSelector in session with new positions
         wSessionService.updateModelSelector(sessionId, ModelSelectorUtil.toStringList(newModelSelector));
         log.debug("Updated ModelSelector for session: {}", sessionId);
@@ -1,18 +1,17 @@
 package de.mhus.nimbus.world.generator.blocks;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import de.mhus.nimbus.generated.types.Block;
-import de.mhus.nimbus.world.shared.layer.LayerBlock;
+import de.mhus.nimbus.world.shared.layer.BlockRegion;
 import de.mhus.nimbus.world.shared.layer.WEditCache;
 import de.mhus.nimbus.world.shared.layer.WEditCacheService;
 import de.mhus.nimbus.world.shared.util.ModelSelector;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import de.mhus.nimbus.world.shared.world.WWorldService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 /**
  * Select Block Manipulator.
@@ -43,6 +42,7 @@ import java.util.Map;
 public class SelectBlockManipulator implements BlockManipulator {
 
     private final WEditCacheService editCacheService;
+    private final WWorldService worldService;
 
     @Override
     public String getName() {
@@ -106,25 +106,16 @@ public class SelectBlockManipulator implements BlockManipulator {
         log.info("Selecting blocks in region: pos=({},{},{}), width={}, height={}, depth={}, layer={}",
                 startX, startY, startZ, width, height, depth, layerDataId);
 
-        // Load all cached blocks for the layer
-        List<WEditCache> cachedBlocks = editCacheService.findByWorldIdAndLayerDataId(worldId, layerDataId);
-
-        // Create a map for quick lookup by coordinates (x,y,z)
-        Map<String, WEditCache> blockMap = new HashMap<>();
-        for (WEditCache cache : cachedBlocks) {
-            LayerBlock layerBlock = cache.getBlock();
-            if (layerBlock != null && layerBlock.getBlock() != null) {
-                Block block = layerBlock.getBlock();
-                if (block.getPosition() != null) {
-                    String key = block.getPosition().getX() + "," +
-                               block.getPosition().getY() + "," +
-                               block.getPosition().getZ();
-                    blockMap.put(key, cache);
-                }
-            }
+        Optional<WWorld> worldOpt = worldService.getByWorldId(worldId);
+        if (worldOpt.isEmpty()) {
+            return ManipulatorResult.error("World not found: " + worldId);
         }
 
-        log.debug("Loaded {} cached blocks for layer {}", blockMap.size(), layerDataId);
+        // Load the cached blocks of the region, one lookup per chunk
+        BlockRegion<WEditCache> cachedBlocks = editCacheService.findByRegion(worldOpt.get(), layerDataId,
+                new BlockRegion<>(startX, startY, startZ, startX + width - 1, startY + height - 1, startZ + depth - 1));
+
+        log.debug("Loaded {} cached blocks in region for layer {}", cachedBlocks.size(), layerDataId);
 
         // Create ModelSelector for selected blocks
         String layerName = context.getLayerName();
@@ -148,10 +139,9 @@ public class SelectBlockManipulator implements BlockManipulator {
                     int y = startY + dy;
                     int z = startZ + dz;
 
-                    String key = x + "," + y + "," + z;
-                    WEditCache cachedBlock = blockMap.get(key);
+                    WEditCache cachedBlock = cachedBlocks.get(x, y, z);
 
-                    if (cachedBlock != null) {
+                    if (cachedBlock != null && cachedBlock.getBlock() != null && cachedBlock.getBlock().getBlock() != null) {
                         // Block exists in cache - add to selection
                         modelSelector.addBlock(x, y, z, color);
                         selectedCount++;
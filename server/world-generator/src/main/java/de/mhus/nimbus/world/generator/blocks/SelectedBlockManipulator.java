@@ -3,7 +3,8 @@ package de.mhus.nimbus.world.generator.blocks;
 import de.mhus.nimbus.generated.types.Block;
 import de.mhus.nimbus.generated.types.Vector3Int;
 import de.mhus.nimbus.shared.types.BlockDef;
-import de.mhus.nimbus.world.shared.layer.WEditCacheService;
+import de.mhus.nimbus.world.shared.layer.WEditCacheBatch;
+import de.mhus.nimbus.world.shared.layer.WEditJournalService;
 import de.mhus.nimbus.world.shared.session.BlockRegister;
 import de.mhus.nimbus.world.shared.session.WSessionService;
 import de.mhus.nimbus.world.shared.util.ModelSelector;
@@ -50,8 +51,8 @@ import java.util.Optional;
 public class SelectedBlockManipulator implements BlockManipulator {
 
     private final WSessionService wSessionService;
-    private final WEditCacheService editCacheService;
     private final WWorldService worldService;
+    private final WEditJournalService editJournalService;
 
     @Override
     public String getName() {
@@ -174,6 +175,9 @@ public class SelectedBlockManipulator implements BlockManipulator {
                 .autoSelectName(autoSelectName)
                 .build();
 
+        // Collect changes and write them with one bulk write after the loop
+        WEditCacheBatch batch = editJournalService.openBatch(world, context.getSessionId(), getName());
+
         for (String blockEntry : blocks) {
             try {
                 // Parse block entry: "x,y,z,#color"
@@ -222,7 +226,7 @@ public class SelectedBlockManipulator implements BlockManipulator {
                 }
 
                 // Set block
-                editCacheService.doSetAndSendBlock(world, layerDataId, modelName, newBlock, groupId);
+                batch.setBlock(layerDataId, modelName, newBlock, groupId);
 
                 // Add to new ModelSelector
                 newModelSelector.addBlock(x, y, z, color);
@@ -239,6 +243,8 @@ public class SelectedBlockManipulator implements BlockManipulator {
             }
         }
 
+        batch.close();
+
         // Update ModelSelector in session with filled blocks
         wSessionService.updateModelSelector(sessionId, ModelSelectorUtil.toStringList(newModelSelector));
         log.debug("Updated ModelSelector for session: {}", sessionId);
@@ -3,6 +3,7 @@ package de.mhus.nimbus.world.generator.blocks.generator;
 import de.mhus.nimbus.generated.types.Block;
 import de.mhus.nimbus.shared.types.BlockDef;
 import de.mhus.nimbus.world.generator.blocks.ManipulatorContext;
+import de.mhus.nimbus.world.shared.layer.WEditCacheBatch;
 import de.mhus.nimbus.world.shared.layer.WEditCacheService;
 import de.mhus.nimbus.world.shared.world.WWorld;
 import lombok.Getter;
@@ -68,16 +69,8 @@ public class EditCachePainter {
 
         @Override
         public void paint(EditCachePainter painter, int x, int y, int z) {
-            // Check if block already exists at this position
-            boolean blockExists = painter.editService.findByCoordinates(
-                    painter.world.getWorldId(),
-                    painter.layerDataId,
-                    painter.modelName,
-                    x, y, z
-            ).isPresent();
-
-            // Only paint if no block exists
-            if (!blockExists) {
+            // Only paint if no block exists at this position
+            if (!painter.hasBlock(x, y, z)) {
                 wrappedPainter.paint(painter, x, y, z);
             }
         }
@@ -99,6 +92,11 @@ public class EditCachePainter {
     private String groupId;
     @Getter
     private ManipulatorContext context;
+    /**
+     * Painting session, if set blocks are collected and written on flush of the batch.
+     */
+    @Getter @Setter
+    private WEditCacheBatch batch;
 
 
 
@@ -118,6 +116,30 @@ public class EditCachePainter {
         painter.paint(this, x, y, z);
     }
 
+    /**
+     * Set the block in the edit cache and send it to the clients, collected in the batch if set.
+     */
+    public void setBlock(Block block) {
+        if (batch != null) {
+            batch.setBlock(layerDataId, modelName, block, groupId);
+        } else {
+            editService.doSetAndSendBlock(world, layerDataId, modelName, block, groupId);
+        }
+    }
+
+    /**
+     * Check if a block exists at the position, including blocks pending in the batch.
+     */
+    public boolean hasBlock(int x, int y, int z) {
+        if (batch != null) {
+            var pending = batch.getPending(layerDataId, modelName, x, y, z);
+            if (pending.isPresent()) {
+                return !pending.get().isDelete();
+            }
+        }
+        return editService.findByCoordinates(world.getWorldId(), layerDataId, modelName, x, y, z).isPresent();
+    }
+
     public void cube(int x, int y, int z, int sizeX, int sizeY, int sizeZ) {
         for (int dx = 0; dx < sizeX; dx++) {
             for (int dy = 0; dy < sizeY; dy++) {
@@ -815,7 +837,7 @@ public class EditCachePainter {
                                     .build()
                     ).build();
             painter.blockDef.fillBlock(block);
-            painter.editService.doSetAndSendBlock(painter.world, painter.layerDataId, painter.modelName, block, painter.groupId);
+            painter.setBlock(block);
 
             // Add block to ModelSelector if context is available
             if (painter.context != null && painter.context.getModelSelector() != null) {
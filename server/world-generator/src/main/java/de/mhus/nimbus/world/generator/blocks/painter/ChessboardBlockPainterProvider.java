@@ -129,13 +129,7 @@ public class ChessboardBlockPainterProvider implements BlockPainterProvider {
                         ).build();
 
                 blockDef.fillBlock(block);
-                painter.getEditService().doSetAndSendBlock(
-                        painter.getWorld(),
-                        painter.getLayerDataId(),
-                        painter.getModelName(),
-                        block,
-                        painter.getGroupId()
-                );
+                painter.setBlock(block);
 
                 // Add block to ModelSelector if context is available
                 if (painter.getContext() != null && painter.getContext().getModelSelector() != null) {
@@ -5,13 +5,12 @@ import de.mhus.nimbus.shared.types.BlockDef;
 import de.mhus.nimbus.world.generator.blocks.ManipulatorContext;
 import de.mhus.nimbus.world.generator.blocks.generator.EditCachePainter;
 import de.mhus.nimbus.world.shared.world.WBlockType;
-import de.mhus.nimbus.world.shared.world.WBlockTypeService;
+import de.mhus.nimbus.world.shared.world.WBlockTypeRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Rough block painter provider - adds random offset and rotation variance to blocks.
@@ -66,10 +65,7 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class RoughBlockPainterProvider implements BlockPainterProvider {
 
-    private final WBlockTypeService blockTypeService;
-
-    // Cache for BlockType lookups (worldId:blockId -> BlockType)
-    private final Map<String, BlockType> blockTypeCache = new ConcurrentHashMap<>();
+    private final WBlockTypeRegistry blockTypeRegistry;
 
     @Override
     public String getName() {
@@ -156,13 +152,7 @@ public class RoughBlockPainterProvider implements BlockPainterProvider {
                 }
 
                 // Save block
-                painter.getEditService().doSetAndSendBlock(
-                        painter.getWorld(),
-                        painter.getLayerDataId(),
-                        painter.getModelName(),
-                        block,
-                        painter.getGroupId()
-                );
+                painter.setBlock(block);
 
                 // Add block to ModelSelector if context is available
                 if (painter.getContext() != null && painter.getContext().getModelSelector() != null) {
@@ -195,37 +185,23 @@ public class RoughBlockPainterProvider implements BlockPainterProvider {
 
     /**
      * Check if block type has CUBE shape (shape index 1).
-     * Uses cache for performance.
+     * Uses the block type registry.
      */
     private boolean isCubeBlock(de.mhus.nimbus.shared.types.WorldId worldId, String blockTypeId) {
         if (blockTypeId == null || blockTypeId.isBlank()) {
             return false;
         }
 
-        String cacheKey = worldId.getId() + ":" + blockTypeId;
+        Optional<WBlockType> wBlockTypeOpt = blockTypeRegistry.findByBlockId(worldId, blockTypeId);
+        if (wBlockTypeOpt.isEmpty()) {
+            log.debug("BlockType not found: {}", blockTypeId);
+            return false;
+        }
 
-        // Check cache first
-        BlockType blockType = blockTypeCache.get(cacheKey);
+        BlockType blockType = wBlockTypeOpt.get().getPublicData();
         if (blockType == null) {
-            // Load from service
-            Optional<WBlockType> wBlockTypeOpt = blockTypeService.findByBlockId(
-                    worldId,
-                    blockTypeId
-            );
-
-            if (wBlockTypeOpt.isEmpty()) {
-                log.debug("BlockType not found: {}", blockTypeId);
-                return false;
-            }
-
-            blockType = wBlockTypeOpt.get().getPublicData();
-            if (blockType == null) {
-                log.debug("BlockType has no publicData: {}", blockTypeId);
-                return false;
-            }
-
-            // Cache for next time
-            blockTypeCache.put(cacheKey, blockType);
+            log.debug("BlockType has no publicData: {}", blockTypeId);
+            return false;
         }
 
         // Check if modifier[0].visibility.shape == CUBE (1)
@@ -8,13 +8,12 @@ import de.mhus.nimbus.shared.types.BlockDef;
 import de.mhus.nimbus.world.generator.blocks.ManipulatorContext;
 import de.mhus.nimbus.world.generator.blocks.generator.EditCachePainter;
 import de.mhus.nimbus.world.shared.world.WBlockType;
-import de.mhus.nimbus.world.shared.world.WBlockTypeService;
+import de.mhus.nimbus.world.shared.world.WBlockTypeRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Smooth Block Painter.
@@ -46,10 +45,7 @@ import java.util.concurrent.ConcurrentHashMap;
 @Slf4j
 public class SmoothBlockPainterProvider implements BlockPainterProvider {
 
-    private final WBlockTypeService blockTypeService;
-
-    // Cache for BlockType lookups (worldId:blockId -> BlockType)
-    private final Map<String, BlockType> blockTypeCache = new ConcurrentHashMap<>();
+    private final WBlockTypeRegistry blockTypeRegistry;
 
     @Override
     public String getName() {
@@ -114,13 +110,7 @@ public class SmoothBlockPainterProvider implements BlockPainterProvider {
                 }
 
                 // Save block
-                painter.getEditService().doSetAndSendBlock(
-                        painter.getWorld(),
-                        painter.getLayerDataId(),
-                        painter.getModelName(),
-                        block,
-                        painter.getGroupId()
-                );
+                painter.setBlock(block);
 
                 // Add block to ModelSelector if context is available
                 if (painter.getContext() != null && painter.getContext().getModelSelector() != null) {
@@ -136,37 +126,23 @@ public class SmoothBlockPainterProvider implements BlockPainterProvider {
 
     /**
      * Check if block type has CUBE shape (shape index 1).
-     * Uses cache for performance.
+     * Uses the block type registry.
      */
     private boolean isCubeBlock(de.mhus.nimbus.shared.types.WorldId worldId, String blockTypeId) {
         if (blockTypeId == null || blockTypeId.isBlank()) {
             return false;
         }
 
-        String cacheKey = worldId.getId() + ":" + blockTypeId;
+        Optional<WBlockType> wBlockTypeOpt = blockTypeRegistry.findByBlockId(worldId, blockTypeId);
+        if (wBlockTypeOpt.isEmpty()) {
+            log.debug("BlockType not found: {}", blockTypeId);
+            return false;
+        }
 
-        // Check cache first
-        BlockType blockType = blockTypeCache.get(cacheKey);
+        BlockType blockType = wBlockTypeOpt.get().getPublicData();
         if (blockType == null) {
-            // Load from service
-            Optional<WBlockType> wBlockTypeOpt = blockTypeService.findByBlockId(
-                    worldId,
-                    blockTypeId
-            );
-
-            if (wBlockTypeOpt.isEmpty()) {
-                log.debug("BlockType not found: {}", blockTypeId);
-                return false;
-            }
-
-            blockType = wBlockTypeOpt.get().getPublicData();
-            if (blockType == null) {
-                log.debug("BlockType has no publicData: {}", blockTypeId);
-                return false;
-            }
-
-            // Cache for next time
-            blockTypeCache.put(cacheKey, blockType);
+            log.debug("BlockType has no publicData: {}", blockTypeId);
+            return false;
         }
 
         // Check if modifier[0].visibility.shape == CUBE (1)
@@ -50,6 +50,12 @@ public class DocumentSummaryJobExecutor implements JobExecutor {
         return EXECUTOR_NAME;
     }
 
+    @Override
+    public boolean isIoBound() {
+        // Waits for the AI model
+        return true;
+    }
+
     @Override
     public JobResult execute(WJob job) throws JobExecutionException {
         try {
@@ -0,0 +1,210 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.shared.utils.TypeUtil;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streams the chunks covering a world rectangle strip by strip.
+ * A strip is one chunk X with all chunk Z of the rectangle.
+ *
+ * While a strip is processed the next one is already loaded on virtual threads,
+ * so I/O overlaps compute and at most two strips are held in memory at a time,
+ * independent of the rectangle size.
+ *
+ * Usage:
+ * <pre>
+ * try (var strips = new ChunkStripStream&lt;&gt;(chunkSize, mountX, mountZ, sizeX, sizeZ, loader)) {
+ *     for (var strip : strips) { ... }
+ * }
+ * </pre>
+ *
+ * @param <T> Loaded chunk type
+ */
+class ChunkStripStream<T> implements Iterable<ChunkStripStream.Strip<T>>, AutoCloseable {
+
+    @FunctionalInterface
+    interface ChunkLoader<T> {
+        /**
+         * @return Loaded chunk or null if there is none
+         */
+        T load(int cx, int cz, String chunkKey);
+    }
+
+    @FunctionalInterface
+    interface ChunkFilter {
+        boolean isRequired(int cx, int cz);
+    }
+
+    private final int chunkSize;
+    private final int minX;
+    private final int minZ;
+    private final int maxX;
+    private final int maxZ;
+    private final ChunkLoader<T> loader;
+    private ChunkFilter filter = (cx, cz) -> true;
+    private ExecutorService executor;
+
+    /**
+     * @param chunkSize Chunk size of the world
+     * @param minX First world X of the rectangle
+     * @param minZ First world Z of the rectangle
+     * @param sizeX Width of the rectangle
+     * @param sizeZ Depth of the rectangle
+     * @param loader Loads one chunk, called concurrently
+     */
+    ChunkStripStream(int chunkSize, int minX, int minZ, int sizeX, int sizeZ, ChunkLoader<T> loader) {
+        this.chunkSize = chunkSize;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = minX + sizeX - 1;
+        this.maxZ = minZ + sizeZ - 1;
+        this.loader = loader;
+    }
+
+    /**
+     * Load only chunks accepted by the filter, others are passed as null.
+     */
+    ChunkStripStream<T> filter(ChunkFilter filter) {
+        this.filter = filter;
+        return this;
+    }
+
+    /**
+     * Load only chunks that contain a border column (outer edge) of the rectangle.
+     */
+    ChunkStripStream<T> borderOnly() {
+        int minCx = Math.floorDiv(minX, chunkSize);
+        int maxCx = Math.floorDiv(maxX, chunkSize);
+        int minCz = Math.floorDiv(minZ, chunkSize);
+        int maxCz = Math.floorDiv(maxZ, chunkSize);
+        return filter((cx, cz) -> cx == minCx || cx == maxCx || cz == minCz || cz == maxCz);
+    }
+
+    /**
+     * Iterate all strips from west to east. Strips must not be used after the next one was requested.
+     */
+    @Override
+    public Iterator<Strip<T>> iterator() {
+        if (executor == null) {
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+        }
+        int minCx = Math.floorDiv(minX, chunkSize);
+        int maxCx = Math.floorDiv(maxX, chunkSize);
+
+        return new Iterator<>() {
+            private int cx = minCx;
+            private CompletableFuture<Strip<T>> next = loadStrip(minCx);
+
+            @Override
+            public boolean hasNext() {
+                return cx <= maxCx;
+            }
+
+            @Override
+            public Strip<T> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Strip<T> strip = join(next);
+                cx++;
+                // Prefetch the next strip while the caller processes this one
+                next = cx <= maxCx ? loadStrip(cx) : null;
+                return strip;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private CompletableFuture<Strip<T>> loadStrip(int cx) {
+        int minCz = Math.floorDiv(minZ, chunkSize);
+        int maxCz = Math.floorDiv(maxZ, chunkSize);
+
+        List<CompletableFuture<T>> chunks = new ArrayList<>(maxCz - minCz + 1);
+        for (int cz = minCz; cz <= maxCz; cz++) {
+            if (!filter.isRequired(cx, cz)) {
+                chunks.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            int chunkZ = cz;
+            chunks.add(CompletableFuture.supplyAsync(
+                    () -> loader.load(cx, chunkZ, TypeUtil.toStringChunkCoord(cx, chunkZ)), executor));
+        }
+
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(v -> {
+                    List<T> loaded = new ArrayList<>(chunks.size());
+                    for (CompletableFuture<T> chunk : chunks) {
+                        loaded.add(chunk.join());
+                    }
+                    return new Strip<>(cx, minCz, chunkSize,
+                            Math.max(minX, cx * chunkSize), Math.min(maxX, cx * chunkSize + chunkSize - 1),
+                            loaded);
+                });
+    }
+
+    private Strip<T> join(CompletableFuture<Strip<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    /**
+     * Loaded chunks of one chunk X.
+     */
+    static class Strip<T> {
+
+        @Getter
+        private final int cx;
+        private final int minCz;
+        private final int chunkSize;
+        /**
+         * First world X of the rectangle inside this strip.
+         */
+        @Getter
+        private final int fromX;
+        /**
+         * Last world X of the rectangle inside this strip (inclusive).
+         */
+        @Getter
+        private final int toX;
+        @Getter
+        private final List<T> chunks;
+
+        private Strip(int cx, int minCz, int chunkSize, int fromX, int toX, List<T> chunks) {
+            this.cx = cx;
+            this.minCz = minCz;
+            this.chunkSize = chunkSize;
+            this.fromX = fromX;
+            this.toX = toX;
+            this.chunks = chunks;
+        }
+
+        /**
+         * Chunk containing a world Z coordinate of the rectangle.
+         *
+         * @return Loaded chunk or null
+         */
+        T chunkAtZ(int worldZ) {
+            int index = Math.floorDiv(worldZ, chunkSize) - minCz;
+            if (index < 0 || index >= chunks.size()) return null;
+            return chunks.get(index);
+        }
+    }
+}
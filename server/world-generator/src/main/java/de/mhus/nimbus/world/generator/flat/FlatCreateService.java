@@ -5,7 +5,6 @@ import de.mhus.nimbus.shared.types.WorldId;
 import de.mhus.nimbus.shared.utils.TypeUtil;
 import de.mhus.nimbus.world.shared.generator.WFlat;
 import de.mhus.nimbus.world.shared.generator.WFlatService;
-import de.mhus.nimbus.world.shared.layer.LayerChunkData;
 import de.mhus.nimbus.world.shared.layer.LayerType;
 import de.mhus.nimbus.world.shared.layer.WLayer;
 import de.mhus.nimbus.world.shared.layer.WLayerService;
@@ -20,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -183,63 +183,29 @@ public class FlatCreateService {
         int defaultLevel = oceanLevel - 10; // Default level if no blocks found
         int chunkSize = world.getPublicData().getChunkSize();
 
-        // Calculate which chunks are needed (optimize: only load required chunks once)
-        java.util.Set<String> requiredChunkKeys = new java.util.HashSet<>();
-        int minChunkX = world.getChunkX(mountX);
-        int minChunkZ = world.getChunkZ(mountZ);
-        int maxChunkX = world.getChunkX(mountX + sizeX - 1);
-        int maxChunkZ = world.getChunkZ(mountZ + sizeZ - 1);
-
-        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
-            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                requiredChunkKeys.add(TypeUtil.toStringChunkCoord(chunkX, chunkZ));
-            }
-        }
-
-        log.debug("Loading {} chunks for importFromLayer", requiredChunkKeys.size());
-
-        // Load all required chunks at once
-        java.util.Map<String, ChunkData> chunkCache = new java.util.HashMap<>();
-        for (String chunkKey : requiredChunkKeys) {
-            Optional<ChunkData> chunkDataOpt = chunkService.loadChunkData(worldIdObj, chunkKey, false);
-            chunkDataOpt.ifPresent(data -> chunkCache.put(chunkKey, data));
-        }
-
         int importedColumns = 0;
         int emptyColumns = 0;
 
-        // Iterate over all X,Z coordinates in the flat
-        for (int localX = 0; localX < sizeX; localX++) {
-            for (int localZ = 0; localZ < sizeZ; localZ++) {
-                // Calculate world coordinates
-                int worldX = mountX + localX;
-                int worldZ = mountZ + localZ;
-
-                // Calculate chunk coordinates
-                int chunkX = world.getChunkX(worldX);
-                int chunkZ = world.getChunkZ(worldZ);
-                String chunkKey = TypeUtil.toStringChunkCoord(chunkX, chunkZ);
-
-                // Get chunk from cache
-                ChunkData chunkData = chunkCache.get(chunkKey);
-
-                if (chunkData == null) {
-                    // No chunk data, use default level
-                    flat.setLevel(localX, localZ, defaultLevel);
-                    emptyColumns++;
-                    continue;
-                }
-
-                // Find highest ground block at this position
-                int groundLevel = findGroundLevel(worldX, worldZ, chunkData, chunkSize);
-
-                if (groundLevel == -1) {
-                    // No ground block found, use default level
-                    flat.setLevel(localX, localZ, defaultLevel);
-                    emptyColumns++;
-                } else {
-                    flat.setLevel(localX, localZ, groundLevel);
-                    importedColumns++;
+        // Stream chunk strips: only two strips of height data are held at a time
+        try (var strips = streamHeightData(worldIdObj, chunkSize, mountX, mountZ, sizeX, sizeZ)) {
+            for (var strip : strips) {
+                for (int worldX = strip.getFromX(); worldX <= strip.getToX(); worldX++) {
+                    int localX = worldX - mountX;
+                    for (int localZ = 0; localZ < sizeZ; localZ++) {
+                        int worldZ = mountZ + localZ;
+
+                        // Find highest ground block at this position
+                        int groundLevel = findGroundLevel(worldX, worldZ, strip.chunkAtZ(worldZ));
+
+                        if (groundLevel == -1) {
+                            // No chunk data or no ground block found, use default level
+                            flat.setLevel(localX, localZ, defaultLevel);
+                            emptyColumns++;
+                        } else {
+                            flat.setLevel(localX, localZ, groundLevel);
+                            importedColumns++;
+                        }
+                    }
                 }
             }
         }
@@ -253,23 +219,28 @@ public class FlatCreateService {
         return saved;
     }
 
+    /**
+     * Stream the height data of the chunks covering a flat rectangle, strip by strip.
+     * Only the height data of a chunk is kept, the blocks are released right after loading.
+     */
+    private ChunkStripStream<Map<String, int[]>> streamHeightData(WorldId worldId, int chunkSize,
+                                                                 int mountX, int mountZ, int sizeX, int sizeZ) {
+        return new ChunkStripStream<>(chunkSize, mountX, mountZ, sizeX, sizeZ,
+                (cx, cz, chunkKey) -> chunkService.loadChunkData(worldId, chunkKey, false)
+                        .map(ChunkData::getHeightData)
+                        .orElse(null));
+    }
+
     /**
      * Find the ground level (Y coordinate of highest ground block) at a specific world position.
      * Uses heightData from chunk for fast lookup.
      *
      * @param worldX World X coordinate
      * @param worldZ World Z coordinate
-     * @param chunkData Chunk data containing heightData
-     * @param chunkSize Size of chunks in this world
+     * @param heightData Height data of the chunk containing the position, may be null
      * @return Y coordinate of ground surface, or -1 if not found
      */
-    private int findGroundLevel(int worldX, int worldZ, ChunkData chunkData, int chunkSize) {
-        if (chunkData == null) {
-            return -1;
-        }
-
-        // Get heightData from chunk
-        var heightData = chunkData.getHeightData();
+    private int findGroundLevel(int worldX, int worldZ, Map<String, int[]> heightData) {
         if (heightData == null || heightData.isEmpty()) {
             return -1;
         }
@@ -363,65 +334,33 @@ public class FlatCreateService {
             }
         }
 
-        // Calculate which chunks are needed for border import
-        java.util.Set<String> requiredChunkKeys = new java.util.HashSet<>();
-        int minChunkX = world.getChunkX(mountX);
-        int minChunkZ = world.getChunkZ(mountZ);
-        int maxChunkX = world.getChunkX(mountX + sizeX - 1);
-        int maxChunkZ = world.getChunkZ(mountZ + sizeZ - 1);
-
-        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
-            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                requiredChunkKeys.add(TypeUtil.toStringChunkCoord(chunkX, chunkZ));
-            }
-        }
-
-        log.debug("Loading {} chunks for border import", requiredChunkKeys.size());
-
-        // Load all required chunks at once
-        java.util.Map<String, ChunkData> chunkCache = new java.util.HashMap<>();
-        for (String chunkKey : requiredChunkKeys) {
-            Optional<ChunkData> chunkDataOpt = chunkService.loadChunkData(worldIdObj, chunkKey, false);
-            chunkDataOpt.ifPresent(data -> chunkCache.put(chunkKey, data));
-        }
-
         int borderCellsImported = 0;
 
-        // Import border cells from layer (outer edge only)
-        for (int localX = 0; localX < sizeX; localX++) {
-            for (int localZ = 0; localZ < sizeZ; localZ++) {
-                // Check if this is a border cell
-                boolean isBorder = (localX == 0 || localX == sizeX - 1 ||
-                                   localZ == 0 || localZ == sizeZ - 1);
-
-                if (!isBorder) {
-                    continue; // Skip interior cells
-                }
-
-                // Calculate world coordinates
-                int worldX = mountX + localX;
-                int worldZ = mountZ + localZ;
-
-                // Calculate chunk coordinates
-                int chunkX = world.getChunkX(worldX);
-                int chunkZ = world.getChunkZ(worldZ);
-                String chunkKey = TypeUtil.toStringChunkCoord(chunkX, chunkZ);
-
-                // Get chunk from cache
-                ChunkData chunkData = chunkCache.get(chunkKey);
-
-                if (chunkData == null) {
-                    // No chunk data, keep default level 0
-                    continue;
-                }
-
-                // Find ground level at this position
-                int groundLevel = findGroundLevel(worldX, worldZ, chunkData, chunkSize);
-
-                if (groundLevel != -1) {
-                    // Set level from layer for border cell
-                    flat.setLevel(localX, localZ, groundLevel);
-                    borderCellsImported++;
+        // Import border cells from layer (outer edge only), only chunks on the border are loaded
+        try (var strips = streamHeightData(worldIdObj, chunkSize, mountX, mountZ, sizeX, sizeZ).borderOnly()) {
+            for (var strip : strips) {
+                for (int worldX = strip.getFromX(); worldX <= strip.getToX(); worldX++) {
+                    int localX = worldX - mountX;
+                    for (int localZ = 0; localZ < sizeZ; localZ++) {
+                        // Check if this is a border cell
+                        boolean isBorder = (localX == 0 || localX == sizeX - 1 ||
+                                           localZ == 0 || localZ == sizeZ - 1);
+
+                        if (!isBorder) {
+                            continue; // Skip interior cells
+                        }
+
+                        int worldZ = mountZ + localZ;
+
+                        // Find ground level at this position, keep default level 0 if no chunk data
+                        int groundLevel = findGroundLevel(worldX, worldZ, strip.chunkAtZ(worldZ));
+
+                        if (groundLevel != -1) {
+                            // Set level from layer for border cell
+                            flat.setLevel(localX, localZ, groundLevel);
+                            borderCellsImported++;
+                        }
+                    }
                 }
             }
         }
@@ -576,7 +515,6 @@ public class FlatCreateService {
 
         // Initialize with size (sets all levels to 0)
         flat.initWithSize(sizeX, sizeZ);
-        int chunkSize = world.getPublicData().getChunkSize();
 
         // Calculate hex center in cartesian coordinates
         de.mhus.nimbus.generated.types.HexVector2 hexPosition =
@@ -587,28 +525,6 @@ public class FlatCreateService {
 
         log.debug("Hex center in cartesian: ({}, {})", hexCenterX, hexCenterZ);
 
-        // Calculate which chunks are needed for layer import
-        java.util.Set<String> requiredChunkKeys = new java.util.HashSet<>();
-        int minChunkX = world.getChunkX(mountX);
-        int minChunkZ = world.getChunkZ(mountZ);
-        int maxChunkX = world.getChunkX(mountX + sizeX - 1);
-        int maxChunkZ = world.getChunkZ(mountZ + sizeZ - 1);
-
-        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
-            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                requiredChunkKeys.add(TypeUtil.toStringChunkCoord(chunkX, chunkZ));
-            }
-        }
-
-        log.debug("Loading {} chunks for layer import", requiredChunkKeys.size());
-
-        // Load all required chunks at once
-        java.util.Map<String, LayerChunkData> chunkCache = new java.util.HashMap<>();
-        for (String chunkKey : requiredChunkKeys) {
-            Optional<LayerChunkData> chunkDataOpt = layerService.loadTerrainChunk(layer.getWorldId(), layer.getLayerDataId(), chunkKey);
-            chunkDataOpt.ifPresent(data -> chunkCache.put(chunkKey, data));
-        }
-
         int hexCellsSet = 0;
         int outsideCellsImported = 0;
 
@@ -805,71 +721,34 @@ public class FlatCreateService {
 
         log.debug("Hex center in cartesian: ({}, {})", hexCenterX, hexCenterZ);
 
-        // Calculate which chunks are needed for layer import
-        java.util.Set<String> requiredChunkKeys = new java.util.HashSet<>();
-        int minChunkX = world.getChunkX(mountX);
-        int minChunkZ = world.getChunkZ(mountZ);
-        int maxChunkX = world.getChunkX(mountX + sizeX - 1);
-        int maxChunkZ = world.getChunkZ(mountZ + sizeZ - 1);
-
-        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
-            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                requiredChunkKeys.add(TypeUtil.toStringChunkCoord(chunkX, chunkZ));
-            }
-        }
-
-        log.debug("Loading {} chunks for importHexGridFlat", requiredChunkKeys.size());
-
-        // Load all required chunks at once
-//        java.util.Map<String, LayerChunkData> chunkCache = new java.util.HashMap<>();
-        java.util.Map<String, ChunkData> chunkCache = new java.util.HashMap<>();
-        for (String chunkKey : requiredChunkKeys) {
-            Optional<ChunkData> chunkDataOpt = chunkService.loadChunkData(worldIdObj, chunkKey, false);
-            chunkDataOpt.ifPresent(data -> chunkCache.put(chunkKey, data));
-        }
-
         int importedColumns = 0;
         int outsideColumns = 0;
         int emptyColumns = 0;
 
-        long pointCnt = sizeX * sizeZ;
-        // Step 1: Import ALL columns from layer and set material to 255
-        for (int localX = 0; localX < sizeX; localX++) {
-            for (int localZ = 0; localZ < sizeZ; localZ++) {
-                // Calculate world coordinates
-                int worldX = mountX + localX;
-                int worldZ = mountZ + localZ;
-
-                // Calculate chunk coordinates
-                int chunkX = world.getChunkX(worldX);
-                int chunkZ = world.getChunkZ(worldZ);
-                String chunkKey = TypeUtil.toStringChunkCoord(chunkX, chunkZ);
-
-                // Get chunk from cache
-                ChunkData chunkData = chunkCache.get(chunkKey);
-
-                if (chunkData == null) {
-                    // No chunk data, use default level and material 255
-                    flat.setLevel(localX, localZ, defaultLevel);
-                    flat.setColumn(localX, localZ, 255); // Material 255 (UNKNOWN_NOT_PROTECTED)
-                    emptyColumns++;
-                    continue;
-                }
-
-                // Find highest ground block at this position
-                int groundLevel = findGroundLevel(worldX, worldZ, chunkData, chunkSize);
-
-                if (groundLevel == -1) {
-                    // No ground block found, use default level
-                    flat.setLevel(localX, localZ, defaultLevel);
-                    emptyColumns++;
-                } else {
-                    flat.setLevel(localX, localZ, groundLevel);
-                    importedColumns++;
+        // Step 1: Import ALL columns from layer and set material to 255, streamed chunk strip by chunk strip
+        try (var strips = streamHeightData(worldIdObj, chunkSize, mountX, mountZ, sizeX, sizeZ)) {
+            for (var strip : strips) {
+                for (int worldX = strip.getFromX(); worldX <= strip.getToX(); worldX++) {
+                    int localX = worldX - mountX;
+                    for (int localZ = 0; localZ < sizeZ; localZ++) {
+                        int worldZ = mountZ + localZ;
+
+                        // Find highest ground block at this position
+                        int groundLevel = findGroundLevel(worldX, worldZ, strip.chunkAtZ(worldZ));
+
+                        if (groundLevel == -1) {
+                            // No chunk data or no ground block found, use default level
+                            flat.setLevel(localX, localZ, defaultLevel);
+                            emptyColumns++;
+                        } else {
+                            flat.setLevel(localX, localZ, groundLevel);
+                            importedColumns++;
+                        }
+
+                        // Set material to 255 (UNKNOWN_NOT_PROTECTED) for ALL columns initially
+                        flat.setColumn(localX, localZ, 255);
+                    }
                 }
-
-                // Set material to 255 (UNKNOWN_NOT_PROTECTED) for ALL columns initially
-                flat.setColumn(localX, localZ, 255);
             }
         }
 
@@ -951,66 +830,33 @@ public class FlatCreateService {
             throw new IllegalArgumentException("Layer must be of type GROUND, but is: " + layer.getLayerType());
         }
 
-        // Calculate which chunks are needed for border import
-        java.util.Set<String> requiredChunkKeys = new java.util.HashSet<>();
-        int minChunkX = world.getChunkX(mountX);
-        int minChunkZ = world.getChunkZ(mountZ);
-        int maxChunkX = world.getChunkX(mountX + sizeX - 1);
-        int maxChunkZ = world.getChunkZ(mountZ + sizeZ - 1);
-
-        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
-            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                requiredChunkKeys.add(TypeUtil.toStringChunkCoord(chunkX, chunkZ));
-            }
-        }
-
-        log.debug("Loading {} chunks for border update", requiredChunkKeys.size());
-
-        // Load all required chunks at once
-        java.util.Map<String, ChunkData> chunkCache = new java.util.HashMap<>();
-        for (String chunkKey : requiredChunkKeys) {
-//            Optional<LayerChunkData> chunkDataOpt = layerService.loadTerrainChunk(layer.getLayerDataId(), chunkKey);
-            Optional<ChunkData> chunkDataOpt = chunkService.loadChunkData(worldIdObj, chunkKey, false);
-            chunkDataOpt.ifPresent(data -> chunkCache.put(chunkKey, data));
-        }
-
         int borderCellsUpdated = 0;
 
-        // Update border cells from layer (outer edge only)
-        for (int localX = 0; localX < sizeX; localX++) {
-            for (int localZ = 0; localZ < sizeZ; localZ++) {
-                // Check if this is a border cell
-                boolean isBorder = (localX == 0 || localX == sizeX - 1 ||
-                                   localZ == 0 || localZ == sizeZ - 1);
-
-                if (!isBorder) {
-                    continue; // Skip interior cells
-                }
-
-                // Calculate world coordinates
-                int worldX = mountX + localX;
-                int worldZ = mountZ + localZ;
-
-                // Calculate chunk coordinates
-                int chunkX = world.getChunkX(worldX);
-                int chunkZ = world.getChunkZ(worldZ);
-                String chunkKey = TypeUtil.toStringChunkCoord(chunkX, chunkZ);
-
-                // Get chunk from cache
-                ChunkData chunkData = chunkCache.get(chunkKey);
-
-                if (chunkData == null) {
-                    // No chunk data, skip this cell
-                    continue;
-                }
-
-                // Find ground level at this position
-                int groundLevel = findGroundLevel(worldX, worldZ, chunkData, chunkSize);
-
-                if (groundLevel != -1) {
-                    // Update level from layer for border cell
-                    flat.setLevel(localX, localZ, groundLevel);
-                    borderCellsUpdated++;
+        // Update border cells from layer (outer edge only), only chunks on the border are loaded
+        try (var strips = streamHeightData(worldIdObj, chunkSize, mountX, mountZ, sizeX, sizeZ).borderOnly()) {
+            for (var strip : strips) {
+                for (int worldX = strip.getFromX(); worldX <= strip.getToX(); worldX++) {
+                    int localX = worldX - mountX;
+                    for (int localZ = 0; localZ < sizeZ; localZ++) {
+                        // Check if this is a border cell
+                        boolean isBorder = (localX == 0 || localX == sizeX - 1 ||
+                                           localZ == 0 || localZ == sizeZ - 1);
+
+                        if (!isBorder) {
+                            continue; // Skip interior cells
+                        }
+
+                        int worldZ = mountZ + localZ;
+
+                        // Find ground level at this position, skip cell if no chunk data
+                        int groundLevel = findGroundLevel(worldX, worldZ, strip.chunkAtZ(worldZ));
+
+                        if (groundLevel != -1) {
+                            // Update level from layer for border cell
+                            flat.setLevel(localX, localZ, groundLevel);
+                            borderCellsUpdated++;
+                        }
+                    }
                 }
             }
         }
@@ -1281,52 +1127,28 @@ public class FlatCreateService {
         int chunkSize = world.getPublicData().getChunkSize();
         int defaultLevel = oceanLevel - 10;
 
-        // Import from layer (all positions start with NOT_SET material 0)
-        java.util.Set<String> requiredChunkKeys = new java.util.HashSet<>();
-        int minChunkX = world.getChunkX(mountX);
-        int minChunkZ = world.getChunkZ(mountZ);
-        int maxChunkX = world.getChunkX(mountX + sizeX - 1);
-        int maxChunkZ = world.getChunkZ(mountZ + sizeZ - 1);
-
-        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
-            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
-                requiredChunkKeys.add(TypeUtil.toStringChunkCoord(chunkX, chunkZ));
-            }
-        }
-
-        log.debug("Loading {} chunks for createGridBorderFlat", requiredChunkKeys.size());
-
-        // Load all required chunks
-        java.util.Map<String, ChunkData> chunkCache = new java.util.HashMap<>();
-        for (String chunkKey : requiredChunkKeys) {
-            Optional<ChunkData> chunkDataOpt = chunkService.loadChunkData(worldIdObj, chunkKey, false);
-            chunkDataOpt.ifPresent(data -> chunkCache.put(chunkKey, data));
-        }
-
-        // Import levels from layer
-        for (int x = 0; x < sizeX; x++) {
-            for (int z = 0; z < sizeZ; z++) {
-                int worldX = mountX + x;
-                int worldZ = mountZ + z;
-
-                int chunkX = world.getChunkX(worldX);
-                int chunkZ = world.getChunkZ(worldZ);
-                String chunkKey = TypeUtil.toStringChunkCoord(chunkX, chunkZ);
-
-                ChunkData chunkData = chunkCache.get(chunkKey);
-
-                // Find ground level at this position
-                int groundLevel = findGroundLevel(worldX, worldZ, chunkData, chunkSize);
-
-                if (groundLevel == -1) {
-                    // No ground block found, use default level
-                    flat.setLevel(x, z, defaultLevel);
-                } else {
-                    flat.setLevel(x, z, groundLevel);
+        // Import levels from layer (all positions start with NOT_SET material 0)
+        try (var strips = streamHeightData(worldIdObj, chunkSize, mountX, mountZ, sizeX, sizeZ)) {
+            for (var strip : strips) {
+                for (int worldX = strip.getFromX(); worldX <= strip.getToX(); worldX++) {
+                    int x = worldX - mountX;
+                    for (int z = 0; z < sizeZ; z++) {
+                        int worldZ = mountZ + z;
+
+                        // Find ground level at this position
+                        int groundLevel = findGroundLevel(worldX, worldZ, strip.chunkAtZ(worldZ));
+
+                        if (groundLevel == -1) {
+                            // No ground block found, use default level
+                            flat.setLevel(x, z, defaultLevel);
+                        } else {
+                            flat.setLevel(x, z, groundLevel);
+                        }
+
+                        // Set material to NOT_SET (0) initially
+                        flat.setColumn(x, z, WFlat.MATERIAL_NOT_SET);
+                    }
                 }
-
-                // Set material to NOT_SET (0) initially
-                flat.setColumn(x, z, WFlat.MATERIAL_NOT_SET);
             }
         }
 
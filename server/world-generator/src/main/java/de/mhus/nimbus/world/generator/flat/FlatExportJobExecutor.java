@@ -2,6 +2,7 @@ package de.mhus.nimbus.world.generator.flat;
 
 import de.mhus.nimbus.world.shared.generator.WFlat;
 import de.mhus.nimbus.world.shared.generator.WFlatService;
+import de.mhus.nimbus.world.shared.job.JobCheckpoint;
 import de.mhus.nimbus.world.shared.job.JobExecutionException;
 import de.mhus.nimbus.world.shared.job.JobExecutor;
 import de.mhus.nimbus.world.shared.job.WJob;
@@ -24,6 +25,8 @@ import org.springframework.stereotype.Component;
  * - layerName: Name of the target GROUND layer (if not specified, uses the layer from which the flat was imported)
  * - deleteAfterExport: If true, deletes the WFlat after successful export (default: false)
  * - smoothCorners: If true, smooths corners of top GROUND blocks based on neighbor heights (default: true)
+ *
+ * Exported chunk strips are recorded in the job checkpoint, a retried or resumed job continues with the open strips.
  */
 @Component
 @Slf4j
@@ -41,8 +44,19 @@ public class FlatExportJobExecutor implements JobExecutor {
         return EXECUTOR_NAME;
     }
 
+    @Override
+    public boolean isIoBound() {
+        // Reads layers and writes flats, mostly database time
+        return true;
+    }
+
     @Override
     public JobResult execute(WJob job) throws JobExecutionException {
+        return execute(job, JobCheckpoint.detached(job));
+    }
+
+    @Override
+    public JobResult execute(WJob job, JobCheckpoint checkpoint) throws JobExecutionException {
         try {
             log.info("Starting flat export job: jobId={}", job.getId());
 
@@ -83,7 +97,7 @@ public class FlatExportJobExecutor implements JobExecutor {
                     flatId, worldId, layerName, deleteAfterExport, smoothCorners);
 
             // Execute export (use database ID)
-            int exportedColumns = flatExportService.exportToLayer(flat.getId(), worldId, layerName, smoothCorners);
+            int exportedColumns = flatExportService.exportToLayer(flat.getId(), worldId, layerName, smoothCorners, checkpoint);
 
             // Delete flat if requested
             if (deleteAfterExport) {
@@ -6,11 +6,10 @@ import de.mhus.nimbus.generated.types.ChunkData;
 import de.mhus.nimbus.generated.types.Vector3Int;
 import de.mhus.nimbus.shared.types.BlockDef;
 import de.mhus.nimbus.shared.types.WorldId;
-import de.mhus.nimbus.shared.utils.TypeUtil;
 import de.mhus.nimbus.world.shared.generator.WFlat;
 import de.mhus.nimbus.world.shared.generator.WFlatService;
+import de.mhus.nimbus.world.shared.job.JobCheckpoint;
 import de.mhus.nimbus.world.shared.layer.LayerBlock;
-import de.mhus.nimbus.world.shared.layer.LayerChunkData;
 import de.mhus.nimbus.world.shared.layer.LayerType;
 import de.mhus.nimbus.world.shared.layer.WDirtyChunkService;
 import de.mhus.nimbus.world.shared.layer.WLayer;
@@ -63,6 +62,19 @@ public class FlatExportService {
      * @throws IllegalArgumentException if flat, world, or layer not found, or layer is not GROUND type
      */
     public int exportToLayer(String flatId, String worldId, String layerName, boolean smoothCorners) {
+        return exportToLayer(flatId, worldId, layerName, smoothCorners, null);
+    }
+
+    /**
+     * Export WFlat to a WLayer of type GROUND with a job checkpoint.
+     * Each chunk strip (chunk X, key is the chunk X as string) is a unit: strips done by a previous
+     * execution are neither loaded nor written, finished strips are marked after they are saved.
+     *
+     * @param checkpoint Checkpoint of the export job, null to export all strips
+     * @return Number of exported columns (of this execution)
+     */
+    public int exportToLayer(String flatId, String worldId, String layerName, boolean smoothCorners,
+                             JobCheckpoint checkpoint) {
         log.info("Exporting flat to layer: flatId={}, worldId={}, layerName={}, smoothCorners={}",
                 flatId, worldId, layerName, smoothCorners);
 
@@ -87,9 +99,10 @@ public class FlatExportService {
         int chunkSize = world.getPublicData().getChunkSize();
         String layerDataId = layer.getLayerDataId();
 
-        // Map to store modified chunks: chunkKey -> LayerChunkData
-        Map<String, LayerChunkData> modifiedChunks = new HashMap<>();
-        Map<String, Optional<ChunkData>> blockChunks = new HashMap<>();
+        // Modified layer chunks and generated chunk data, indexed by column
+        FlatExportWorkingSet workingSet = new FlatExportWorkingSet(chunkSize,
+                key -> layerService.loadTerrainChunk(worldId, layerDataId, key),
+                key -> chunkService.loadChunkData(worldIdObj, key, false));
 
         // BlockType cache for this export (to avoid repeated lookups)
         Map<String, WBlockType> blockTypeCache = new HashMap<>();
@@ -105,112 +118,135 @@ public class FlatExportService {
 
         int exportedColumns = 0;
         int skippedColumns = 0;
+        int savedChunks = 0;
 
         long pointCount = (long) flat.getSizeX() * (long) flat.getSizeZ();
 
-        // Iterate over all columns in the flat
-        for (int localX = 0; localX < flat.getSizeX(); localX++) {
-            for (int localZ = 0; localZ < flat.getSizeZ(); localZ++) {
-
-                if (pointCount-- % 10000 == 0) {
-                    log.info("Export progress: flatId={}, exported={} columns, skipped={} columns, remaining={} columns",
-                            flatId, exportedColumns, skippedColumns, pointCount);
+        if (checkpoint != null) {
+            checkpoint.setTotal(Math.floorDiv(flat.getMountX() + flat.getSizeX() - 1, chunkSize)
+                    - Math.floorDiv(flat.getMountX(), chunkSize) + 1);
+        }
+
+        // Stream chunk strips (one chunk X each): the next strip is loaded while the current one is
+        // processed, finished strips are saved and released, so memory does not grow with the flat size
+        try (var strips = new ChunkStripStream<>(chunkSize, flat.getMountX(), flat.getMountZ(),
+                flat.getSizeX(), flat.getSizeZ(),
+                (cx, cz, chunkKey) -> new ChunkSource(
+                        layerService.loadTerrainChunk(worldId, layerDataId, chunkKey).orElse(null),
+                        chunkService.loadChunkData(worldIdObj, chunkKey, false).orElse(null)))
+                .filter((cx, cz) -> !isStripDone(checkpoint, cx))) {
+            for (var strip : strips) {
+                if (isStripDone(checkpoint, strip.getCx())) {
+                    // Exported by a previous execution of the job
+                    pointCount -= (long) (strip.getToX() - strip.getFromX() + 1) * flat.getSizeZ();
+                    continue;
                 }
-                // Calculate world coordinates
-                int worldX = flat.getMountX() + localX;
-                int worldZ = flat.getMountZ() + localZ;
-
-                // Calculate chunk coordinates
-                int chunkX = world.getChunkX(worldX);
-                int chunkZ = world.getChunkZ(worldZ);
-                String chunkKey = TypeUtil.toStringChunkCoord(chunkX, chunkZ);
-
-                // Get or create chunk data
-                LayerChunkData layerChunkData = modifiedChunks.computeIfAbsent(chunkKey, key -> {
-                    // Try to load existing chunk
-                    Optional<LayerChunkData> existing = layerService.loadTerrainChunk(worldId, layerDataId, key);
-                    if (existing.isPresent()) {
-                        return existing.get();
-                    } else {
-                        // Create new chunk
-                        return LayerChunkData.builder()
-                                .cx(chunkX)
-                                .cz(chunkZ)
-                                .blocks(new ArrayList<>())
-                                .build();
-                    }
-                });
-                Optional<ChunkData> chunkDataOpt = blockChunks.computeIfAbsent(chunkKey,
-                        key -> chunkService.loadChunkData(worldIdObj, key, false) );
-                ChunkData chunkData = chunkDataOpt.orElseGet(() ->
-                        ChunkData.builder()
-                                .blocks(new ArrayList<>())
-                                .build()
-                );
-
-                // Check if column is set or has material 255 (treated like NOT_SET)
-                int columnMaterial = flat.getColumn(localX, localZ);
-                if (columnMaterial == WFlat.MATERIAL_NOT_SET || columnMaterial == WFlat.MATERIAL_NOT_SET_MUTABLE) {
-                    if (isOneAroundSet(flat, localX, localZ)) {
-                        // NOT_SET or Material 255: Keep existing blocks, but fill down if neighbors are lower
-                        handleNotSetColumn(chunkData, layerChunkData, worldX, worldZ, flat, localX, localZ, world, worldId, groupIdCache);
-                        skippedColumns++;
-                        continue;
-                    } else {
-                        skippedColumns++;
-                        continue;
-                    }
+                int chunkZ = Math.floorDiv(flat.getMountZ(), chunkSize);
+                for (ChunkSource source : strip.getChunks()) {
+                    workingSet.offer(strip.getCx(), chunkZ++, source.layerChunkData(), source.chunkData());
                 }
 
-                // Column is set - process normally
-                // Get level from flat
-                int level = flat.getLevel(localX, localZ);
-
-                // Get block type from column definition
-                WFlat.MaterialDefinition columnDef = flat.getColumnMaterial(localX, localZ);
-                if (columnDef == null) {
-                    log.warn("Column definition not found for column at ({}, {}), skipping", localX, localZ);
-                    skippedColumns++;
-                    continue;
+                for (int worldX = strip.getFromX(); worldX <= strip.getToX(); worldX++) {
+                    int localX = worldX - flat.getMountX();
+                    for (int localZ = 0; localZ < flat.getSizeZ(); localZ++) {
+                        if (pointCount-- % 10000 == 0) {
+                            log.info("Export progress: flatId={}, exported={} columns, skipped={} columns, remaining={} columns",
+                                    flatId, exportedColumns, skippedColumns, pointCount);
+                        }
+                        // Calculate world coordinates
+                        int worldZ = flat.getMountZ() + localZ;
+
+                        // Get or load chunk (layer chunk and generated chunk data)
+                        FlatExportWorkingSet.ExportChunk chunk = workingSet.chunkAt(worldX, worldZ);
+
+                        // Check if column is set or has material 255 (treated like NOT_SET)
+                        int columnMaterial = flat.getColumn(localX, localZ);
+                        if (columnMaterial == WFlat.MATERIAL_NOT_SET || columnMaterial == WFlat.MATERIAL_NOT_SET_MUTABLE) {
+                            if (isOneAroundSet(flat, localX, localZ)) {
+                                // NOT_SET or Material 255: Keep existing blocks, but fill down if neighbors are lower
+                                handleNotSetColumn(workingSet, chunk, worldX, worldZ, flat, localX, localZ, worldId, groupIdCache);
+                                skippedColumns++;
+                                continue;
+                            } else {
+                                skippedColumns++;
+                                continue;
+                            }
+                        }
+
+                        // Column is set - process normally
+                        // Get level from flat
+                        int level = flat.getLevel(localX, localZ);
+
+                        // Get block type from column definition
+                        WFlat.MaterialDefinition columnDef = flat.getColumnMaterial(localX, localZ);
+                        if (columnDef == null) {
+                            log.warn("Column definition not found for column at ({}, {}), skipping", localX, localZ);
+                            skippedColumns++;
+                            continue;
+                        }
+
+                        // Delete all existing blocks at this column
+                        chunk.deleteColumn(worldX, worldZ);
+
+                        // Find lowest sibling level to avoid holes
+                        int lowestSiblingLevel = findLowestSiblingLevel(flat, localX, localZ, workingSet);
+
+                        if (lowestSiblingLevel != WFlat.LEVEL_NOT_SET) {
+                            // Fill column from level down to lowestSiblingLevel
+                            fillColumn(chunk, worldX, worldZ, level, lowestSiblingLevel, columnDef, flat,
+                                    smoothCorners, blockTypeCache, wid, localX, localZ, extraBlocksCache, groupIdCache);
+                            exportedColumns++;
+                        } else {
+                            skippedColumns++;
+                        }
+                    }
                 }
 
-                // Delete all existing blocks at this column
-                deleteColumnBlocks(layerChunkData, worldX, worldZ);
-
-                // Find lowest sibling level to avoid holes
-                int lowestSiblingLevel = findLowestSiblingLevel(flat, localX, localZ, chunkData, world);
-
-                if (lowestSiblingLevel != WFlat.LEVEL_NOT_SET) {
-                    // Fill column from level down to lowestSiblingLevel
-                    fillColumn(layerChunkData, worldX, worldZ, level, lowestSiblingLevel, columnDef, flat,
-                            smoothCorners, blockTypeCache, wid, localX, localZ, extraBlocksCache, groupIdCache);
-                    exportedColumns++;
-                } else {
-                    skippedColumns++;
+                // Save and release the finished strip
+                savedChunks += saveChunks(worldId, layerDataId, flatId, workingSet.release(strip.getCx()));
+                if (checkpoint != null) {
+                    checkpoint.markDone(String.valueOf(strip.getCx()));
                 }
             }
         }
 
-        // Save all modified chunks
-        for (Map.Entry<String, LayerChunkData> entry : modifiedChunks.entrySet()) {
-            String chunkKey = entry.getKey();
-            LayerChunkData chunkData = entry.getValue();
-            layerService.saveTerrainChunk(worldId, layerDataId, chunkKey, chunkData);
-        }
-
-        // Mark all modified chunks as dirty for regeneration
-        if (!modifiedChunks.isEmpty()) {
-            List<String> chunkKeys = new ArrayList<>(modifiedChunks.keySet());
-            dirtyChunkService.markChunksDirty(worldId, chunkKeys, "Flat export: " + flatId);
-            log.info("Marked {} chunks as dirty for regeneration", chunkKeys.size());
-        }
+        // Chunks touched outside the streamed strips (none expected)
+        savedChunks += saveChunks(worldId, layerDataId, flatId, new ArrayList<>(workingSet.getChunks()));
 
         log.info("Export complete: flatId={}, exported={} columns, skipped={} columns, modified={} chunks",
-                flatId, exportedColumns, skippedColumns, modifiedChunks.size());
+                flatId, exportedColumns, skippedColumns, savedChunks);
 
         return exportedColumns;
     }
 
+    private static boolean isStripDone(JobCheckpoint checkpoint, int cx) {
+        return checkpoint != null && checkpoint.isDone(String.valueOf(cx));
+    }
+
+    /**
+     * Save layer chunks and mark them as dirty for regeneration.
+     *
+     * @return Number of saved chunks
+     */
+    private int saveChunks(String worldId, String layerDataId, String flatId,
+                           List<FlatExportWorkingSet.ExportChunk> chunks) {
+        if (chunks.isEmpty()) return 0;
+        List<String> chunkKeys = new ArrayList<>(chunks.size());
+        for (FlatExportWorkingSet.ExportChunk chunk : chunks) {
+            layerService.saveTerrainChunk(worldId, layerDataId, chunk.getChunkKey(), chunk.toLayerChunkData());
+            chunkKeys.add(chunk.getChunkKey());
+        }
+        dirtyChunkService.markChunksDirty(worldId, chunkKeys, "Flat export: " + flatId);
+        log.debug("Saved {} chunks and marked them as dirty for regeneration", chunkKeys.size());
+        return chunkKeys.size();
+    }
+
+    /**
+     * Layer chunk and generated chunk data of one chunk, loaded together.
+     */
+    private record ChunkSource(LayerChunkData layerChunkData, ChunkData chunkData) {
+    }
+
     private boolean isOneAroundSet(WFlat flat, int localX, int localZ) {
         for (int i = -1; i <= 1; i++) {
             int columnMaterial = flat.getColumnRobust(localX + i, localZ-1);
@@ -235,12 +271,12 @@ public class FlatExportService {
      * Only considers GROUND type blocks for filling.
      * Material 255 is treated the same as NOT_SET (material 0).
      */
-    private void handleNotSetColumn(ChunkData chunkData, LayerChunkData layerChunkData, int worldX, int worldZ,
-                                    WFlat flat, int localX, int localZ, WWorld world, String worldId,
+    private void handleNotSetColumn(FlatExportWorkingSet workingSet, FlatExportWorkingSet.ExportChunk chunk,
+                                    int worldX, int worldZ, WFlat flat, int localX, int localZ, String worldId,
                                     Map<String, String> groupIdCache) {
         // Find highest existing GROUND type block at this position
         String topBlockDefString = null;
-        int existingLevel = findHighestGroundBlockAtPosition(chunkData, worldX, worldZ, worldId);
+        int existingLevel = findHighestGroundBlockAtPosition(chunk.getChunkData(), worldX, worldZ, worldId);
         if (existingLevel == -1) {
             log.debug("No GROUND type blocks found at ({},{}) for NOT_SET column", worldX, worldZ);
             // exidently no GROUND blocks fake it:
@@ -250,7 +286,7 @@ public class FlatExportService {
 
         // Get the block type from the highest existing GROUND block BEFORE deleting
         if (Strings.isBlank(topBlockDefString)) {
-            topBlockDefString = getBlockDefAtPosition(chunkData, worldX, worldZ, existingLevel);
+            topBlockDefString = getBlockDefAtPosition(chunk, worldX, worldZ, existingLevel);
         }
         if (Strings.isBlank(topBlockDefString)) {
             topBlockDefString = flat.getMaterial(FlatMaterialService.BEDROCK).getBlockDef();
@@ -273,10 +309,10 @@ public class FlatExportService {
         }
 
         // Delete all blocks BELOW the top block (keep only the top block)
-        deleteBlocksBelowLevel(layerChunkData, worldX, worldZ, existingLevel);
+        chunk.deleteBelow(worldX, worldZ, existingLevel);
 
         // Find lowest sibling level (from neighbors)
-        int lowestSiblingLevel = findLowestSiblingLevel(flat, localX, localZ, chunkData, world);
+        int lowestSiblingLevel = findLowestSiblingLevel(flat, localX, localZ, workingSet);
         if (lowestSiblingLevel == WFlat.LEVEL_NOT_SET)
             return; // do not fill down if no siblings
 
@@ -305,7 +341,7 @@ public class FlatExportService {
                         .block(block)
                         .group(groupId)
                         .build();
-                layerChunkData.getBlocks().add(layerBlock);
+                chunk.add(layerBlock);
             }
 
             log.trace("Filled NOT_SET column at ({},{}) from {} down to {} with block type {}",
@@ -316,18 +352,10 @@ public class FlatExportService {
     /**
      * Get block definition string at a specific position.
      */
-    private String getBlockDefAtPosition(ChunkData chunkData, int worldX, int worldZ, int y) {
-        for (Block block : chunkData.getBlocks()) {
-            if (block == null || block.getPosition() == null) {
-                continue;
-            }
-            Vector3Int pos = block.getPosition();
-            if (pos.getX() == worldX && pos.getY() == y && pos.getZ() == worldZ) {
-                // Reconstruct blockDef string from block
-                return reconstructBlockDef(block);
-            }
-        }
-        return null;
+    private String getBlockDefAtPosition(FlatExportWorkingSet.ExportChunk chunk, int worldX, int worldZ, int y) {
+        Block block = chunk.blockAt(worldX, y, worldZ);
+        // Reconstruct blockDef string from block
+        return block != null ? reconstructBlockDef(block) : null;
     }
 
     /**
@@ -358,61 +386,14 @@ public class FlatExportService {
         return sb.toString();
     }
 
-    /**
-     * Check if a block exists at a specific position.
-     */
-    private boolean hasBlockAtPosition(LayerChunkData chunkData, int worldX, int y, int worldZ) {
-        for (LayerBlock layerBlock : chunkData.getBlocks()) {
-            Block block = layerBlock.getBlock();
-            if (block == null || block.getPosition() == null) {
-                continue;
-            }
-            Vector3Int pos = block.getPosition();
-            if (pos.getX() == worldX && pos.getY() == y && pos.getZ() == worldZ) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Delete all blocks below a specific level in a column.
-     * Keeps blocks at and above the specified level.
-     */
-    private void deleteBlocksBelowLevel(LayerChunkData chunkData, int worldX, int worldZ, int keepLevel) {
-        chunkData.getBlocks().removeIf(layerBlock -> {
-            Block block = layerBlock.getBlock();
-            if (block == null || block.getPosition() == null) {
-                return false;
-            }
-            Vector3Int pos = block.getPosition();
-            // Remove if same X,Z and Y < keepLevel
-            return pos.getX() == worldX && pos.getZ() == worldZ && pos.getY() < keepLevel;
-        });
-    }
-
-    /**
-     * Delete all blocks in a column (at specific X,Z for all Y levels).
-     */
-    private void deleteColumnBlocks(LayerChunkData chunkData, int worldX, int worldZ) {
-        chunkData.getBlocks().removeIf(layerBlock -> {
-            Block block = layerBlock.getBlock();
-            if (block == null || block.getPosition() == null) {
-                return false;
-            }
-            Vector3Int pos = block.getPosition();
-            return pos.getX() == worldX && pos.getZ() == worldZ;
-        });
-    }
-
     /**
      * Find lowest level of sibling (neighboring) columns to avoid creating holes.
      * Checks all 8 neighboring positions in the flat.
+     * Neighbors outside the flat are looked up in the generated chunk they belong to.
      *
      * @return Lowest sibling level, or 0 if no neighbors found
      */
-    private int findLowestSiblingLevel(WFlat flat, int localX, int localZ,
-                                       ChunkData chunkData, WWorld world) {
+    private int findLowestSiblingLevel(WFlat flat, int localX, int localZ, FlatExportWorkingSet workingSet) {
         int lowestLevel = Integer.MAX_VALUE;
         boolean foundSibling = false;
 
@@ -443,7 +424,7 @@ public class FlatExportService {
                 // Check in existing chunk data (outside flat bounds)
                 int worldX = flat.getMountX() + neighborX;
                 int worldZ = flat.getMountZ() + neighborZ;
-                int existingLevel = findHighestBlockAtPosition(chunkData, worldX, worldZ);
+                int existingLevel = workingSet.highestBlockAt(worldX, worldZ);
                 if (existingLevel != -1 && existingLevel < lowestLevel) {
                     lowestLevel = existingLevel;
                     foundSibling = true;
@@ -454,30 +435,6 @@ public class FlatExportService {
         return foundSibling ? lowestLevel : 0;
     }
 
-    /**
-     * Find highest block Y at a specific X,Z position in chunk data.
-     *
-     * @return Highest Y coordinate, or -1 if no block found
-     */
-    private int findHighestBlockAtPosition(ChunkData chunkData, int worldX, int worldZ) {
-        int highestY = -1;
-
-        for (Block block : chunkData.getBlocks()) {
-            if (block == null || block.getPosition() == null) {
-                continue;
-            }
-
-            Vector3Int pos = block.getPosition();
-            if (pos.getX() == worldX && pos.getZ() == worldZ) {
-                if (pos.getY() > highestY) {
-                    highestY = pos.getY();
-                }
-            }
-        }
-
-        return highestY;
-    }
-
     /**
      * Find highest GROUND type block Y at a specific X,Z position in chunk data.
      * Only considers blocks with BlockTypeType.GROUND.
@@ -507,7 +464,7 @@ public class FlatExportService {
      * Uses column definition to determine block types.
      * Applies corner smoothing and face visibility optimization if enabled.
      */
-    private void fillColumn(LayerChunkData chunkData, int worldX, int worldZ,
+    private void fillColumn(FlatExportWorkingSet.ExportChunk chunk, int worldX, int worldZ,
                             int level, int lowestSiblingLevel,
                             WFlat.MaterialDefinition columnDef, WFlat flat,
                             boolean smoothCorners,
@@ -587,7 +544,7 @@ public class FlatExportService {
                     .group(groupId)
                     .build();
 
-            chunkData.getBlocks().add(layerBlock);
+            chunk.add(layerBlock);
         }
     }
 
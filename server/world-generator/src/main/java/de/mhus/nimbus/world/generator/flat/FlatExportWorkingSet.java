@@ -0,0 +1,308 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.ChunkData;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.shared.utils.TypeUtil;
+import de.mhus.nimbus.world.shared.layer.LayerBlock;
+import de.mhus.nimbus.world.shared.layer.LayerChunkData;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Chunks touched by a flat export, indexed by (x, z) column.
+ *
+ * Layer blocks are held per column while the export runs, so replacing or trimming a column
+ * only touches the blocks of that column. The generated chunk data (read only) is indexed by
+ * column height and by packed position for neighbour and top block lookups.
+ * The flat block lists of the layer chunks are rebuilt once in {@link ExportChunk#toLayerChunkData()}.
+ *
+ * Chunks can be offered ahead of time (prefetched) and released strip by strip,
+ * so the export only holds the chunks it is working on.
+ *
+ * Not thread safe, one instance per export.
+ */
+class FlatExportWorkingSet {
+
+    private final int chunkSize;
+    private final Function<String, Optional<LayerChunkData>> layerChunkLoader;
+    private final Function<String, Optional<ChunkData>> chunkDataLoader;
+
+    /**
+     * Layer chunks modified by the export, in order of first access.
+     */
+    private final Map<Long, ExportChunk> chunks = new LinkedHashMap<>();
+
+    /**
+     * Generated chunk data, also for chunks that are only read (neighbours outside the flat).
+     */
+    private final Map<Long, BlockIndex> blockIndexes = new HashMap<>();
+
+    /**
+     * Offered layer chunks not accessed yet.
+     */
+    private final Map<Long, Optional<LayerChunkData>> offeredLayerChunks = new HashMap<>();
+
+    FlatExportWorkingSet(int chunkSize,
+                         Function<String, Optional<LayerChunkData>> layerChunkLoader,
+                         Function<String, Optional<ChunkData>> chunkDataLoader) {
+        this.chunkSize = chunkSize;
+        this.layerChunkLoader = layerChunkLoader;
+        this.chunkDataLoader = chunkDataLoader;
+    }
+
+    /**
+     * Get the chunk containing a world column, loading it on first access.
+     */
+    ExportChunk chunkAt(int worldX, int worldZ) {
+        int cx = Math.floorDiv(worldX, chunkSize);
+        int cz = Math.floorDiv(worldZ, chunkSize);
+        return chunks.computeIfAbsent(packChunk(cx, cz), k -> new ExportChunk(cx, cz));
+    }
+
+    /**
+     * Find the highest generated block Y at a world column, in whatever chunk it lies.
+     *
+     * @return Highest Y coordinate, or -1 if no block found
+     */
+    int highestBlockAt(int worldX, int worldZ) {
+        int cx = Math.floorDiv(worldX, chunkSize);
+        int cz = Math.floorDiv(worldZ, chunkSize);
+        return blockIndex(cx, cz).highestY(worldX - cx * chunkSize, worldZ - cz * chunkSize);
+    }
+
+    Collection<ExportChunk> getChunks() {
+        return chunks.values();
+    }
+
+    /**
+     * Offer loaded data of a chunk, used instead of the loaders on first access.
+     *
+     * @param layerChunkData Layer chunk or null if the layer has none
+     * @param chunkData Generated chunk data or null if not generated
+     */
+    void offer(int cx, int cz, LayerChunkData layerChunkData, ChunkData chunkData) {
+        long key = packChunk(cx, cz);
+        if (!chunks.containsKey(key)) {
+            offeredLayerChunks.put(key, Optional.ofNullable(layerChunkData));
+        }
+        blockIndexes.computeIfAbsent(key, k -> new BlockIndex(cx, cz, chunkData));
+    }
+
+    /**
+     * Remove all chunks of a chunk X (strip) from the working set.
+     * Generated chunk data up to this chunk X is released as well.
+     *
+     * @return Released layer chunks, to be saved by the caller
+     */
+    List<ExportChunk> release(int cx) {
+        List<ExportChunk> released = new ArrayList<>();
+        var iterator = chunks.values().iterator();
+        while (iterator.hasNext()) {
+            ExportChunk chunk = iterator.next();
+            if (chunk.getCx() == cx) {
+                released.add(chunk);
+                iterator.remove();
+            }
+        }
+        blockIndexes.values().removeIf(index -> index.cx <= cx);
+        offeredLayerChunks.keySet().removeIf(key -> (int) (key >> 32) == cx);
+        return released;
+    }
+
+    private BlockIndex blockIndex(int cx, int cz) {
+        return blockIndexes.computeIfAbsent(packChunk(cx, cz), k -> new BlockIndex(cx, cz,
+                chunkDataLoader.apply(TypeUtil.toStringChunkCoord(cx, cz)).orElse(null)));
+    }
+
+    private int columnIndex(int localX, int localZ) {
+        if (localX < 0 || localX >= chunkSize || localZ < 0 || localZ >= chunkSize) return -1;
+        return localX + localZ * chunkSize;
+    }
+
+    private static long packChunk(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xffffffffL);
+    }
+
+    private static long packPosition(int column, int y) {
+        return ((long) column << 32) | (y & 0xffffffffL);
+    }
+
+    /**
+     * One layer chunk of the export with its blocks split into columns.
+     */
+    class ExportChunk {
+
+        @Getter
+        private final String chunkKey;
+        @Getter
+        private final int cx;
+        @Getter
+        private final int cz;
+        private final LayerChunkData layerChunkData;
+        private final BlockIndex blockIndex;
+
+        @SuppressWarnings("unchecked")
+        private final List<LayerBlock>[] columns = new List[chunkSize * chunkSize];
+        /**
+         * Blocks without position or outside the chunk bounds, kept as they are.
+         */
+        private final List<LayerBlock> unindexed = new ArrayList<>();
+
+        private ExportChunk(int cx, int cz) {
+            this.cx = cx;
+            this.cz = cz;
+            this.chunkKey = TypeUtil.toStringChunkCoord(cx, cz);
+            Optional<LayerChunkData> loaded = offeredLayerChunks.remove(packChunk(cx, cz));
+            if (loaded == null) {
+                loaded = layerChunkLoader.apply(chunkKey);
+            }
+            this.layerChunkData = loaded.orElseGet(() ->
+                    LayerChunkData.builder()
+                            .cx(cx)
+                            .cz(cz)
+                            .blocks(new ArrayList<>())
+                            .build());
+            this.blockIndex = blockIndex(cx, cz);
+
+            if (layerChunkData.getBlocks() != null) {
+                for (LayerBlock layerBlock : layerChunkData.getBlocks()) {
+                    add(layerBlock);
+                }
+            }
+        }
+
+        /**
+         * Add a layer block to its column.
+         */
+        void add(LayerBlock layerBlock) {
+            int column = columnOf(layerBlock);
+            if (column < 0) {
+                unindexed.add(layerBlock);
+                return;
+            }
+            List<LayerBlock> list = columns[column];
+            if (list == null) {
+                list = new ArrayList<>();
+                columns[column] = list;
+            }
+            list.add(layerBlock);
+        }
+
+        /**
+         * Delete all layer blocks in a column (at specific X,Z for all Y levels).
+         */
+        void deleteColumn(int worldX, int worldZ) {
+            int column = columnIndex(worldX - cx * chunkSize, worldZ - cz * chunkSize);
+            if (column >= 0) {
+                columns[column] = null;
+            }
+        }
+
+        /**
+         * Delete all layer blocks below a specific level in a column.
+         * Keeps blocks at and above the specified level.
+         */
+        void deleteBelow(int worldX, int worldZ, int keepLevel) {
+            int column = columnIndex(worldX - cx * chunkSize, worldZ - cz * chunkSize);
+            if (column < 0 || columns[column] == null) return;
+            columns[column].removeIf(layerBlock -> layerBlock.getBlock().getPosition().getY() < keepLevel);
+        }
+
+        /**
+         * Get the generated block at a specific position.
+         *
+         * @return Block or null
+         */
+        Block blockAt(int worldX, int y, int worldZ) {
+            return blockIndex.blockAt(worldX - cx * chunkSize, y, worldZ - cz * chunkSize);
+        }
+
+        /**
+         * Generated chunk data, empty if the chunk was not generated yet.
+         */
+        ChunkData getChunkData() {
+            return blockIndex.chunkData;
+        }
+
+        /**
+         * Rebuild the block list of the layer chunk from the columns.
+         */
+        LayerChunkData toLayerChunkData() {
+            List<LayerBlock> blocks = new ArrayList<>(unindexed);
+            for (List<LayerBlock> column : columns) {
+                if (column != null) {
+                    blocks.addAll(column);
+                }
+            }
+            layerChunkData.setBlocks(blocks);
+            return layerChunkData;
+        }
+
+        private int columnOf(LayerBlock layerBlock) {
+            Block block = layerBlock.getBlock();
+            if (block == null || block.getPosition() == null) return -1;
+            Vector3Int pos = block.getPosition();
+            return columnIndex(pos.getX() - cx * chunkSize, pos.getZ() - cz * chunkSize);
+        }
+    }
+
+    /**
+     * Generated blocks of one chunk indexed by column height and packed position, built lazily.
+     */
+    private class BlockIndex {
+
+        private final int cx;
+        private final int cz;
+        private final ChunkData chunkData;
+        private int[] highestY;
+        private Map<Long, Block> positions;
+
+        private BlockIndex(int cx, int cz, ChunkData chunkData) {
+            this.cx = cx;
+            this.cz = cz;
+            this.chunkData = chunkData != null ? chunkData : ChunkData.builder().blocks(new ArrayList<>()).build();
+        }
+
+        private int highestY(int localX, int localZ) {
+            int column = columnIndex(localX, localZ);
+            if (column < 0) return -1;
+            if (highestY == null) build();
+            return highestY[column];
+        }
+
+        private Block blockAt(int localX, int y, int localZ) {
+            int column = columnIndex(localX, localZ);
+            if (column < 0) return null;
+            if (positions == null) build();
+            return positions.get(packPosition(column, y));
+        }
+
+        private void build() {
+            highestY = new int[chunkSize * chunkSize];
+            Arrays.fill(highestY, -1);
+            positions = new HashMap<>();
+            if (chunkData.getBlocks() == null) return;
+            for (Block block : chunkData.getBlocks()) {
+                if (block == null || block.getPosition() == null) continue;
+                Vector3Int pos = block.getPosition();
+                int column = columnIndex(pos.getX() - cx * chunkSize, pos.getZ() - cz * chunkSize);
+                if (column < 0) continue;
+                // first block wins, same as a linear search
+                positions.putIfAbsent(packPosition(column, pos.getY()), block);
+                if (pos.getY() > highestY[column]) {
+                    highestY[column] = pos.getY();
+                }
+            }
+        }
+    }
+}
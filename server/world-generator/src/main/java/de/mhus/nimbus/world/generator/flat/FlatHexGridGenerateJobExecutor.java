@@ -0,0 +1,120 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.generated.types.HexVector2;
+import de.mhus.nimbus.world.generator.flat.hexgrid.BuilderContext;
+import de.mhus.nimbus.world.generator.flat.hexgrid.HexGridGenerationScheduler;
+import de.mhus.nimbus.world.shared.generator.WFlat;
+import de.mhus.nimbus.world.shared.generator.WFlatService;
+import de.mhus.nimbus.world.shared.job.JobExecutionException;
+import de.mhus.nimbus.world.shared.job.JobExecutor;
+import de.mhus.nimbus.world.shared.job.WJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Job executor for generating the terrain of many hex grid flats at once.
+ * <p>
+ * Runs the hex grid builder pipelines (see HexGridManipulator) of all flats with the
+ * HexGridGenerationScheduler: GROUND for all hexes in parallel, BLENDER and TERRAIN in waves of
+ * non adjacent hexes. The flats are saved after each stage.
+ * <p>
+ * WorldId is taken from job.getWorldId()
+ *
+ * Optional parameters:
+ * - flatIds: Comma separated flat ids (default: all flats of the world with a hex grid)
+ * - layerDataId: Only flats of this layer data
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class FlatHexGridGenerateJobExecutor implements JobExecutor {
+
+    private static final String EXECUTOR_NAME = "flat-generate-hexgrids";
+
+    private final WFlatService flatService;
+    private final HexGridManipulator hexGridManipulator;
+    private final HexGridGenerationScheduler scheduler;
+
+    @Override
+    public String getExecutorName() {
+        return EXECUTOR_NAME;
+    }
+
+    @Override
+    public JobResult execute(WJob job) throws JobExecutionException {
+        try {
+            String worldId = job.getWorldId();
+            String layerDataId = getOptionalParameter(job, "layerDataId");
+            String flatIdsParam = getOptionalParameter(job, "flatIds");
+            Set<String> flatIds = flatIdsParam == null ? null : Arrays.stream(flatIdsParam.split(","))
+                    .map(String::trim)
+                    .filter(id -> !id.isEmpty())
+                    .collect(Collectors.toSet());
+
+            log.info("Starting hex grid generation job: jobId={}, worldId={}, layerDataId={}, flatIds={}",
+                    job.getId(), worldId, layerDataId, flatIds);
+
+            List<WFlat> flats = (layerDataId != null
+                    ? flatService.findByWorldIdAndLayerDataId(worldId, layerDataId)
+                    : flatService.findByWorldId(worldId)).stream()
+                    .filter(flat -> flat.getHexGrid() != null)
+                    .filter(flat -> flatIds == null || flatIds.contains(flat.getFlatId()))
+                    .toList();
+            if (flats.isEmpty()) {
+                throw new JobExecutionException("No hex grid flats found: worldId=" + worldId);
+            }
+
+            Map<HexVector2, BuilderContext> contexts = new LinkedHashMap<>();
+            for (WFlat flat : flats) {
+                BuilderContext previous = contexts.put(flat.getHexGrid(), hexGridManipulator.createContext(flat));
+                if (previous != null) {
+                    throw new JobExecutionException("More than one flat for hex grid " + flat.getHexGrid()
+                            + ": " + previous.getFlat().getFlatId() + ", " + flat.getFlatId());
+                }
+            }
+
+            HexGridGenerationScheduler.GenerationReport report = scheduler.generate(contexts);
+
+            String resultData = String.format(
+                    "Generated hex grid flats: worldId=%s, hexes=%d, failed=%d, workers=%d, duration=%dms, stages=%s",
+                    worldId, report.getHexCount(), report.getFailures().size(), report.getWorkers(),
+                    report.getTotalDuration(), report.getStageDurations());
+            if (!report.isSuccessful()) {
+                String failed = report.getFailures().entrySet().stream()
+                        .map(e -> contexts.get(e.getKey()).getFlat().getFlatId() + ": " + e.getValue().getMessage())
+                        .collect(Collectors.joining(", "));
+                log.warn("Hex grid generation finished with failures: {}", failed);
+                return JobResult.failure(resultData + ", failures: " + failed);
+            }
+
+            log.info("Hex grid generation completed: {}", resultData);
+            return JobResult.success(resultData);
+
+        } catch (JobExecutionException e) {
+            log.error("Hex grid generation job failed: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Hex grid generation failed", e);
+            throw new JobExecutionException("Generation failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get optional string parameter from job, null if not set.
+     */
+    private String getOptionalParameter(WJob job, String paramName) {
+        String value = job.getParameters().get(paramName);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value;
+    }
+}
@@ -42,6 +42,12 @@ public class FlatImportJobExecutor implements JobExecutor {
         return EXECUTOR_NAME;
     }
 
+    @Override
+    public boolean isIoBound() {
+        // Reads flats and writes layers, mostly database time
+        return true;
+    }
+
     @Override
     public JobResult execute(WJob job) throws JobExecutionException {
         try {
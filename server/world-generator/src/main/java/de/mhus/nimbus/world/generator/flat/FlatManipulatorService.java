@@ -2,24 +2,47 @@ package de.mhus.nimbus.world.generator.flat;
 
 import de.mhus.nimbus.world.shared.generator.WFlat;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Service for managing and executing flat terrain manipulators.
  * <p>
  * Manipulators are automatically discovered from Spring context.
  * Each manipulator modifies a WFlat region in a specific way.
+ * <p>
+ * Manipulators implementing {@link TiledFlatManipulator} are executed on tiles
+ * in parallel if the region is larger than one tile.
  */
 @Service
 @Slf4j
 public class FlatManipulatorService {
 
+    public static final int DEFAULT_TILE_SIZE = 128;
+
     private final Map<String, FlatManipulator> manipulators;
+    private final int parallelism;
+    private final int tileSize;
+
+    /**
+     * Constructor with default tiling: one worker per processor, tiles of DEFAULT_TILE_SIZE.
+     *
+     * @param manipulatorList List of all FlatManipulator beans
+     */
+    public FlatManipulatorService(List<FlatManipulator> manipulatorList) {
+        this(manipulatorList, 0, DEFAULT_TILE_SIZE);
+    }
 
     /**
      * Constructor with lazy injection of all FlatManipulator beans.
@@ -27,9 +50,17 @@ public class FlatManipulatorService {
      * to be optional (service works even if no manipulators are available).
      *
      * @param manipulatorList List of all FlatManipulator beans in Spring context
+     * @param parallelism Workers for tiled execution, 0 for the number of processors, 1 disables tiling
+     * @param tileSize Edge length of a tile in pixels
      */
-    public FlatManipulatorService(@Lazy List<FlatManipulator> manipulatorList) {
+    @Autowired
+    public FlatManipulatorService(@Lazy List<FlatManipulator> manipulatorList,
+                                  @Value("${world.generator.manipulator.parallelism:0}") int parallelism,
+                                  @Value("${world.generator.manipulator.tileSize:128}") int tileSize) {
         this.manipulators = new HashMap<>();
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        // Even tile size keeps tile origins at even offsets from the region start
+        this.tileSize = evenUp(Math.max(16, tileSize));
 
         // Register all manipulators by name
         for (FlatManipulator manipulator : manipulatorList) {
@@ -102,15 +133,104 @@ public class FlatManipulatorService {
 
         // Execute manipulator
         try {
-            manipulator.manipulate(flat, x, z, sizeX, sizeZ, parameters != null ? parameters : new HashMap<>());
-            log.info("Manipulator executed successfully: name={}, region=({},{},{},{})",
-                    name, x, z, sizeX, sizeZ);
+            Map<String, String> effectiveParameters = parameters != null ? parameters : new HashMap<>();
+            int halo = manipulator instanceof TiledFlatManipulator tiled ? tiled.getHalo(effectiveParameters) : -1;
+            if (halo >= 0 && parallelism > 1 && (sizeX > tileSize || sizeZ > tileSize)) {
+                int tiles = executeTiled((TiledFlatManipulator) manipulator, flat, x, z, sizeX, sizeZ,
+                        effectiveParameters, halo);
+                log.info("Manipulator executed successfully: name={}, region=({},{},{},{}), tiles={}, halo={}",
+                        name, x, z, sizeX, sizeZ, tiles, halo);
+            } else {
+                manipulator.manipulate(flat, x, z, sizeX, sizeZ, effectiveParameters);
+                log.info("Manipulator executed successfully: name={}, region=({},{},{},{})",
+                        name, x, z, sizeX, sizeZ);
+            }
         } catch (Exception e) {
             log.error("Manipulator execution failed: name={}", name, e);
             throw new IllegalArgumentException("Manipulator execution failed: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Execute a tiled manipulator on tiles of the region in parallel.
+     * Every tile works on its own copy of the flat, taken from a snapshot before any tile runs,
+     * and extended by the halo. Only the levels and columns of the tile itself are copied back,
+     * tiles never overlap, so the result does not depend on the execution order.
+     *
+     * @return Number of tiles
+     */
+    private int executeTiled(TiledFlatManipulator manipulator, WFlat flat, int x, int z, int sizeX, int sizeZ,
+                             Map<String, String> parameters, int halo) throws Exception {
+        Map<String, String> tileParameters = manipulator.resolveTileParameters(parameters);
+        int tileHalo = evenUp(halo);
+        byte[] levels = flat.getLevels().clone();
+        byte[] columns = flat.getColumns().clone();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int tileZ = z; tileZ < z + sizeZ; tileZ += tileSize) {
+            for (int tileX = x; tileX < x + sizeX; tileX += tileSize) {
+                int tx = tileX;
+                int tz = tileZ;
+                int tileSizeX = Math.min(tileSize, x + sizeX - tileX);
+                int tileSizeZ = Math.min(tileSize, z + sizeZ - tileZ);
+                tasks.add(() -> {
+                    // Extended tile, clipped to the region
+                    int ex1 = Math.max(x, tx - tileHalo);
+                    int ez1 = Math.max(z, tz - tileHalo);
+                    int ex2 = Math.min(x + sizeX, tx + tileSizeX + tileHalo);
+                    int ez2 = Math.min(z + sizeZ, tz + tileSizeZ + tileHalo);
+
+                    WFlat tileFlat = copyFlat(flat, levels.clone(), columns.clone());
+                    manipulator.manipulate(tileFlat, ex1, ez1, ex2 - ex1, ez2 - ez1, tileParameters);
+
+                    for (int row = tz; row < tz + tileSizeZ; row++) {
+                        int index = tx + row * flat.getSizeX();
+                        System.arraycopy(tileFlat.getLevels(), index, flat.getLevels(), index, tileSizeX);
+                        System.arraycopy(tileFlat.getColumns(), index, flat.getColumns(), index, tileSizeX);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+        return tasks.size();
+    }
+
+    private static WFlat copyFlat(WFlat flat, byte[] levels, byte[] columns) {
+        return WFlat.builder()
+                .worldId(flat.getWorldId())
+                .layerDataId(flat.getLayerDataId())
+                .flatId(flat.getFlatId())
+                .mountX(flat.getMountX())
+                .mountZ(flat.getMountZ())
+                .seaLevel(flat.getSeaLevel())
+                .oceanBlockId(flat.getOceanBlockId())
+                .unknownProtected(flat.isUnknownProtected())
+                .borderProtected(flat.isBorderProtected())
+                .sizeX(flat.getSizeX())
+                .sizeZ(flat.getSizeZ())
+                .levels(levels)
+                .columns(columns)
+                .hexGrid(flat.getHexGrid())
+                .materials(flat.getMaterials())
+                .build();
+    }
+
+    private static int evenUp(int value) {
+        return (value + 1) & ~1;
+    }
+
     /**
      * Get all available manipulator names.
      *
@@ -223,49 +223,22 @@ public class FlatPainter {
         int height = zmax - zmin + 1;
 
         // Step 1: Calculate new levels based on current flat levels (no side effects)
-        int[][] newLevels = new int[width][height];
+        FlatRaster raster = new FlatRaster(flat);
+        int[] original = raster.readLevels(xmin, zmin, width, height);
+        int[] sums = FlatRaster.boxSum(original, width, height, r);
+        int[] newLevels = new int[width * height];
         for (int dz = 0; dz < height; dz++) {
+            int countZ = FlatRaster.windowCount(dz, height, r);
             for (int dx = 0; dx < width; dx++) {
-                double sum = 0.0;
-                int count = 0;
-
-                // Sum neighbors from flat (originals, not yet modified)
-                for (int ndz = -r; ndz <= r; ndz++) {
-                    for (int ndx = -r; ndx <= r; ndx++) {
-                        int nx = dx + ndx;
-                        int nz = dz + ndz;
-                        if (nx >= 0 && nx < width && nz >= 0 && nz < height) {
-                            sum += flat.getLevel(xmin + nx, zmin + nz);
-                            count++;
-                        }
-                    }
-                }
-
-                int original = flat.getLevel(xmin + dx, zmin + dz);
-                double mean = count > 0 ? sum / count : original;
-                double newLevelDouble = factor * mean + (1.0 - factor) * original;
-                newLevels[dx][dz] = (int) Math.round(newLevelDouble);
+                int index = dx + dz * width;
+                double mean = sums[index] / (double) (FlatRaster.windowCount(dx, width, r) * countZ);
+                newLevels[index] = (int) Math.round(factor * mean + (1.0 - factor) * original[index]);
             }
         }
 
         // Step 2: Write all new levels back to flat
-        int changedCount = 0;
-        int attemptedCount = 0;
-        for (int dz = 0; dz < height; dz++) {
-            for (int dx = 0; dx < width; dx++) {
-                int x = xmin + dx;
-                int z = zmin + dz;
-                int oldLevel = flat.getLevel(x, z);
-                int newLevel = newLevels[dx][dz];
-
-                boolean success = flat.setLevel(x, z, newLevel);
-                attemptedCount++;
-
-                if (success && newLevel != oldLevel) {
-                    changedCount++;
-                }
-            }
-        }
+        int attemptedCount = width * height;
+        int changedCount = raster.writeLevels(xmin, zmin, width, height, newLevels, null);
 
         // Log statistics
         if (attemptedCount > 0) {
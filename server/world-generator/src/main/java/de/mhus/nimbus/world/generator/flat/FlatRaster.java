@@ -0,0 +1,169 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.world.shared.generator.WFlat;
+import lombok.Getter;
+
+/**
+ * Primitive raster operations on the levels of a WFlat.
+ * <p>
+ * Levels of a region are copied into an int array (row major, index x + z * width),
+ * processed there and written back once. Writing respects the protection flags
+ * of the flat the same way {@link WFlat#setLevel(int, int, int)} does.
+ * <p>
+ * Blur operations are separable (rows, then columns) and use sliding windows,
+ * so the cost per pixel does not depend on the radius.
+ */
+public class FlatRaster {
+
+    private final WFlat flat;
+    @Getter
+    private final int sizeX;
+    @Getter
+    private final int sizeZ;
+
+    public FlatRaster(WFlat flat) {
+        this.flat = flat;
+        this.sizeX = flat.getSizeX();
+        this.sizeZ = flat.getSizeZ();
+    }
+
+    /**
+     * Copy the levels of a region.
+     *
+     * @return Levels, index (x - x1) + (z - z1) * width
+     */
+    public int[] readLevels(int x1, int z1, int width, int height) {
+        checkRegion(x1, z1, width, height);
+        byte[] levels = flat.getLevels();
+        int[] result = new int[width * height];
+        for (int dz = 0; dz < height; dz++) {
+            int src = x1 + (z1 + dz) * sizeX;
+            int dst = dz * width;
+            for (int dx = 0; dx < width; dx++) {
+                result[dst + dx] = Byte.toUnsignedInt(levels[src + dx]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write levels of a region back to the flat. Values are clamped to 0..255.
+     *
+     * @param values Levels, index (x - x1) + (z - z1) * width
+     * @param mask Only pixels set in the mask (flat coordinates) are written, null for all
+     * @return Number of levels that changed
+     */
+    public int writeLevels(int x1, int z1, int width, int height, int[] values, RasterMask mask) {
+        checkRegion(x1, z1, width, height);
+        byte[] levels = flat.getLevels();
+        int changed = 0;
+        for (int dz = 0; dz < height; dz++) {
+            int z = z1 + dz;
+            for (int dx = 0; dx < width; dx++) {
+                int x = x1 + dx;
+                int index = x + z * sizeX;
+                if (mask != null && !mask.get(index)) continue;
+                if (!isWritable(x, z)) continue;
+                byte level = (byte) Math.max(0, Math.min(255, values[dx + dz * width]));
+                if (levels[index] != level) {
+                    levels[index] = level;
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Same rules as {@link WFlat#setLevel(int, int, int)}.
+     */
+    public boolean isWritable(int x, int z) {
+        if (flat.isBorderProtected() && (x == 0 || z == 0 || x == sizeX - 1 || z == sizeZ - 1)) {
+            return false;
+        }
+        return !flat.isUnknownProtected() || flat.getColumns()[x + z * sizeX] != WFlat.MATERIAL_NOT_SET;
+    }
+
+    public RasterMask newMask() {
+        return new RasterMask(sizeX, sizeZ);
+    }
+
+    /**
+     * Mask of the pixels of a region that can be written.
+     */
+    public RasterMask writableMask(int x1, int z1, int width, int height) {
+        checkRegion(x1, z1, width, height);
+        RasterMask mask = newMask();
+        for (int z = z1; z < z1 + height; z++) {
+            for (int x = x1; x < x1 + width; x++) {
+                if (isWritable(x, z)) mask.set(x, z);
+            }
+        }
+        return mask;
+    }
+
+    private void checkRegion(int x1, int z1, int width, int height) {
+        if (x1 < 0 || z1 < 0 || width < 0 || height < 0 || x1 + width > sizeX || z1 + height > sizeZ) {
+            throw new IllegalArgumentException("Region out of range: " + x1 + "," + z1 + " " + width + "x" + height);
+        }
+    }
+
+    /**
+     * Number of pixels of a window [pos - radius, pos + radius] inside [0, size).
+     */
+    public static int windowCount(int pos, int size, int radius) {
+        return Math.min(size - 1, pos + radius) - Math.max(0, pos - radius) + 1;
+    }
+
+    /**
+     * Sum of each (2 * radius + 1)^2 window, clipped at the raster bounds.
+     * Divide by {@code windowCount(x, width, r) * windowCount(z, height, r)} for the mean.
+     */
+    public static int[] boxSum(int[] src, int width, int height, int radius) {
+        int[] rows = new int[width * height];
+        for (int z = 0; z < height; z++) {
+            int row = z * width;
+            int sum = 0;
+            for (int x = 0; x <= Math.min(radius, width - 1); x++) {
+                sum += src[row + x];
+            }
+            for (int x = 0; x < width; x++) {
+                rows[row + x] = sum;
+                int add = x + radius + 1;
+                if (add < width) sum += src[row + add];
+                int remove = x - radius;
+                if (remove >= 0) sum -= src[row + remove];
+            }
+        }
+
+        int[] result = new int[width * height];
+        for (int x = 0; x < width; x++) {
+            int sum = 0;
+            for (int z = 0; z <= Math.min(radius, height - 1); z++) {
+                sum += rows[x + z * width];
+            }
+            for (int z = 0; z < height; z++) {
+                result[x + z * width] = sum;
+                int add = z + radius + 1;
+                if (add < height) sum += rows[x + add * width];
+                int remove = z - radius;
+                if (remove >= 0) sum -= rows[x + remove * width];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Box blur with a (2 * radius + 1)^2 window clipped at the raster bounds, integer mean.
+     */
+    public static int[] boxBlur(int[] src, int width, int height, int radius) {
+        int[] sums = boxSum(src, width, height, radius);
+        for (int z = 0; z < height; z++) {
+            int countZ = windowCount(z, height, radius);
+            for (int x = 0; x < width; x++) {
+                sums[x + z * width] /= windowCount(x, width, radius) * countZ;
+            }
+        }
+        return sums;
+    }
+}
@@ -75,31 +75,11 @@ public class HexGridManipulator implements FlatManipulator {
                           Map<String, String> parameters) {
         log.info("Starting hex-grid manipulation: flat={}, parameters={}", flat.getFlatId(), parameters);
 
-        WWorld world = worldService.getByWorldId(flat.getWorldId()).orElseThrow();
-
         String stepStr = parameters.getOrDefault("step", "ALL").toUpperCase().trim();
         HexGridBuilderService.STEP step = HexGridBuilderService.STEP.valueOf(stepStr);
 
-        // Load hex grid configuration
-        WHexGrid hexGrid = loadHexGrid(flat);
-        if (hexGrid == null) {
-            throw new IllegalStateException("No hex grid found for flat: " + flat.getFlatId());
-        }
-
-        // Load neighbor grids
-        Map<WHexGrid.SIDE, WHexGrid> neighborGrids = loadNeighborGrids(hexGrid, flat.getWorldId());
-
-        // Build context
-        BuilderContext context = BuilderContext.builder()
-                .world(world)
-                .flat(flat)
-                .builderService(builderService)
-                .flatService(flatService)
-                .hexGrid(hexGrid)
-                .neighborGrids(neighborGrids)
-                .manipulatorService(manipulatorService)
-                .chunkService(chunkService)
-                .build();
+        BuilderContext context = createContext(flat);
+        WHexGrid hexGrid = context.getHexGrid();
 
         // Create builder pipeline
         List<HexGridBuilder> builderPipeline = builderService.createBuilderPipeline(hexGrid, step);
@@ -131,6 +111,38 @@ public class HexGridManipulator implements FlatManipulator {
                 builderPipeline.size(), hexGrid.getPosition());
     }
 
+    /**
+     * Create the builder context for a flat with its hex grid and the neighbor grids.
+     * Also used by FlatHexGridGenerateJobExecutor to generate many hex grids at once.
+     *
+     * @param flat Flat of a hex grid
+     * @return Builder context
+     * @throws IllegalStateException if the flat has no hex grid
+     */
+    public BuilderContext createContext(WFlat flat) {
+        WWorld world = worldService.getByWorldId(flat.getWorldId()).orElseThrow();
+
+        // Load hex grid configuration
+        WHexGrid hexGrid = loadHexGrid(flat);
+        if (hexGrid == null) {
+            throw new IllegalStateException("No hex grid found for flat: " + flat.getFlatId());
+        }
+
+        // Load neighbor grids
+        Map<WHexGrid.SIDE, WHexGrid> neighborGrids = loadNeighborGrids(hexGrid, flat.getWorldId());
+
+        return BuilderContext.builder()
+                .world(world)
+                .flat(flat)
+                .builderService(builderService)
+                .flatService(flatService)
+                .hexGrid(hexGrid)
+                .neighborGrids(neighborGrids)
+                .manipulatorService(manipulatorService)
+                .chunkService(chunkService)
+                .build();
+    }
+
     /**
      * Load hex grid for the flat.
      */
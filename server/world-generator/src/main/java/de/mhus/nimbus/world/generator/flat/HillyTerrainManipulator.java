@@ -6,6 +6,8 @@ import de.mhus.nimbus.world.shared.generator.WFlat;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -20,7 +22,7 @@ import java.util.Map;
  */
 @Component
 @Slf4j
-public class HillyTerrainManipulator implements FlatManipulator {
+public class HillyTerrainManipulator implements TiledFlatManipulator {
 
     public static final String NAME = "hilly";
     public static final String PARAM_BASE_HEIGHT = "baseHeight";
@@ -44,6 +46,21 @@ public class HillyTerrainManipulator implements FlatManipulator {
         return NAME;
     }
 
+    @Override
+    public int getHalo(Map<String, String> parameters) {
+        // Height of a pixel only depends on its world position
+        return 0;
+    }
+
+    @Override
+    public Map<String, String> resolveTileParameters(Map<String, String> parameters) {
+        // All tiles must use the same seed, the default would differ per call
+        if (parameters.containsKey(PARAM_SEED)) return parameters;
+        Map<String, String> resolved = new HashMap<>(parameters);
+        resolved.put(PARAM_SEED, String.valueOf(System.currentTimeMillis()));
+        return resolved;
+    }
+
     @Override
     public void manipulate(WFlat flat, int x, int z, int sizeX, int sizeZ, Map<String, String> parameters) {
         log.debug("Manipulating hilly terrain: region=({},{},{},{})", x, z, sizeX, sizeZ);
@@ -65,18 +82,35 @@ public class HillyTerrainManipulator implements FlatManipulator {
         noise.SetFrequency((float)frequency);
         noise.SetNoiseType(FastNoiseLite.NoiseType.OpenSimplex2);
 
-        // Generate terrain with noise
+        // Noise x coordinates per column are the same for every row
+        double[] scales = {SCALE_1, SCALE_2, SCALE_3};
+        float[][] noiseX = new float[scales.length][sizeX];
+        for (int s = 0; s < scales.length; s++) {
+            for (int localX = 0; localX < sizeX; localX++) {
+                int worldX = x + localX + flat.getMountX();
+                noiseX[s][localX] = (float) (worldX * scales[s]);
+            }
+        }
+        float[] noiseZ = new float[sizeX];
+        float[][] rowNoise = new float[scales.length][sizeX];
+
+        // Generate terrain with noise, sampled a row at a time
         for (int localZ = 0; localZ < sizeZ; localZ++) {
+            int flatZ = z + localZ;
+
+            // Calculate world coordinates for consistent noise across regions
+            int worldZ = flatZ + flat.getMountZ();
+            for (int s = 0; s < scales.length; s++) {
+                Arrays.fill(noiseZ, (float) (worldZ * scales[s]));
+                noise.GetNoise(noiseX[s], noiseZ, rowNoise[s], sizeX);
+            }
+
             for (int localX = 0; localX < sizeX; localX++) {
                 int flatX = x + localX;
-                int flatZ = z + localZ;
-
-                // Calculate world coordinates for consistent noise across regions
-                int worldX = flatX + flat.getMountX();
-                int worldZ = flatZ + flat.getMountZ();
 
                 // Calculate terrain height using multi-octave noise
-                int terrainHeight = calculateTerrainHeight(noise, worldX, worldZ, baseHeight, hillHeight);
+                int terrainHeight = calculateTerrainHeight(
+                        rowNoise[0][localX], rowNoise[1][localX], rowNoise[2][localX], baseHeight, hillHeight);
 
                 // Set level (height)
                 flat.setLevel(flatX, flatZ, terrainHeight);
@@ -93,14 +127,10 @@ public class HillyTerrainManipulator implements FlatManipulator {
                 x, z, sizeX, sizeZ, baseHeight, hillHeight, seed);
     }
 
-    private int calculateTerrainHeight(FastNoiseLite noise, int worldX, int worldZ,
+    private int calculateTerrainHeight(double noise1, double noise2, double noise3,
                                        int baseHeight, int hillHeight) {
         // Multi-octave noise for natural-looking hilly terrain
         // Larger scales (smaller frequency multipliers) create bigger, smoother hills
-        double noise1 = noise.GetNoise((float) (worldX * SCALE_1), (float) (worldZ * SCALE_1));
-        double noise2 = noise.GetNoise((float) (worldX * SCALE_2), (float) (worldZ * SCALE_2));
-        double noise3 = noise.GetNoise((float) (worldX * SCALE_3), (float) (worldZ * SCALE_3));
-
         double combined = noise1 * WEIGHT_1 + noise2 * WEIGHT_2 + noise3 * WEIGHT_3;
         double height = baseHeight + combined * hillHeight;
 
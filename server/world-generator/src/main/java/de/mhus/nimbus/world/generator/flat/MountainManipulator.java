@@ -40,8 +40,6 @@ public class MountainManipulator implements FlatManipulator {
     private static final int MAX_RECURSION_DEPTH = 8;
     private static final int MIN_HEIGHT = 5;
 
-    private Random random;
-
     @Override
     public String getName() {
         return NAME;
@@ -67,7 +65,7 @@ public class MountainManipulator implements FlatManipulator {
         roughness = Math.max(0.0, Math.min(1.0, roughness));
 
         // Initialize random generator
-        random = new Random(seed);
+        Random random = new Random(seed);
 
         // Setup FlatPainter
         FlatPainter painter = new FlatPainter(flat);
@@ -104,7 +102,7 @@ public class MountainManipulator implements FlatManipulator {
         }
 
         // Recursive fractal mountain generation
-        doMountain(painter, startX, startZ, endX, endZ,
+        doMountain(painter, random, startX, startZ, endX, endZ,
                   baseHeight, peakHeight, branches, roughness, 0);
 
         // Apply smoothing to blend with existing terrain
@@ -119,6 +117,7 @@ public class MountainManipulator implements FlatManipulator {
      * Creates natural-looking mountain ridges with branching.
      *
      * @param painter FlatPainter for drawing
+     * @param random Random generator of this manipulation
      * @param x1 Start X coordinate
      * @param z1 Start Z coordinate
      * @param x2 End X coordinate
@@ -129,7 +128,7 @@ public class MountainManipulator implements FlatManipulator {
      * @param roughness Variation factor for randomness
      * @param depth Current recursion depth
      */
-    private void doMountain(FlatPainter painter, int x1, int z1, int x2, int z2,
+    private void doMountain(FlatPainter painter, Random random, int x1, int z1, int x2, int z2,
                            int baseHeight, int height, int childBranches,
                            double roughness, int depth) {
         // Termination conditions
@@ -162,7 +161,7 @@ public class MountainManipulator implements FlatManipulator {
             int branchZ = midZ + angleVariation;
 
             // Recursive call with reduced height and fewer branches
-            doMountain(painter, midX, midZ, branchX, branchZ,
+            doMountain(painter, random, midX, midZ, branchX, branchZ,
                       midHeight, height / 2,
                       Math.max(1, childBranches - 1),
                       roughness, depth + 1);
@@ -170,7 +169,7 @@ public class MountainManipulator implements FlatManipulator {
 
         // Continue main ridge if we haven't reached the end
         if (x1 != x2 || z1 != z2) {
-            doMountain(painter, midX, midZ, x2, z2,
+            doMountain(painter, random, midX, midZ, x2, z2,
                       midHeight, height / 2,
                       childBranches, roughness, depth + 1);
         }
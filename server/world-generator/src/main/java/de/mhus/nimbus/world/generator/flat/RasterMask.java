@@ -0,0 +1,110 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import lombok.Getter;
+
+import java.util.BitSet;
+
+/**
+ * Bit mask over a raster of width x height pixels.
+ * Pixel (x, z) is stored at index x + z * width, the same layout as {@code WFlat.levels}.
+ */
+public class RasterMask {
+
+    @Getter
+    private final int width;
+    @Getter
+    private final int height;
+    private final BitSet bits;
+
+    public RasterMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.bits = new BitSet(width * height);
+    }
+
+    private RasterMask(int width, int height, BitSet bits) {
+        this.width = width;
+        this.height = height;
+        this.bits = bits;
+    }
+
+    public void set(int x, int z) {
+        bits.set(x + z * width);
+    }
+
+    public boolean get(int x, int z) {
+        return bits.get(x + z * width);
+    }
+
+    /**
+     * @param index Pixel index x + z * width
+     */
+    public boolean get(int index) {
+        return bits.get(index);
+    }
+
+    public boolean isEmpty() {
+        return bits.isEmpty();
+    }
+
+    public int cardinality() {
+        return bits.cardinality();
+    }
+
+    /**
+     * Next set pixel index at or after fromIndex, or -1.
+     */
+    public int nextSetBit(int fromIndex) {
+        return bits.nextSetBit(fromIndex);
+    }
+
+    /**
+     * Create a new mask where each set pixel is grown to a square of (2 * radius + 1) pixels,
+     * clipped at the raster bounds. Dilation is separable: rows first, then columns.
+     */
+    public RasterMask dilate(int radius) {
+        if (radius <= 0) return new RasterMask(width, height, (BitSet) bits.clone());
+
+        // Horizontal: set the range [x - r, x + r] of the row for each pixel
+        BitSet rows = new BitSet(width * height);
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            int z = i / width;
+            int x = i - z * width;
+            int rowStart = z * width;
+            rows.set(rowStart + Math.max(0, x - radius), rowStart + Math.min(width - 1, x + radius) + 1);
+        }
+
+        // Vertical: for each pixel of the horizontal result set the column range [z - r, z + r]
+        BitSet result = new BitSet(width * height);
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            int z = i / width;
+            int x = i - z * width;
+            int fromZ = Math.max(0, z - radius);
+            int toZ = Math.min(height - 1, z + radius);
+            for (int nz = fromZ; nz <= toZ; nz++) {
+                result.set(x + nz * width);
+            }
+        }
+        return new RasterMask(width, height, result);
+    }
+
+    /**
+     * Bounding box of the set pixels as {minX, minZ, maxX, maxZ}, or null if the mask is empty.
+     */
+    public int[] bounds() {
+        if (bits.isEmpty()) return null;
+        int minX = width;
+        int maxX = -1;
+        int minZ = bits.nextSetBit(0) / width;
+        int maxZ = (bits.length() - 1) / width;
+        for (int z = minZ; z <= maxZ; z++) {
+            int rowStart = z * width;
+            int first = bits.nextSetBit(rowStart);
+            if (first < 0 || first >= rowStart + width) continue;
+            minX = Math.min(minX, first - rowStart);
+            int last = bits.previousSetBit(rowStart + width - 1);
+            maxX = Math.max(maxX, last - rowStart);
+        }
+        return new int[]{minX, minZ, maxX, maxZ};
+    }
+}
@@ -16,7 +16,7 @@ import java.util.Map;
  */
 @Component
 @Slf4j
-public class SharpenManipulator implements FlatManipulator {
+public class SharpenManipulator implements TiledFlatManipulator {
 
     public static final String NAME = "sharpen";
     public static final String PARAM_FACTOR = "factor";
@@ -28,6 +28,12 @@ public class SharpenManipulator implements FlatManipulator {
         return NAME;
     }
 
+    @Override
+    public int getHalo(Map<String, String> parameters) {
+        // 3x3 neighbourhood
+        return 1;
+    }
+
     @Override
     public void manipulate(WFlat flat, int x, int z, int sizeX, int sizeZ, Map<String, String> parameters) {
         log.debug("Sharpening terrain: region=({},{},{},{})", x, z, sizeX, sizeZ);
@@ -17,7 +17,7 @@ import java.util.Map;
  */
 @Component
 @Slf4j
-public class SoftenManipulator implements FlatManipulator {
+public class SoftenManipulator implements TiledFlatManipulator {
 
     public static final String NAME = "soften";
     public static final String PARAM_FACTOR = "factor";
@@ -31,6 +31,11 @@ public class SoftenManipulator implements FlatManipulator {
         return NAME;
     }
 
+    @Override
+    public int getHalo(Map<String, String> parameters) {
+        return Math.max(1, parseIntParameter(parameters, PARAM_RADIUS, DEFAULT_RADIUS));
+    }
+
     @Override
     public void manipulate(WFlat flat, int x, int z, int sizeX, int sizeZ, Map<String, String> parameters) {
         log.info("Softening terrain: region=({},{},{},{}), parameters={}", x, z, sizeX, sizeZ, parameters);
@@ -18,7 +18,7 @@ import java.util.Map;
  */
 @Component
 @Slf4j
-public class SoftenRasterManipulator implements FlatManipulator {
+public class SoftenRasterManipulator implements TiledFlatManipulator {
 
     public static final String NAME = "soften-raster";
     public static final String PARAM_PASSES = "passes";
@@ -32,6 +32,12 @@ public class SoftenRasterManipulator implements FlatManipulator {
         return NAME;
     }
 
+    @Override
+    public int getHalo(Map<String, String> parameters) {
+        // Each pass reads the orthogonal neighbours of the previous pass
+        return Math.max(1, Math.min(8, parseIntParameter(parameters, PARAM_PASSES, DEFAULT_PASSES)));
+    }
+
     @Override
     public void manipulate(WFlat flat, int x, int z, int sizeX, int sizeZ,
                           Map<String, String> parameters) {
@@ -45,8 +51,13 @@ public class SoftenRasterManipulator implements FlatManipulator {
         passes = Math.max(1, Math.min(8, passes));
         factor = Math.max(0.0, Math.min(1.0, factor));
 
-        // Multi-pass smoothing with offset pattern for performance
-        // Each pass processes every other pixel in a checkerboard pattern
+        // Multi-pass smoothing on a level buffer, written back once
+        FlatRaster raster = new FlatRaster(flat);
+        int[] levels = raster.readLevels(x, z, sizeX, sizeZ);
+        RasterMask writable = raster.writableMask(x, z, sizeX, sizeZ);
+
+        // Each pass processes every other pixel in a checkerboard pattern,
+        // the orthogonal neighbors of a processed pixel are never processed in the same pass
         for (int pass = 0; pass < passes; pass++) {
             // Calculate offset for this pass
             // Pass 0: (0,0), Pass 1: (1,0), Pass 2: (1,1), Pass 3: (0,1), then repeat
@@ -54,49 +65,49 @@ public class SoftenRasterManipulator implements FlatManipulator {
             int offsetZ = ((pass / 2) % 2);
 
             for (int localZ = offsetZ; localZ < sizeZ; localZ += 2) {
+                int row = localZ * sizeX;
                 for (int localX = offsetX; localX < sizeX; localX += 2) {
-                    int xi = x + localX;
-                    int zi = z + localZ;
+                    int index = row + localX;
+                    if (!writable.get(x + localX, z + localZ)) continue;
 
                     // Average with 4 orthogonal neighbors (not diagonal)
-                    int sum = flat.getLevel(xi, zi);
+                    int original = levels[index];
+                    int sum = original;
                     int count = 1;
 
-                    // Check 4 orthogonal neighbors
                     // North
                     if (localZ > 0) {
-                        sum += flat.getLevel(xi, zi - 1);
+                        sum += levels[index - sizeX];
                         count++;
                     }
                     // South
                     if (localZ < sizeZ - 1) {
-                        sum += flat.getLevel(xi, zi + 1);
+                        sum += levels[index + sizeX];
                         count++;
                     }
                     // West
                     if (localX > 0) {
-                        sum += flat.getLevel(xi - 1, zi);
+                        sum += levels[index - 1];
                         count++;
                     }
                     // East
                     if (localX < sizeX - 1) {
-                        sum += flat.getLevel(xi + 1, zi);
+                        sum += levels[index + 1];
                         count++;
                     }
 
                     // Calculate new level
-                    int original = flat.getLevel(xi, zi);
                     int mean = sum / count;
                     int newLevel = (int) Math.round(factor * mean + (1 - factor) * original);
 
                     // Clamp to valid range
-                    newLevel = Math.max(0, Math.min(255, newLevel));
-
-                    flat.setLevel(xi, zi, newLevel);
+                    levels[index] = Math.max(0, Math.min(255, newLevel));
                 }
             }
         }
 
+        raster.writeLevels(x, z, sizeX, sizeZ, levels, writable);
+
         log.info("Soften raster manipulation completed: passes={}, factor={}",
                 passes, factor);
     }
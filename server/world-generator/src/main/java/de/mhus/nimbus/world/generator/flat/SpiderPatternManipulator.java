@@ -45,8 +45,6 @@ public class SpiderPatternManipulator implements FlatManipulator {
     private static final int DEFAULT_RECURSION_DEPTH = 2;
     private static final int MAX_RECURSION_DEPTH = 4;
 
-    private Random random;
-
     @Override
     public String getName() {
         return NAME;
@@ -76,7 +74,7 @@ public class SpiderPatternManipulator implements FlatManipulator {
         depth = Math.max(1, Math.min(MAX_RECURSION_DEPTH, depth));
 
         // Initialize random generator
-        random = new Random(seed);
+        Random random = new Random(seed);
 
         // Setup FlatPainter
         FlatPainter painter = new FlatPainter(flat);
@@ -115,7 +113,7 @@ public class SpiderPatternManipulator implements FlatManipulator {
 
             // Recursive sub-branches
             if (depth > 1) {
-                drawSubBranches(painter, flat, endX, endZ, angle,
+                drawSubBranches(painter, random, flat, endX, endZ, angle,
                               targetLevel, length / 2, heightDelta / 2,
                               subBranches, depth - 1, linePainter);
             }
@@ -132,6 +130,7 @@ public class SpiderPatternManipulator implements FlatManipulator {
      * Recursively draw sub-branches.
      *
      * @param painter FlatPainter instance
+     * @param random Random generator of this manipulation
      * @param flat WFlat instance
      * @param startX Start X coordinate
      * @param startZ Start Z coordinate
@@ -143,7 +142,7 @@ public class SpiderPatternManipulator implements FlatManipulator {
      * @param depth Remaining recursion depth
      * @param linePainter Painter to use (HIGHER or LOWER)
      */
-    private void drawSubBranches(FlatPainter painter, WFlat flat,
+    private void drawSubBranches(FlatPainter painter, Random random, WFlat flat,
                                 int startX, int startZ, double baseAngle,
                                 int startLevel, int length, int heightDelta,
                                 int branchCount, int depth,
@@ -170,7 +169,7 @@ public class SpiderPatternManipulator implements FlatManipulator {
             // Recursive call with reduced parameters
             // 30% chance to skip recursion for more varied appearance
             if (depth > 1 && random.nextDouble() > 0.3) {
-                drawSubBranches(painter, flat, endX, endZ, angle,
+                drawSubBranches(painter, random, flat, endX, endZ, angle,
                               targetLevel, length / 2, heightDelta / 2,
                               Math.max(1, branchCount - 1), depth - 1,
                               linePainter);
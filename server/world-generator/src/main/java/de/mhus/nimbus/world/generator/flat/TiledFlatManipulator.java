@@ -0,0 +1,46 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import java.util.Map;
+
+/**
+ * Optional contract for manipulators that can be executed on tiles of a region in parallel.
+ * <p>
+ * FlatManipulatorService splits large regions into tiles, extends each tile by the halo
+ * (clipped to the region) and runs {@link #manipulate} for the extended tile on a private
+ * copy of the flat. Only the levels and columns of the tile itself are taken over.
+ * <p>
+ * Implementations promise that for every pixel of the region
+ * <ul>
+ *     <li>the new level and column only depend on the pixels within halo distance,
+ *     on absolute flat coordinates and on the parameters, not on the region bounds
+ *     except for clipping at the region edges</li>
+ *     <li>levels and columns are only read and written inside the given region,
+ *     extra blocks and materials are not modified</li>
+ *     <li>random values are derived from the parameters and absolute positions,
+ *     never from a sequence over the region</li>
+ * </ul>
+ * With these rules the tiled result is identical to a serial run with the same parameters.
+ * Tile origins and halos are kept at even offsets from the region start, so checkerboard
+ * patterns based on region-relative parity are preserved.
+ */
+public interface TiledFlatManipulator extends FlatManipulator {
+
+    /**
+     * Radius of pixels a new value depends on, for the given parameters.
+     *
+     * @param parameters Manipulator parameters of the execution
+     * @return Halo in pixels, or a negative value if this execution must run serial
+     */
+    int getHalo(Map<String, String> parameters);
+
+    /**
+     * Resolve parameters once for all tiles of an execution, e.g. fix a default seed
+     * that would otherwise be chosen per call.
+     *
+     * @param parameters Manipulator parameters of the execution
+     * @return Parameters passed to every tile
+     */
+    default Map<String, String> resolveTileParameters(Map<String, String> parameters) {
+        return parameters;
+    }
+}
@@ -52,6 +52,11 @@ public class WaterSoftenManipulator implements FlatManipulator {
         // Initialize random generator
         Random random = new Random();
 
+        // Smoothing on a level buffer, written back once
+        FlatRaster raster = new FlatRaster(flat);
+        int[] levels = raster.readLevels(x, z, sizeX, sizeZ);
+        RasterMask writable = raster.writableMask(x, z, sizeX, sizeZ);
+
         // 4-pass raster smoothing with offsets
         // Similar to SoftenRaster but with water-specific logic
         for (int pass = 0; pass < passes; pass++) {
@@ -60,10 +65,8 @@ public class WaterSoftenManipulator implements FlatManipulator {
 
             for (int localZ = offsetZ; localZ < sizeZ; localZ += 2) {
                 for (int localX = offsetX; localX < sizeX; localX += 2) {
-                    int xi = x + localX;
-                    int zi = z + localZ;
-
-                    int currentLevel = flat.getLevel(xi, zi);
+                    int index = localX + localZ * sizeX;
+                    int currentLevel = levels[index];
 
                     // Count water neighbors (neighbors with level <= waterThreshold)
                     int waterNeighbors = 0;
@@ -71,23 +74,20 @@ public class WaterSoftenManipulator implements FlatManipulator {
                     int count = 0;
 
                     // Check 8 neighbors
-                    for (int dz = -1; dz <= 1; dz++) {
-                        for (int dx = -1; dx <= 1; dx++) {
-                            if (dx == 0 && dz == 0) continue; // Skip center
-
-                            int nxi = xi + dx;
-                            int nzi = zi + dz;
-
-                            // Bounds check
-                            if (nxi >= x && nxi < x + sizeX &&
-                                nzi >= z && nzi < z + sizeZ) {
-                                int neighborLevel = flat.getLevel(nxi, nzi);
-                                sum += neighborLevel;
-                                count++;
-
-                                if (neighborLevel <= waterThreshold) {
-                                    waterNeighbors++;
-                                }
+                    int fromZ = Math.max(0, localZ - 1);
+                    int toZ = Math.min(sizeZ - 1, localZ + 1);
+                    int fromX = Math.max(0, localX - 1);
+                    int toX = Math.min(sizeX - 1, localX + 1);
+                    for (int nz = fromZ; nz <= toZ; nz++) {
+                        for (int nx = fromX; nx <= toX; nx++) {
+                            if (nx == localX && nz == localZ) continue; // Skip center
+
+                            int neighborLevel = levels[nx + nz * sizeX];
+                            sum += neighborLevel;
+                            count++;
+
+                            if (neighborLevel <= waterThreshold) {
+                                waterNeighbors++;
                             }
                         }
                     }
@@ -97,18 +97,22 @@ public class WaterSoftenManipulator implements FlatManipulator {
 
                     // Water boundary logic
                     if (waterNeighbors > 0 && waterNeighbors < count) {
+                        int newLevel;
                         // Mixed area (some water, some land)
                         if (waterNeighbors < 4) {
                             // More land than water: random decision
                             if (random.nextInt(probability) == 0) {
-                                flat.setLevel(xi, zi, mean / 15);
+                                newLevel = mean / 15;
                             } else {
                                 // Set to water level (0 or very low)
-                                flat.setLevel(xi, zi, 0);
+                                newLevel = 0;
                             }
                         } else {
                             // More water than land: set to water
-                            flat.setLevel(xi, zi, 0);
+                            newLevel = 0;
+                        }
+                        if (writable.get(x + localX, z + localZ)) {
+                            levels[index] = newLevel;
                         }
                     }
                     // Pure water or pure land: no change
@@ -116,6 +120,8 @@ public class WaterSoftenManipulator implements FlatManipulator {
             }
         }
 
+        raster.writeLevels(x, z, sizeX, sizeZ, levels, writable);
+
         // Final standard smoothing for blend
         FlatPainter painter = new FlatPainter(flat);
         painter.soften(x, z, x + sizeX - 1, z + sizeZ - 1, 1, 0.3);
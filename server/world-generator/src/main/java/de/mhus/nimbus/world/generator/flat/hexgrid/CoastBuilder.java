@@ -99,7 +99,13 @@ public class CoastBuilder extends HexGridBuilder {
         noise.SetNoiseType(FastNoiseLite.NoiseType.OpenSimplex2);
         noise.SetFrequency(0.1f);  // Frequency for coastline variation
 
+        // Noise is sampled a row at a time, only for rows that reach into the coast zone
+        double[] rowDistance = new double[sizeX];
+        float[] rowNoise = new float[sizeX];
+        float[] rowGrassNoise = new float[sizeX];
+
         for (int z = 0; z < sizeZ; z++) {
+            boolean rowInCoastZone = false;
             for (int x = 0; x < sizeX; x++) {
                 // Calculate distance to nearest land side
                 double minDistance = Double.MAX_VALUE;
@@ -108,11 +114,21 @@ public class CoastBuilder extends HexGridBuilder {
                     double distance = calculateDistanceToSide(x, z, sizeX, sizeZ, landSide);
                     minDistance = Math.min(minDistance, distance);
                 }
+                rowDistance[x] = minDistance;
+                rowInCoastZone |= minDistance < COAST_WIDTH;
+            }
+            if (!rowInCoastZone) continue;
+
+            noise.GetNoiseGrid(rowNoise, 0, z, sizeX, 1, 1, 0);
+            noise.GetNoiseGrid(rowGrassNoise, 0, z * 2, sizeX, 1, 2, 0);
+
+            for (int x = 0; x < sizeX; x++) {
+                double minDistance = rowDistance[x];
 
                 // If within coast zone, create coastline
                 if (minDistance < COAST_WIDTH) {
                     // Add noise to distance for irregular coastline
-                    float noiseValue = noise.GetNoise((float) x, (float) z);
+                    float noiseValue = rowNoise[x];
                     double noisyDistance = minDistance + noiseValue * 5;  // ±5 pixels variation
 
                     // Determine height and material based on noisy distance
@@ -122,7 +138,7 @@ public class CoastBuilder extends HexGridBuilder {
                         flat.setLevel(x, z, height);
 
                         // Mix of sand and grass (grass appears occasionally)
-                        float grassChance = noise.GetNoise((float) x * 2, (float) z * 2);
+                        float grassChance = rowGrassNoise[x];
                         if (grassChance > 0.3) {
                             flat.setColumn(x, z, FlatMaterialService.GRASS);
                         } else {
@@ -0,0 +1,211 @@
+package de.mhus.nimbus.world.generator.flat.hexgrid;
+
+import de.mhus.nimbus.generated.types.HexVector2;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates many hex grids at once (e.g. a continent after {@code HexCompositeBuilder.compose}).
+ * <p>
+ * Stages run one after another for all hexes:
+ * 1. GROUND - every hex only writes its own flat, all hexes run in parallel
+ * 2. BLENDER - reads the flats of the neighbours, runs in waves
+ * 3. TERRAIN - rivers, roads, walls, ... run in waves as well
+ * <p>
+ * A wave contains only hexes that are not adjacent (3-colouring of the hex grid),
+ * so no hex reads a neighbour flat while the neighbour is written. Waves are executed
+ * in a fixed order, the result does not depend on the number of workers.
+ * <p>
+ * Hexes are executed on a bounded pool of platform threads (generation is CPU bound).
+ * A hex that fails a stage is skipped in the following stages.
+ * <p>
+ * Used by FlatHexGridGenerateJobExecutor (job flat-generate-hexgrids), which the genesis
+ * workflow Day2Terraforming runs after the composite is created.
+ */
+@Service
+@Slf4j
+public class HexGridGenerationScheduler {
+
+    /**
+     * Number of colours needed for the hex adjacency graph.
+     */
+    static final int WAVE_COUNT = 3;
+
+    private static final List<HexGridBuilderService.STEP> STAGES = List.of(
+            HexGridBuilderService.STEP.GROUND,
+            HexGridBuilderService.STEP.BLENDER,
+            HexGridBuilderService.STEP.TERRAIN);
+
+    private final HexGridBuilderService builderService;
+    private final int workers;
+
+    public HexGridGenerationScheduler(HexGridBuilderService builderService,
+                                      @Value("${world.generator.hexgrid.workers:0}") int workers) {
+        this.builderService = builderService;
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Executes one stage for one hex. Called concurrently for different hexes.
+     */
+    @FunctionalInterface
+    public interface HexStageTask {
+        void execute(HexVector2 position, HexGridBuilderService.STEP step) throws Exception;
+    }
+
+    /**
+     * Generate all hexes using the builder pipelines of the hex grids.
+     * Each context must provide its own flat, the BLENDER stage resolves neighbour flats via the flat service.
+     * The flat of a hex is saved after each stage, so the neighbours of the next wave read the current state.
+     *
+     * @param contexts Builder context per hex position
+     * @return Report with timings and failed hexes
+     */
+    public GenerationReport generate(Map<HexVector2, BuilderContext> contexts) {
+        return generate(contexts.keySet(), (position, step) -> runPipeline(contexts.get(position), step));
+    }
+
+    /**
+     * Generate all hexes with a custom stage task.
+     *
+     * @param hexes Positions of the hexes to generate
+     * @param task Executes one stage for one hex
+     * @return Report with timings and failed hexes
+     */
+    public GenerationReport generate(Collection<HexVector2> hexes, HexStageTask task) {
+        GenerationReport report = new GenerationReport(hexes.size(), workers);
+        Set<HexVector2> remaining = new LinkedHashSet<>(hexes);
+        long startAll = System.currentTimeMillis();
+
+        log.info("Starting generation of {} hex grids with {} workers", hexes.size(), workers);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("hexgrid-generation-", 0).factory())) {
+            for (HexGridBuilderService.STEP step : STAGES) {
+                long start = System.currentTimeMillis();
+
+                List<List<HexVector2>> waves = step == HexGridBuilderService.STEP.GROUND
+                        ? List.of(new ArrayList<>(remaining))
+                        : waves(remaining);
+                for (List<HexVector2> wave : waves) {
+                    runWave(executor, wave, step, task, report);
+                }
+                remaining.removeAll(report.failures.keySet());
+
+                long duration = System.currentTimeMillis() - start;
+                report.stageDurations.put(step, duration);
+                report.stageWaves.put(step, waves.size());
+                log.info("Stage {} completed for {} hex grids in {} waves: {} ms",
+                        step, remaining.size(), waves.size(), duration);
+            }
+        }
+
+        report.totalDuration = System.currentTimeMillis() - startAll;
+        log.info("Generation of {} hex grids completed in {} ms, {} failed, stages: {}",
+                hexes.size(), report.totalDuration, report.failures.size(), report.stageDurations);
+        return report;
+    }
+
+    /**
+     * Split hexes into waves of pairwise non adjacent hexes.
+     * Axial neighbours differ by 1 or 2 in (q - r), so (q - r) mod 3 is a proper colouring.
+     * Empty waves are omitted, hexes in a wave are ordered by position.
+     */
+    static List<List<HexVector2>> waves(Collection<HexVector2> hexes) {
+        List<List<HexVector2>> waves = new ArrayList<>(WAVE_COUNT);
+        for (int i = 0; i < WAVE_COUNT; i++) {
+            waves.add(new ArrayList<>());
+        }
+        for (HexVector2 hex : hexes) {
+            waves.get(Math.floorMod(hex.getQ() - hex.getR(), WAVE_COUNT)).add(hex);
+        }
+        Comparator<HexVector2> order = Comparator.comparingInt(HexVector2::getQ).thenComparingInt(HexVector2::getR);
+        waves.removeIf(List::isEmpty);
+        waves.forEach(wave -> wave.sort(order));
+        return waves;
+    }
+
+    private void runWave(ExecutorService executor, List<HexVector2> wave, HexGridBuilderService.STEP step,
+                         HexStageTask task, GenerationReport report) {
+        List<Callable<Void>> calls = new ArrayList<>(wave.size());
+        for (HexVector2 position : wave) {
+            calls.add(() -> {
+                try {
+                    task.execute(position, step);
+                } catch (Exception e) {
+                    log.warn("Stage {} failed for hex grid [{},{}]: {}",
+                            step, position.getQ(), position.getR(), e.getMessage(), e);
+                    report.failures.put(position, e);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(calls)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hex grid generation interrupted in stage " + step, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Hex grid generation failed in stage " + step, e.getCause());
+        }
+    }
+
+    private void runPipeline(BuilderContext context, HexGridBuilderService.STEP step) {
+        if (step == HexGridBuilderService.STEP.GROUND) {
+            // Clear all groupIds before the first builders, like HexGridManipulator
+            context.getFlat().getGroups().clear();
+        }
+        List<HexGridBuilder> pipeline = builderService.createBuilderPipeline(context.getHexGrid(), step);
+        for (HexGridBuilder builder : pipeline) {
+            builder.setContext(context);
+            builder.buildFlat();
+        }
+        context.getFlatService().update(context.getFlat());
+    }
+
+    /**
+     * Result of a generation run.
+     */
+    @Getter
+    public static class GenerationReport {
+
+        private final int hexCount;
+        private final int workers;
+        private final Map<HexGridBuilderService.STEP, Long> stageDurations = new EnumMap<>(HexGridBuilderService.STEP.class);
+        private final Map<HexGridBuilderService.STEP, Integer> stageWaves = new EnumMap<>(HexGridBuilderService.STEP.class);
+        /**
+         * Failed hexes with the exception of the failed stage.
+         */
+        private final Map<HexVector2, Exception> failures = new ConcurrentHashMap<>();
+        private long totalDuration;
+
+        private GenerationReport(int hexCount, int workers) {
+            this.hexCount = hexCount;
+            this.workers = workers;
+        }
+
+        public boolean isSuccessful() {
+            return failures.isEmpty();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package de.mhus.nimbus.world.generator.flat.hexgrid;
 
+import de.mhus.nimbus.world.generator.flat.FlatRaster;
+import de.mhus.nimbus.world.generator.flat.RasterMask;
 import de.mhus.nimbus.world.shared.generator.WFlat;
 import de.mhus.nimbus.world.shared.world.WHexGrid;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Random;
 
@@ -79,7 +82,7 @@ public class HexGridSideBlender {
         private final long noiseSeed;
 
         // Track which pixels were actually blended for post-processing
-        private final boolean[][] blendedPixels;
+        private final RasterMask blendedPixels;
 
         public SideBlender(WFlat flat, BuilderContext context, WHexGrid.SIDE direction,
                            WFlat neighborFlat, int width, double randomness,
@@ -97,7 +100,7 @@ public class HexGridSideBlender {
             // Create noise seed based on flat position for consistent noise
             this.noiseSeed = (long) flat.getMountX() * 31 + (long) flat.getMountZ() * 37 + direction.ordinal();
             // Initialize blended pixels tracking
-            this.blendedPixels = new boolean[flat.getSizeX()][flat.getSizeZ()];
+            this.blendedPixels = new RasterMask(flat.getSizeX(), flat.getSizeZ());
         }
 
         /**
@@ -261,29 +264,7 @@ public class HexGridSideBlender {
          */
         private void applyShakeEffect(double[] outerCorner1, double[] outerCorner2,
                                       double[] innerCorner1, double[] innerCorner2) {
-            // Build list of blended pixels and their neighbors that can be affected
-            java.util.List<int[]> candidatePixels = new java.util.ArrayList<>();
-
-            // Add blended pixels and their immediate neighbors (1 pixel margin)
-            for (int x = 0; x < flat.getSizeX(); x++) {
-                for (int z = 0; z < flat.getSizeZ(); z++) {
-                    if (blendedPixels[x][z]) {
-                        // Add this pixel and neighbors to candidate list
-                        for (int dx = -1; dx <= 1; dx++) {
-                            for (int dz = -1; dz <= 1; dz++) {
-                                int nx = x + dx;
-                                int nz = z + dz;
-                                if (nx >= 0 && nx < flat.getSizeX() &&
-                                    nz >= 0 && nz < flat.getSizeZ()) {
-                                    candidatePixels.add(new int[]{nx, nz});
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            if (candidatePixels.isEmpty()) {
+            if (blendedPixels.isEmpty()) {
                 return;
             }
 
@@ -294,29 +275,46 @@ public class HexGridSideBlender {
                 {-1,  1}, {0,  1}, {1,  1}
             };
 
-            // For each candidate pixel, randomly decide if it should swap with a neighbor
-            for (int[] pixel : candidatePixels) {
-                int x = pixel[0];
-                int z = pixel[1];
-
-                // Random chance to swap based on shake strength
-                if (random.nextDouble() > shakeStrength) {
-                    continue; // Skip this pixel
-                }
+            // Candidates are blended pixels and their immediate neighbors (1 pixel margin),
+            // a pixel next to several blended pixels is a candidate several times
+            int sizeX = flat.getSizeX();
+            int sizeZ = flat.getSizeZ();
+            // Only the blended pixels, in the x-then-z order of a full scan to keep seeded results
+            int[] blended = new int[blendedPixels.cardinality()];
+            int count = 0;
+            for (int i = blendedPixels.nextSetBit(0); i >= 0; i = blendedPixels.nextSetBit(i + 1)) {
+                blended[count++] = (i % sizeX) * sizeZ + i / sizeX;
+            }
+            Arrays.sort(blended);
+
+            for (int key : blended) {
+                int bx = key / sizeZ;
+                int bz = key % sizeZ;
+                for (int cdx = -1; cdx <= 1; cdx++) {
+                    for (int cdz = -1; cdz <= 1; cdz++) {
+                        int x = bx + cdx;
+                        int z = bz + cdz;
+                        if (x < 0 || x >= sizeX || z < 0 || z >= sizeZ) continue;
+
+                        // Random chance to swap based on shake strength
+                        if (random.nextDouble() > shakeStrength) {
+                            continue; // Skip this pixel
+                        }
 
-                // Pick a random neighbor direction
-                int[] offset = neighborOffsets[random.nextInt(neighborOffsets.length)];
-                int nx = x + offset[0];
-                int nz = z + offset[1];
-
-                // Check if neighbor is in bounds
-                if (nx >= 0 && nx < flat.getSizeX() &&
-                    nz >= 0 && nz < flat.getSizeZ()) {
-                    // Swap this pixel with its neighbor
-                    int height1 = flat.getLevel(x, z);
-                    int height2 = flat.getLevel(nx, nz);
-                    flat.setLevel(x, z, height2);
-                    flat.setLevel(nx, nz, height1);
+                        // Pick a random neighbor direction
+                        int[] offset = neighborOffsets[random.nextInt(neighborOffsets.length)];
+                        int nx = x + offset[0];
+                        int nz = z + offset[1];
+
+                        // Check if neighbor is in bounds
+                        if (nx >= 0 && nx < sizeX && nz >= 0 && nz < sizeZ) {
+                            // Swap this pixel with its neighbor
+                            int height1 = flat.getLevel(x, z);
+                            int height2 = flat.getLevel(nx, nz);
+                            flat.setLevel(x, z, height2);
+                            flat.setLevel(nx, nz, height1);
+                        }
+                    }
                 }
             }
         }
@@ -333,70 +331,38 @@ public class HexGridSideBlender {
          */
         private void applyBlurEffect(double[] outerCorner1, double[] outerCorner2,
                                      double[] innerCorner1, double[] innerCorner2) {
-            // Build list of pixels to blur (blended pixels + margin)
-            java.util.Set<String> pixelsToBlur = new java.util.HashSet<>();
-
+            // Pixels to blur: blended pixels + margin
             int margin = blurRadius + 1; // Add 1 extra pixel margin for smooth edges
+            RasterMask pixelsToBlur = blendedPixels.dilate(margin);
 
-            // Find all blended pixels and add them + margin to blur set
-            for (int x = 0; x < flat.getSizeX(); x++) {
-                for (int z = 0; z < flat.getSizeZ(); z++) {
-                    if (blendedPixels[x][z]) {
-                        // Add this pixel and neighbors within margin
-                        for (int dx = -margin; dx <= margin; dx++) {
-                            for (int dz = -margin; dz <= margin; dz++) {
-                                int nx = x + dx;
-                                int nz = z + dz;
-                                if (nx >= 0 && nx < flat.getSizeX() &&
-                                    nz >= 0 && nz < flat.getSizeZ()) {
-                                    pixelsToBlur.add(nx + "," + nz);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            if (pixelsToBlur.isEmpty()) {
+            int[] bounds = pixelsToBlur.bounds();
+            if (bounds == null) {
                 return;
             }
 
-            // Create temporary buffer for blur result
-            java.util.Map<String, Integer> blurred = new java.util.HashMap<>();
-
-            // Apply box blur only to pixels in the set
-            for (String key : pixelsToBlur) {
-                String[] parts = key.split(",");
-                int x = Integer.parseInt(parts[0]);
-                int z = Integer.parseInt(parts[1]);
-
-                int sum = 0;
-                int count = 0;
-
-                // Sample neighbors within blur radius
-                for (int dx = -blurRadius; dx <= blurRadius; dx++) {
-                    for (int dz = -blurRadius; dz <= blurRadius; dz++) {
-                        int nx = x + dx;
-                        int nz = z + dz;
-
-                        if (nx >= 0 && nx < flat.getSizeX() &&
-                            nz >= 0 && nz < flat.getSizeZ()) {
-                            sum += flat.getLevel(nx, nz);
-                            count++;
-                        }
-                    }
+            // Blur a box around the pixels (plus blur radius, so the window is not clipped early)
+            // and write back only the pixels of the mask
+            FlatRaster raster = new FlatRaster(flat);
+            int x1 = Math.max(0, bounds[0] - blurRadius);
+            int z1 = Math.max(0, bounds[1] - blurRadius);
+            int x2 = Math.min(flat.getSizeX() - 1, bounds[2] + blurRadius);
+            int z2 = Math.min(flat.getSizeZ() - 1, bounds[3] + blurRadius);
+            int width = x2 - x1 + 1;
+            int height = z2 - z1 + 1;
+
+            int[] levels = raster.readLevels(x1, z1, width, height);
+            int[] sums = FlatRaster.boxSum(levels, width, height, blurRadius);
+            int[] blurred = new int[width * height];
+            for (int dz = 0; dz < height; dz++) {
+                int z = z1 + dz;
+                int countZ = FlatRaster.windowCount(z, flat.getSizeZ(), blurRadius);
+                for (int dx = 0; dx < width; dx++) {
+                    int x = x1 + dx;
+                    int index = dx + dz * width;
+                    blurred[index] = sums[index] / (FlatRaster.windowCount(x, flat.getSizeX(), blurRadius) * countZ);
                 }
-
-                blurred.put(key, count > 0 ? sum / count : flat.getLevel(x, z));
-            }
-
-            // Write blurred values back to flat
-            for (java.util.Map.Entry<String, Integer> entry : blurred.entrySet()) {
-                String[] parts = entry.getKey().split(",");
-                int x = Integer.parseInt(parts[0]);
-                int z = Integer.parseInt(parts[1]);
-                flat.setLevel(x, z, entry.getValue());
             }
+            raster.writeLevels(x1, z1, width, height, blurred, pixelsToBlur);
         }
 
         /**
@@ -677,7 +643,7 @@ public class HexGridSideBlender {
                 int zi = (int) Math.round(clampedOuterZ);
                 if (xi >= 0 && xi < flat.getSizeX() && zi >= 0 && zi < flat.getSizeZ()) {
                     flat.setLevel(xi, zi, (int) Math.round(neighborHeight));
-                    blendedPixels[xi][zi] = true;
+                    blendedPixels.set(xi, zi);
                     return true;
                 }
                 return false;
@@ -750,7 +716,7 @@ public class HexGridSideBlender {
                 flat.setLevel(xi, zi, blendedHeight);
 
                 // Mark this pixel as blended for post-processing
-                blendedPixels[xi][zi] = true;
+                blendedPixels.set(xi, zi);
             }
 
             return pixelsWritten > 0;
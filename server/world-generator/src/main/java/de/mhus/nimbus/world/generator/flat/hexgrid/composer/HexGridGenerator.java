@@ -4,6 +4,7 @@ import de.mhus.nimbus.generated.types.HexGrid;
 import de.mhus.nimbus.generated.types.HexVector2;
 import de.mhus.nimbus.world.shared.world.WHexGrid;
 import de.mhus.nimbus.world.shared.world.WHexGridRepository;
+import de.mhus.nimbus.world.shared.world.WHexGridService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ import java.util.*;
 public class HexGridGenerator {
 
     private final WHexGridRepository hexGridRepository;
+    private final WHexGridService hexGridService;
 
     @lombok.Data
     @lombok.Builder
@@ -166,7 +168,7 @@ public class HexGridGenerator {
             }
 
             if (!gridsToCreate.isEmpty()) {
-                List<WHexGrid> saved = hexGridRepository.saveAll(gridsToCreate);
+                List<WHexGrid> saved = hexGridService.saveAll(gridsToCreate);
                 createdCount = saved.size();
                 log.info("Created {} WHexGrids for feature {}", createdCount, feature.getName());
             }
@@ -22,7 +22,8 @@ import java.util.Map;
  * 3. Create Layers
  * 4. Create Hex Grids with configuration
  * 5. Create Flats
- * 6. Export Flats into World
+ * 6. Generate Flats (flat-generate-hexgrids)
+ * 7. Export Flats into World
  */
 @Service
 @Slf4j
@@ -56,7 +57,15 @@ public class Day2Terraforming extends MethodBasedWorkflow {
 
     @OnSuccess("createComposite")
     public void onCreateCompositeSuccess(WorkflowContext context, Map<String, String> result) throws WorkflowException {
-        // TODO create all flats, export all flats and flat images
+        // TODO create all flats
+        // generate all hex grid flats of the world at once, neighbours in waves
+        context.updateWorkflowStatus("generateHexGrids");
+        context.enqueueJob("flat-generate-hexgrids", "", Map.of());
+    }
+
+    @OnSuccess("generateHexGrids")
+    public void onGenerateHexGridsSuccess(WorkflowContext context, Map<String, String> result) throws WorkflowException {
+        // TODO export all flats and flat images
         // generate and archive composite images
         context.updateWorkflowStatus(StatusRecord.COMPLETED);
     }
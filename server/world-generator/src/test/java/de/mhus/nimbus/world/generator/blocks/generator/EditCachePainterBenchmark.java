@@ -0,0 +1,147 @@
+package de.mhus.nimbus.world.generator.blocks.generator;
+
+import de.mhus.nimbus.generated.types.WorldInfo;
+import de.mhus.nimbus.shared.engine.EngineMapper;
+import de.mhus.nimbus.shared.types.BlockDef;
+import de.mhus.nimbus.world.shared.edit.BlockUpdateService;
+import de.mhus.nimbus.world.shared.layer.WEditCache;
+import de.mhus.nimbus.world.shared.layer.WEditCacheBatch;
+import de.mhus.nimbus.world.shared.layer.WEditCacheOverlay;
+import de.mhus.nimbus.world.shared.layer.WEditCacheRepository;
+import de.mhus.nimbus.world.shared.layer.WEditCacheService;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import de.mhus.nimbus.world.shared.world.WWorldService;
+import de.mhus.nimbus.world.shared.world.WorldMetadataCache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Paints a dome outline through the edit cache, block by block and with a painting session (WEditCacheBatch).
+ * Mongo and Redis are mocked, block serialization and message building are real. The counters report
+ * the Mongo round trips and "b.u" messages per operation.
+ *
+ * Run: mvn -pl world-generator test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=EditCachePainterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EditCachePainterBenchmark {
+
+    private static final String WORLD_ID = "bench-region:bench-world";
+
+    @Param({"10", "20"})
+    private int radius;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong roundTrips = new AtomicLong();
+    private WEditCacheService editCacheService;
+    private WWorld world;
+    private BlockDef blockDef;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long messages;
+        public long roundTrips;
+    }
+
+    @Setup
+    public void setup() {
+        world = WWorld.builder()
+                .worldId(WORLD_ID)
+                .publicData(WorldInfo.builder().chunkSize(16).build())
+                .build();
+        blockDef = BlockDef.of("n:s").orElseThrow();
+
+        // Per block: one query and one save
+        WEditCacheRepository repository = mock(WEditCacheRepository.class, withSettings().stubOnly());
+        when(repository.save(any(WEditCache.class))).thenAnswer(invocation -> {
+            roundTrips.addAndGet(2);
+            return invocation.getArgument(0);
+        });
+
+        // Per batch: one bulk write
+        BulkOperations bulk = mock(BulkOperations.class, withSettings().stubOnly());
+        when(bulk.execute()).thenAnswer(invocation -> {
+            roundTrips.incrementAndGet();
+            return null;
+        });
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(WEditCache.class))).thenReturn(bulk);
+
+        WWorldService worldService = mock(WWorldService.class, withSettings().stubOnly());
+        when(worldService.getByWorldId(WORLD_ID)).thenReturn(Optional.of(world));
+        WorldRedisMessagingService redisMessaging = mock(WorldRedisMessagingService.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            published.incrementAndGet();
+            return null;
+        }).when(redisMessaging).publish(anyString(), eq("b.u"), anyString());
+
+        BlockUpdateService blockUpdateService = new BlockUpdateService(redisMessaging, worldService, new EngineMapper());
+        WEditCacheOverlay overlay = new WEditCacheOverlay(repository, mongoTemplate, redisMessaging,
+                mock(WorldMetadataCache.class, withSettings().stubOnly()));
+        editCacheService = new WEditCacheService(repository, blockUpdateService, overlay);
+    }
+
+    private EditCachePainter createPainter() {
+        EditCachePainter painter = new EditCachePainter(editCacheService);
+        painter.setContext(world, "bench-layer", null, null, blockDef);
+        return painter;
+    }
+
+    private void count(Counters counters, long messagesBefore, long roundTripsBefore) {
+        counters.messages += published.get() - messagesBefore;
+        counters.roundTrips += roundTrips.get() - roundTripsBefore;
+    }
+
+    @Benchmark
+    public EditCachePainter perBlock(Counters counters) {
+        long messagesBefore = published.get();
+        long roundTripsBefore = roundTrips.get();
+        EditCachePainter painter = createPainter();
+        painter.domeOutline(0, 64, 0, radius);
+        count(counters, messagesBefore, roundTripsBefore);
+        return painter;
+    }
+
+    @Benchmark
+    public EditCachePainter batched(Counters counters) {
+        long messagesBefore = published.get();
+        long roundTripsBefore = roundTrips.get();
+        EditCachePainter painter = createPainter();
+        try (WEditCacheBatch batch = editCacheService.openBatch(world)) {
+            painter.setBatch(batch);
+            painter.domeOutline(0, 64, 0, radius);
+        }
+        count(counters, messagesBefore, roundTripsBefore);
+        return painter;
+    }
+}
@@ -0,0 +1,116 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChunkStripStreamTest {
+
+    private static List<ChunkStripStream.Strip<String>> collect(ChunkStripStream<String> stream) {
+        List<ChunkStripStream.Strip<String>> result = new ArrayList<>();
+        try (stream) {
+            for (ChunkStripStream.Strip<String> strip : stream) {
+                result.add(strip);
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void stripsCoverRectangleWithPartialChunks() {
+        // X -5..34 → chunks -1..2, Z 10..29 → chunks 0..1
+        List<ChunkStripStream.Strip<String>> strips = collect(
+                new ChunkStripStream<>(16, -5, 10, 40, 20, (cx, cz, chunkKey) -> chunkKey));
+
+        assertEquals(List.of(-1, 0, 1, 2), strips.stream().map(ChunkStripStream.Strip::getCx).toList());
+        assertEquals(List.of(-5, 0, 16, 32), strips.stream().map(ChunkStripStream.Strip::getFromX).toList());
+        assertEquals(List.of(-1, 15, 31, 34), strips.stream().map(ChunkStripStream.Strip::getToX).toList());
+
+        ChunkStripStream.Strip<String> first = strips.get(0);
+        assertEquals(List.of("-1:0", "-1:1"), first.getChunks());
+        assertEquals("-1:0", first.chunkAtZ(10));
+        assertEquals("-1:0", first.chunkAtZ(15));
+        assertEquals("-1:1", first.chunkAtZ(16));
+        assertEquals("-1:1", first.chunkAtZ(29));
+        assertNull(first.chunkAtZ(-1));
+        assertNull(first.chunkAtZ(32));
+    }
+
+    @Test
+    void singleColumnRectangle() {
+        List<ChunkStripStream.Strip<String>> strips = collect(
+                new ChunkStripStream<>(16, 20, -3, 1, 1, (cx, cz, chunkKey) -> chunkKey));
+
+        assertEquals(1, strips.size());
+        assertEquals(20, strips.get(0).getFromX());
+        assertEquals(20, strips.get(0).getToX());
+        assertEquals(List.of("1:-1"), strips.get(0).getChunks());
+    }
+
+    @Test
+    void missingChunksArePassedAsNull() {
+        List<ChunkStripStream.Strip<String>> strips = collect(
+                new ChunkStripStream<>(16, 0, 0, 32, 48, (cx, cz, chunkKey) -> cz == 1 ? null : chunkKey));
+
+        assertEquals(2, strips.size());
+        for (ChunkStripStream.Strip<String> strip : strips) {
+            assertEquals(3, strip.getChunks().size());
+            assertNull(strip.chunkAtZ(20));
+            assertEquals(strip.getCx() + ":2", strip.chunkAtZ(40));
+        }
+        assertEquals(Arrays.asList("0:0", null, "0:2"), strips.get(0).getChunks());
+    }
+
+    @Test
+    void borderOnlySkipsInnerChunks() {
+        Set<String> loaded = ConcurrentHashMap.newKeySet();
+        List<ChunkStripStream.Strip<String>> strips = collect(
+                new ChunkStripStream<String>(16, 0, 0, 48, 48, (cx, cz, chunkKey) -> {
+                    loaded.add(chunkKey);
+                    return chunkKey;
+                }).borderOnly());
+
+        assertEquals(8, loaded.size());
+        assertFalse(loaded.contains("1:1"));
+        assertNull(strips.get(1).chunkAtZ(20));
+        assertEquals("1:0", strips.get(1).chunkAtZ(0));
+        assertEquals(Arrays.asList("1:0", null, "1:2"), strips.get(1).getChunks());
+    }
+
+    @Test
+    void loaderExceptionIsRethrown() {
+        IllegalStateException failure = new IllegalStateException("load failed");
+        ChunkStripStream<String> stream = new ChunkStripStream<>(16, 0, 0, 32, 16, (cx, cz, chunkKey) -> {
+            if (cx == 1) throw failure;
+            return chunkKey;
+        });
+
+        try (stream) {
+            Iterator<ChunkStripStream.Strip<String>> strips = stream.iterator();
+            assertEquals(0, strips.next().getCx());
+            assertSame(failure, assertThrows(IllegalStateException.class, strips::next));
+        }
+    }
+
+    @Test
+    void iteratorEndsAfterLastStrip() {
+        try (ChunkStripStream<String> stream = new ChunkStripStream<>(16, 0, 0, 16, 16, (cx, cz, chunkKey) -> chunkKey)) {
+            Iterator<ChunkStripStream.Strip<String>> strips = stream.iterator();
+            strips.next();
+            assertFalse(strips.hasNext());
+            assertThrows(NoSuchElementException.class, strips::next);
+        }
+    }
+}
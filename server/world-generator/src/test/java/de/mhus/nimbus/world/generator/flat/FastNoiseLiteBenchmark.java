@@ -0,0 +1,98 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.shared.utils.FastNoiseLite;
+import de.mhus.nimbus.world.shared.generator.WFlat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grid noise sampling throughput: one GetNoise call per position against GetNoiseGrid
+ * for a full flat, plus the row-wise terrain manipulator that uses the batch API.
+ *
+ * Run: mvn -pl world-generator test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=FastNoiseLiteBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastNoiseLiteBenchmark {
+
+    @Param({"OpenSimplex2", "Perlin"})
+    private String noiseType;
+
+    @Param({"None", "FBm"})
+    private String fractalType;
+
+    @Param({"400"})
+    private int gridSize;
+
+    private FastNoiseLite noise;
+    private FastNoiseLite warp;
+    private float[] out;
+
+    @Setup
+    public void setup() {
+        noise = new FastNoiseLite(1337);
+        noise.SetNoiseType(FastNoiseLite.NoiseType.valueOf(noiseType));
+        noise.SetFractalType(FastNoiseLite.FractalType.valueOf(fractalType));
+        noise.SetFrequency(0.02f);
+        noise.SetFractalOctaves(4);
+        warp = new FastNoiseLite(42);
+        warp.SetDomainWarpAmp(10f);
+        out = new float[gridSize * gridSize];
+    }
+
+    @Benchmark
+    public float[] scalarGrid() {
+        for (int z = 0; z < gridSize; z++) {
+            for (int x = 0; x < gridSize; x++) {
+                out[x + z * gridSize] = noise.GetNoise(x, z);
+            }
+        }
+        return out;
+    }
+
+    @Benchmark
+    public float[] batchGrid() {
+        noise.GetNoiseGrid(out, 0, 0, gridSize, gridSize, 1, 1);
+        return out;
+    }
+
+    @Benchmark
+    public float[] batchGridWarped() {
+        noise.GetNoiseGrid(out, 0, 0, gridSize, gridSize, 1, 1, warp);
+        return out;
+    }
+
+    @Benchmark
+    public WFlat normalTerrain() {
+        WFlat flat = WFlat.builder()
+                .flatId("bench")
+                .worldId("bench-region:bench-world")
+                .sizeX(gridSize)
+                .sizeZ(gridSize)
+                .levels(new byte[gridSize * gridSize])
+                .columns(new byte[gridSize * gridSize])
+                .seaLevel(60)
+                .extraBlocks(new HashMap<>())
+                .materials(new HashMap<>())
+                .build();
+        new NormalTerrainManipulator().manipulate(flat, 0, 0, gridSize, gridSize, Map.of("seed", "1337"));
+        return flat;
+    }
+}
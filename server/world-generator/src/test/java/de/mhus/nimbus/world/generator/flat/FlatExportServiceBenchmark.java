@@ -0,0 +1,148 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.generated.types.WorldInfo;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.shared.utils.TypeUtil;
+import de.mhus.nimbus.world.shared.generator.WFlat;
+import de.mhus.nimbus.world.shared.generator.WFlatService;
+import de.mhus.nimbus.world.shared.layer.LayerBlock;
+import de.mhus.nimbus.world.shared.layer.LayerChunkData;
+import de.mhus.nimbus.world.shared.layer.LayerType;
+import de.mhus.nimbus.world.shared.layer.WDirtyChunkService;
+import de.mhus.nimbus.world.shared.layer.WLayer;
+import de.mhus.nimbus.world.shared.layer.WLayerService;
+import de.mhus.nimbus.world.shared.world.WBlockTypeService;
+import de.mhus.nimbus.world.shared.world.WChunkService;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import de.mhus.nimbus.world.shared.world.WWorldService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exports a full-size flat (600x600 plus border) into a GROUND layer whose chunks already contain terrain,
+ * so every exported column replaces existing blocks. Persistence is mocked, only the export itself is measured.
+ *
+ * Run: mvn -pl world-generator test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=FlatExportServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FlatExportServiceBenchmark {
+
+    private static final String WORLD_ID = "bench-region:bench-world";
+    private static final int CHUNK_SIZE = 32;
+    private static final int EXISTING_DEPTH = 8;
+
+    @Param({"200", "640"})
+    private int flatSize;
+
+    private FlatExportService exportService;
+
+    @Setup
+    public void setup() {
+        WFlat flat = WFlat.builder()
+                .flatId("bench")
+                .worldId(WORLD_ID)
+                .sizeX(flatSize)
+                .sizeZ(flatSize)
+                .seaLevel(60)
+                .mountX(0)
+                .mountZ(0)
+                .levels(new byte[flatSize * flatSize])
+                .columns(new byte[flatSize * flatSize])
+                .extraBlocks(new HashMap<>())
+                .materials(new HashMap<>())
+                .build();
+        flat.setMaterial(1, WFlat.MaterialDefinition.builder()
+                .blockDef("n:g")
+                .nextBlockDef("n:d")
+                .build());
+        for (int x = 0; x < flatSize; x++) {
+            for (int z = 0; z < flatSize; z++) {
+                flat.getLevels()[x + z * flatSize] = (byte) (64 + ((x * 7 + z * 3) % 5));
+                flat.getColumns()[x + z * flatSize] = 1;
+            }
+        }
+
+        WWorld world = WWorld.builder()
+                .worldId(WORLD_ID)
+                .publicData(WorldInfo.builder().chunkSize(CHUNK_SIZE).build())
+                .build();
+        WLayer layer = WLayer.builder()
+                .name("ground")
+                .layerType(LayerType.GROUND)
+                .layerDataId("bench-layer")
+                .build();
+
+        WFlatService flatService = mock(WFlatService.class);
+        WLayerService layerService = mock(WLayerService.class);
+        WWorldService worldService = mock(WWorldService.class);
+        WChunkService chunkService = mock(WChunkService.class);
+        when(flatService.findById("bench")).thenReturn(Optional.of(flat));
+        when(worldService.getByWorldId(WORLD_ID)).thenReturn(Optional.of(world));
+        when(layerService.findByWorldIdAndName(WORLD_ID, "ground")).thenReturn(Optional.of(layer));
+        when(layerService.loadTerrainChunk(eq(WORLD_ID), eq("bench-layer"), anyString()))
+                .thenAnswer(invocation -> Optional.of(existingChunk(invocation.getArgument(2))));
+        when(chunkService.loadChunkData(any(WorldId.class), anyString(), anyBoolean())).thenReturn(Optional.empty());
+
+        exportService = new FlatExportService(flatService, layerService, worldService,
+                mock(WDirtyChunkService.class), mock(WBlockTypeService.class), chunkService);
+    }
+
+    /**
+     * Layer chunk filled with EXISTING_DEPTH blocks per column.
+     */
+    private static LayerChunkData existingChunk(String chunkKey) {
+        int[] coord = TypeUtil.parseChunkCoord(chunkKey);
+        List<LayerBlock> blocks = new ArrayList<>(CHUNK_SIZE * CHUNK_SIZE * EXISTING_DEPTH);
+        for (int x = 0; x < CHUNK_SIZE; x++) {
+            for (int z = 0; z < CHUNK_SIZE; z++) {
+                for (int y = 60; y < 60 + EXISTING_DEPTH; y++) {
+                    blocks.add(LayerBlock.builder()
+                            .block(Block.builder()
+                                    .position(Vector3Int.builder()
+                                            .x(coord[0] * CHUNK_SIZE + x)
+                                            .y(y)
+                                            .z(coord[1] * CHUNK_SIZE + z)
+                                            .build())
+                                    .blockTypeId("n:s")
+                                    .build())
+                            .build());
+                }
+            }
+        }
+        return LayerChunkData.builder().cx(coord[0]).cz(coord[1]).blocks(blocks).build();
+    }
+
+    @Benchmark
+    public int exportFlat() {
+        return exportService.exportToLayer("bench", WORLD_ID, "ground", false);
+    }
+}
@@ -0,0 +1,86 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.world.shared.generator.WFlat;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlatManipulatorServiceTest {
+
+    private static final List<FlatManipulator> MANIPULATORS = List.of(
+            new NormalTerrainManipulator(),
+            new HillyTerrainManipulator(),
+            new SoftenManipulator(),
+            new SharpenManipulator(),
+            new SoftenRasterManipulator());
+
+    private static WFlat randomFlat(long seed) {
+        int sizeX = 200;
+        int sizeZ = 150;
+        WFlat flat = WFlat.builder()
+                .flatId("test")
+                .worldId("test-region:test-world")
+                .sizeX(sizeX)
+                .sizeZ(sizeZ)
+                .seaLevel(60)
+                .mountX(1000)
+                .mountZ(-500)
+                .unknownProtected(true)
+                .levels(new byte[sizeX * sizeZ])
+                .columns(new byte[sizeX * sizeZ])
+                .extraBlocks(new HashMap<>())
+                .materials(new HashMap<>())
+                .build();
+        Random random = new Random(seed);
+        for (int i = 0; i < sizeX * sizeZ; i++) {
+            flat.getLevels()[i] = (byte) (40 + random.nextInt(60));
+            // some unknown columns to exercise the protection
+            flat.getColumns()[i] = (byte) (random.nextInt(20) == 0 ? WFlat.MATERIAL_NOT_SET : 1 + random.nextInt(3));
+        }
+        return flat;
+    }
+
+    private static void assertTiledEqualsSerial(String name, Map<String, String> parameters) {
+        WFlat serial = randomFlat(7);
+        WFlat tiled = randomFlat(7);
+
+        new FlatManipulatorService(MANIPULATORS, 1, 128)
+                .executeManipulator(name, serial, 3, 5, 190, 140, parameters);
+        new FlatManipulatorService(MANIPULATORS, 4, 32)
+                .executeManipulator(name, tiled, 3, 5, 190, 140, parameters);
+
+        assertArrayEquals(serial.getLevels(), tiled.getLevels(), "levels of " + name + " " + parameters);
+        assertArrayEquals(serial.getColumns(), tiled.getColumns(), "columns of " + name + " " + parameters);
+    }
+
+    @Test
+    void tiledTerrainMatchesSerial() {
+        assertTiledEqualsSerial(NormalTerrainManipulator.NAME, Map.of("seed", "4711"));
+        assertTiledEqualsSerial(HillyTerrainManipulator.NAME, Map.of("seed", "4711", "frequency", "1.5"));
+    }
+
+    @Test
+    void tiledSmoothingMatchesSerial() {
+        assertTiledEqualsSerial(SoftenManipulator.NAME, Map.of("radius", "3", "factor", "0.7"));
+        assertTiledEqualsSerial(SoftenManipulator.NAME, Map.of("radius", "1"));
+        assertTiledEqualsSerial(SharpenManipulator.NAME, Map.of("factor", "0.8"));
+        assertTiledEqualsSerial(SoftenRasterManipulator.NAME, Map.of("passes", "5"));
+    }
+
+    @Test
+    void tiledFailureIsReported() {
+        FlatManipulatorService service = new FlatManipulatorService(MANIPULATORS, 4, 32);
+        WFlat flat = randomFlat(1);
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("factor", null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.executeManipulator(SoftenManipulator.NAME, flat, 0, 0, 200, 150, parameters));
+    }
+}
@@ -0,0 +1,149 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.world.generator.flat.hexgrid.BuilderContext;
+import de.mhus.nimbus.world.generator.flat.hexgrid.HexGridSideBlender;
+import de.mhus.nimbus.world.shared.generator.WFlat;
+import de.mhus.nimbus.world.shared.generator.WFlatService;
+import de.mhus.nimbus.world.shared.world.WHexGrid;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Raster operations on a full-size flat: soften family, side blending with all six neighbours
+ * and the separable blur primitives. Levels are reset before each invocation.
+ *
+ * Run: mvn -pl world-generator test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=FlatRasterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlatRasterBenchmark {
+
+    private static final String WORLD_ID = "bench-region:bench-world";
+
+    @Param({"400", "640"})
+    private int flatSize;
+
+    @Param({"1", "3"})
+    private int radius;
+
+    private WFlat flat;
+    private byte[] initialLevels;
+    private int[] rasterLevels;
+    private BuilderContext context;
+    private HashMap<WHexGrid.SIDE, String> sideFlats;
+
+    @Setup
+    public void setup() {
+        flat = createFlat("bench", 0, 0);
+        Random random = new Random(42);
+        for (int i = 0; i < flat.getLevels().length; i++) {
+            flat.getLevels()[i] = (byte) (50 + random.nextInt(40));
+            flat.getColumns()[i] = 1;
+        }
+        initialLevels = flat.getLevels().clone();
+        rasterLevels = new FlatRaster(flat).readLevels(0, 0, flatSize, flatSize);
+
+        // One neighbour flat per side, overlapping the border of the flat
+        WFlatService flatService = mock(WFlatService.class);
+        sideFlats = new HashMap<>();
+        Map<WHexGrid.SIDE, int[]> offsets = Map.of(
+                WHexGrid.SIDE.EAST, new int[]{flatSize - 20, 0},
+                WHexGrid.SIDE.WEST, new int[]{-flatSize + 20, 0},
+                WHexGrid.SIDE.NORTH_EAST, new int[]{flatSize / 2, -flatSize + 20},
+                WHexGrid.SIDE.NORTH_WEST, new int[]{-flatSize / 2, -flatSize + 20},
+                WHexGrid.SIDE.SOUTH_EAST, new int[]{flatSize / 2, flatSize - 20},
+                WHexGrid.SIDE.SOUTH_WEST, new int[]{-flatSize / 2, flatSize - 20});
+        Map<String, WFlat> neighbours = new HashMap<>();
+        for (var entry : offsets.entrySet()) {
+            String flatId = "n-" + entry.getKey().name();
+            WFlat neighbour = createFlat(flatId, entry.getValue()[0], entry.getValue()[1]);
+            Arrays.fill(neighbour.getLevels(), (byte) 70);
+            Arrays.fill(neighbour.getColumns(), (byte) 1);
+            neighbours.put(flatId, neighbour);
+            sideFlats.put(entry.getKey(), flatId);
+        }
+        when(flatService.findByWorldAndFlatId(anyString(), anyString()))
+                .thenAnswer(invocation -> neighbours.get(invocation.getArgument(1, String.class)));
+
+        context = BuilderContext.builder()
+                .world(WWorld.builder().worldId(WORLD_ID).build())
+                .flat(flat)
+                .flatService(flatService)
+                .build();
+    }
+
+    private WFlat createFlat(String flatId, int mountX, int mountZ) {
+        return WFlat.builder()
+                .flatId(flatId)
+                .worldId(WORLD_ID)
+                .sizeX(flatSize)
+                .sizeZ(flatSize)
+                .seaLevel(60)
+                .mountX(mountX)
+                .mountZ(mountZ)
+                .levels(new byte[flatSize * flatSize])
+                .columns(new byte[flatSize * flatSize])
+                .extraBlocks(new HashMap<>())
+                .materials(new HashMap<>())
+                .build();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetLevels() {
+        System.arraycopy(initialLevels, 0, flat.getLevels(), 0, initialLevels.length);
+    }
+
+    @Benchmark
+    public WFlat soften() {
+        new FlatPainter(flat).soften(0, 0, flatSize - 1, flatSize - 1, radius, 0.5);
+        return flat;
+    }
+
+    @Benchmark
+    public WFlat softenRaster() {
+        new SoftenRasterManipulator().manipulate(flat, 0, 0, flatSize, flatSize, Map.of("passes", "4"));
+        return flat;
+    }
+
+    @Benchmark
+    public WFlat waterSoften() {
+        new WaterSoftenManipulator().manipulate(flat, 0, 0, flatSize, flatSize, Map.of("passes", "4"));
+        return flat;
+    }
+
+    @Benchmark
+    public WFlat sideBlend() {
+        new HexGridSideBlender(flat, 30, context, 0.6, 0.2, radius).blendAllSides(sideFlats);
+        return flat;
+    }
+
+    @Benchmark
+    public int[] boxBlur() {
+        return FlatRaster.boxBlur(rasterLevels, flatSize, flatSize, radius);
+    }
+}
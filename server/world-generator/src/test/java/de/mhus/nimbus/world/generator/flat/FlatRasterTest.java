@@ -0,0 +1,115 @@
+package de.mhus.nimbus.world.generator.flat;
+
+import de.mhus.nimbus.world.shared.generator.WFlat;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FlatRasterTest {
+
+    private static int[] randomRaster(int width, int height, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[width * height];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(256);
+        }
+        return values;
+    }
+
+    private static WFlat flat(int sizeX, int sizeZ) {
+        return WFlat.builder()
+                .flatId("test")
+                .worldId("test-region:test-world")
+                .sizeX(sizeX)
+                .sizeZ(sizeZ)
+                .levels(new byte[sizeX * sizeZ])
+                .columns(new byte[sizeX * sizeZ])
+                .extraBlocks(new HashMap<>())
+                .materials(new HashMap<>())
+                .build();
+    }
+
+    @Test
+    void boxSumMatchesNaiveClippedWindow() {
+        int width = 37;
+        int height = 23;
+        int[] src = randomRaster(width, height, 1);
+
+        for (int radius : new int[]{0, 1, 3, 40}) {
+            int[] sums = FlatRaster.boxSum(src, width, height, radius);
+            int[] blurred = FlatRaster.boxBlur(src, width, height, radius);
+            for (int z = 0; z < height; z++) {
+                for (int x = 0; x < width; x++) {
+                    int sum = 0;
+                    int count = 0;
+                    for (int dz = -radius; dz <= radius; dz++) {
+                        for (int dx = -radius; dx <= radius; dx++) {
+                            int nx = x + dx;
+                            int nz = z + dz;
+                            if (nx >= 0 && nx < width && nz >= 0 && nz < height) {
+                                sum += src[nx + nz * width];
+                                count++;
+                            }
+                        }
+                    }
+                    assertEquals(sum, sums[x + z * width], "sum at " + x + "," + z + " r=" + radius);
+                    assertEquals(sum / count, blurred[x + z * width], "mean at " + x + "," + z + " r=" + radius);
+                }
+            }
+        }
+    }
+
+    @Test
+    void dilateMatchesNaiveSquare() {
+        RasterMask mask = new RasterMask(30, 20);
+        mask.set(0, 0);
+        mask.set(15, 10);
+        mask.set(16, 10);
+        mask.set(29, 19);
+
+        RasterMask dilated = mask.dilate(2);
+        for (int z = 0; z < 20; z++) {
+            for (int x = 0; x < 30; x++) {
+                boolean expected = false;
+                for (int dz = -2; dz <= 2 && !expected; dz++) {
+                    for (int dx = -2; dx <= 2 && !expected; dx++) {
+                        int nx = x + dx;
+                        int nz = z + dz;
+                        expected = nx >= 0 && nx < 30 && nz >= 0 && nz < 20 && mask.get(nx, nz);
+                    }
+                }
+                assertEquals(expected, dilated.get(x, z), "pixel " + x + "," + z);
+            }
+        }
+        assertArrayEquals(new int[]{0, 0, 29, 19}, dilated.bounds());
+
+        RasterMask center = new RasterMask(30, 20);
+        center.set(15, 10);
+        center.set(16, 10);
+        assertArrayEquals(new int[]{13, 8, 18, 12}, center.dilate(2).bounds());
+        assertNull(new RasterMask(5, 5).bounds());
+    }
+
+    @Test
+    void writeLevelsRespectsProtection() {
+        WFlat flat = flat(4, 4);
+        flat.setBorderProtected(true);
+        FlatRaster raster = new FlatRaster(flat);
+
+        int[] values = new int[16];
+        Arrays.fill(values, 300);
+        int changed = raster.writeLevels(0, 0, 4, 4, values, null);
+
+        assertEquals(4, changed);
+        assertEquals(0, flat.getLevel(0, 0));
+        assertEquals(255, flat.getLevel(1, 1));
+        assertEquals(255, flat.getLevel(2, 2));
+        assertArrayEquals(new int[]{255, 255}, raster.readLevels(1, 1, 2, 1));
+    }
+}
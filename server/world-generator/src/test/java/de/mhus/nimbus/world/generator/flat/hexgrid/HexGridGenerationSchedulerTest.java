@@ -0,0 +1,136 @@
+package de.mhus.nimbus.world.generator.flat.hexgrid;
+
+import de.mhus.nimbus.generated.types.HexVector2;
+import de.mhus.nimbus.world.shared.generator.WFlat;
+import de.mhus.nimbus.world.shared.generator.WFlatService;
+import de.mhus.nimbus.world.shared.world.HexMathUtil;
+import de.mhus.nimbus.world.shared.world.WHexGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HexGridGenerationSchedulerTest {
+
+    private static List<HexVector2> hexArea(int radius) {
+        List<HexVector2> hexes = new ArrayList<>();
+        for (int q = -radius; q <= radius; q++) {
+            for (int r = Math.max(-radius, -q - radius); r <= Math.min(radius, -q + radius); r++) {
+                hexes.add(HexVector2.builder().q(q).r(r).build());
+            }
+        }
+        return hexes;
+    }
+
+    @Test
+    void wavesContainNoNeighbours() {
+        List<HexVector2> hexes = hexArea(5);
+        List<List<HexVector2>> waves = HexGridGenerationScheduler.waves(hexes);
+
+        assertEquals(HexGridGenerationScheduler.WAVE_COUNT, waves.size());
+        assertEquals(hexes.size(), waves.stream().mapToInt(List::size).sum());
+
+        for (List<HexVector2> wave : waves) {
+            Set<HexVector2> members = Set.copyOf(wave);
+            for (HexVector2 hex : wave) {
+                for (WHexGrid.SIDE side : WHexGrid.SIDE.values()) {
+                    assertFalse(members.contains(HexMathUtil.getNeighborPosition(hex, side)),
+                            "Neighbours in the same wave: " + hex + " " + side);
+                }
+            }
+        }
+    }
+
+    @Test
+    void stagesRunInOrderAndNeighboursNeverConcurrently() {
+        List<HexVector2> hexes = hexArea(4);
+        HexGridGenerationScheduler scheduler = new HexGridGenerationScheduler(new HexGridBuilderService(), 4);
+
+        Set<HexVector2> running = ConcurrentHashMap.newKeySet();
+        Set<HexVector2> grounded = ConcurrentHashMap.newKeySet();
+        List<HexGridBuilderService.STEP> order = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean conflict = new AtomicBoolean();
+
+        var report = scheduler.generate(hexes, (position, step) -> {
+            order.add(step);
+            if (step == HexGridBuilderService.STEP.GROUND) {
+                grounded.add(position);
+                return;
+            }
+            // all hexes must have finished GROUND before any neighbour is read
+            if (grounded.size() != hexes.size()) conflict.set(true);
+            running.add(position);
+            for (WHexGrid.SIDE side : WHexGrid.SIDE.values()) {
+                if (running.contains(HexMathUtil.getNeighborPosition(position, side))) conflict.set(true);
+            }
+            Thread.sleep(1);
+            running.remove(position);
+        });
+
+        assertTrue(report.isSuccessful());
+        assertFalse(conflict.get());
+        assertEquals(hexes.size() * 3, order.size());
+        assertEquals(HexGridBuilderService.STEP.GROUND, order.get(hexes.size() - 1));
+        assertEquals(HexGridBuilderService.STEP.BLENDER, order.get(hexes.size()));
+        assertEquals(HexGridBuilderService.STEP.TERRAIN, order.get(order.size() - 1));
+    }
+
+    @Test
+    void failedHexIsSkippedInLaterStages() {
+        List<HexVector2> hexes = hexArea(1);
+        HexVector2 broken = hexes.getFirst();
+        HexGridGenerationScheduler scheduler = new HexGridGenerationScheduler(new HexGridBuilderService(), 2);
+        Set<HexVector2> blended = ConcurrentHashMap.newKeySet();
+
+        var report = scheduler.generate(hexes, (position, step) -> {
+            if (step == HexGridBuilderService.STEP.GROUND && position.equals(broken)) {
+                throw new IllegalStateException("broken");
+            }
+            if (step == HexGridBuilderService.STEP.BLENDER) blended.add(position);
+        });
+
+        assertFalse(report.isSuccessful());
+        assertEquals(Set.of(broken), report.getFailures().keySet());
+        assertEquals(hexes.size() - 1, blended.size());
+        assertFalse(blended.contains(broken));
+    }
+
+    @Test
+    void flatsAreSavedAfterEachStage() {
+        List<HexVector2> hexes = hexArea(1);
+        HexGridBuilderService builderService = mock(HexGridBuilderService.class);
+        WFlatService flatService = mock(WFlatService.class);
+        when(builderService.createBuilderPipeline(any(), any())).thenReturn(List.of());
+
+        Map<HexVector2, BuilderContext> contexts = new LinkedHashMap<>();
+        for (HexVector2 hex : hexes) {
+            contexts.put(hex, BuilderContext.builder()
+                    .flat(WFlat.builder().flatId("flat-" + hex.getQ() + "-" + hex.getR()).hexGrid(hex).build())
+                    .hexGrid(WHexGrid.builder().build())
+                    .flatService(flatService)
+                    .build());
+        }
+
+        var report = new HexGridGenerationScheduler(builderService, 2).generate(contexts);
+
+        assertTrue(report.isSuccessful());
+        for (BuilderContext context : contexts.values()) {
+            verify(flatService, times(3)).update(context.getFlat());
+        }
+    }
+}
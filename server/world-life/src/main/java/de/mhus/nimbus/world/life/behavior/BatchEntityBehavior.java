@@ -0,0 +1,37 @@
+package de.mhus.nimbus.world.life.behavior;
+
+import de.mhus.nimbus.world.life.service.NavigationGridService.NavigationView;
+
+/**
+ * Interface for batched entity behavior strategies.
+ *
+ * Receives all entities of one behavior type in one chunk at once as
+ * structure-of-arrays state ({@link EntityBatch}). This allows the per-tick checks
+ * of herds of many entities to run in tight loops over primitive arrays, with shared
+ * navigation grid lookups.
+ *
+ * If a batch behavior and an {@link EntityBehavior} are registered for the
+ * same behavior type, SimulatorService uses the batch behavior.
+ *
+ * Implementations are Spring @Component beans registered in BehaviorRegistry.
+ * Implementations must be thread safe; use ThreadLocalRandom instead of shared Random instances.
+ */
+public interface BatchEntityBehavior {
+
+    /**
+     * Get the behavior type identifier.
+     *
+     * @return Behavior type string (e.g., "PreyAnimalBehavior")
+     */
+    String getBehaviorType();
+
+    /**
+     * Update all entities of the batch.
+     * New pathways are reported with {@link EntityBatch#emit}.
+     *
+     * @param batch Entities of one behavior type in one chunk
+     * @param view Navigation view of the batch world (shared for this simulation pass)
+     * @param currentTime Current simulation time (milliseconds)
+     */
+    void update(EntityBatch batch, NavigationView view, long currentTime);
+}
@@ -11,7 +11,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Registry for entity behavior implementations.
- * Discovers all EntityBehavior beans and provides lookup by behavior type.
+ * Discovers all EntityBehavior and BatchEntityBehavior beans and provides lookup by behavior type.
  *
  * Uses lazy loading pattern to avoid circular dependencies
  * (similar to CommandService pattern).
@@ -29,6 +29,12 @@ public class BehaviorRegistry {
      */
     private volatile Map<String, EntityBehavior> behaviors;
 
+    /**
+     * Batch behavior registry: behaviorType → BatchEntityBehavior instance
+     * Lazily initialized on first access.
+     */
+    private volatile Map<String, BatchEntityBehavior> batchBehaviors;
+
     /**
      * Get all registered behaviors.
      * Lazy-loads behaviors from ApplicationContext on first call.
@@ -55,6 +61,47 @@ public class BehaviorRegistry {
         return behaviors;
     }
 
+    /**
+     * Get all registered batch behaviors.
+     * Lazy-loads batch behaviors from ApplicationContext on first call.
+     *
+     * @return Map of behaviorType → BatchEntityBehavior
+     */
+    private Map<String, BatchEntityBehavior> getBatchBehaviors() {
+        if (batchBehaviors == null) {
+            synchronized (this) {
+                if (batchBehaviors == null) {
+                    Map<String, BatchEntityBehavior> behaviorBeans = applicationContext.getBeansOfType(BatchEntityBehavior.class);
+                    Map<String, BatchEntityBehavior> map = new ConcurrentHashMap<>();
+
+                    for (BatchEntityBehavior behavior : behaviorBeans.values()) {
+                        String behaviorType = behavior.getBehaviorType();
+                        map.put(behaviorType, behavior);
+                        log.info("Registered batch behavior: {}", behaviorType);
+                    }
+
+                    batchBehaviors = map;
+                    log.info("BehaviorRegistry initialized with {} batch behaviors", batchBehaviors.size());
+                }
+            }
+        }
+        return batchBehaviors;
+    }
+
+    /**
+     * Get batch behavior by type.
+     * Batch behaviors take precedence over per-entity behaviors of the same type.
+     *
+     * @param behaviorType Behavior type identifier
+     * @return BatchEntityBehavior instance, or null if no batch behavior is registered for the type
+     */
+    public BatchEntityBehavior getBatchBehavior(String behaviorType) {
+        if (behaviorType == null || behaviorType.isBlank()) {
+            return null;
+        }
+        return getBatchBehaviors().get(behaviorType);
+    }
+
     /**
      * Get behavior by type.
      *
@@ -83,7 +130,7 @@ public class BehaviorRegistry {
      * @return True if behavior exists
      */
     public boolean hasBehavior(String behaviorType) {
-        return getBehavior(behaviorType) != null;
+        return getBatchBehavior(behaviorType) != null || getBehavior(behaviorType) != null;
     }
 
     /**
@@ -0,0 +1,101 @@
+package de.mhus.nimbus.world.life.behavior;
+
+import de.mhus.nimbus.generated.types.EntityPathway;
+import de.mhus.nimbus.generated.types.Vector3;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.life.model.SimulationState;
+import de.mhus.nimbus.world.shared.world.WEntity;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Structure-of-arrays view on all entities of one behavior type in one chunk.
+ *
+ * Used by {@link BatchEntityBehavior} to run the per-tick checks of many entities in tight loops
+ * over primitive arrays without touching WEntity objects. Index i of every array belongs to the same entity.
+ * Behaviors read the input arrays and report new pathways with {@link #emit(int, EntityPathway)}.
+ */
+@Getter
+public class EntityBatch {
+
+    private final WorldId worldId;
+    private final String behaviorType;
+    private final int size;
+
+    private final String[] entityIds;
+    private final double[] posX;
+    private final double[] posZ;
+    /**
+     * Entity speed in blocks/second.
+     */
+    private final double[] speed;
+    /**
+     * Time the last pathway was generated (0 if never).
+     */
+    private final long[] lastPathwayTime;
+    /**
+     * End time of the current pathway (0 if none).
+     */
+    private final long[] pathwayEndTime;
+    /**
+     * True if the entity has a current pathway.
+     */
+    private final boolean[] hasPathway;
+
+    /**
+     * Pathways emitted by the behavior, null if none for the index.
+     */
+    private final EntityPathway[] emitted;
+    private final SimulationState[] states;
+    private int emittedCount;
+
+    /**
+     * Create a batch from simulation states.
+     * All entities must have a position, SimulatorService does not create states for entities without one.
+     *
+     * @param worldId World identifier
+     * @param behaviorType Behavior type of all entities in the batch
+     * @param states Simulation states
+     */
+    public EntityBatch(WorldId worldId, String behaviorType, List<SimulationState> states) {
+        this.worldId = worldId;
+        this.behaviorType = behaviorType;
+        this.size = states.size();
+        this.entityIds = new String[size];
+        this.posX = new double[size];
+        this.posZ = new double[size];
+        this.speed = new double[size];
+        this.lastPathwayTime = new long[size];
+        this.pathwayEndTime = new long[size];
+        this.hasPathway = new boolean[size];
+        this.emitted = new EntityPathway[size];
+        this.states = states.toArray(new SimulationState[0]);
+
+        for (int i = 0; i < size; i++) {
+            SimulationState state = this.states[i];
+            WEntity entity = state.getEntity();
+            Vector3 position = entity.getPosition();
+            entityIds[i] = entity.getEntityId();
+            posX[i] = position.getX();
+            posZ[i] = position.getZ();
+            speed[i] = entity.getSpeed() != null ? entity.getSpeed() : 1.0;
+            lastPathwayTime[i] = state.getLastPathwayTime();
+            pathwayEndTime[i] = state.getPathwayEndTime();
+            hasPathway[i] = state.getCurrentPathway() != null;
+        }
+    }
+
+    /**
+     * Report a new pathway for the entity at index.
+     *
+     * @param index Entity index
+     * @param pathway New pathway
+     */
+    public void emit(int index, EntityPathway pathway) {
+        if (emitted[index] == null) {
+            emittedCount++;
+        }
+        emitted[index] = pathway;
+    }
+}
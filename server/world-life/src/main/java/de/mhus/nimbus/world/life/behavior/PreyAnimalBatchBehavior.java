@@ -0,0 +1,74 @@
+package de.mhus.nimbus.world.life.behavior;
+
+import de.mhus.nimbus.generated.types.EntityPathway;
+import de.mhus.nimbus.world.life.config.WorldLifeSettings;
+import de.mhus.nimbus.world.life.service.NavigationGridService.NavigationView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batched variant of {@link PreyAnimalBehavior}.
+ *
+ * The entities due for a new pathway (pathway expired and interval passed) are selected in one
+ * loop over the primitive arrays of the batch, then the ground heights of their start columns are
+ * looked up. Only the selected entities run the shared {@link PreyAnimalBehavior#generatePathway}
+ * (local A* on the navigation grids). All entities of the batch use the same navigation view,
+ * so the grids of the chunk are resolved once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PreyAnimalBatchBehavior implements BatchEntityBehavior {
+
+    private static final String BEHAVIOR_TYPE = "PreyAnimalBehavior";
+
+    private final PreyAnimalBehavior behavior;
+    private final WorldLifeSettings properties;
+
+    @Override
+    public String getBehaviorType() {
+        return BEHAVIOR_TYPE;
+    }
+
+    @Override
+    public void update(EntityBatch batch, NavigationView view, long currentTime) {
+        int size = batch.getSize();
+        long intervalMs = properties.getPathwayIntervalMs();
+        boolean[] hasPathway = batch.getHasPathway();
+        long[] pathwayEndTime = batch.getPathwayEndTime();
+        long[] lastPathwayTime = batch.getLastPathwayTime();
+
+        // Indices of the entities due for a new pathway, same rules as PreyAnimalBehavior
+        int[] due = new int[size];
+        int dueCount = 0;
+        for (int i = 0; i < size; i++) {
+            boolean expired = !hasPathway[i] || currentTime >= pathwayEndTime[i];
+            boolean intervalPassed = currentTime - lastPathwayTime[i] >= intervalMs;
+            due[dueCount] = i;
+            dueCount += expired & intervalPassed ? 1 : 0;
+        }
+        if (dueCount == 0) {
+            return;
+        }
+
+        double[] posX = batch.getPosX();
+        double[] posZ = batch.getPosZ();
+        int[] startY = new int[dueCount];
+        for (int j = 0; j < dueCount; j++) {
+            int i = due[j];
+            startY[j] = view.getGroundY((int) Math.floor(posX[i]), (int) Math.floor(posZ[i]));
+        }
+
+        String[] entityIds = batch.getEntityIds();
+        double[] speed = batch.getSpeed();
+        for (int j = 0; j < dueCount; j++) {
+            int i = due[j];
+            EntityPathway pathway = behavior.generatePathway(entityIds[i], posX[i], startY[j], posZ[i],
+                    speed[i] > 0 ? speed[i] : 1.0, view, currentTime);
+            if (pathway != null) {
+                batch.emit(i, pathway);
+            }
+        }
+    }
+}
@@ -8,6 +8,7 @@ import de.mhus.nimbus.shared.types.WorldId;
 import de.mhus.nimbus.world.life.config.WorldLifeSettings;
 import de.mhus.nimbus.world.life.model.SimulationState;
 import de.mhus.nimbus.world.life.movement.BlockBasedMovement;
+import de.mhus.nimbus.world.life.service.NavigationGridService.NavigationView;
 import de.mhus.nimbus.world.shared.world.WEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +16,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Prey animal behavior - slow-moving passive animals that roam around.
@@ -26,6 +27,8 @@ import java.util.Random;
  * - 5 waypoints per pathway
  * - Idle pauses between movements (1-3 seconds)
  * - Terrain-aware movement using BlockBasedMovement
+ *
+ * The pathway generation is shared with {@link PreyAnimalBatchBehavior}.
  */
 @Component
 @RequiredArgsConstructor
@@ -41,7 +44,6 @@ public class PreyAnimalBehavior implements EntityBehavior {
 
     private final BlockBasedMovement blockMovement;
     private final WorldLifeSettings properties;
-    private final Random random = new Random();
 
     @Override
     public String getBehaviorType() {
@@ -55,8 +57,23 @@ public class PreyAnimalBehavior implements EntityBehavior {
             return null;
         }
 
+        // Get entity's current position (server-side simulation data)
+        Vector3 currentPosition = entity.getPosition();
+        if (currentPosition == null) {
+            log.warn("Entity has no position: {}", entity.getEntityId());
+            return null;
+        }
+
+        // Get entity speed (default to 1.0 blocks/second)
+        double speed = entity.getSpeed() != null ? entity.getSpeed() : 1.0;
+
+        // Ensure start position is on solid ground
+        NavigationView view = blockMovement.openView(worldId);
+        int startY = view.getGroundY((int) Math.floor(currentPosition.getX()), (int) Math.floor(currentPosition.getZ()));
+
         // Generate new pathway
-        return generatePathway(entity, state, currentTime, worldId);
+        return generatePathway(entity.getEntityId(), currentPosition.getX(), startY, currentPosition.getZ(), speed,
+                view, currentTime);
     }
 
     /**
@@ -73,33 +90,30 @@ public class PreyAnimalBehavior implements EntityBehavior {
     }
 
     /**
-     * Generate a new pathway for the entity.
+     * Generate a new pathway from the entity position.
+     *
+     * @param entityId Entity identifier
+     * @param x Current X position
+     * @param startY Ground Y of the current column
+     * @param z Current Z position
+     * @param speed Entity speed (blocks/second)
+     * @param view Navigation view of the world, shared for one simulation pass
+     * @param currentTime Current simulation time (milliseconds)
+     * @return New pathway or null if no waypoint can be reached
      */
-    private EntityPathway generatePathway(WEntity entity, SimulationState state, long currentTime, WorldId worldId) {
-        // Get entity's current position (server-side simulation data)
-        Vector3 currentPosition = entity.getPosition();
-        if (currentPosition == null) {
-            log.warn("Entity has no position: {}", entity.getEntityId());
-            return null;
-        }
-
-        // Ensure start position is on solid ground
-        int startY = blockMovement.findStartPosition(worldId, currentPosition.getX(), currentPosition.getZ());
-
+    EntityPathway generatePathway(String entityId, double x, int startY, double z, double speed,
+                                  NavigationView view, long currentTime) {
         Vector3 startPosition = new Vector3();
-        startPosition.setX(currentPosition.getX());
+        startPosition.setX(x);
         startPosition.setY((double) startY);
-        startPosition.setZ(currentPosition.getZ());
+        startPosition.setZ(z);
 
         // Choose random direction for roaming
         Vector3 direction = blockMovement.getRandomDirection();
 
-        // Get entity speed (default to 1.0 blocks/second)
-        double speed = entity.getSpeed() != null ? entity.getSpeed() : 1.0;
-
         // Generate waypoints using terrain-aware movement
         List<Waypoint> movementWaypoints = blockMovement.generatePathway(
-                worldId,
+                view,
                 startPosition,
                 direction,
                 DEFAULT_WAYPOINTS_PER_PATH,
@@ -108,7 +122,7 @@ public class PreyAnimalBehavior implements EntityBehavior {
         );
 
         if (movementWaypoints.isEmpty()) {
-            log.debug("No valid waypoints generated for entity {}", entity.getEntityId());
+            log.debug("No valid waypoints generated for entity {}", entityId);
             return null;
         }
 
@@ -117,7 +131,7 @@ public class PreyAnimalBehavior implements EntityBehavior {
 
         // Create pathway
         EntityPathway pathway = EntityPathway.builder()
-                .entityId(entity.getEntityId())
+                .entityId(entityId)
                 .startAt(currentTime)
                 .waypoints(waypointsWithIdle)
                 .isLooping(false)
@@ -125,7 +139,7 @@ public class PreyAnimalBehavior implements EntityBehavior {
                 .build();
 
         log.trace("Generated pathway for entity {}: {} waypoints (includes idle)",
-                entity.getEntityId(), waypointsWithIdle.size());
+                entityId, waypointsWithIdle.size());
 
         return pathway;
     }
@@ -139,6 +153,7 @@ public class PreyAnimalBehavior implements EntityBehavior {
      */
     private List<Waypoint> addIdlePauses(List<Waypoint> movementWaypoints) {
         List<Waypoint> result = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
 
         for (Waypoint waypoint : movementWaypoints) {
             // Add movement waypoint
@@ -0,0 +1,167 @@
+package de.mhus.nimbus.world.life.model;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.ChunkData;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Navigation data of one chunk, one entry per (x, z) column.
+ *
+ * Derived once from ChunkData (height data, falling back to a single scan of the block list)
+ * and queried in O(1) by movement strategies and pathfinding.
+ *
+ * Per column:
+ * - groundY: Y an entity stands on (top of highest solid block + 1)
+ * - waterY: Y a swimming entity moves at (mid-point between ground and water surface), -1 if no water
+ * - flags: WALKABLE (ground without water), SWIMMABLE (water)
+ */
+public class NavigationGrid {
+
+    public static final byte WALKABLE = 1;
+    public static final byte SWIMMABLE = 2;
+
+    /**
+     * Ground level used when a column has no data (same default as TerrainService).
+     */
+    public static final int DEFAULT_GROUND_Y = 64;
+
+    @Getter
+    private final int cx;
+    @Getter
+    private final int cz;
+    @Getter
+    private final int size;
+
+    private final int[] groundY;
+    private final int[] waterY;
+    private final byte[] flags;
+
+    private NavigationGrid(int cx, int cz, int size) {
+        this.cx = cx;
+        this.cz = cz;
+        this.size = size;
+        this.groundY = new int[size * size];
+        this.waterY = new int[size * size];
+        this.flags = new byte[size * size];
+        Arrays.fill(groundY, -1);
+        Arrays.fill(waterY, -1);
+    }
+
+    /**
+     * Grid for a chunk that does not exist: every column is walkable at the default ground level.
+     */
+    public static NavigationGrid empty(int cx, int cz, int size) {
+        NavigationGrid grid = new NavigationGrid(cx, cz, size);
+        grid.fillDefaults();
+        return grid;
+    }
+
+    /**
+     * Derive the grid from chunk data.
+     *
+     * @param chunkData Chunk data
+     * @param size Chunk size of the world
+     * @return Navigation grid
+     */
+    public static NavigationGrid fromChunk(ChunkData chunkData, int size) {
+        NavigationGrid grid = new NavigationGrid(chunkData.getCx(), chunkData.getCz(), size);
+        int originX = chunkData.getCx() * size;
+        int originZ = chunkData.getCz() * size;
+
+        // Height data: key "worldX,worldZ", value [maxHeight, minHeight, groundLevel, waterLevel?]
+        Map<String, int[]> heightData = chunkData.getHeightData();
+        if (heightData != null) {
+            for (Map.Entry<String, int[]> entry : heightData.entrySet()) {
+                int[] column = entry.getValue();
+                if (column == null || column.length < 3 || column[2] < 0) continue;
+                String key = entry.getKey();
+                int comma = key.indexOf(',');
+                if (comma < 0) continue;
+                int localX;
+                int localZ;
+                try {
+                    localX = Integer.parseInt(key, 0, comma, 10) - originX;
+                    localZ = Integer.parseInt(key, comma + 1, key.length(), 10) - originZ;
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (localX < 0 || localX >= size || localZ < 0 || localZ >= size) continue;
+
+                int index = localX + localZ * size;
+                int groundLevel = column[2];
+                grid.groundY[index] = groundLevel + 1;
+                if (column.length > 3) {
+                    grid.waterY[index] = (groundLevel + column[3]) / 2;
+                    grid.flags[index] = SWIMMABLE;
+                } else {
+                    grid.flags[index] = WALKABLE;
+                }
+            }
+        }
+
+        // Columns without height data: highest solid block, one pass over the block list
+        if (chunkData.getBlocks() != null) {
+            int[] top = null;
+            for (Block block : chunkData.getBlocks()) {
+                if (block.getPosition() == null || !isSolid(block.getBlockTypeId())) continue;
+                int localX = (int) block.getPosition().getX() - originX;
+                int localZ = (int) block.getPosition().getZ() - originZ;
+                if (localX < 0 || localX >= size || localZ < 0 || localZ >= size) continue;
+                int index = localX + localZ * size;
+                if (grid.flags[index] != 0) continue; // covered by height data
+                if (top == null) {
+                    top = new int[size * size];
+                    Arrays.fill(top, -1);
+                }
+                top[index] = Math.max(top[index], (int) block.getPosition().getY() + 1);
+            }
+            if (top != null) {
+                for (int i = 0; i < top.length; i++) {
+                    if (top[i] >= 0) {
+                        grid.groundY[i] = top[i];
+                        grid.flags[i] = WALKABLE;
+                    }
+                }
+            }
+        }
+
+        grid.fillDefaults();
+        return grid;
+    }
+
+    private void fillDefaults() {
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i] == 0) {
+                groundY[i] = DEFAULT_GROUND_Y;
+                flags[i] = WALKABLE;
+            }
+        }
+    }
+
+    private static boolean isSolid(String blockTypeId) {
+        // "0" is air block, null is also air
+        return blockTypeId != null && !blockTypeId.equals("0") && !blockTypeId.isBlank();
+    }
+
+    public boolean isWalkable(int localX, int localZ) {
+        return (flags[localX + localZ * size] & WALKABLE) != 0;
+    }
+
+    public boolean isSwimmable(int localX, int localZ) {
+        return (flags[localX + localZ * size] & SWIMMABLE) != 0;
+    }
+
+    public int getGroundY(int localX, int localZ) {
+        return groundY[localX + localZ * size];
+    }
+
+    /**
+     * @return Swim Y of the column, -1 if no water
+     */
+    public int getWaterY(int localX, int localZ) {
+        return waterY[localX + localZ * size];
+    }
+}
@@ -1,16 +1,14 @@
 package de.mhus.nimbus.world.life.movement;
 
-import de.mhus.nimbus.generated.types.ENTITY_POSES;
-import de.mhus.nimbus.generated.types.Rotation;
 import de.mhus.nimbus.generated.types.Vector3;
 import de.mhus.nimbus.generated.types.Waypoint;
 import de.mhus.nimbus.shared.types.WorldId;
-import de.mhus.nimbus.world.life.service.TerrainService;
+import de.mhus.nimbus.world.life.service.NavigationGridService;
+import de.mhus.nimbus.world.life.service.NavigationGridService.NavigationView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -20,16 +18,16 @@ import java.util.Random;
  *
  * Features:
  * - Finds valid start position on solid ground
- * - Generates waypoints along random direction
- * - Ensures each waypoint is on solid ground
- * - Avoids steep terrain (>3 blocks height difference)
+ * - Plans a local A* path on the cached navigation grids towards a goal in the given direction
+ * - Ensures each waypoint is on walkable ground (no water)
+ * - Avoids steep terrain (>3 blocks height difference between neighbour columns)
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class BlockBasedMovement {
 
-    private final TerrainService terrainService;
+    private final NavigationGridService navigationGridService;
     private final Random random = new Random();
 
     /**
@@ -44,8 +42,14 @@ public class BlockBasedMovement {
         int floorX = (int) Math.floor(x);
         int floorZ = (int) Math.floor(z);
 
-        // Search from reasonable height (128) downward
-        return terrainService.getGroundHeight(worldId, floorX, floorZ, 128);
+        return navigationGridService.openView(worldId).getGroundY(floorX, floorZ);
+    }
+
+    /**
+     * Open a navigation view for one simulation pass, see {@link NavigationGridService#openView(WorldId)}.
+     */
+    public NavigationView openView(WorldId worldId) {
+        return navigationGridService.openView(worldId);
     }
 
     /**
@@ -92,124 +96,30 @@ public class BlockBasedMovement {
             int waypointCount,
             double speed,
             long currentTime) {
-
-        List<Waypoint> waypoints = new ArrayList<>();
-
-        // Current position tracking
-        double currentX = startPosition.getX();
-        double currentY = startPosition.getY();
-        double currentZ = startPosition.getZ();
-        long waypointTime = currentTime;
-
-        // Normalize direction vector (ignore Y component)
-        double dirLength = Math.sqrt(direction.getX() * direction.getX() + direction.getZ() * direction.getZ());
-        if (dirLength == 0) {
-            log.warn("Direction vector has zero length, cannot generate pathway");
-            return waypoints;
-        }
-
-        double dirX = direction.getX() / dirLength;
-        double dirZ = direction.getZ() / dirLength;
-
-        for (int i = 0; i < waypointCount; i++) {
-            // Random step distance (2.0 to 3.0 blocks)
-            double stepDistance = 2.0 + random.nextDouble();
-
-            // Calculate next position (2D movement, Y will be adjusted for terrain)
-            double nextX = currentX + dirX * stepDistance;
-            double nextZ = currentZ + dirZ * stepDistance;
-
-            // Find ground height at next position
-            // canWalkOnWater = false for most entities (except fish, boats, etc.)
-            int groundY = terrainService.getGroundHeight(
-                    worldId,
-                    (int) Math.floor(nextX),
-                    (int) Math.floor(nextZ),
-                    (int) currentY + 5,  // Search start slightly above current position
-                    false  // Cannot walk on water
-            );
-
-            // Check if position is invalid (water or not found)
-            if (groundY < 0) {
-                // Position has water and entity cannot walk on it, skip
-                log.trace("Skipping waypoint due to water: pos=({}, {})", (int)nextX, (int)nextZ);
-                continue;
-            }
-
-            // Check if terrain is traversable (not too steep)
-            int heightDiff = Math.abs(groundY - (int) currentY);
-            if (heightDiff > 3) {
-                // Too steep, skip this waypoint
-                log.trace("Skipping waypoint due to steep terrain: heightDiff={}, pos=({}, {})",
-                        heightDiff, (int)nextX, (int)nextZ);
-                continue;
-            }
-
-            // Create next position on ground
-            Vector3 nextPosition = new Vector3();
-            nextPosition.setX(nextX);
-            nextPosition.setY((double) groundY);
-            nextPosition.setZ(nextZ);
-
-            // Calculate movement duration based on 3D distance
-            double distance = distance(currentX, currentY, currentZ, nextX, groundY, nextZ);
-            long movementDuration = (long) ((distance / speed) * 1000);
-            waypointTime += movementDuration;
-
-            // Create waypoint
-            Waypoint waypoint = Waypoint.builder()
-                    .timestamp(waypointTime)
-                    .target(nextPosition)
-                    .rotation(calculateRotation(currentX, currentZ, nextX, nextZ))
-                    .pose(ENTITY_POSES.WALK)
-                    .build();
-
-            waypoints.add(waypoint);
-
-            // Update current position for next iteration
-            currentX = nextX;
-            currentY = groundY;
-            currentZ = nextZ;
-        }
-
-        log.trace("Generated pathway with {} waypoints (requested {})", waypoints.size(), waypointCount);
-
-        return waypoints;
-    }
-
-    /**
-     * Calculate 3D distance between two points.
-     */
-    private double distance(double x1, double y1, double z1, double x2, double y2, double z2) {
-        double dx = x2 - x1;
-        double dy = y2 - y1;
-        double dz = z2 - z1;
-        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return generatePathway(navigationGridService.openView(worldId), startPosition, direction,
+                waypointCount, speed, currentTime);
     }
 
     /**
-     * Calculate rotation (yaw) to face from one position towards another.
-     * Pitch is set to 0 (horizontal).
+     * Generate pathway with terrain-aware waypoints on an open navigation view.
      *
-     * @param fromX Starting X
-     * @param fromZ Starting Z
-     * @param toX Target X
-     * @param toZ Target Z
-     * @return Rotation with yaw pointing towards target
+     * @param view Navigation view of the world
+     * @param startPosition Starting position (should be on ground)
+     * @param direction Movement direction (not necessarily normalized)
+     * @param waypointCount Number of waypoints to generate
+     * @param speed Entity speed (blocks/second)
+     * @param currentTime Current timestamp (milliseconds)
+     * @return List of waypoints
      */
-    private Rotation calculateRotation(double fromX, double fromZ, double toX, double toZ) {
-        double dx = toX - fromX;
-        double dz = toZ - fromZ;
-
-        // Calculate yaw (rotation around Y axis)
-        // atan2(dx, dz) gives angle from north (0 degrees = facing north +Z)
-        double yawRad = Math.atan2(dx, dz);
-        double yawDeg = Math.toDegrees(yawRad);
-
-        Rotation rotation = new Rotation();
-        rotation.setY(yawDeg);
-        rotation.setP(0.0);  // Horizontal pitch
-        return rotation;
+    public List<Waypoint> generatePathway(
+            NavigationView view,
+            Vector3 startPosition,
+            Vector3 direction,
+            int waypointCount,
+            double speed,
+            long currentTime) {
+        return LocalPathfinder.generateWaypoints(view, startPosition, direction, waypointCount, speed, currentTime,
+                LocalPathfinder.Mode.WALK, 2.5);
     }
 
     /**
@@ -0,0 +1,288 @@
+package de.mhus.nimbus.world.life.movement;
+
+import de.mhus.nimbus.generated.types.ENTITY_POSES;
+import de.mhus.nimbus.generated.types.Rotation;
+import de.mhus.nimbus.generated.types.Vector3;
+import de.mhus.nimbus.generated.types.Waypoint;
+import de.mhus.nimbus.world.life.service.NavigationGridService.NavigationView;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Local A* pathfinding on navigation grids.
+ *
+ * Searches an 8-connected square window of (2 * radius + 1)^2 columns around the start.
+ * If the goal is not reachable, the path to the reachable column closest to the goal is returned.
+ * All state lives in primitive arrays allocated per call (about 1k columns for the default radius).
+ */
+@Slf4j
+public final class LocalPathfinder {
+
+    public enum Mode {
+        /** Walkable columns without water, max step height per column. */
+        WALK,
+        /** Swimmable columns only. */
+        SWIM
+    }
+
+    public static final int DEFAULT_RADIUS = 16;
+    public static final int MAX_STEP_HEIGHT = 3;
+
+    private static final int[] DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] DZ = {0, 0, 1, -1, 1, -1, 1, -1};
+    private static final float DIAGONAL_COST = (float) Math.sqrt(2.0);
+
+    private static final byte UNKNOWN = 0;
+    private static final byte PASSABLE = 1;
+    private static final byte BLOCKED = 2;
+
+    private LocalPathfinder() {
+    }
+
+    /**
+     * Find a path between two columns.
+     *
+     * @param view Navigation view of the world
+     * @param startX Start column X
+     * @param startZ Start column Z
+     * @param goalX Goal column X (clamped into the search window)
+     * @param goalZ Goal column Z (clamped into the search window)
+     * @param mode Movement mode
+     * @param radius Search window radius in columns
+     * @return Path as flat (x, z) pairs, start excluded; empty if no column can be reached
+     */
+    public static int[] findPath(NavigationView view, int startX, int startZ, int goalX, int goalZ, Mode mode, int radius) {
+        int side = radius * 2 + 1;
+        int cells = side * side;
+        int originX = startX - radius;
+        int originZ = startZ - radius;
+
+        int goalLx = Math.clamp(goalX - originX, 0, side - 1);
+        int goalLz = Math.clamp(goalZ - originZ, 0, side - 1);
+        int goal = goalLx + goalLz * side;
+        int start = radius + radius * side;
+
+        float[] g = new float[cells];
+        Arrays.fill(g, Float.POSITIVE_INFINITY);
+        int[] parent = new int[cells];
+        boolean[] closed = new boolean[cells];
+        byte[] passable = new byte[cells];
+        int[] height = new int[cells];
+
+        // Binary min-heap of node indices ordered by f, duplicates are skipped via closed
+        int[] heap = new int[cells * DX.length];
+        float[] heapF = new float[cells * DX.length];
+        int heapSize = 0;
+
+        g[start] = 0;
+        parent[start] = -1;
+        passable[start] = PASSABLE;
+        height[start] = heightOf(view, startX, startZ, mode);
+        heap[0] = start;
+        heapF[0] = heuristic(radius, radius, goalLx, goalLz);
+        heapSize = 1;
+
+        int best = start;
+        float bestH = heapF[0];
+
+        while (heapSize > 0) {
+            int current = heap[0];
+            heapSize--;
+            if (heapSize > 0) {
+                siftDown(heap, heapF, heapSize, heap[heapSize], heapF[heapSize]);
+            }
+            if (closed[current]) continue;
+            closed[current] = true;
+
+            int lx = current % side;
+            int lz = current / side;
+            float h = heuristic(lx, lz, goalLx, goalLz);
+            if (h < bestH) {
+                bestH = h;
+                best = current;
+            }
+            if (current == goal) break;
+
+            for (int d = 0; d < DX.length; d++) {
+                int nx = lx + DX[d];
+                int nz = lz + DZ[d];
+                if (nx < 0 || nx >= side || nz < 0 || nz >= side) continue;
+                int next = nx + nz * side;
+                if (closed[next]) continue;
+
+                if (passable[next] == UNKNOWN) {
+                    int wx = originX + nx;
+                    int wz = originZ + nz;
+                    boolean ok = mode == Mode.WALK ? view.isWalkable(wx, wz) : view.isSwimmable(wx, wz);
+                    passable[next] = ok ? PASSABLE : BLOCKED;
+                    if (ok) height[next] = heightOf(view, wx, wz, mode);
+                }
+                if (passable[next] == BLOCKED) continue;
+                if (mode == Mode.WALK && Math.abs(height[next] - height[current]) > MAX_STEP_HEIGHT) continue;
+
+                float cost = g[current] + (d < 4 ? 1f : DIAGONAL_COST);
+                if (cost >= g[next]) continue;
+                g[next] = cost;
+                parent[next] = current;
+                heapSize = push(heap, heapF, heapSize, next, cost + heuristic(nx, nz, goalLx, goalLz));
+            }
+        }
+
+        if (best == start) {
+            return new int[0];
+        }
+
+        int length = 0;
+        for (int node = best; node != start; node = parent[node]) length++;
+        int[] path = new int[length * 2];
+        int i = length - 1;
+        for (int node = best; node != start; node = parent[node]) {
+            path[i * 2] = originX + node % side;
+            path[i * 2 + 1] = originZ + node / side;
+            i--;
+        }
+        return path;
+    }
+
+    /**
+     * Plan a path towards a goal in the given direction and sample waypoints along it.
+     * Up to waypointCount columns are sampled evenly along the path, the timing follows the full path.
+     * Waypoint heights are the ground (WALK) or water position (SWIM) of the columns.
+     *
+     * @param view Navigation view of the world
+     * @param startPosition Starting position
+     * @param direction Movement direction (not necessarily normalized)
+     * @param waypointCount Number of waypoints to generate
+     * @param speed Entity speed (blocks/second)
+     * @param currentTime Current timestamp (milliseconds)
+     * @param mode Movement mode
+     * @param blocksPerWaypoint Goal distance per requested waypoint
+     * @return List of waypoints, empty if no column can be reached
+     */
+    public static List<Waypoint> generateWaypoints(NavigationView view, Vector3 startPosition, Vector3 direction,
+                                                   int waypointCount, double speed, long currentTime,
+                                                   Mode mode, double blocksPerWaypoint) {
+        List<Waypoint> waypoints = new ArrayList<>();
+
+        // Normalize direction vector (ignore Y component)
+        double dirLength = Math.sqrt(direction.getX() * direction.getX() + direction.getZ() * direction.getZ());
+        if (dirLength == 0) {
+            log.warn("Direction vector has zero length, cannot generate pathway");
+            return waypoints;
+        }
+
+        double dirX = direction.getX() / dirLength;
+        double dirZ = direction.getZ() / dirLength;
+
+        double goalDistance = waypointCount * blocksPerWaypoint;
+        int startX = (int) Math.floor(startPosition.getX());
+        int startZ = (int) Math.floor(startPosition.getZ());
+        int goalX = (int) Math.floor(startPosition.getX() + dirX * goalDistance);
+        int goalZ = (int) Math.floor(startPosition.getZ() + dirZ * goalDistance);
+
+        int[] path = findPath(view, startX, startZ, goalX, goalZ, mode, DEFAULT_RADIUS);
+        int cells = path.length / 2;
+        if (cells == 0) {
+            log.trace("No reachable {} position from ({}, {})", mode, startX, startZ);
+            return waypoints;
+        }
+
+        int count = Math.min(waypointCount, cells);
+        double currentX = startPosition.getX();
+        double currentY = startPosition.getY();
+        double currentZ = startPosition.getZ();
+        double lastX = currentX;
+        double lastZ = currentZ;
+        long waypointTime = currentTime;
+        int nextSample = 1;
+
+        for (int i = 0; i < cells && nextSample <= count; i++) {
+            double nextX = path[i * 2] + 0.5;
+            double nextZ = path[i * 2 + 1] + 0.5;
+            int nextY = heightOf(view, path[i * 2], path[i * 2 + 1], mode);
+
+            double dx = nextX - currentX;
+            double dy = nextY - currentY;
+            double dz = nextZ - currentZ;
+            waypointTime += (long) ((Math.sqrt(dx * dx + dy * dy + dz * dz) / speed) * 1000);
+            currentX = nextX;
+            currentY = nextY;
+            currentZ = nextZ;
+
+            if (i + 1 < (int) Math.ceil(nextSample * cells / (double) count)) {
+                continue;
+            }
+            nextSample++;
+
+            Vector3 nextPosition = new Vector3();
+            nextPosition.setX(nextX);
+            nextPosition.setY((double) nextY);
+            nextPosition.setZ(nextZ);
+
+            // Yaw from north (0 degrees = facing +Z), horizontal pitch
+            Rotation rotation = new Rotation();
+            rotation.setY(Math.toDegrees(Math.atan2(nextX - lastX, nextZ - lastZ)));
+            rotation.setP(0.0);
+
+            waypoints.add(Waypoint.builder()
+                    .timestamp(waypointTime)
+                    .target(nextPosition)
+                    .rotation(rotation)
+                    .pose(ENTITY_POSES.WALK)
+                    .build());
+
+            lastX = nextX;
+            lastZ = nextZ;
+        }
+
+        log.trace("Generated {} pathway with {} waypoints (requested {}, path {} columns)",
+                mode, waypoints.size(), waypointCount, cells);
+
+        return waypoints;
+    }
+
+    private static int heightOf(NavigationView view, int x, int z, Mode mode) {
+        return mode == Mode.WALK ? view.getGroundY(x, z) : view.getWaterPosition(x, z);
+    }
+
+    /**
+     * Octile distance.
+     */
+    private static float heuristic(int x, int z, int goalX, int goalZ) {
+        int dx = Math.abs(goalX - x);
+        int dz = Math.abs(goalZ - z);
+        return Math.max(dx, dz) + (DIAGONAL_COST - 1f) * Math.min(dx, dz);
+    }
+
+    private static int push(int[] heap, float[] heapF, int size, int node, float f) {
+        int i = size;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heapF[p] <= f) break;
+            heap[i] = heap[p];
+            heapF[i] = heapF[p];
+            i = p;
+        }
+        heap[i] = node;
+        heapF[i] = f;
+        return size + 1;
+    }
+
+    private static void siftDown(int[] heap, float[] heapF, int size, int node, float f) {
+        int i = 0;
+        while (true) {
+            int c = i * 2 + 1;
+            if (c >= size) break;
+            if (c + 1 < size && heapF[c + 1] < heapF[c]) c++;
+            if (heapF[c] >= f) break;
+            heap[i] = heap[c];
+            heapF[i] = heapF[c];
+            i = c;
+        }
+        heap[i] = node;
+        heapF[i] = f;
+    }
+}
@@ -1,16 +1,13 @@
 package de.mhus.nimbus.world.life.movement;
 
-import de.mhus.nimbus.generated.types.ENTITY_POSES;
-import de.mhus.nimbus.generated.types.Rotation;
 import de.mhus.nimbus.generated.types.Vector3;
 import de.mhus.nimbus.generated.types.Waypoint;
 import de.mhus.nimbus.shared.types.WorldId;
-import de.mhus.nimbus.world.life.service.TerrainService;
+import de.mhus.nimbus.world.life.service.NavigationGridService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -20,7 +17,7 @@ import java.util.Random;
  *
  * Features:
  * - Finds valid start position in water
- * - Generates waypoints along random direction
+ * - Plans a local A* path on the cached navigation grids towards a goal in the given direction
  * - Ensures each waypoint is within water
  * - Entities stay between ground and water surface
  */
@@ -29,7 +26,7 @@ import java.util.Random;
 @Slf4j
 public class WaterBasedMovement {
 
-    private final TerrainService terrainService;
+    private final NavigationGridService navigationGridService;
     private final Random random = new Random();
 
     /**
@@ -44,7 +41,7 @@ public class WaterBasedMovement {
         int floorX = (int) Math.floor(x);
         int floorZ = (int) Math.floor(z);
 
-        return terrainService.getWaterPosition(worldId, floorX, floorZ);
+        return navigationGridService.openView(worldId).getWaterPosition(floorX, floorZ);
     }
 
     /**
@@ -92,111 +89,8 @@ public class WaterBasedMovement {
             int waypointCount,
             double speed,
             long currentTime) {
-
-        List<Waypoint> waypoints = new ArrayList<>();
-
-        // Current position tracking
-        double currentX = startPosition.getX();
-        double currentY = startPosition.getY();
-        double currentZ = startPosition.getZ();
-        long waypointTime = currentTime;
-
-        // Normalize direction vector (ignore Y component)
-        double dirLength = Math.sqrt(direction.getX() * direction.getX() + direction.getZ() * direction.getZ());
-        if (dirLength == 0) {
-            log.warn("Direction vector has zero length, cannot generate pathway");
-            return waypoints;
-        }
-
-        double dirX = direction.getX() / dirLength;
-        double dirZ = direction.getZ() / dirLength;
-
-        for (int i = 0; i < waypointCount; i++) {
-            // Random step distance (1.5 to 2.5 blocks - fish swim in smaller steps)
-            double stepDistance = 1.5 + random.nextDouble();
-
-            // Calculate next position (2D movement, Y will be adjusted for water depth)
-            double nextX = currentX + dirX * stepDistance;
-            double nextZ = currentZ + dirZ * stepDistance;
-
-            // Find water position at next location
-            int waterY = terrainService.getWaterPosition(
-                    worldId,
-                    (int) Math.floor(nextX),
-                    (int) Math.floor(nextZ)
-            );
-
-            // Check if position has water
-            if (waterY < 0) {
-                // No water at this position, skip this waypoint
-                log.trace("Skipping waypoint - no water at: pos=({}, {})", (int)nextX, (int)nextZ);
-                continue;
-            }
-
-            // Create next position in water
-            Vector3 nextPosition = new Vector3();
-            nextPosition.setX(nextX);
-            nextPosition.setY((double) waterY);
-            nextPosition.setZ(nextZ);
-
-            // Calculate movement duration based on 3D distance
-            double distance = distance(currentX, currentY, currentZ, nextX, waterY, nextZ);
-            long movementDuration = (long) ((distance / speed) * 1000);
-            waypointTime += movementDuration;
-
-            // Create waypoint (fish use WALK pose, could be SWIM later)
-            Waypoint waypoint = Waypoint.builder()
-                    .timestamp(waypointTime)
-                    .target(nextPosition)
-                    .rotation(calculateRotation(currentX, currentZ, nextX, nextZ))
-                    .pose(ENTITY_POSES.WALK)  // Could add SWIM pose later
-                    .build();
-
-            waypoints.add(waypoint);
-
-            // Update current position for next iteration
-            currentX = nextX;
-            currentY = waterY;
-            currentZ = nextZ;
-        }
-
-        log.trace("Generated water pathway with {} waypoints (requested {})", waypoints.size(), waypointCount);
-
-        return waypoints;
-    }
-
-    /**
-     * Calculate 3D distance between two points.
-     */
-    private double distance(double x1, double y1, double z1, double x2, double y2, double z2) {
-        double dx = x2 - x1;
-        double dy = y2 - y1;
-        double dz = z2 - z1;
-        return Math.sqrt(dx * dx + dy * dy + dz * dz);
-    }
-
-    /**
-     * Calculate rotation (yaw) to face from one position towards another.
-     * Pitch is set to 0 (horizontal).
-     *
-     * @param fromX Starting X
-     * @param fromZ Starting Z
-     * @param toX Target X
-     * @param toZ Target Z
-     * @return Rotation with yaw pointing towards target
-     */
-    private Rotation calculateRotation(double fromX, double fromZ, double toX, double toZ) {
-        double dx = toX - fromX;
-        double dz = toZ - fromZ;
-
-        // Calculate yaw (rotation around Y axis)
-        double yawRad = Math.atan2(dx, dz);
-        double yawDeg = Math.toDegrees(yawRad);
-
-        Rotation rotation = new Rotation();
-        rotation.setY(yawDeg);
-        rotation.setP(0.0);  // Horizontal pitch
-        return rotation;
+        return LocalPathfinder.generateWaypoints(navigationGridService.openView(worldId), startPosition, direction,
+                waypointCount, speed, currentTime, LocalPathfinder.Mode.SWIM, 2.0);
     }
 
     /**
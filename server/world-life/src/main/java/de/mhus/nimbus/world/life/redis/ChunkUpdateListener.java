@@ -0,0 +1,62 @@
+package de.mhus.nimbus.world.life.redis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.life.service.NavigationGridService;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Listens for chunk update events and invalidates the cached navigation grids.
+ * Channel: world:{worldId}:c.update (all worlds, pattern subscription)
+ *
+ * Message format (published by ChunkUpdateService):
+ * {
+ *   "chunkKey": "cx:cz",
+ *   "cx": 6, "cz": -13, "blockCount": 123
+ * }
+ * or {"chunkKey": "cx:cz", "deleted": true}
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChunkUpdateListener {
+
+    private final WorldRedisMessagingService redisMessaging;
+    private final NavigationGridService navigationGridService;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void initialize() {
+        redisMessaging.subscribeToAllWorlds("c.update", this::handleChunkUpdate);
+        log.info("Subscribed to chunk updates for navigation grid invalidation");
+    }
+
+    private void handleChunkUpdate(String topic, String message) {
+        try {
+            String topicWorldId = WorldRedisMessagingService.worldIdOf(topic);
+            if (topicWorldId == null) {
+                log.warn("Invalid chunk update topic: {}", topic);
+                return;
+            }
+            WorldId worldId = WorldId.unchecked(topicWorldId);
+
+            JsonNode data = objectMapper.readTree(message);
+            String chunkKey = data.has("chunkKey") ? data.get("chunkKey").asText() : null;
+            if (chunkKey == null) {
+                log.warn("Invalid chunk update message for world {}: {}", worldId, message);
+                return;
+            }
+
+            navigationGridService.invalidate(worldId, chunkKey);
+            log.trace("Invalidated navigation grid: world={} chunk={}", worldId, chunkKey);
+
+        } catch (Exception e) {
+            log.error("Failed to handle chunk update: topic={} message={}", topic, message, e);
+        }
+    }
+}
@@ -2,31 +2,36 @@ package de.mhus.nimbus.world.life.redis;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.mhus.nimbus.generated.types.EntityPathway;
+import de.mhus.nimbus.generated.types.Vector3;
+import de.mhus.nimbus.generated.types.Waypoint;
 import de.mhus.nimbus.shared.types.WorldId;
-import de.mhus.nimbus.world.life.model.ChunkCoordinate;
-import de.mhus.nimbus.world.shared.redis.PathwayBroadcastMessage;
+import de.mhus.nimbus.world.shared.redis.PathwayRegion;
+import de.mhus.nimbus.world.shared.redis.PathwayRegionCodec;
+import de.mhus.nimbus.world.shared.redis.PathwayRegionMessage;
 import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Publishes entity pathways to world-player pods via Redis.
- * Channel: world:{worldId}:e.p
+ * Channel: world:{worldId}:e.p.r.{rx}.{rz} (one channel per chunk region, see PathwayRegion)
  *
- * Pathways are generated by SimulatorService and distributed to world-player pods.
- * Each world-player pod filters pathways based on session chunk registrations
- * and sends relevant pathways to connected clients.
+ * Pathways are generated by SimulatorService and grouped by the chunk regions
+ * their waypoints touch. world-player pods only subscribe to the regions their
+ * sessions have registered, so a pod never parses pathways of regions it does not host.
  *
- * Message format:
- * {
- *   "pathways": [{EntityPathway}, ...],
- *   "affectedChunks": [{"cx": 6, "cz": -13}, ...]
- * }
+ * A pathway crossing a region border is published to every region it touches.
+ *
+ * Message format: see PathwayRegionMessage (compact, delta-encoded waypoints)
  */
 @Service
 @RequiredArgsConstructor
@@ -41,41 +46,56 @@ public class PathwayPublisher {
      *
      * @param worldId World ID
      * @param pathways List of entity pathways
-     * @param affectedChunks Chunks that contain these pathways
+     * @param chunkSize Chunk size of the world (used to map waypoints to chunks)
+     * @return Number of chunks affected by the pathways
      */
-    public void publishPathways(WorldId worldId, List<EntityPathway> pathways, Set<ChunkCoordinate> affectedChunks) {
+    public int publishPathways(WorldId worldId, List<EntityPathway> pathways, int chunkSize) {
         if (pathways == null || pathways.isEmpty()) {
-            return;
+            return 0;
         }
 
         try {
-            // Convert to PathwayBroadcastMessage format
-            List<PathwayBroadcastMessage.PathwayContainer> containers = pathways.stream()
-                    .map(pathway -> PathwayBroadcastMessage.PathwayContainer.builder()
-                            .pathway(pathway)
-                            .sessionId(null) // NPC pathways have no originating session
-                            .worldId(worldId.getId())
-                            .build())
-                    .collect(Collectors.toList());
-
-            List<PathwayBroadcastMessage.ChunkCoordinate> chunks = affectedChunks.stream()
-                    .map(chunk -> new PathwayBroadcastMessage.ChunkCoordinate(chunk.getCx(), chunk.getCz()))
-                    .collect(Collectors.toList());
-
-            PathwayBroadcastMessage message = PathwayBroadcastMessage.builder()
-                    .containers(containers)
-                    .affectedChunks(chunks)
-                    .build();
-
-            // Serialize and publish
-            String json = objectMapper.writeValueAsString(message);
-            redisMessaging.publish(worldId.getId(), "e.p", json);
-
-            log.debug("World {}: Published {} pathways to Redis, affecting {} chunks",
-                    worldId, pathways.size(), affectedChunks.size());
+            long baseTime = System.currentTimeMillis();
+            Map<PathwayRegion, List<PathwayRegionMessage.CompactPathway>> pathwaysByRegion = new HashMap<>();
+            Set<Long> affectedChunks = new HashSet<>();
+
+            for (EntityPathway pathway : pathways) {
+                int[] chunks = collectChunks(pathway, chunkSize);
+                if (chunks.length == 0) {
+                    continue;
+                }
+
+                // NPC pathways have no originating session
+                PathwayRegionMessage.CompactPathway compact = PathwayRegionCodec.encode(pathway, null, chunks, baseTime);
+
+                Set<PathwayRegion> regions = new HashSet<>();
+                for (int i = 0; i < chunks.length; i += 2) {
+                    affectedChunks.add(((long) chunks[i] << 32) | (chunks[i + 1] & 0xffffffffL));
+                    regions.add(PathwayRegion.ofChunk(chunks[i], chunks[i + 1]));
+                }
+                for (PathwayRegion region : regions) {
+                    pathwaysByRegion.computeIfAbsent(region, k -> new ArrayList<>()).add(compact);
+                }
+            }
+
+            for (Map.Entry<PathwayRegion, List<PathwayRegionMessage.CompactPathway>> entry : pathwaysByRegion.entrySet()) {
+                PathwayRegionMessage message = PathwayRegionMessage.builder()
+                        .baseTime(baseTime)
+                        .pathways(entry.getValue())
+                        .build();
+
+                String json = objectMapper.writeValueAsString(message);
+                redisMessaging.publish(worldId.getId(), entry.getKey().channel(), json);
+            }
+
+            log.debug("World {}: Published {} pathways to {} regions, affecting {} chunks",
+                    worldId, pathways.size(), pathwaysByRegion.size(), affectedChunks.size());
+
+            return affectedChunks.size();
 
         } catch (Exception e) {
             log.error("World {}: Failed to publish pathways to Redis: {} pathways", worldId, pathways.size(), e);
+            return 0;
         }
     }
 
@@ -84,9 +104,39 @@ public class PathwayPublisher {
      *
      * @param worldId World ID
      * @param pathway Entity pathway
-     * @param affectedChunks Chunks affected by this pathway
+     * @param chunkSize Chunk size of the world
+     */
+    public void publishPathway(WorldId worldId, EntityPathway pathway, int chunkSize) {
+        publishPathways(worldId, List.of(pathway), chunkSize);
+    }
+
+    /**
+     * Collect distinct chunks touched by the waypoints of a pathway.
+     *
+     * @return Flat (cx, cz) pairs in waypoint order
      */
-    public void publishPathway(WorldId worldId, EntityPathway pathway, Set<ChunkCoordinate> affectedChunks) {
-        publishPathways(worldId, List.of(pathway), affectedChunks);
+    private int[] collectChunks(EntityPathway pathway, int chunkSize) {
+        if (pathway.getWaypoints() == null) {
+            return new int[0];
+        }
+
+        Set<Long> seen = new LinkedHashSet<>();
+        for (Waypoint waypoint : pathway.getWaypoints()) {
+            Vector3 target = waypoint.getTarget();
+            if (target == null) {
+                continue;
+            }
+            int cx = (int) Math.floor(target.getX() / chunkSize);
+            int cz = (int) Math.floor(target.getZ() / chunkSize);
+            seen.add(((long) cx << 32) | (cz & 0xffffffffL));
+        }
+
+        int[] chunks = new int[seen.size() * 2];
+        int i = 0;
+        for (long key : seen) {
+            chunks[i++] = (int) (key >> 32);
+            chunks[i++] = (int) key;
+        }
+        return chunks;
     }
 }
@@ -0,0 +1,175 @@
+package de.mhus.nimbus.world.life.service;
+
+import de.mhus.nimbus.generated.types.ChunkData;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.shared.utils.TypeUtil;
+import de.mhus.nimbus.shared.utils.VersionedCache;
+import de.mhus.nimbus.world.life.model.NavigationGrid;
+import de.mhus.nimbus.world.shared.world.WChunkService;
+import de.mhus.nimbus.world.shared.world.WWorldService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache of per-chunk navigation grids.
+ *
+ * Grids are derived lazily from the chunk data on first access and kept in an LRU cache.
+ * Chunk updates (Redis channel c.update) invalidate the affected grid, see ChunkUpdateListener
+ * and VersionedCache.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NavigationGridService {
+
+    private final WChunkService chunkService;
+    private final WWorldService worldService;
+
+    @Value("${world.life.navigation-grid-cache-size:4096}")
+    private int maxGrids = 4096;
+
+    /**
+     * "worldId/cx:cz" → grid, no time to live.
+     */
+    private final VersionedCache<String, NavigationGrid> grids = new VersionedCache<>(() -> maxGrids, () -> 0);
+
+    /**
+     * Get the navigation grid of a chunk, deriving it if not cached.
+     *
+     * @param worldId World identifier
+     * @param cx Chunk X coordinate
+     * @param cz Chunk Z coordinate
+     * @param chunkSize Chunk size of the world
+     * @return Navigation grid (never null)
+     */
+    public NavigationGrid getGrid(WorldId worldId, int cx, int cz, int chunkSize) {
+        String chunkKey = TypeUtil.toStringChunkCoord(cx, cz);
+        String cacheKey = worldId.getId() + "/" + chunkKey;
+
+        NavigationGrid grid = grids.getIfPresent(cacheKey);
+        if (grid != null) return grid;
+        long loadVersion = grids.getVersion();
+
+        try {
+            Optional<ChunkData> chunkData = chunkService.loadChunkData(worldId, chunkKey, false);
+            grid = chunkData.isPresent()
+                    ? NavigationGrid.fromChunk(chunkData.get(), chunkSize)
+                    : NavigationGrid.empty(cx, cz, chunkSize);
+        } catch (Exception e) {
+            log.error("Failed to build navigation grid: world={} chunk={}", worldId, chunkKey, e);
+            // not cached, retry on next access
+            return NavigationGrid.empty(cx, cz, chunkSize);
+        }
+
+        grids.put(cacheKey, grid, loadVersion);
+        log.trace("Built navigation grid: world={} chunk={}", worldId, chunkKey);
+        return grid;
+    }
+
+    /**
+     * Open a view on the navigation grids of a world.
+     * The view keeps the grids it used, so it should live for one simulation pass only.
+     *
+     * @param worldId World identifier
+     * @return Navigation view (not thread safe)
+     */
+    public NavigationView openView(WorldId worldId) {
+        var world = worldService.getByWorldId(worldId).orElseThrow();
+        return openView(worldId, world.getPublicData().getChunkSize());
+    }
+
+    /**
+     * Open a view on the navigation grids of a world with known chunk size.
+     *
+     * @param worldId World identifier
+     * @param chunkSize Chunk size of the world
+     * @return Navigation view (not thread safe)
+     */
+    public NavigationView openView(WorldId worldId, int chunkSize) {
+        return new NavigationView(worldId, chunkSize);
+    }
+
+    /**
+     * Invalidate the grid of a chunk.
+     *
+     * @param worldId World identifier
+     * @param chunkKey Chunk key "cx:cz"
+     */
+    public void invalidate(WorldId worldId, String chunkKey) {
+        grids.invalidate(worldId.getId() + "/" + chunkKey);
+    }
+
+    /**
+     * Invalidate all grids of a world.
+     *
+     * @param worldId World identifier
+     */
+    public void invalidateWorld(WorldId worldId) {
+        String prefix = worldId.getId() + "/";
+        grids.invalidateIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * World-coordinate access to navigation grids, also usable as TerrainAccess.
+     */
+    public class NavigationView implements TerrainAccess {
+
+        private final WorldId worldId;
+        private final int chunkSize;
+        private final Map<Long, NavigationGrid> used = new HashMap<>();
+        private NavigationGrid last;
+
+        private NavigationView(WorldId worldId, int chunkSize) {
+            this.worldId = worldId;
+            this.chunkSize = chunkSize;
+        }
+
+        public NavigationGrid gridAt(int x, int z) {
+            int cx = Math.floorDiv(x, chunkSize);
+            int cz = Math.floorDiv(z, chunkSize);
+            if (last != null && last.getCx() == cx && last.getCz() == cz) return last;
+            long key = ((long) cx << 32) | (cz & 0xffffffffL);
+            NavigationGrid grid = used.get(key);
+            if (grid == null) {
+                grid = getGrid(worldId, cx, cz, chunkSize);
+                used.put(key, grid);
+            }
+            last = grid;
+            return grid;
+        }
+
+        public boolean isWalkable(int x, int z) {
+            return gridAt(x, z).isWalkable(Math.floorMod(x, chunkSize), Math.floorMod(z, chunkSize));
+        }
+
+        public boolean isSwimmable(int x, int z) {
+            return gridAt(x, z).isSwimmable(Math.floorMod(x, chunkSize), Math.floorMod(z, chunkSize));
+        }
+
+        public int getGroundY(int x, int z) {
+            return gridAt(x, z).getGroundY(Math.floorMod(x, chunkSize), Math.floorMod(z, chunkSize));
+        }
+
+        @Override
+        public int getGroundHeight(int x, int z, int startY, boolean canWalkOnWater) {
+            NavigationGrid grid = gridAt(x, z);
+            int localX = Math.floorMod(x, chunkSize);
+            int localZ = Math.floorMod(z, chunkSize);
+            if (!canWalkOnWater && grid.isSwimmable(localX, localZ)) {
+                return -1; // Indicate invalid position (has water)
+            }
+            return grid.getGroundY(localX, localZ);
+        }
+
+        @Override
+        public int getWaterPosition(int x, int z) {
+            return gridAt(x, z).getWaterY(Math.floorMod(x, chunkSize), Math.floorMod(z, chunkSize));
+        }
+    }
+}
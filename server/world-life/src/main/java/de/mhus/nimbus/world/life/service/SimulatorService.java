@@ -1,11 +1,12 @@
 package de.mhus.nimbus.world.life.service;
 
 import de.mhus.nimbus.generated.types.EntityPathway;
-import de.mhus.nimbus.generated.types.Vector3;
 import de.mhus.nimbus.generated.types.Waypoint;
 import de.mhus.nimbus.shared.types.WorldId;
 import de.mhus.nimbus.shared.utils.TypeUtil;
+import de.mhus.nimbus.world.life.behavior.BatchEntityBehavior;
 import de.mhus.nimbus.world.life.behavior.BehaviorRegistry;
+import de.mhus.nimbus.world.life.behavior.EntityBatch;
 import de.mhus.nimbus.world.life.behavior.EntityBehavior;
 import de.mhus.nimbus.world.life.model.ChunkCoordinate;
 import de.mhus.nimbus.world.life.model.SimulationState;
@@ -44,6 +45,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Publish pathways to world-player pods
  *
  * Only simulates entities in active chunks (performance optimization).
+ * Entities with a BatchEntityBehavior are simulated per behavior type and chunk in one call.
  */
 @Service
 @RequiredArgsConstructor
@@ -57,6 +59,7 @@ public class SimulatorService {
     private final EntityOwnershipService ownershipService;
     private final WorldDiscoveryService worldDiscoveryService;
     private final WWorldService worldService;
+    private final TerrainService terrainService;
 
     /**
      * Simulation states for all entities, grouped by world.
@@ -198,6 +201,9 @@ public class SimulatorService {
         List<EntityPathway> newPathways = new ArrayList<>();
         WWorld world = worldService.getByWorldId(worldId).get();
 
+        // Entities of batch behaviors: behaviorType → (chunk → states)
+        Map<String, Map<String, List<SimulationState>>> batches = new HashMap<>();
+
         for (Map.Entry<String, SimulationState> entry : simulationStates.entrySet()) {
             String entityId = entry.getKey();
             SimulationState state = entry.getValue();
@@ -226,8 +232,16 @@ public class SimulatorService {
                     log.debug("World {}: Claimed entity {} in chunk {}", worldId, entityId, entityChunk);
                 }
 
-                // 3. Simulate entity
-                Optional<EntityPathway> pathway = simulateEntity(entity, state, currentTime, worldId);
+                // 3. Simulate entity (batch behaviors are collected and simulated per chunk below)
+                String behaviorType = getBehaviorType(entity);
+                if (behaviorRegistry.getBatchBehavior(behaviorType) != null) {
+                    batches.computeIfAbsent(behaviorType, k -> new HashMap<>())
+                            .computeIfAbsent(entityChunk, k -> new ArrayList<>())
+                            .add(state);
+                    continue;
+                }
+
+                Optional<EntityPathway> pathway = simulateEntity(entity, state, currentTime, worldId, world);
                 pathway.ifPresent(newPathways::add);
 
             } catch (Exception e) {
@@ -235,13 +249,18 @@ public class SimulatorService {
             }
         }
 
-        // 4. Publish pathways to Redis
+        // 4. Simulate batched entities
+        if (!batches.isEmpty()) {
+            simulateBatches(world, worldId, batches, currentTime, newPathways);
+        }
+
+        // 5. Publish pathways to Redis
         if (!newPathways.isEmpty()) {
-            Set<ChunkCoordinate> affectedChunks = calculateAffectedChunks(world, newPathways);
-            pathwayPublisher.publishPathways(worldId, newPathways, affectedChunks);
+            int affectedChunks = pathwayPublisher.publishPathways(
+                    worldId, newPathways, world.getPublicData().getChunkSize());
 
             log.debug("World {}: Generated {} pathways, affecting {} chunks",
-                    worldId, newPathways.size(), affectedChunks.size());
+                    worldId, newPathways.size(), affectedChunks);
         }
     }
 
@@ -252,9 +271,11 @@ public class SimulatorService {
      * @param state Simulation state
      * @param currentTime Current time
      * @param worldId World ID
+     * @param world World
      * @return Optional pathway if generated
      */
-    private Optional<EntityPathway> simulateEntity(WEntity entity, SimulationState state, long currentTime, WorldId worldId) {
+    private Optional<EntityPathway> simulateEntity(WEntity entity, SimulationState state, long currentTime,
+                                                   WorldId worldId, WWorld world) {
         // Get behavior for entity
         String behaviorType = getBehaviorType(entity);
         EntityBehavior behavior = behaviorRegistry.getBehavior(behaviorType);
@@ -263,35 +284,84 @@ public class SimulatorService {
             log.warn("World {}: Behavior not found: {}, entity: {}", worldId, behaviorType, entity.getEntityId());
             return Optional.empty();
         }
-        var world = worldService.getByWorldId(worldId).orElseThrow();
 
         // Generate pathway
         EntityPathway pathway = behavior.update(entity, state, currentTime, worldId);
 
         if (pathway != null) {
-            // Update in-memory position to last waypoint target
-            List<Waypoint> waypoints = pathway.getWaypoints();
-            if (waypoints != null && !waypoints.isEmpty()) {
-                Waypoint lastWaypoint = waypoints.get(waypoints.size() - 1);
-                entity.setPosition(lastWaypoint.getTarget());
-
-                // Update chunk if entity moved to different chunk
-                updateEntityChunk(world, entity);
+            applyPathway(world, state, pathway, currentTime);
+            return Optional.of(pathway);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Simulate entities of batch behaviors, one batch per behavior type and chunk.
+     * All batches share one navigation view, so grids are resolved once per world and tick.
+     *
+     * @param world World
+     * @param worldId World ID
+     * @param batches behaviorType → (chunk → states)
+     * @param currentTime Current time
+     * @param newPathways Collected pathways
+     */
+    private void simulateBatches(WWorld world, WorldId worldId, Map<String, Map<String, List<SimulationState>>> batches,
+                                 long currentTime, List<EntityPathway> newPathways) {
+        NavigationGridService.NavigationView view = terrainService.openTerrainAccess(worldId);
+
+        for (Map.Entry<String, Map<String, List<SimulationState>>> typeEntry : batches.entrySet()) {
+            BatchEntityBehavior behavior = behaviorRegistry.getBatchBehavior(typeEntry.getKey());
+
+            for (Map.Entry<String, List<SimulationState>> chunkEntry : typeEntry.getValue().entrySet()) {
+                EntityBatch batch = new EntityBatch(worldId, typeEntry.getKey(), chunkEntry.getValue());
+                try {
+                    behavior.update(batch, view, currentTime);
+                } catch (Exception e) {
+                    log.error("World {}: Error simulating batch {} in chunk {} ({} entities): {}",
+                            worldId, typeEntry.getKey(), chunkEntry.getKey(), batch.getSize(), e.getMessage(), e);
+                    continue;
+                }
+
+                EntityPathway[] emitted = batch.getEmitted();
+                SimulationState[] states = batch.getStates();
+                for (int i = 0; i < batch.getSize(); i++) {
+                    if (emitted[i] != null) {
+                        applyPathway(world, states[i], emitted[i], currentTime);
+                        newPathways.add(emitted[i]);
+                    }
+                }
+
+                log.trace("World {}: Batch {} in chunk {}: {} entities, {} pathways",
+                        worldId, typeEntry.getKey(), chunkEntry.getKey(), batch.getSize(), batch.getEmittedCount());
             }
+        }
+    }
 
-            // Update simulation state
-            state.setLastPathwayTime(currentTime);
-            state.setCurrentPathway(pathway);
-            state.updatePathwayEndTime();
+    /**
+     * Apply a generated pathway to the entity and its simulation state.
+     */
+    private void applyPathway(WWorld world, SimulationState state, EntityPathway pathway, long currentTime) {
+        WEntity entity = state.getEntity();
 
-            log.trace("Generated pathway for entity {}: {} waypoints",
-                    entity.getEntityId(),
-                    pathway.getWaypoints() != null ? pathway.getWaypoints().size() : 0);
+        // Update in-memory position to last waypoint target
+        List<Waypoint> waypoints = pathway.getWaypoints();
+        if (waypoints != null && !waypoints.isEmpty()) {
+            Waypoint lastWaypoint = waypoints.get(waypoints.size() - 1);
+            entity.setPosition(lastWaypoint.getTarget());
 
-            return Optional.of(pathway);
+            // Update chunk if entity moved to different chunk
+            updateEntityChunk(world, entity);
         }
 
-        return Optional.empty();
+        // Update simulation state
+        state.setLastPathwayTime(currentTime);
+        state.setCurrentPathway(pathway);
+        state.updatePathwayEndTime();
+
+        log.trace("Generated pathway for entity {}: {} waypoints",
+                entity.getEntityId(),
+                pathway.getWaypoints() != null ? pathway.getWaypoints().size() : 0);
     }
 
     /**
@@ -306,37 +376,6 @@ public class SimulatorService {
         return (behaviorModel != null && !behaviorModel.isBlank()) ? behaviorModel : "PreyAnimalBehavior";
     }
 
-    /**
-     * Calculate which chunks are affected by pathways.
-     * Used to filter which sessions receive pathway updates.
-     *
-     * @param pathways List of pathways
-     * @return Set of chunk coordinates
-     */
-    private Set<ChunkCoordinate> calculateAffectedChunks(WWorld world, List<EntityPathway> pathways) {
-        var chunkSize = world.getPublicData().getChunkSize();
-        Set<ChunkCoordinate> chunks = new HashSet<>();
-
-        for (EntityPathway pathway : pathways) {
-            if (pathway.getWaypoints() == null) {
-                continue;
-            }
-
-            for (Waypoint waypoint : pathway.getWaypoints()) {
-                Vector3 target = waypoint.getTarget();
-                if (target == null) {
-                    continue;
-                }
-
-                int cx = (int) Math.floor(target.getX() / chunkSize);
-                int cz = (int) Math.floor(target.getZ() / chunkSize);
-                chunks.add(new ChunkCoordinate(cx, cz));
-            }
-        }
-
-        return chunks;
-    }
-
     /**
      * Try to claim an orphaned entity if it's in an active chunk.
      * Called by OrphanDetectionTask.
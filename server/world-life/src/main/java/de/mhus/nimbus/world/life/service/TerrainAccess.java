@@ -0,0 +1,28 @@
+package de.mhus.nimbus.world.life.service;
+
+/**
+ * Terrain lookups bound to one world, created by {@link TerrainService#openTerrainAccess}.
+ * Implementations may cache loaded chunks and are not thread safe.
+ */
+public interface TerrainAccess {
+
+    /**
+     * Get ground height at world position (x, z).
+     *
+     * @param x X coordinate (world space)
+     * @param z Z coordinate (world space)
+     * @param startY Starting Y coordinate for downward search
+     * @param canWalkOnWater If false, positions with water return -1
+     * @return Y coordinate of ground surface, -1 for water, or 64 if not found
+     */
+    int getGroundHeight(int x, int z, int startY, boolean canWalkOnWater);
+
+    /**
+     * Get a Y position inside water at world position (x, z).
+     *
+     * @param x X coordinate (world space)
+     * @param z Z coordinate (world space)
+     * @return Y coordinate within water bounds, or -1 if no water at this position
+     */
+    int getWaterPosition(int x, int z);
+}
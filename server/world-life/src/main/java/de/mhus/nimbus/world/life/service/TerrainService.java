@@ -24,6 +24,7 @@ public class TerrainService {
 
     private final WChunkService chunkService;
     private final WWorldService worldService;
+    private final NavigationGridService navigationGridService;
 
     /**
      * Get ground height at world position (x, z).
@@ -66,56 +67,73 @@ public class TerrainService {
                 return 64; // Default ground level
             }
 
-            var chunkSize = world.getPublicData().getChunkSize();
-            ChunkData chunkData = chunkDataOpt.get();
-
-            // Try to use HeightData first (if available) for better performance
-            if (chunkData.getHeightData() != null) {
-                int localX = ((x % chunkSize) + chunkSize) % chunkSize;
-                int localZ = ((z % chunkSize) + chunkSize) % chunkSize;
-
-                var heightDataDto = chunkService.getHeightDataForColumn(chunkData, localX, localZ);
-                if (heightDataDto != null) {
-                    // Check if there's water at this position
-                    if (heightDataDto.waterLevel() != null && !canWalkOnWater) {
-                        // Position has water and entity cannot walk on water
-                        log.trace("Skipping position with water: ({}, {}), waterLevel={}", x, z, heightDataDto.waterLevel());
-                        return -1; // Indicate invalid position (has water)
-                    }
-
-                    // Return ground level from height data (already calculated)
-                    int groundLevel = heightDataDto.groundLevel();
-                    if (groundLevel >= 0) {
-                        log.trace("Ground height from heightData at ({}, {}): y={}", x, z, groundLevel + 1);
-                        return groundLevel + 1; // +1 to stand on top of block
-                    }
-                }
-            }
+            return getGroundHeight(chunkDataOpt.get(), world.getPublicData().getChunkSize(), x, z, startY, canWalkOnWater);
 
-            // Search downward from startY to find highest solid block
-            for (int y = startY; y >= 0; y--) {
-                Optional<Block> blockOpt = getBlockAt(chunkData, x, y, z);
+        } catch (Exception e) {
+            log.error("Error getting ground height at ({}, {})", x, z, e);
+            return 64; // Fallback to default
+        }
+    }
+
+    /**
+     * Open a terrain access for one simulation pass.
+     * Lookups are served from the cached per-chunk navigation grids in O(1),
+     * see NavigationGridService.
+     * The returned access is not thread safe.
+     *
+     * @param worldId World identifier
+     * @return Terrain access bound to the world, a navigation view for batch behaviors
+     */
+    public NavigationGridService.NavigationView openTerrainAccess(WorldId worldId) {
+        return navigationGridService.openView(worldId);
+    }
 
-                if (blockOpt.isPresent()) {
-                    Block block = blockOpt.get();
-                    String blockTypeId = block.getBlockTypeId();
+    /**
+     * Get ground height at world position (x, z) inside an already loaded chunk.
+     */
+    private int getGroundHeight(ChunkData chunkData, int chunkSize, int x, int z, int startY, boolean canWalkOnWater) {
+        // Try to use HeightData first (if available) for better performance
+        if (chunkData.getHeightData() != null) {
+            int localX = ((x % chunkSize) + chunkSize) % chunkSize;
+            int localZ = ((z % chunkSize) + chunkSize) % chunkSize;
+
+            var heightDataDto = chunkService.getHeightDataForColumn(chunkData, localX, localZ);
+            if (heightDataDto != null) {
+                // Check if there's water at this position
+                if (heightDataDto.waterLevel() != null && !canWalkOnWater) {
+                    // Position has water and entity cannot walk on water
+                    log.trace("Skipping position with water: ({}, {}), waterLevel={}", x, z, heightDataDto.waterLevel());
+                    return -1; // Indicate invalid position (has water)
+                }
 
-                    if (isSolidBlock(blockTypeId)) {
-                        // Found solid block, return Y + 1 (stand on top)
-                        log.trace("Ground height found at ({}, {}, {}): y={}", x, y, z, y + 1);
-                        return y + 1;
-                    }
+                // Return ground level from height data (already calculated)
+                int groundLevel = heightDataDto.groundLevel();
+                if (groundLevel >= 0) {
+                    log.trace("Ground height from heightData at ({}, {}): y={}", x, z, groundLevel + 1);
+                    return groundLevel + 1; // +1 to stand on top of block
                 }
             }
+        }
 
-            // No solid block found, use default ground level
-            log.trace("No solid block found at ({}, {}), using default ground level", x, z);
-            return 64;
+        // Search downward from startY to find highest solid block
+        for (int y = startY; y >= 0; y--) {
+            Optional<Block> blockOpt = getBlockAt(chunkData, x, y, z);
 
-        } catch (Exception e) {
-            log.error("Error getting ground height at ({}, {})", x, z, e);
-            return 64; // Fallback to default
+            if (blockOpt.isPresent()) {
+                Block block = blockOpt.get();
+                String blockTypeId = block.getBlockTypeId();
+
+                if (isSolidBlock(blockTypeId)) {
+                    // Found solid block, return Y + 1 (stand on top)
+                    log.trace("Ground height found at ({}, {}, {}): y={}", x, y, z, y + 1);
+                    return y + 1;
+                }
+            }
         }
+
+        // No solid block found, use default ground level
+        log.trace("No solid block found at ({}, {}), using default ground level", x, z);
+        return 64;
     }
 
     /**
@@ -192,35 +210,39 @@ public class TerrainService {
                 return -1;
             }
 
-            var chunkSize = world.getPublicData().getChunkSize();
-            ChunkData chunkData = chunkDataOpt.get();
-
-            // Use HeightData to find water bounds
-            if (chunkData.getHeightData() != null) {
-                int localX = ((x % chunkSize) + chunkSize) % chunkSize;
-                int localZ = ((z % chunkSize) + chunkSize) % chunkSize;
-
-                var heightDataDto = chunkService.getHeightDataForColumn(chunkData, localX, localZ);
-                if (heightDataDto != null && heightDataDto.waterLevel() != null) {
-                    // Water exists at this position
-                    int groundLevel = heightDataDto.groundLevel();
-                    int waterLevel = heightDataDto.waterLevel();
-
-                    // Return mid-point between ground and water (where fish swim)
-                    int waterY = (groundLevel + waterLevel) / 2;
-                    log.trace("Water position at ({}, {}): y={} (ground={}, water={})",
-                            x, z, waterY, groundLevel, waterLevel);
-                    return waterY;
-                }
-            }
-
-            // No water at this position
-            log.trace("No water at position ({}, {})", x, z);
-            return -1;
+            return getWaterPosition(chunkDataOpt.get(), world.getPublicData().getChunkSize(), x, z);
 
         } catch (Exception e) {
             log.error("Error getting water position at ({}, {})", x, z, e);
             return -1;
         }
     }
+
+    /**
+     * Get water position at world position (x, z) inside an already loaded chunk.
+     */
+    private int getWaterPosition(ChunkData chunkData, int chunkSize, int x, int z) {
+        // Use HeightData to find water bounds
+        if (chunkData.getHeightData() != null) {
+            int localX = ((x % chunkSize) + chunkSize) % chunkSize;
+            int localZ = ((z % chunkSize) + chunkSize) % chunkSize;
+
+            var heightDataDto = chunkService.getHeightDataForColumn(chunkData, localX, localZ);
+            if (heightDataDto != null && heightDataDto.waterLevel() != null) {
+                // Water exists at this position
+                int groundLevel = heightDataDto.groundLevel();
+                int waterLevel = heightDataDto.waterLevel();
+
+                // Return mid-point between ground and water (where fish swim)
+                int waterY = (groundLevel + waterLevel) / 2;
+                log.trace("Water position at ({}, {}): y={} (ground={}, water={})",
+                        x, z, waterY, groundLevel, waterLevel);
+                return waterY;
+            }
+        }
+
+        // No water at this position
+        log.trace("No water at position ({}, {})", x, z);
+        return -1;
+    }
 }
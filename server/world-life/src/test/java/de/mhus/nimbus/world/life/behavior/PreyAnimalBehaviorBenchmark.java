@@ -0,0 +1,102 @@
+package de.mhus.nimbus.world.life.behavior;
+
+import de.mhus.nimbus.generated.types.EntityPathway;
+import de.mhus.nimbus.generated.types.Vector3;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.life.config.WorldLifeSettings;
+import de.mhus.nimbus.world.life.model.NavigationGrid;
+import de.mhus.nimbus.world.life.model.SimulationState;
+import de.mhus.nimbus.world.life.movement.BlockBasedMovement;
+import de.mhus.nimbus.world.life.service.NavigationGridService;
+import de.mhus.nimbus.world.shared.world.WEntity;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-entity {@link PreyAnimalBehavior} with the batched {@link PreyAnimalBatchBehavior}
+ * for one herd in one chunk. Terrain is flat, so only behavior cost is measured.
+ *
+ * Run: mvn -pl world-life test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=PreyAnimalBehaviorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreyAnimalBehaviorBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int herdSize;
+
+    private final WorldId worldId = WorldId.unchecked("bench");
+    private List<SimulationState> states;
+    private PreyAnimalBehavior entityBehavior;
+    private PreyAnimalBatchBehavior batchBehavior;
+    private NavigationGridService.NavigationView navigationView;
+
+    @Setup
+    public void setup() {
+        WorldLifeSettings settings = Mockito.mock(WorldLifeSettings.class);
+        Mockito.when(settings.getPathwayIntervalMs()).thenReturn(0L);
+
+        // Flat terrain without water, grids are built once and then served from the cache
+        NavigationGridService navigationGridService = new NavigationGridService(null, null) {
+            @Override
+            public NavigationGrid getGrid(WorldId worldId, int cx, int cz, int chunkSize) {
+                return NavigationGrid.empty(cx, cz, chunkSize);
+            }
+
+            @Override
+            public NavigationView openView(WorldId worldId) {
+                return openView(worldId, 16);
+            }
+        };
+        navigationView = navigationGridService.openView(worldId);
+
+        entityBehavior = new PreyAnimalBehavior(new BlockBasedMovement(navigationGridService), settings);
+        batchBehavior = new PreyAnimalBatchBehavior(entityBehavior, settings);
+
+        states = new ArrayList<>(herdSize);
+        for (int i = 0; i < herdSize; i++) {
+            WEntity entity = new WEntity();
+            entity.setEntityId("animal" + i);
+            entity.setPosition(Vector3.builder().x(i % 16).y(64).z((i / 16) % 16).build());
+            entity.setSpeed(1.0);
+            states.add(new SimulationState(entity));
+        }
+    }
+
+    @Benchmark
+    public void perEntity(Blackhole blackhole) {
+        long now = System.currentTimeMillis();
+        for (SimulationState state : states) {
+            EntityPathway pathway = entityBehavior.update(state.getEntity(), state, now, worldId);
+            blackhole.consume(pathway);
+        }
+    }
+
+    @Benchmark
+    public void batched(Blackhole blackhole) {
+        long now = System.currentTimeMillis();
+        EntityBatch batch = new EntityBatch(worldId, "PreyAnimalBehavior", states);
+        batchBehavior.update(batch, navigationView, now);
+        blackhole.consume(batch.getEmitted());
+    }
+
+}
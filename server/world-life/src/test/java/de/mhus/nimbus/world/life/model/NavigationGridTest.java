@@ -0,0 +1,75 @@
+package de.mhus.nimbus.world.life.model;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.ChunkData;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NavigationGridTest {
+
+    private static Block block(int x, int y, int z, String type) {
+        return Block.builder()
+                .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                .blockTypeId(type)
+                .build();
+    }
+
+    @Test
+    void fromChunkUsesHeightDataThenBlocks() {
+        Map<String, int[]> heightData = new HashMap<>();
+        heightData.put("4,0", new int[] {10, 0, 5});
+        heightData.put("5,0", new int[] {10, 0, 5, 8});
+        heightData.put("100,0", new int[] {10, 0, 5});   // outside of the chunk
+        heightData.put("x", new int[] {10, 0, 5});       // invalid key
+        heightData.put("6,0", new int[] {10, 0, -1});    // no ground level
+
+        ChunkData chunk = ChunkData.builder()
+                .cx(1)
+                .cz(0)
+                .heightData(heightData)
+                .blocks(List.of(
+                        block(4, 30, 0, "stone"),   // covered by height data
+                        block(6, 9, 1, "stone"),
+                        block(6, 3, 1, "stone"),
+                        block(7, 20, 1, "0")))      // air
+                .build();
+
+        NavigationGrid grid = NavigationGrid.fromChunk(chunk, 4);
+
+        assertEquals(1, grid.getCx());
+        assertEquals(6, grid.getGroundY(0, 0));
+        assertTrue(grid.isWalkable(0, 0));
+        assertFalse(grid.isSwimmable(0, 0));
+        assertEquals(-1, grid.getWaterY(0, 0));
+
+        assertTrue(grid.isSwimmable(1, 0));
+        assertFalse(grid.isWalkable(1, 0));
+        assertEquals(6, grid.getWaterY(1, 0));
+
+        assertEquals(10, grid.getGroundY(2, 1));
+        assertTrue(grid.isWalkable(2, 1));
+
+        // Columns without data fall back to the default ground level
+        assertEquals(NavigationGrid.DEFAULT_GROUND_Y, grid.getGroundY(2, 0));
+        assertEquals(NavigationGrid.DEFAULT_GROUND_Y, grid.getGroundY(3, 1));
+        assertTrue(grid.isWalkable(3, 3));
+    }
+
+    @Test
+    void emptyChunkIsWalkableAtDefaultGround() {
+        NavigationGrid grid = NavigationGrid.fromChunk(ChunkData.builder().cx(-1).cz(2).build(), 4);
+
+        for (int x = 0; x < 4; x++) {
+            for (int z = 0; z < 4; z++) {
+                assertTrue(grid.isWalkable(x, z));
+                assertEquals(NavigationGrid.DEFAULT_GROUND_Y, grid.getGroundY(x, z));
+            }
+        }
+    }
+}
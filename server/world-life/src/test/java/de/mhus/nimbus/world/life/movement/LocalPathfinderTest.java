@@ -0,0 +1,132 @@
+package de.mhus.nimbus.world.life.movement;
+
+import de.mhus.nimbus.generated.types.ChunkData;
+import de.mhus.nimbus.generated.types.Vector3;
+import de.mhus.nimbus.generated.types.Waypoint;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.life.model.NavigationGrid;
+import de.mhus.nimbus.world.life.service.NavigationGridService;
+import de.mhus.nimbus.world.life.service.NavigationGridService.NavigationView;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalPathfinderTest {
+
+    private static final int SIZE = 16;
+
+    /**
+     * Chunk (0, 0) with ground level 63 (ground Y 64) and the given columns changed.
+     */
+    private static NavigationView view(Map<String, int[]> columns) {
+        Map<String, int[]> heightData = new HashMap<>();
+        for (int x = 0; x < SIZE; x++) {
+            for (int z = 0; z < SIZE; z++) {
+                heightData.put(x + "," + z, new int[] {63, 0, 63});
+            }
+        }
+        heightData.putAll(columns);
+        NavigationGrid grid = NavigationGrid.fromChunk(ChunkData.builder().cx(0).cz(0).heightData(heightData).build(), SIZE);
+
+        NavigationGridService service = new NavigationGridService(null, null) {
+            @Override
+            public NavigationGrid getGrid(WorldId worldId, int cx, int cz, int chunkSize) {
+                return cx == 0 && cz == 0 ? grid : NavigationGrid.empty(cx, cz, chunkSize);
+            }
+        };
+        return service.openView(WorldId.unchecked("test"), SIZE);
+    }
+
+    private static void assertConnected(int startX, int startZ, int[] path) {
+        int x = startX;
+        int z = startZ;
+        for (int i = 0; i < path.length; i += 2) {
+            assertTrue(Math.abs(path[i] - x) <= 1 && Math.abs(path[i + 1] - z) <= 1,
+                    "step " + x + "," + z + " -> " + path[i] + "," + path[i + 1]);
+            x = path[i];
+            z = path[i + 1];
+        }
+    }
+
+    @Test
+    void straightPathOnFlatGround() {
+        int[] path = LocalPathfinder.findPath(view(Map.of()), 8, 8, 12, 8, LocalPathfinder.Mode.WALK, 4);
+
+        assertArrayEquals(new int[] {9, 8, 10, 8, 11, 8, 12, 8}, path);
+    }
+
+    @Test
+    void pathRoutesAroundWater() {
+        // Water wall at x = 10 with a gap at z = 12 (edge of the search window)
+        Map<String, int[]> columns = new HashMap<>();
+        for (int z = 0; z < 12; z++) {
+            columns.put("10," + z, new int[] {63, 0, 60, 63});
+        }
+
+        int[] path = LocalPathfinder.findPath(view(columns), 8, 8, 12, 8, LocalPathfinder.Mode.WALK, 4);
+
+        assertConnected(8, 8, path);
+        assertEquals(12, path[path.length - 2]);
+        assertEquals(8, path[path.length - 1]);
+        for (int i = 0; i < path.length; i += 2) {
+            assertFalse(path[i] == 10 && path[i + 1] < 12, "path crosses water at z=" + path[i + 1]);
+        }
+    }
+
+    @Test
+    void unreachableGoalEndsAtClosestColumn() {
+        // Cliff of 10 blocks at x = 10, higher than the max step height
+        Map<String, int[]> columns = new HashMap<>();
+        for (int z = 0; z < SIZE; z++) {
+            columns.put("10," + z, new int[] {73, 0, 73});
+        }
+
+        int[] path = LocalPathfinder.findPath(view(columns), 8, 8, 12, 8, LocalPathfinder.Mode.WALK, 4);
+
+        assertConnected(8, 8, path);
+        assertEquals(9, path[path.length - 2]);
+        assertEquals(8, path[path.length - 1]);
+    }
+
+    @Test
+    void enclosedStartHasNoPath() {
+        Map<String, int[]> columns = new HashMap<>();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if (dx != 0 || dz != 0) {
+                    columns.put((8 + dx) + "," + (8 + dz), new int[] {63, 0, 60, 63});
+                }
+            }
+        }
+
+        assertEquals(0, LocalPathfinder.findPath(view(columns), 8, 8, 12, 8, LocalPathfinder.Mode.WALK, 4).length);
+    }
+
+    @Test
+    void waypointsAreSampledAlongPath() {
+        Vector3 start = new Vector3();
+        start.setX(8.5);
+        start.setY(64.0);
+        start.setZ(8.5);
+        Vector3 east = new Vector3();
+        east.setX(1.0);
+        east.setY(0.0);
+        east.setZ(0.0);
+
+        List<Waypoint> waypoints = LocalPathfinder.generateWaypoints(view(Map.of()), start, east, 2, 1.0, 0L,
+                LocalPathfinder.Mode.WALK, 2.5);
+
+        // path of 5 columns to x 13, every second column sampled, one block per second
+        assertEquals(2, waypoints.size());
+        assertEquals(11.5, waypoints.get(0).getTarget().getX());
+        assertEquals(64.0, waypoints.get(0).getTarget().getY());
+        assertEquals(3000L, waypoints.get(0).getTimestamp());
+        assertEquals(13.5, waypoints.get(1).getTarget().getX());
+        assertEquals(5000L, waypoints.get(1).getTimestamp());
+        assertEquals(90.0, waypoints.get(1).getRotation().getY(), 1e-9);
+    }
+}
@@ -0,0 +1,49 @@
+package de.mhus.nimbus.world.life.service;
+
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.life.model.NavigationGrid;
+import de.mhus.nimbus.world.shared.world.WChunkService;
+import de.mhus.nimbus.world.shared.world.WWorldService;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NavigationGridServiceTest {
+
+    private final WorldId worldId = WorldId.unchecked("test-region:test-world");
+    private final WChunkService chunkService = mock(WChunkService.class);
+    private final NavigationGridService service = new NavigationGridService(chunkService, mock(WWorldService.class));
+
+    @Test
+    void gridIsCachedUntilInvalidated() {
+        when(chunkService.loadChunkData(worldId, "0:0", false)).thenReturn(Optional.empty());
+
+        NavigationGrid grid = service.getGrid(worldId, 0, 0, 16);
+        assertSame(grid, service.getGrid(worldId, 0, 0, 16));
+        verify(chunkService, times(1)).loadChunkData(worldId, "0:0", false);
+
+        service.invalidate(worldId, "0:0");
+        assertNotSame(grid, service.getGrid(worldId, 0, 0, 16));
+        verify(chunkService, times(2)).loadChunkData(worldId, "0:0", false);
+    }
+
+    @Test
+    void gridBuiltDuringInvalidationIsNotCached() {
+        when(chunkService.loadChunkData(worldId, "0:0", false)).thenAnswer(invocation -> {
+            // Chunk update arrives while the old chunk data is converted
+            service.invalidate(worldId, "0:0");
+            return Optional.empty();
+        });
+
+        service.getGrid(worldId, 0, 0, 16);
+        service.getGrid(worldId, 0, 0, 16);
+
+        verify(chunkService, times(2)).loadChunkData(worldId, "0:0", false);
+    }
+}
@@ -11,12 +11,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
@@ -43,16 +48,24 @@ public class AssetController {
     /**
      * Serve binary asset file (alternative with explicit path).
      * This works better with Spring's path matching.
+     *
+     * The strong ETag is the storage id (new storage id on content change), If-None-Match is answered with 304.
+     * Compressed assets are delivered as stored with Content-Encoding: gzip if the client accepts it.
+     * Uncompressed assets support a single byte range, the storage seeks to the chunk of the range start.
      */
     @GetMapping("/{*assetPath}")
     @Operation(summary = "Get asset binary", description = "Returns asset binary content with proper content type")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Asset binary"),
-            @ApiResponse(responseCode = "404", description = "Asset not found")
+            @ApiResponse(responseCode = "206", description = "Byte range of the asset binary"),
+            @ApiResponse(responseCode = "304", description = "Asset not modified"),
+            @ApiResponse(responseCode = "404", description = "Asset not found"),
+            @ApiResponse(responseCode = "416", description = "Range not satisfiable")
     })
     public ResponseEntity<?> getAssetByPath(
+            HttpServletRequest request,
             @PathVariable String worldId,
-            @PathVariable String assetPath) {
+            @PathVariable String assetPath) throws IOException {
 
         // Remove leading slash if present (Spring path variable includes it)
         if (assetPath != null && assetPath.startsWith("/")) {
@@ -77,8 +90,25 @@ public class AssetController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
+        // Deliver the stored gzip data, no decompression
+        boolean gzip = asset.isCompressed() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("public, max-age=86400"); // 24 hours cache
+        if (asset.isCompressed()) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+        String etag = asset.getStorageId() != null ? "\"" + asset.getStorageId() + (gzip ? "-gz" : "") + "\"" : null;
+        if (etag != null) {
+            headers.setETag(etag);
+            if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                log.trace("Asset not modified: path={}, etag={}", finalAssetPath, etag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+            }
+        }
+
         // Load content as stream - no memory loading!
-        InputStream contentStream = assetService.loadContent(asset);
+        InputStream contentStream = gzip ? assetService.loadStoredContent(asset) : assetService.loadContent(asset);
         if (contentStream == null) {
             log.warn("Asset has no content: {}", finalAssetPath);
             return ResponseEntity.notFound().build();
@@ -88,31 +118,109 @@ public class AssetController {
         String contentType = determineContentType(asset);
 
         // Build response with headers for streaming
-        HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType(contentType));
 
+        // Set filename for download (use asset name from DB)
+        String filename = asset.getName() != null ? asset.getName() : "asset";
+        headers.setContentDispositionFormData("inline", filename);
+
+        if (gzip) {
+            // Stored size is unknown here, the response is chunked
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            log.trace("Streaming compressed asset: path={}, type={}, filename={}", finalAssetPath, contentType, filename);
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(new InputStreamResource(contentStream));
+        }
+
+        // Range requests for uncompressed assets with known size
+        String range = request.getHeader(HttpHeaders.RANGE);
+        boolean rangeSupported = !asset.isCompressed() && asset.getSize() > 0;
+        if (rangeSupported) {
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        }
+        if (rangeSupported && range != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                // An invalid Range header is ignored (RFC 9110), the full asset is delivered
+                log.debug("Invalid range ignored: path={}, range={}", finalAssetPath, range);
+                ranges = List.of();
+            }
+            // Multiple ranges are not supported, the full asset is delivered
+            if (ranges.size() == 1) {
+                long start;
+                long end;
+                try {
+                    start = ranges.get(0).getRangeStart(asset.getSize());
+                    end = ranges.get(0).getRangeEnd(asset.getSize());
+                } catch (IllegalArgumentException e) {
+                    contentStream.close();
+                    log.debug("Range not satisfiable: path={}, range={}, size={}", finalAssetPath, range, asset.getSize());
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + asset.getSize())
+                            .build();
+                }
+                contentStream.skipNBytes(start);
+                long length = end - start + 1;
+                headers.setContentLength(length);
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + asset.getSize());
+                log.trace("Streaming asset range: path={}, range={}-{}, size={}", finalAssetPath, start, end, asset.getSize());
+                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                        .headers(headers)
+                        .body(new InputStreamResource(new RangeInputStream(contentStream, length)));
+            }
+        }
+
         // Set content length if available from asset metadata
         if (asset.getSize() > 0) {
             headers.setContentLength(asset.getSize());
         }
-        //XXX
-        headers.setCacheControl("public, max-age=86400"); // 24 hours cache
-
-        // Set filename for download (use asset name from DB)
-        String filename = asset.getName() != null ? asset.getName() : "asset";
-        headers.setContentDispositionFormData("inline", filename);
 
         log.trace("Streaming asset: path={}, size={}, type={}, filename={}",
                  finalAssetPath, asset.getSize(), contentType, filename);
 
         // Return InputStreamResource for direct streaming without memory loading
-        org.springframework.core.io.InputStreamResource resource = new org.springframework.core.io.InputStreamResource(contentStream);
+        InputStreamResource resource = new InputStreamResource(contentStream);
 
         return ResponseEntity.ok()
                 .headers(headers)
                 .body(resource);
     }
 
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parts = encoding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 means not acceptable
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * If-None-Match uses the weak comparison, a list of ETags or "*" is possible.
+     */
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals("*") || value.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * If-Range uses the strong comparison, dates are not supported (no Last-Modified).
+     */
+    private static boolean ifRangeMatches(String ifRange, String etag) {
+        return ifRange == null || ifRange.trim().equals(etag);
+    }
+
     /**
      * Determine content type from asset metadata or file extension.
      */
@@ -142,4 +250,32 @@ public class AssetController {
         return MediaType.APPLICATION_OCTET_STREAM_VALUE;
     }
 
+    /**
+     * Limits the stream to the length of the requested range.
+     */
+    private static class RangeInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b != -1) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) remaining -= n;
+            return n;
+        }
+    }
 }
@@ -1,9 +1,10 @@
 package de.mhus.nimbus.world.player.api;
 
-import de.mhus.nimbus.generated.types.BlockType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.mhus.nimbus.world.shared.access.AccessValidator;
-import de.mhus.nimbus.world.shared.world.WBlockType;
-import de.mhus.nimbus.world.shared.world.WBlockTypeService;
+import de.mhus.nimbus.world.shared.world.WBlockTypeRegistry;
+import de.mhus.nimbus.world.shared.world.WorldCollection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,15 +12,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 /**
  * REST Controller for BlockType templates (read-only).
- * Returns only publicData from entities.
+ * Returns only publicData from entities, served from the WBlockTypeRegistry.
  */
 @RestController
 @RequestMapping("/player/world")
@@ -28,17 +31,20 @@ import java.util.Map;
 @Tag(name = "BlockTypes", description = "BlockType templates for rendering blocks")
 public class BlockTypeController {
 
-    private final WBlockTypeService service;
+    private final WBlockTypeRegistry registry;
+    private final ObjectMapper objectMapper;
     private final AccessValidator accessUtil;
 
     /**
      * GET /player/worlds/{worldId}/blocktypeschunk/{groupName}
      * Returns all BlockTypes in a specific group for chunked loading.
+     * The snapshot has an ETag, If-None-Match is answered with 304.
      */
     @GetMapping("/blocktypeschunk/{groupName}")
     @Operation(summary = "Get BlockTypes by group", description = "Returns all BlockTypes in a specific group for chunked loading")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of BlockTypes in group"),
+            @ApiResponse(responseCode = "304", description = "BlockTypes not modified"),
             @ApiResponse(responseCode = "400", description = "Invalid group name")
     })
     public ResponseEntity<?> getBlockTypesByGroup(
@@ -55,14 +61,19 @@ public class BlockTypeController {
                     .body(Map.of("error", "Invalid group name. Only lowercase letters, numbers, hyphens and underscores allowed."));
         }
 
-        List<BlockType> blockTypes = service.findByBlockTypeGroup(worldId, groupName).stream()
-        .filter(WBlockType::isEnabled)
-        .map(t -> t.getPublicData())
-        .toList();
+        var snapshot = registry.getGroupSnapshot(worldId, groupName);
+        if (snapshot.getEtag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+
+        var blockTypes = snapshot.getEnabledPublicData();
 
         log.debug("Returning {} BlockTypes for group: {}", blockTypes.size(), groupName);
 
-        return ResponseEntity.ok(blockTypes);
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(blockTypes);
         }
 
     /**
@@ -99,8 +110,14 @@ public class BlockTypeController {
         final String finalBlockId = blockId;
         log.debug("GET blocktype: blockId={}, worldId={}", finalBlockId, worldId);
 
-        return service.findByBlockId(worldId, finalBlockId)
-                        .map(t -> t.appendWorldPrefix().getPublicData())
+        // Registry entities are shared, the prefixed id is set on a copy
+        return registry.findByBlockId(worldId, finalBlockId)
+                        .filter(t -> t.getPublicData() != null)
+                        .map(t -> {
+                            ObjectNode publicData = objectMapper.valueToTree(t.getPublicData());
+                            publicData.put("id", WorldCollection.appendPrefix(t.getWorldId(), t.getPublicData().getId()));
+                            return publicData;
+                        })
                         .map(ResponseEntity::ok)
                         .orElseGet(() -> {
                             log.warn("BlockType not found: blockId={}", finalBlockId);
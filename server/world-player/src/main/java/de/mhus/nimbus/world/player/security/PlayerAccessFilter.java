@@ -4,7 +4,8 @@ import de.mhus.nimbus.shared.security.JwtService;
 import de.mhus.nimbus.world.shared.access.AccessFilterBase;
 import de.mhus.nimbus.world.shared.access.AccessSettings;
 import de.mhus.nimbus.world.shared.region.RegionSettings;
-import de.mhus.nimbus.world.shared.session.WSessionService;
+import de.mhus.nimbus.world.shared.session.WSessionCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -25,8 +26,9 @@ public class PlayerAccessFilter extends AccessFilterBase {
 
     private final AccessSettings accessProperties;
 
-    public PlayerAccessFilter(JwtService jwtService, WSessionService sessionService, AccessSettings accessProperties, RegionSettings regionProperties) {
-        super(jwtService, sessionService, regionProperties);
+    public PlayerAccessFilter(JwtService jwtService, WSessionCache sessionCache, AccessSettings accessProperties, RegionSettings regionProperties,
+                              MeterRegistry meterRegistry) {
+        super(jwtService, sessionCache, regionProperties, meterRegistry);
         this.accessProperties = accessProperties;
     }
 
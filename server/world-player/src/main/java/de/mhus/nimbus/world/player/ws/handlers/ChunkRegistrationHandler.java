@@ -9,6 +9,7 @@ import de.mhus.nimbus.world.player.ws.ChunkSenderService;
 import de.mhus.nimbus.world.player.ws.ChunkSenderService.ChunkCoord;
 import de.mhus.nimbus.world.player.ws.NetworkMessage;
 import de.mhus.nimbus.world.player.ws.PathwayBroadcastService;
+import de.mhus.nimbus.world.player.ws.redis.PathwayRegionBroadcastListener;
 import de.mhus.nimbus.world.player.session.PlayerSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,6 +40,7 @@ public class ChunkRegistrationHandler implements MessageHandler {
 
     private final ChunkSenderService chunkSenderService;
     private final PathwayBroadcastService pathwayBroadcastService;
+    private final PathwayRegionBroadcastListener pathwayRegionListener;
     private final ObjectMapper objectMapper;
     private final de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService redisMessaging;
 
@@ -91,6 +93,9 @@ public class ChunkRegistrationHandler implements MessageHandler {
             session.registerChunk(coord.cx(), coord.cz());
         }
 
+        // Follow registered chunk regions for world-life pathways
+        pathwayRegionListener.updateRegistration(session, requestedChunks);
+
         log.debug("Chunk registration: session={}, total={}, new={}, worldId={}",
                 session.getWebSocketSession().getId(), requestedChunks.size(),
                 newChunks.size(), session.getWorldId());
@@ -1,6 +1,7 @@
 package de.mhus.nimbus.world.player.ws.redis;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import de.mhus.nimbus.generated.types.Block;
 import de.mhus.nimbus.shared.engine.EngineMapper;
 import de.mhus.nimbus.world.player.session.PlayerSession;
@@ -14,6 +15,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.TextMessage;
 
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Redis listener for block update broadcasts.
  * Receives block updates from world-control and distributes to connected clients via WebSocket.
@@ -24,6 +30,9 @@ import org.springframework.web.socket.TextMessage;
  * Supports audience filtering:
  * - ALL: Send to all authenticated sessions in the world
  * - EDITOR: Send only to sessions with actor=EDITOR
+ *
+ * Batch messages (blocks grouped by chunk) are sent as one frame per session with the blocks
+ * of all chunks the session has registered. Sessions with the same chunks share the frame.
  */
 @Service
 @RequiredArgsConstructor
@@ -91,6 +100,11 @@ public class BlockUpdateBroadcastListener {
             log.debug("Received block update broadcast: world={}, audience={}, origin={}",
                     worldId, broadcast.getTargetAudience(), broadcast.getOriginatingSessionId());
 
+            if (broadcast.getChunks() != null) {
+                handleBatchUpdate(worldId, broadcast);
+                return;
+            }
+
             // Validate block JSON
             if (broadcast.getBlockJson() == null || broadcast.getBlockJson().isBlank()) {
                 log.warn("Block update broadcast has empty blockJson");
@@ -165,6 +179,64 @@ public class BlockUpdateBroadcastListener {
         }
     }
 
+    /**
+     * Handle a batch block update: blocks of several chunks, one frame per session.
+     */
+    private void handleBatchUpdate(String worldId, BlockUpdateBroadcastMessage broadcast) throws Exception {
+        List<BlockUpdateBroadcastMessage.ChunkBlocks> chunks = broadcast.getChunks();
+
+        // Parse and validate block data once per chunk
+        ArrayNode[] chunkBlocks = new ArrayNode[chunks.size()];
+        int blockCount = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            String blockJson = chunks.get(i).getBlockJson();
+            Block[] blocks = blockJson == null || blockJson.isBlank()
+                    ? new Block[0]
+                    : engineMapper.readValue(blockJson, Block[].class);
+            chunkBlocks[i] = engineMapper.valueToTree(blocks);
+            blockCount += blocks.length;
+        }
+
+        boolean editorOnly = BlockUpdateBroadcastMessage.AUDIENCE_EDITOR.equals(broadcast.getTargetAudience());
+
+        // Frames by the set of registered chunks
+        Map<BitSet, TextMessage> frames = new HashMap<>();
+        int sentCount = 0;
+        for (PlayerSession session : sessionManager.getAllSessions().values()) {
+            if (!session.isAuthenticated()) continue;
+            if (session.getWorldId() == null || !worldId.equals(session.getWorldId().getId())) continue;
+            if (editorOnly && !"EDITOR".equals(session.getActor())) continue;
+
+            BitSet registered = new BitSet(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                if (chunkBlocks[i].isEmpty()) continue;
+                if (session.isChunkRegistered(chunks.get(i).getCx(), chunks.get(i).getCz())) {
+                    registered.set(i);
+                }
+            }
+            if (registered.isEmpty()) continue;
+
+            TextMessage textMessage = frames.get(registered);
+            if (textMessage == null) {
+                ArrayNode blocks = engineMapper.createArrayNode();
+                registered.stream().forEach(i -> blocks.addAll(chunkBlocks[i]));
+                NetworkMessage networkMessage = NetworkMessage.builder()
+                        .t("b.u")
+                        .d(blocks)
+                        .build();
+                textMessage = new TextMessage(engineMapper.writeValueAsString(networkMessage));
+                frames.put(registered, textMessage);
+            }
+
+            // Send to session (including originating session)
+            session.getWebSocketSession().sendMessage(textMessage);
+            sentCount++;
+        }
+
+        log.info("Broadcast batch block update to {} sessions: world={} audience={} chunks={} blocks={} frames={}",
+                sentCount, worldId, broadcast.getTargetAudience(), chunks.size(), blockCount, frames.size());
+    }
+
     /**
      * Unsubscribe from world (e.g., when shutting down).
      */
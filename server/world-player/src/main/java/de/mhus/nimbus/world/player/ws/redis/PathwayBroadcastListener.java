@@ -25,6 +25,9 @@ import java.util.Map;
  * Therefore, this listener subscribes to all worlds and filters by worldId
  * in the BroadcastService.
  *
+ * Only player pathways use this channel. world-life NPC pathways are published
+ * per chunk region and handled by PathwayRegionBroadcastListener.
+ *
  * Message format:
  * {
  *   "containers": [PathwayContainer, ...],
@@ -0,0 +1,226 @@
+package de.mhus.nimbus.world.player.ws.redis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import de.mhus.nimbus.world.player.session.PlayerSession;
+import de.mhus.nimbus.world.player.session.SessionClosedConsumer;
+import de.mhus.nimbus.world.player.ws.ChunkSenderService.ChunkCoord;
+import de.mhus.nimbus.world.player.ws.NetworkMessage;
+import de.mhus.nimbus.world.player.ws.SessionManager;
+import de.mhus.nimbus.world.shared.redis.PathwayRegion;
+import de.mhus.nimbus.world.shared.redis.PathwayRegionCodec;
+import de.mhus.nimbus.world.shared.redis.PathwayRegionMessage;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Listens for region-partitioned entity pathways published by world-life.
+ * Channel: world:{worldId}:e.p.r.{rx}.{rz} (see PathwayRegion)
+ *
+ * Subscriptions follow the chunk registrations of the local sessions: a region
+ * channel is subscribed as long as at least one session on this pod has registered
+ * a chunk inside it. Pods therefore never receive pathways for regions they do not host.
+ *
+ * Fan-out: every session receives at most one "e.p" frame per region message,
+ * containing only the pathways touching its registered chunks. Sessions with the
+ * same selection share the serialized frame.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PathwayRegionBroadcastListener implements SessionClosedConsumer {
+
+    private final WorldRedisMessagingService redisMessaging;
+    private final SessionManager sessionManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Subscribed sessions per world and region: worldId → (region → sessionIds).
+     * Guarded by this.
+     */
+    private final Map<String, Map<PathwayRegion, Set<String>>> subscribers = new HashMap<>();
+
+    /**
+     * Regions per session: sessionId → regions. Guarded by this.
+     */
+    private final Map<String, Set<PathwayRegion>> sessionRegions = new HashMap<>();
+
+    /**
+     * Update region subscriptions after a chunk registration of a session.
+     * Subscribes newly needed regions and unsubscribes regions no longer used by any session.
+     *
+     * @param session Player session
+     * @param chunks All chunks currently registered by the session
+     */
+    public void updateRegistration(PlayerSession session, List<ChunkCoord> chunks) {
+        if (session.getWorldId() == null || session.getSessionId() == null) {
+            return;
+        }
+        String worldId = session.getWorldId().getId();
+
+        Set<PathwayRegion> regions = new HashSet<>();
+        for (ChunkCoord chunk : chunks) {
+            regions.add(PathwayRegion.ofChunk(chunk.cx(), chunk.cz()));
+        }
+
+        synchronized (this) {
+            Set<PathwayRegion> previous = sessionRegions.put(session.getSessionId(), regions);
+            if (previous != null) {
+                for (PathwayRegion region : previous) {
+                    if (!regions.contains(region)) {
+                        removeSubscriber(worldId, region, session.getSessionId());
+                    }
+                }
+            }
+            for (PathwayRegion region : regions) {
+                if (previous == null || !previous.contains(region)) {
+                    addSubscriber(worldId, region, session.getSessionId());
+                }
+            }
+        }
+    }
+
+    /**
+     * SessionClosedConsumer implementation.
+     * Releases all region subscriptions of the session.
+     */
+    @Override
+    public void onSessionClosed(PlayerSession session) {
+        if (session.getWorldId() == null || session.getSessionId() == null) {
+            return;
+        }
+        synchronized (this) {
+            Set<PathwayRegion> regions = sessionRegions.remove(session.getSessionId());
+            if (regions == null) return;
+            for (PathwayRegion region : regions) {
+                removeSubscriber(session.getWorldId().getId(), region, session.getSessionId());
+            }
+        }
+    }
+
+    private void addSubscriber(String worldId, PathwayRegion region, String sessionId) {
+        Set<String> sessions = subscribers
+                .computeIfAbsent(worldId, k -> new HashMap<>())
+                .computeIfAbsent(region, k -> new HashSet<>());
+        if (sessions.isEmpty()) {
+            redisMessaging.subscribe(worldId, region.channel(),
+                    (topic, message) -> handleRegionUpdate(worldId, region, message));
+            log.debug("Subscribed to pathway region {} in world {}", region, worldId);
+        }
+        sessions.add(sessionId);
+    }
+
+    private void removeSubscriber(String worldId, PathwayRegion region, String sessionId) {
+        Map<PathwayRegion, Set<String>> worldRegions = subscribers.get(worldId);
+        if (worldRegions == null) return;
+        Set<String> sessions = worldRegions.get(region);
+        if (sessions == null) return;
+        sessions.remove(sessionId);
+        if (sessions.isEmpty()) {
+            worldRegions.remove(region);
+            if (worldRegions.isEmpty()) {
+                subscribers.remove(worldId);
+            }
+            redisMessaging.unsubscribe(worldId, region.channel());
+            log.debug("Unsubscribed from pathway region {} in world {}", region, worldId);
+        }
+    }
+
+    private synchronized List<String> getSubscribers(String worldId, PathwayRegion region) {
+        Map<PathwayRegion, Set<String>> worldRegions = subscribers.get(worldId);
+        if (worldRegions == null) return List.of();
+        Set<String> sessions = worldRegions.get(region);
+        return sessions != null ? new ArrayList<>(sessions) : List.of();
+    }
+
+    /**
+     * Handle region pathway message from world-life.
+     *
+     * @param worldId World ID of the subscription
+     * @param region Region of the subscription
+     * @param message JSON message (PathwayRegionMessage)
+     */
+    private void handleRegionUpdate(String worldId, PathwayRegion region, String message) {
+        try {
+            List<String> sessionIds = getSubscribers(worldId, region);
+            if (sessionIds.isEmpty()) {
+                return;
+            }
+
+            PathwayRegionMessage data = objectMapper.readValue(message, PathwayRegionMessage.class);
+            List<PathwayRegionMessage.CompactPathway> compactPathways = data.getPathways();
+            if (compactPathways == null || compactPathways.isEmpty()) {
+                return;
+            }
+
+            // Decode lazily: only pathways selected by at least one session are converted
+            JsonNode[] decoded = new JsonNode[compactPathways.size()];
+            Map<BitSet, TextMessage> frames = new HashMap<>();
+            int sentCount = 0;
+
+            for (String sessionId : sessionIds) {
+                PlayerSession session = sessionManager.getBySessionId(sessionId).orElse(null);
+                if (session == null || !session.isAuthenticated()) continue;
+
+                BitSet selection = new BitSet(compactPathways.size());
+                for (int i = 0; i < compactPathways.size(); i++) {
+                    PathwayRegionMessage.CompactPathway compact = compactPathways.get(i);
+                    if (sessionId.equals(compact.getSessionId())) continue;
+                    if (touchesRegisteredChunk(session, compact.getChunks())) {
+                        selection.set(i);
+                    }
+                }
+                if (selection.isEmpty()) continue;
+
+                TextMessage frame = frames.get(selection);
+                if (frame == null) {
+                    ArrayNode pathwaysArray = objectMapper.createArrayNode();
+                    for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                        if (decoded[i] == null) {
+                            decoded[i] = objectMapper.valueToTree(
+                                    PathwayRegionCodec.decode(compactPathways.get(i), data.getBaseTime()));
+                        }
+                        pathwaysArray.add(decoded[i]);
+                    }
+                    NetworkMessage networkMessage = NetworkMessage.builder()
+                            .t("e.p")
+                            .d(pathwaysArray)
+                            .build();
+                    frame = new TextMessage(objectMapper.writeValueAsString(networkMessage));
+                    frames.put(selection, frame);
+                }
+
+                session.getWebSocketSession().sendMessage(frame);
+                sentCount++;
+            }
+
+            log.trace("Handled pathway region {} in world {}: {} pathways, {} sessions, {} distinct frames",
+                    region, worldId, compactPathways.size(), sentCount, frames.size());
+
+        } catch (Exception e) {
+            log.error("Failed to handle pathway region {} update for world {}", region, worldId, e);
+        }
+    }
+
+    private boolean touchesRegisteredChunk(PlayerSession session, int[] chunks) {
+        if (chunks == null) return false;
+        for (int i = 0; i + 1 < chunks.length; i += 2) {
+            if (session.isChunkRegistered(chunks[i], chunks[i + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,10 +5,13 @@ import de.mhus.nimbus.shared.security.KeyIntent;
 import de.mhus.nimbus.shared.security.KeyType;
 import de.mhus.nimbus.world.shared.region.RegionSettings;
 import de.mhus.nimbus.world.shared.session.WSession;
-import de.mhus.nimbus.world.shared.session.WSessionService;
+import de.mhus.nimbus.world.shared.session.WSessionCache;
 import de.mhus.nimbus.world.shared.session.WSessionStatus;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -20,6 +23,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Base filter for access control using sessionToken cookies.
@@ -28,6 +32,10 @@ import java.util.Optional;
  * session information to the request for downstream processing.
  *
  * Currently in logging-only mode - does not block unauthorized requests.
+ *
+ * Verified tokens (JwtService) and session states (WSessionCache) are cached, so most requests
+ * are validated without signature check and Redis lookup. The validation time is recorded as
+ * timer nimbus.access.filter (tag outcome), the cache hits and misses as nimbus.access.cache.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -43,8 +51,9 @@ public abstract class AccessFilterBase extends OncePerRequestFilter {
     public static final String ATTR_IS_AUTHENTICATED = "accessIsAuthenticated";
 
     private final JwtService jwtService;
-    private final WSessionService sessionService;
+    private final WSessionCache sessionCache;
     private final RegionSettings regionProperties;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Determines if the given request path requires authentication.
@@ -93,6 +102,23 @@ public abstract class AccessFilterBase extends OncePerRequestFilter {
         return true;
     }
 
+    @Override
+    protected void initFilterBean() throws ServletException {
+        super.initFilterBean();
+        FunctionCounter.builder("nimbus.access.cache", jwtService, JwtService::getTokenCacheHits)
+                .tag("cache", "token").tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("nimbus.access.cache", jwtService, JwtService::getTokenCacheMisses)
+                .tag("cache", "token").tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("nimbus.access.cache", sessionCache, WSessionCache::getHits)
+                .tag("cache", "session").tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("nimbus.access.cache", sessionCache, WSessionCache::getMisses)
+                .tag("cache", "session").tag("result", "miss")
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                      HttpServletResponse response,
@@ -109,6 +135,7 @@ public abstract class AccessFilterBase extends OncePerRequestFilter {
             return;
         }
 
+        long start = System.nanoTime();
         boolean authenticated = false;
         SessionTokenClaims validatedClaims = null;
 
@@ -192,6 +219,7 @@ public abstract class AccessFilterBase extends OncePerRequestFilter {
         if (!authenticated && shouldRequireAuthentication(request.getRequestURI(), request.getMethod())) {
             // Check if authentication is required for this path
             log.warn("Access denied - authentication required for: {} {}", request.getMethod(), request.getRequestURI());
+            recordFilterTime(start, "unauthorized");
             handleUnauthorized(request, response);
             return;
         }
@@ -201,6 +229,7 @@ public abstract class AccessFilterBase extends OncePerRequestFilter {
             if (!isPathAllowedForRole(request.getRequestURI(), validatedClaims)) {
                 log.warn("Access denied - path not allowed for role={}: {} {}",
                         validatedClaims.role(), request.getMethod(), request.getRequestURI());
+                recordFilterTime(start, "forbidden");
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                 response.setContentType("text/html; charset=UTF-8");
                 response.getWriter().write("""
@@ -234,10 +263,23 @@ public abstract class AccessFilterBase extends OncePerRequestFilter {
             }
         }
 
+        recordFilterTime(start, authenticated ? "authenticated" : "anonymous");
+
         // Continue filter chain
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Records the validation time of the filter, without the downstream filter chain.
+     */
+    private void recordFilterTime(long start, String outcome) {
+        Timer.builder("nimbus.access.filter")
+                .tag("filter", getClass().getSimpleName())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Handles unauthorized access by returning a 401 error with HTML page.
      * Subclasses can override this to customize the error response.
@@ -424,8 +466,8 @@ public abstract class AccessFilterBase extends OncePerRequestFilter {
      */
     private boolean validateRedisSession(SessionTokenClaims claims, String requestUri) {
         try {
-            // Get session from Redis
-            Optional<WSession> sessionOpt = sessionService.get(claims.sessionId());
+            // Get session from Redis, cached for a short time
+            Optional<WSession> sessionOpt = sessionCache.get(claims.sessionId());
             if (sessionOpt.isEmpty()) {
                 log.warn("Session not found in Redis - sessionId={}", claims.sessionId());
                 return false;
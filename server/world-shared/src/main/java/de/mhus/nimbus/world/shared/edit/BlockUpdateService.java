@@ -1,5 +1,6 @@
 package de.mhus.nimbus.world.shared.edit;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import de.mhus.nimbus.generated.types.Block;
 import de.mhus.nimbus.shared.engine.EngineMapper;
 import de.mhus.nimbus.world.shared.redis.BlockUpdateBroadcastMessage;
@@ -10,6 +11,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Service for broadcasting block updates to world-player pods via Redis.
  * Used by block editor and copy/move operations to send "b.u" updates to clients.
@@ -22,6 +28,11 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class BlockUpdateService {
 
+    /**
+     * Maximum number of blocks in one batch update message.
+     */
+    public static final int MAX_BLOCKS_PER_MESSAGE = 1000;
+
     private final WorldRedisMessagingService redisMessaging;
     private final WWorldService worldService;
     private final EngineMapper objectMapper;
@@ -46,6 +57,75 @@ public class BlockUpdateService {
         return sendBlockUpdate(worldId, sessionId, block, source, meta);
     }
 
+    /**
+     * Send many block updates as batch messages, blocks grouped by chunk
+     * (see BlockUpdateBroadcastMessage.chunks). A message carries up to MAX_BLOCKS_PER_MESSAGE blocks,
+     * larger updates are split into several messages.
+     *
+     * @param worldId   World identifier
+     * @param sessionId Session identifier (originating session)
+     * @param blocks    Blocks to send
+     * @param source    Source information (e.g., "layerDataId:layerName", optional)
+     * @param meta      Block metadata (optional, currently unused)
+     * @return Number of sent messages, -1 if sending failed
+     */
+    public int sendBlockUpdatesWithSource(String worldId, String sessionId, List<Block> blocks, String source, String meta) {
+        if (blocks.isEmpty()) return 0;
+        try {
+            int chunkSize = getChunkSize(worldId);
+
+            // Group blocks by chunk
+            Map<Long, List<Block>> blocksByChunk = new LinkedHashMap<>();
+            for (Block block : blocks) {
+                if (source != null && !source.isBlank()) {
+                    block.setSource(source);
+                }
+                int cx = Math.floorDiv(block.getPosition().getX(), chunkSize);
+                int cz = Math.floorDiv(block.getPosition().getZ(), chunkSize);
+                blocksByChunk.computeIfAbsent(((long) cx << 32) | (cz & 0xffffffffL), k -> new ArrayList<>()).add(block);
+            }
+
+            int messages = 0;
+            List<BlockUpdateBroadcastMessage.ChunkBlocks> chunks = new ArrayList<>();
+            int messageBlocks = 0;
+            for (Map.Entry<Long, List<Block>> entry : blocksByChunk.entrySet()) {
+                int cx = (int) (entry.getKey() >> 32);
+                int cz = (int) (long) entry.getKey();
+                List<Block> chunkBlocks = entry.getValue();
+                int from = 0;
+                while (from < chunkBlocks.size()) {
+                    int to = Math.min(from + MAX_BLOCKS_PER_MESSAGE - messageBlocks, chunkBlocks.size());
+                    chunks.add(BlockUpdateBroadcastMessage.ChunkBlocks.builder()
+                            .cx(cx)
+                            .cz(cz)
+                            .blockJson(objectMapper.writeValueAsString(chunkBlocks.subList(from, to)))
+                            .build());
+                    messageBlocks += to - from;
+                    from = to;
+                    if (messageBlocks >= MAX_BLOCKS_PER_MESSAGE) {
+                        publishBatch(worldId, sessionId, chunks, source);
+                        messages++;
+                        chunks = new ArrayList<>();
+                        messageBlocks = 0;
+                    }
+                }
+            }
+            if (!chunks.isEmpty()) {
+                publishBatch(worldId, sessionId, chunks, source);
+                messages++;
+            }
+
+            log.debug("Broadcast {} block updates via Redis: world={} chunks={} messages={} origin={}",
+                    blocks.size(), worldId, blocksByChunk.size(), messages, sessionId);
+            return messages;
+
+        } catch (Exception e) {
+            log.error("Failed to broadcast block updates: world={} session={} blocks={}",
+                    worldId, sessionId, blocks.size(), e);
+            return -1;
+        }
+    }
+
     /**
      * Send block update without source information.
      * Broadcasts to EDITOR actors only.
@@ -87,31 +167,13 @@ public class BlockUpdateService {
      */
     private boolean sendBlockUpdate(String worldId, String sessionId, int x, int y, int z, String blockJson, String source, String meta) {
         try {
-            // Get world to read chunk size
-            WWorld world = worldService.getByWorldId(worldId)
-                    .orElseThrow(() -> new IllegalStateException("World not found: " + worldId));
-
-            // Read chunk size from world configuration (no default hardcoded value!)
-            int chunkSize = world.getPublicData().getChunkSize();
+            int chunkSize = getChunkSize(worldId);
 
             // Calculate chunk coordinates based on actual chunk size
             int cx = (int) Math.floor((double) x / chunkSize);
             int cz = (int) Math.floor((double) z / chunkSize);
 
-            // Build broadcast message
-            BlockUpdateBroadcastMessage broadcast = BlockUpdateBroadcastMessage.builder()
-                    .worldId(worldId)
-                    .blockJson(blockJson)
-                    .targetAudience(BlockUpdateBroadcastMessage.AUDIENCE_EDITOR)
-                    .originatingSessionId(sessionId)
-                    .cx(cx)
-                    .cz(cz)
-                    .source(source)
-                    .build();
-
-            // Serialize and publish to Redis
-            String messageJson = objectMapper.writeValueAsString(broadcast);
-            redisMessaging.publish(worldId, "b.u", messageJson);
+            publish(worldId, sessionId, cx, cz, blockJson, source);
 
             log.debug("Broadcast block update via Redis: world={} chunkSize={} chunk=({},{}) pos=({},{},{}) origin={}",
                     worldId, chunkSize, cx, cz, x, y, z, sessionId);
@@ -124,4 +186,47 @@ public class BlockUpdateService {
             return false;
         }
     }
+
+    /**
+     * Read chunk size from world configuration (no default hardcoded value!).
+     */
+    private int getChunkSize(String worldId) {
+        WWorld world = worldService.getByWorldId(worldId)
+                .orElseThrow(() -> new IllegalStateException("World not found: " + worldId));
+        return world.getPublicData().getChunkSize();
+    }
+
+    /**
+     * Publish block update broadcast for one chunk to all world-player pods.
+     */
+    private void publish(String worldId, String sessionId, int cx, int cz, String blockJson, String source) throws JsonProcessingException {
+        BlockUpdateBroadcastMessage broadcast = BlockUpdateBroadcastMessage.builder()
+                .worldId(worldId)
+                .blockJson(blockJson)
+                .targetAudience(BlockUpdateBroadcastMessage.AUDIENCE_EDITOR)
+                .originatingSessionId(sessionId)
+                .cx(cx)
+                .cz(cz)
+                .source(source)
+                .build();
+
+        // Serialize and publish to Redis
+        String messageJson = objectMapper.writeValueAsString(broadcast);
+        redisMessaging.publish(worldId, "b.u", messageJson);
+    }
+
+    /**
+     * Publish a batch block update broadcast to all world-player pods.
+     */
+    private void publishBatch(String worldId, String sessionId, List<BlockUpdateBroadcastMessage.ChunkBlocks> chunks, String source) throws JsonProcessingException {
+        BlockUpdateBroadcastMessage broadcast = BlockUpdateBroadcastMessage.builder()
+                .worldId(worldId)
+                .chunks(chunks)
+                .targetAudience(BlockUpdateBroadcastMessage.AUDIENCE_EDITOR)
+                .originatingSessionId(sessionId)
+                .source(source)
+                .build();
+
+        redisMessaging.publish(worldId, "b.u", objectMapper.writeValueAsString(broadcast));
+    }
 }
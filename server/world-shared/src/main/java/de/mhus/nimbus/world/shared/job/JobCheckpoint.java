@@ -0,0 +1,151 @@
+package de.mhus.nimbus.world.shared.job;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finished work units of a job execution.
+ * <p>
+ * Executors that split a job into independent units (chunks, hexes, worlds) skip units
+ * for which {@link #shouldRun(String)} returns false and call {@link #markDone(String)} after each unit.
+ * Finished units are written to the job in batches, the rest by {@link #flush()} which the
+ * JobProcessingScheduler calls after the execution. A job that is retried or resumed after an
+ * expired lease continues with the open units. Units must be idempotent: a unit finished shortly
+ * before a pod died may not be written yet and is executed again.
+ * <p>
+ * With the parameters {@value #PARAM_PARTITION} and {@value #PARAM_PARTITIONS} a job only handles
+ * its share of the units, see {@link WJobService#createPartitionJobs(WJob, int)}.
+ * The share is taken from the hash of the unit key, so all partitions must use the same keys.
+ * The partition jobs reference the fanned out job with {@value #PARAM_PARENT_JOB}, it is completed
+ * when the last partition job is finished, see {@link WJobService#completeFanOut(WJob)}.
+ */
+@Slf4j
+public class JobCheckpoint {
+
+    public static final String PARAM_PARTITION = "partition";
+    public static final String PARAM_PARTITIONS = "partitions";
+    public static final String PARAM_PARENT_JOB = "parentJobId";
+
+    static final int FLUSH_UNITS = 50;
+    static final Duration FLUSH_INTERVAL = Duration.ofSeconds(10);
+
+    /**
+     * Persists finished units of a job.
+     */
+    @FunctionalInterface
+    interface Store {
+        void save(String jobId, List<String> units, Integer total);
+    }
+
+    private final String jobId;
+    private final Store store;
+    private final Set<String> done = new HashSet<>();
+    private final List<String> unsaved = new ArrayList<>();
+    @Getter
+    private final int partition;
+    @Getter
+    private final int partitions;
+    private Integer total;
+    private boolean totalChanged;
+    private long lastFlush = System.nanoTime();
+
+    JobCheckpoint(WJob job, Store store) {
+        this.jobId = job.getId();
+        this.store = store;
+        if (job.getProgress() != null && job.getProgress().getUnits() != null) {
+            done.addAll(job.getProgress().getUnits());
+            total = job.getProgress().getTotal();
+        }
+        int count = parseInt(job, PARAM_PARTITIONS, 1);
+        this.partitions = Math.max(1, count);
+        this.partition = Math.floorMod(parseInt(job, PARAM_PARTITION, 0), partitions);
+    }
+
+    /**
+     * Checkpoint that only tracks units in memory, e.g. for direct execution without the job service.
+     */
+    public static JobCheckpoint detached(WJob job) {
+        return new JobCheckpoint(job, null);
+    }
+
+    /**
+     * True if the unit was finished by a previous execution or in this one.
+     */
+    public synchronized boolean isDone(String unit) {
+        return done.contains(unit);
+    }
+
+    /**
+     * True if the unit belongs to the partition of this job.
+     */
+    public boolean isMine(String unit) {
+        return partitions == 1 || Math.floorMod(unit.hashCode(), partitions) == partition;
+    }
+
+    /**
+     * True if the unit belongs to this job and is not finished yet.
+     */
+    public boolean shouldRun(String unit) {
+        return isMine(unit) && !isDone(unit);
+    }
+
+    /**
+     * Record a finished unit. Written when enough units are collected or the flush interval elapsed.
+     */
+    public synchronized void markDone(String unit) {
+        if (!done.add(unit)) return;
+        unsaved.add(unit);
+        if (unsaved.size() >= FLUSH_UNITS || System.nanoTime() - lastFlush >= FLUSH_INTERVAL.toNanos()) {
+            flush();
+        }
+    }
+
+    /**
+     * Set the number of units of this job, for progress display.
+     */
+    public synchronized void setTotal(int total) {
+        if (this.total == null || this.total != total) {
+            this.total = total;
+            totalChanged = true;
+        }
+    }
+
+    /**
+     * Number of finished units, including those of previous executions.
+     */
+    public synchronized int getDoneCount() {
+        return done.size();
+    }
+
+    /**
+     * Write units that are not persisted yet. Failures are logged, the units stay pending for the next flush.
+     */
+    public synchronized void flush() {
+        lastFlush = System.nanoTime();
+        if (store == null || (unsaved.isEmpty() && !totalChanged)) return;
+        try {
+            store.save(jobId, List.copyOf(unsaved), totalChanged ? total : null);
+            unsaved.clear();
+            totalChanged = false;
+        } catch (Exception e) {
+            log.warn("Failed to save checkpoint: job={} units={} error={}", jobId, unsaved.size(), e.getMessage());
+        }
+    }
+
+    private static int parseInt(WJob job, String name, int defaultValue) {
+        String value = job.getParameters() == null ? null : job.getParameters().get(name);
+        if (value == null || value.isBlank()) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid checkpoint parameter '{}' in job {}: {}", name, job.getId(), value);
+            return defaultValue;
+        }
+    }
+}
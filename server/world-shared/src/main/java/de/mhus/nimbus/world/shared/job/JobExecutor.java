@@ -34,6 +34,42 @@ public interface JobExecutor {
      */
     JobResult execute(WJob job) throws JobExecutionException;
 
+    /**
+     * Execute the job with a checkpoint. Executors that split the job into work units override
+     * this method, skip units that are done or belong to another partition and mark finished units,
+     * so a retried or resumed job continues where it stopped.
+     * The default ignores the checkpoint.
+     *
+     * @param job Job to execute
+     * @param checkpoint Finished units of previous executions, written back by the caller
+     * @return JobResult with successful status and optional result data
+     * @throws JobExecutionException if execution fails
+     */
+    default JobResult execute(WJob job, JobCheckpoint checkpoint) throws JobExecutionException {
+        return execute(job);
+    }
+
+    /**
+     * Number of jobs of this executor that may run at the same time on one pod.
+     * Can be overridden by the setting job.concurrency.&lt;executorName&gt;.
+     * Executors that are not safe for parallel jobs keep the default 1.
+     *
+     * @return Concurrent jobs, default 1
+     */
+    default int getConcurrency() {
+        return 1;
+    }
+
+    /**
+     * True if the executor mostly waits for database, storage or remote calls.
+     * Such jobs run on virtual threads, others on platform threads.
+     *
+     * @return True for I/O heavy executors, default false
+     */
+    default boolean isIoBound() {
+        return false;
+    }
+
     /**
      * Result of job execution.
      *
@@ -1,7 +1,12 @@
 package de.mhus.nimbus.world.shared.job;
 
 import de.mhus.nimbus.shared.utils.LocationService;
-import de.mhus.nimbus.world.shared.redis.WorldRedisLockService;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -9,11 +14,34 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Scheduled task that processes pending jobs.
- * Uses Redis locks to prevent concurrent execution across pods.
+ * Processes pending jobs concurrently.
+ * <p>
+ * Jobs are claimed with an atomic update that sets status RUNNING and a lease for this pod,
+ * so no further locking is needed across pods. Each executor has its own worker pool
+ * (virtual threads for I/O heavy executors) limited by its concurrency, and the total
+ * number of running jobs per pod is limited by job.maxConcurrentJobs.
+ * <p>
+ * Dispatching runs on the fixed interval, on job creation (Redis notification) and whenever a job
+ * finishes. Leases of running jobs are renewed on every interval, expired leases of other pods are recovered.
+ * <p>
+ * Metrics per executor: nimbus.job.queue.wait (creation until claim), nimbus.job.run (tag outcome)
+ * and the gauge nimbus.job.running.
  */
 @Component
 @ConditionalOnProperty(
@@ -27,14 +55,45 @@ public class JobProcessingScheduler {
 
     private final WJobService jobService;
     private final JobExecutorRegistry executorRegistry;
-    private final WorldRedisLockService lockService;
+    private final WorldRedisMessagingService redisMessaging;
     private final JobSettings properties;
     private final LocationService locationService;
+    private final MeterRegistry meterRegistry;
 
-    private static final Duration JOB_LOCK_TTL = Duration.ofMinutes(5);
+    private final Map<String, WorkerPool> pools = new ConcurrentHashMap<>();
+    private final Map<String, WJob> runningJobs = new ConcurrentHashMap<>();
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+    private ExecutorService dispatcher;
+    private String leaseOwner;
 
     /**
-     * Process pending jobs at fixed intervals.
+     * Workers of one executor.
+     */
+    private record WorkerPool(String executorName, ExecutorService threads, AtomicInteger running) {
+    }
+
+    @PostConstruct
+    void init() {
+        leaseOwner = locationService.getApplicationServiceName() + "-" + UUID.randomUUID();
+        dispatcher = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("job-dispatcher").daemon(true).factory());
+        redisMessaging.subscribeToAllWorlds(WJobService.JOB_CREATED_CHANNEL, (topic, executor) -> wakeUp());
+        log.info("Job processing started: owner={}", leaseOwner);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        redisMessaging.unsubscribeFromAllWorlds(WJobService.JOB_CREATED_CHANNEL);
+        dispatcher.shutdownNow();
+        // Running jobs are not interrupted, if the pod stops before they finish their leases expire
+        pools.values().forEach(pool -> pool.threads().shutdown());
+        if (!runningJobs.isEmpty()) {
+            log.warn("Shutting down with {} running jobs: {}", runningJobs.size(), runningJobs.keySet());
+        }
+    }
+
+    /**
+     * Renew leases, recover expired leases and dispatch pending jobs at fixed intervals.
      */
     @Scheduled(fixedDelayString = "#{${world.job.processing-interval-ms:5000}}")
     public void processPendingJobs() {
@@ -43,106 +102,234 @@ public class JobProcessingScheduler {
         }
 
         try {
-            List<WJob> pendingJobs = jobService.getPendingJobs();
-
-            if (pendingJobs.isEmpty()) {
-                log.trace("No pending jobs to process");
-                return;
+            if (!runningJobs.isEmpty()) {
+                jobService.renewLeases(leaseOwner, List.copyOf(runningJobs.keySet()), lease());
             }
+            jobService.recoverExpiredLeases();
+            dispatch();
+        } catch (Exception e) {
+            log.error("Error during job processing cycle", e);
+        }
+    }
 
-            log.debug("Found {} pending jobs", pendingJobs.size());
+    /**
+     * Request a dispatch as soon as possible. Requests are coalesced, the claim loop runs on the dispatcher thread.
+     */
+    public void wakeUp() {
+        if (dispatcher == null || dispatcher.isShutdown() || !dispatchRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> {
+                dispatchRequested.set(false);
+                try {
+                    if (properties.isProcessingEnabled()) {
+                        dispatch();
+                    }
+                } catch (Exception e) {
+                    log.error("Error during job dispatch", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dispatchRequested.set(false);
+        }
+    }
 
-            int processed = 0;
-            int skipped = 0;
-            int failed = 0;
+    /**
+     * Claim and start jobs until no worker is free or nothing is pending.
+     */
+    synchronized void dispatch() {
+        String location = locationService.getApplicationServiceName();
+        Duration lease = lease();
+        int started = 0;
 
-            for (WJob job : pendingJobs) {
-                if (processed >= properties.getMaxJobsPerCycle()) {
-                    log.debug("Reached max jobs per cycle ({}), stopping",
-                            properties.getMaxJobsPerCycle());
-                    break;
-                }
+        while (started < properties.getMaxJobsPerCycle()
+                && runningJobs.size() < properties.getMaxConcurrentJobs()) {
+            List<String> executors = executorsWithFreeWorkers();
+            if (executors.isEmpty()) {
+                break;
+            }
+            Optional<WJob> job = jobService.claimNextJob(executors, location, leaseOwner, lease);
+            if (job.isEmpty()) {
+                break;
+            }
+            start(job.get());
+            started++;
+        }
 
-                if (!executorRegistry.hasExecutor(job.getExecutor())) {
-                    log.warn("Job {} has unknown executor: {}, skipping",
-                            job.getId(), job.getExecutor());
-                    skipped++;
-                    continue;
-                }
+        if (started > 0) {
+            log.debug("Job dispatch: started={} running={}", started, runningJobs.size());
+        }
+    }
 
-                if (job.getLocation() != null && !job.getLocation().isBlank()) {
-                    String currentServerName = locationService.getApplicationServiceName();
-                    if (!job.getLocation().equals(currentServerName)) {
-                        log.debug("Job {} is for location '{}', but this is '{}', skipping",
-                                job.getId(), job.getLocation(), currentServerName);
-                        skipped++;
-                        continue;
-                    }
-                }
+    private List<String> executorsWithFreeWorkers() {
+        List<String> result = new ArrayList<>();
+        for (String name : executorRegistry.getExecutorNames()) {
+            if (pool(name).running().get() < concurrency(name)) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
 
-                String lockToken = lockService.acquireGenericLock(
-                        "job:" + job.getId(), JOB_LOCK_TTL);
+    private int concurrency(String executorName) {
+        int defaultValue = executorRegistry.getExecutor(executorName)
+                .map(JobExecutor::getConcurrency)
+                .orElse(1);
+        return Math.max(1, properties.getExecutorConcurrency(executorName, defaultValue));
+    }
 
-                if (lockToken == null) {
-                    log.debug("Job {} is locked by another pod, skipping", job.getId());
-                    skipped++;
-                    continue;
-                }
+    private WorkerPool pool(String executorName) {
+        return pools.computeIfAbsent(executorName, name -> {
+            boolean ioBound = executorRegistry.getExecutor(name).map(JobExecutor::isIoBound).orElse(false);
+            ThreadFactory factory = ioBound
+                    ? Thread.ofVirtual().name("job-" + name + "-", 0).factory()
+                    : Thread.ofPlatform().name("job-" + name + "-", 0).factory();
+            WorkerPool pool = new WorkerPool(name, Executors.newThreadPerTaskExecutor(factory), new AtomicInteger());
+            Gauge.builder("nimbus.job.running", pool.running(), AtomicInteger::get)
+                    .tag("executor", name)
+                    .register(meterRegistry);
+            log.info("Job worker pool created: executor={} virtual={}", name, ioBound);
+            return pool;
+        });
+    }
 
-                try {
-                    processJob(job);
-                    processed++;
-                } catch (Exception e) {
-                    log.error("Error processing job: {}", job.getId(), e);
-                    failed++;
-                } finally {
-                    lockService.releaseGenericLock("job:" + job.getId(), lockToken);
-                }
-            }
+    private Duration lease() {
+        return Duration.ofSeconds(Math.max(30, properties.getLeaseSeconds()));
+    }
 
-            if (processed > 0 || failed > 0) {
-                log.info("Job processing cycle: processed={} skipped={} failed={} remaining={}",
-                        processed, skipped, failed, pendingJobs.size() - processed - skipped - failed);
-            }
+    private void start(WJob job) {
+        WorkerPool pool = pool(job.getExecutor());
+        pool.running().incrementAndGet();
+        runningJobs.put(job.getId(), job);
+
+        if (job.getCreatedAt() != null && job.getStartedAt() != null) {
+            Timer.builder("nimbus.job.queue.wait")
+                    .tag("executor", job.getExecutor())
+                    .register(meterRegistry)
+                    .record(Duration.between(job.getCreatedAt(), job.getStartedAt()));
+        }
+
+        try {
+            pool.threads().execute(() -> run(pool, job));
+        } catch (RejectedExecutionException e) {
+            // Shutting down, the lease expires and the job is recovered
+            runningJobs.remove(job.getId());
+            pool.running().decrementAndGet();
+            log.warn("Job {} claimed during shutdown, left for lease recovery", job.getId());
+        }
+    }
 
+    private void run(WorkerPool pool, WJob job) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            outcome = processJob(job);
         } catch (Exception e) {
-            log.error("Error during job processing cycle", e);
+            log.error("Error processing job: {}", job.getId(), e);
+        } finally {
+            Timer.builder("nimbus.job.run")
+                    .tag("executor", pool.executorName())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            runningJobs.remove(job.getId());
+            pool.running().decrementAndGet();
+            wakeUp();
         }
     }
 
-    private void processJob(WJob job) {
+    /**
+     * Execute a claimed job and store its result.
+     *
+     * @return Outcome for metrics: completed, failed or async
+     */
+    private String processJob(WJob job) {
         log.debug("Processing job: id={} world={} executor={} type={}",
                 job.getId(), job.getWorldId(), job.getExecutor(), job.getType());
 
-        jobService.markJobRunning(job.getId());
-
         JobExecutor executor = executorRegistry.getExecutor(job.getExecutor())
                 .orElseThrow(() -> new IllegalStateException(
                         "Executor not found: " + job.getExecutor()));
 
+        JobCheckpoint checkpoint = jobService.openCheckpoint(job);
         try {
-            JobExecutor.JobResult result = executor.execute(job);
+            JobExecutor.JobResult result;
+            try {
+                result = executor.execute(job, checkpoint);
+            } finally {
+                // Persist finished units before the job is completed or put back for retry
+                checkpoint.flush();
+            }
 
             if (result.async()) {
-                jobService.markJobAsync(job.getId(), result.resultData());
+                if (jobService.markJobAsync(job.getId(), leaseOwner, result.resultData()).isEmpty()) {
+                    return dropResult(job);
+                }
+                return "async";
             } else
             if (result.successful()) {
-                jobService.markJobCompleted(job.getId(), result.resultData());
+                if (jobService.markJobCompleted(job.getId(), leaseOwner, result.resultData()).isEmpty()) {
+                    return dropResult(job);
+                }
                 scheduleNextJob(job, job.getOnSuccess(), result.resultData(), null);
+                completeFanOut(job);
+                return "completed";
             } else {
-                jobService.markJobFailed(job.getId(), result.errorMessage());
+                if (jobService.markJobFailed(job.getId(), leaseOwner, result.errorMessage()).isEmpty()) {
+                    return dropResult(job);
+                }
                 scheduleNextJob(job, job.getOnError(), null, result.errorMessage());
+                completeFanOut(job);
+                return "failed";
             }
 
         } catch (JobExecutionException e) {
             log.error("Job execution failed: id={} error={}", job.getId(), e.getMessage());
-            jobService.markJobFailed(job.getId(), e.getMessage());
+            if (jobService.markJobFailed(job.getId(), leaseOwner, e.getMessage()).isEmpty()) {
+                return dropResult(job);
+            }
             scheduleNextJob(job, job.getOnError(), null, e.getMessage());
+            completeFanOut(job);
+            return "failed";
         } catch (Exception e) {
             log.error("Unexpected error during job execution: id={}", job.getId(), e);
             String errorMessage = "Internal error: " + e.getClass().getSimpleName() + ": " + e.getMessage();
-            jobService.markJobFailed(job.getId(), errorMessage);
+            if (jobService.markJobFailed(job.getId(), leaseOwner, errorMessage).isEmpty()) {
+                return dropResult(job);
+            }
             scheduleNextJob(job, job.getOnError(), null, errorMessage);
+            completeFanOut(job);
+            return "failed";
+        }
+    }
+
+    /**
+     * The lease of the job expired while it was executed, it was recovered or claimed again.
+     * The result is dropped, follow-up jobs are scheduled by the current owner.
+     */
+    private String dropResult(WJob job) {
+        log.warn("Job result dropped, lease lost: id={} world={} executor={} owner={}",
+                job.getId(), job.getWorldId(), job.getExecutor(), leaseOwner);
+        return "dropped";
+    }
+
+    /**
+     * Complete the fanned out parent of a partition job once all partitions are finished
+     * and schedule the follow-up job of the parent.
+     */
+    private void completeFanOut(WJob job) {
+        try {
+            jobService.completeFanOut(job).ifPresent(parent -> {
+                if (JobStatus.COMPLETED.name().equals(parent.getStatus())) {
+                    scheduleNextJob(parent, parent.getOnSuccess(), parent.getResult(), null);
+                } else {
+                    scheduleNextJob(parent, parent.getOnError(), null, parent.getErrorMessage());
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to complete fanned out job of partition job: {} - error: {}",
+                    job.getId(), e.getMessage(), e);
         }
     }
 
@@ -0,0 +1,36 @@
+package de.mhus.nimbus.world.shared.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checkpoint of a job: work units that are finished.
+ * Written by JobCheckpoint while the job runs and kept when the job is retried or resumed,
+ * so the next execution skips the finished units.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobProgress {
+
+    /**
+     * Keys of finished units, defined by the executor.
+     * Example: "12" (chunk strip), "3:-2" (hex), "region:world" (world)
+     */
+    @Builder.Default
+    private List<String> units = new ArrayList<>();
+
+    /**
+     * Total number of units of the job (or of its partition), if known.
+     */
+    private Integer total;
+
+    private Instant updatedAt;
+}
@@ -7,6 +7,9 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Configuration properties for Job System.
  * Loaded from SSettingsService at startup.
@@ -20,6 +23,9 @@ public class JobSettings {
     private SettingBoolean processingEnabled;
     private SettingInteger processingIntervalMs;
     private SettingInteger maxJobsPerCycle;
+    private SettingInteger maxConcurrentJobs;
+    private SettingInteger leaseSeconds;
+    private final Map<String, SettingInteger> executorConcurrency = new ConcurrentHashMap<>();
     private SettingBoolean cleanupEnabled;
     private SettingInteger cleanupIntervalMs;
     private SettingInteger retentionHours;
@@ -39,6 +45,14 @@ public class JobSettings {
                 "job.maxJobsPerCycle",
                 10
         );
+        maxConcurrentJobs = settingsService.getInteger(
+                "job.maxConcurrentJobs",
+                4
+        );
+        leaseSeconds = settingsService.getInteger(
+                "job.leaseSeconds",
+                300
+        );
         cleanupEnabled = settingsService.getBoolean(
                 "job.cleanupEnabled",
                 true
@@ -82,6 +96,33 @@ public class JobSettings {
         return maxJobsPerCycle.get();
     }
 
+    /**
+     * Maximum jobs running at the same time on one pod, over all executors.
+     * 1 processes jobs one after another.
+     * Default: 4
+     */
+    public int getMaxConcurrentJobs() {
+        return maxConcurrentJobs.get();
+    }
+
+    /**
+     * Lease of a claimed job in seconds. Renewed while the job runs,
+     * a job whose lease expired (e.g. pod died) is retried or failed.
+     * Default: 300 seconds
+     */
+    public long getLeaseSeconds() {
+        return leaseSeconds.get();
+    }
+
+    /**
+     * Jobs of one executor running at the same time on one pod.
+     * Setting job.concurrency.&lt;executor&gt;, the default is defined by the executor.
+     */
+    public int getExecutorConcurrency(String executorName, int defaultValue) {
+        return executorConcurrency.computeIfAbsent(executorName,
+                name -> settingsService.getInteger("job.concurrency." + name, defaultValue)).get();
+    }
+
     /**
      * Enable/disable job cleanup scheduler.
      * Default: true
@@ -18,7 +18,8 @@ import java.util.Map;
 
 /**
  * MongoDB Entity for async job execution across world pods.
- * Jobs are processed by JobProcessingScheduler using Redis locks for multi-pod safety.
+ * Jobs are claimed by JobProcessingScheduler with an atomic update that sets a lease,
+ * a job is executed by exactly one pod. Expired leases are recovered.
  */
 @Document(collection = "w_jobs")
 @ActualSchemaVersion("1.0.0")
@@ -26,7 +27,11 @@ import java.util.Map;
         @CompoundIndex(name = "world_status_created_idx",
                 def = "{ 'worldId': 1, 'status': 1, 'createdAt': 1 }"),
         @CompoundIndex(name = "world_executor_status_idx",
-                def = "{ 'worldId': 1, 'executor': 1, 'status': 1 }")
+                def = "{ 'worldId': 1, 'executor': 1, 'status': 1 }"),
+        @CompoundIndex(name = "status_priority_created_idx",
+                def = "{ 'status': 1, 'enabled': 1, 'priority': -1, 'createdAt': 1 }"),
+        @CompoundIndex(name = "status_lease_idx",
+                def = "{ 'status': 1, 'leaseUntil': 1 }")
 })
 @Data
 @Builder
@@ -34,6 +39,11 @@ import java.util.Map;
 @AllArgsConstructor
 public class WJob implements Identifiable {
 
+    /**
+     * Maximum number of resumes after an expired lease, for jobs with a checkpoint.
+     */
+    public static final int MAX_RESUMES = 3;
+
     @Id
     private String id;
 
@@ -114,6 +124,29 @@ public class WJob implements Identifiable {
     @Builder.Default
     private int retryCount = 0;
 
+    /**
+     * Pod that claimed the job, set while RUNNING.
+     */
+    private String leaseOwner;
+
+    /**
+     * The claim expires at this time unless renewed by the owner.
+     * RUNNING jobs with an expired lease are recovered (retried or failed).
+     * Not set for async jobs, they are finished by their callback.
+     */
+    private Instant leaseUntil;
+
+    /**
+     * Finished work units, see JobCheckpoint. Kept on retry and resume.
+     */
+    private JobProgress progress;
+
+    /**
+     * Number of resumes after an expired lease (not counted as retry).
+     */
+    @Builder.Default
+    private int resumeCount = 0;
+
     private Instant createdAt;
     private Instant startedAt;
     private Instant completedAt;
@@ -168,6 +201,7 @@ public class WJob implements Identifiable {
         completedAt = Instant.now();
         status = JobStatus.COMPLETED.name();
         this.result = result;
+        clearLease();
         touchUpdate();
     }
 
@@ -179,9 +213,39 @@ public class WJob implements Identifiable {
         status = JobStatus.FAILED.name();
         this.errorMessage = errorMessage;
         retryCount++;
+        clearLease();
         touchUpdate();
     }
 
+    /**
+     * Release the claim of the job.
+     */
+    public void clearLease() {
+        leaseOwner = null;
+        leaseUntil = null;
+    }
+
+    /**
+     * Put the job back to PENDING after an expired lease, the next execution continues
+     * with the open units of the checkpoint. The retry count is not changed.
+     */
+    public void markResumed(String errorMessage) {
+        status = JobStatus.PENDING.name();
+        startedAt = null;
+        this.errorMessage = errorMessage;
+        resumeCount++;
+        clearLease();
+        touchUpdate();
+    }
+
+    /**
+     * Check if the job has a checkpoint and can be resumed after an expired lease.
+     */
+    public boolean canResume() {
+        return progress != null && progress.getUnits() != null && !progress.getUnits().isEmpty()
+                && resumeCount < MAX_RESUMES;
+    }
+
     /**
      * Check if job can be retried.
      */
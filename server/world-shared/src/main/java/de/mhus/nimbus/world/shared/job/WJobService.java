@@ -1,13 +1,24 @@
 package de.mhus.nimbus.world.shared.job;
 
 import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,8 +42,15 @@ import java.util.function.Consumer;
 @Slf4j
 public class WJobService {
 
+    /**
+     * Redis channel notified on job creation, the message is the executor name.
+     */
+    public static final String JOB_CREATED_CHANNEL = "j.c";
+
     private final WJobRepository jobRepository;
     private final JobExecutorRegistry executorRegistry;
+    private final MongoTemplate mongoTemplate;
+    private final WorldRedisMessagingService redisMessaging;
 
     @Transactional
     public WJob createJob(String worldId, String executor, String type,
@@ -73,9 +91,250 @@ public class WJobService {
         log.info("Created job: id={} world={} executor={} type={} priority={}",
                 saved.getId(), worldId, executor, type, priority);
 
+        notifyJobCreated(saved);
         return saved;
     }
 
+    /**
+     * Wake up job processing on all pods. Without the notification the job is found by the next poll.
+     */
+    private void notifyJobCreated(WJob job) {
+        try {
+            redisMessaging.publish(job.getWorldId(), JOB_CREATED_CHANNEL, job.getExecutor());
+        } catch (Exception e) {
+            log.debug("Failed to notify job creation: id={} error={}", job.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Atomically claim the next pending job of one of the executors.
+     * Status, start time and lease are set in the same update, so a job is claimed by exactly one pod.
+     * Order is priority (DESC) then createdAt (ASC), like getPendingJobs().
+     *
+     * @param executors Executor names with free workers
+     * @param location Location of this pod, jobs without location are claimed as well
+     * @param owner Lease owner
+     * @param lease Lease duration, must be renewed while the job is running
+     * @return The claimed job in RUNNING state, or empty if nothing is pending
+     */
+    public Optional<WJob> claimNextJob(Collection<String> executors, String location, String owner, Duration lease) {
+        if (executors.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("status").is(JobStatus.PENDING.name())
+                .and("enabled").is(true)
+                .and("executor").in(executors)
+                .orOperator(
+                        Criteria.where("location").is(null),
+                        Criteria.where("location").is(""),
+                        Criteria.where("location").is(location)))
+                .with(Sort.by(Sort.Order.desc("priority"), Sort.Order.asc("createdAt")));
+        Update update = new Update()
+                .set("status", JobStatus.RUNNING.name())
+                .set("startedAt", now)
+                .set("modifiedAt", now)
+                .set("leaseOwner", owner)
+                .set("leaseUntil", now.plus(lease));
+
+        WJob job = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), WJob.class);
+        if (job != null) {
+            log.debug("Job claimed: id={} world={} executor={} owner={}",
+                    job.getId(), job.getWorldId(), job.getExecutor(), owner);
+        }
+        return Optional.ofNullable(job);
+    }
+
+    /**
+     * Extend the leases of running jobs held by the owner.
+     *
+     * @return Number of renewed leases
+     */
+    public long renewLeases(String owner, Collection<String> jobIds, Duration lease) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        Query query = new Query(Criteria.where("id").in(jobIds)
+                .and("status").is(JobStatus.RUNNING.name())
+                .and("leaseOwner").is(owner));
+        return mongoTemplate.updateMulti(query,
+                new Update().set("leaseUntil", Instant.now().plus(lease)), WJob.class).getModifiedCount();
+    }
+
+    /**
+     * Recover RUNNING jobs whose lease expired, e.g. because the owning pod died.
+     * Jobs with a checkpoint are resumed up to WJob.MAX_RESUMES times without using a retry.
+     * Others are handled like a failed execution: retried if retries are left, otherwise FAILED.
+     *
+     * @return Number of recovered jobs
+     */
+    public int recoverExpiredLeases() {
+        Instant now = Instant.now();
+        List<WJob> expired = mongoTemplate.find(new Query(Criteria.where("status").is(JobStatus.RUNNING.name())
+                .and("leaseUntil").lt(now)), WJob.class);
+
+        int recovered = 0;
+        for (WJob job : expired) {
+            String owner = job.getLeaseOwner();
+            String errorMessage = "Lease expired, job was not finished by " + owner;
+            if (job.canResume()) {
+                // Continues with the open units of the checkpoint
+                job.markResumed(errorMessage);
+            } else {
+                job.markFailed(errorMessage);
+                if (job.canRetry()) {
+                    job.setStatus(JobStatus.PENDING.name());
+                    job.setStartedAt(null);
+                }
+            }
+
+            // Only if the lease was not renewed in the meantime
+            Query query = new Query(Criteria.where("id").is(job.getId())
+                    .and("status").is(JobStatus.RUNNING.name())
+                    .and("leaseUntil").lt(now));
+            Update update = new Update()
+                    .set("status", job.getStatus())
+                    .set("errorMessage", job.getErrorMessage())
+                    .set("retryCount", job.getRetryCount())
+                    .set("resumeCount", job.getResumeCount())
+                    .set("startedAt", job.getStartedAt())
+                    .set("completedAt", job.getCompletedAt())
+                    .set("modifiedAt", job.getModifiedAt())
+                    .unset("leaseOwner")
+                    .unset("leaseUntil");
+            if (mongoTemplate.updateFirst(query, update, WJob.class).getModifiedCount() > 0) {
+                recovered++;
+                log.warn("Recovered job with expired lease: id={} world={} executor={} owner={} status={}",
+                        job.getId(), job.getWorldId(), job.getExecutor(), owner, job.getStatus());
+                if (JobStatus.FAILED.name().equals(job.getStatus())) {
+                    // follow-up jobs of the parent are not scheduled on this path
+                    completeFanOut(job);
+                }
+            }
+        }
+        return recovered;
+    }
+
+    /**
+     * Checkpoint for an execution of the job, initialized with the units finished so far.
+     */
+    public JobCheckpoint openCheckpoint(WJob job) {
+        return new JobCheckpoint(job, this::saveCheckpoint);
+    }
+
+    /**
+     * Add finished units to the checkpoint of a job.
+     *
+     * @param total Total number of units, null to keep the stored value
+     */
+    public void saveCheckpoint(String jobId, List<String> units, Integer total) {
+        Update update = new Update()
+                .set("progress.updatedAt", Instant.now());
+        if (!units.isEmpty()) {
+            update.addToSet("progress.units").each(units.toArray());
+        }
+        if (total != null) {
+            update.set("progress.total", total);
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("id").is(jobId)), update, WJob.class);
+        log.debug("Checkpoint saved: id={} units={} total={}", jobId, units.size(), total);
+    }
+
+    /**
+     * Fan a job out into partition jobs with the same executor, type and parameters.
+     * Each partition job handles the units selected by JobCheckpoint.isMine() and can be
+     * claimed by a different pod. Partition jobs that exist from a previous execution of the job
+     * are reused, so a retried job does not create them twice.
+     * <p>
+     * The job itself should return an async result, it is completed by {@link #completeFanOut(WJob)}
+     * when all partition jobs are finished.
+     *
+     * @param job Job to split, usually the running one that then waits for the partitions
+     * @param partitions Number of partition jobs
+     * @return Partition jobs
+     */
+    public List<WJob> createPartitionJobs(WJob job, int partitions) {
+        Map<String, WJob> existing = new HashMap<>();
+        for (WJob partition : findPartitionJobs(job.getId())) {
+            existing.put(partition.getParameters().get(JobCheckpoint.PARAM_PARTITION), partition);
+        }
+
+        List<WJob> result = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            WJob partition = existing.get(String.valueOf(i));
+            if (partition == null) {
+                Map<String, String> parameters = new HashMap<>(job.getParameters());
+                parameters.put(JobCheckpoint.PARAM_PARTITION, String.valueOf(i));
+                parameters.put(JobCheckpoint.PARAM_PARTITIONS, String.valueOf(partitions));
+                parameters.put(JobCheckpoint.PARAM_PARENT_JOB, job.getId());
+                partition = createJob(job.getWorldId(), job.getExecutor(), job.getType(), parameters,
+                        job.getLocation(), job.getPriority(), job.getMaxRetries(), null, null);
+            }
+            result.add(partition);
+        }
+        log.info("Job fanned out: id={} executor={} partitions={} reused={}",
+                job.getId(), job.getExecutor(), partitions, existing.size());
+        return result;
+    }
+
+    /**
+     * Complete the fanned out job of a partition job if all its partition jobs are finished.
+     * Called after a partition job completed or failed. The parent job gets the results of the
+     * partitions and fails if one of them failed finally (no retries left).
+     * Only one caller completes the parent (conditional update on RUNNING).
+     *
+     * @param job Finished job, jobs without parent are ignored
+     * @return The parent job if it was completed by this call
+     */
+    public Optional<WJob> completeFanOut(WJob job) {
+        String parentId = job.getParameters() == null ? null : job.getParameters().get(JobCheckpoint.PARAM_PARENT_JOB);
+        if (parentId == null) {
+            return Optional.empty();
+        }
+
+        StringBuilder summary = new StringBuilder();
+        boolean failed = false;
+        for (WJob partition : findPartitionJobs(parentId)) {
+            String partitionName = partition.getParameters().get(JobCheckpoint.PARAM_PARTITION);
+            if (JobStatus.COMPLETED.name().equals(partition.getStatus())) {
+                summary.append("Partition ").append(partitionName).append(" (").append(partition.getId())
+                        .append("): ").append(partition.getResult()).append('\n');
+            } else if (JobStatus.FAILED.name().equals(partition.getStatus())) {
+                failed = true;
+                summary.append("Partition ").append(partitionName).append(" (").append(partition.getId())
+                        .append("): FAILED - ").append(partition.getErrorMessage()).append('\n');
+            } else {
+                // still pending, running or waiting for a retry
+                return Optional.empty();
+            }
+        }
+
+        Instant now = Instant.now();
+        Update update = new Update()
+                .set("status", failed ? JobStatus.FAILED.name() : JobStatus.COMPLETED.name())
+                .set(failed ? "errorMessage" : "result", summary.toString())
+                .set("completedAt", now)
+                .set("modifiedAt", now)
+                .unset("leaseOwner")
+                .unset("leaseUntil");
+        WJob parent = mongoTemplate.findAndModify(
+                new Query(Criteria.where("id").is(parentId).and("status").is(JobStatus.RUNNING.name())),
+                update,
+                FindAndModifyOptions.options().returnNew(true),
+                WJob.class);
+        if (parent != null) {
+            log.info("Fanned out job finished: id={} executor={} status={}",
+                    parentId, parent.getExecutor(), parent.getStatus());
+        }
+        return Optional.ofNullable(parent);
+    }
+
+    private List<WJob> findPartitionJobs(String parentId) {
+        return mongoTemplate.find(new Query(
+                Criteria.where("parameters." + JobCheckpoint.PARAM_PARENT_JOB).is(parentId)), WJob.class);
+    }
+
     @Transactional(readOnly = true)
     public Optional<WJob> getJob(String jobId) {
         return jobRepository.findById(jobId);
@@ -116,38 +375,78 @@ public class WJobService {
         });
     }
 
+    /**
+     * Release the lease of a job that is finished by an async callback.
+     *
+     * @param owner Lease owner that executed the job
+     * @return The job, empty if the lease is not held by the owner anymore
+     */
     @Transactional
-    public Optional<WJob> markJobAsync(String jobId, String result) {
-        return jobRepository.findById(jobId).map(job -> {
+    public Optional<WJob> markJobAsync(String jobId, String owner, String result) {
+        return finishJob(jobId, owner, job -> {
             job.setAsync(result);
-            WJob saved = jobRepository.save(job);
+            // finished by the async callback, no lease to recover
+            job.clearLease();
+            job.touchUpdate();
+        }).map(job -> {
             log.info("Job async: id={} world={} executor={} duration={}ms",
                     jobId, job.getWorldId(), job.getExecutor(),
                     calculateDuration(job));
-            return saved;
+            return job;
         });
     }
 
+    /**
+     * Complete an async job from its callback, the lease was released by markJobAsync.
+     */
     @Transactional
     public Optional<WJob> markJobCompleted(String jobId, String result) {
-        return jobRepository.findById(jobId).map(job -> {
-            job.markCompleted(result);
-            WJob saved = jobRepository.save(job);
+        return markJobCompleted(jobId, null, result);
+    }
+
+    /**
+     * Complete a job if it is still RUNNING with the lease of the owner. A job recovered
+     * after an expired lease or claimed again is not changed.
+     *
+     * @param owner Lease owner that executed the job, null for async jobs
+     * @return The job, empty if the lease is not held by the owner anymore
+     */
+    @Transactional
+    public Optional<WJob> markJobCompleted(String jobId, String owner, String result) {
+        return finishJob(jobId, owner, job -> job.markCompleted(result)).map(job -> {
             log.info("Job completed: id={} world={} executor={} duration={}ms",
                     jobId, job.getWorldId(), job.getExecutor(),
                     calculateDuration(job));
-            return saved;
+            return job;
         });
     }
 
+    /**
+     * Fail an async job from its callback, the lease was released by markJobAsync.
+     */
     @Transactional
     public Optional<WJob> markJobFailed(String jobId, String errorMessage) {
-        return jobRepository.findById(jobId).map(job -> {
-            job.markFailed(errorMessage);
+        return markJobFailed(jobId, null, errorMessage);
+    }
 
+    /**
+     * Fail a job if it is still RUNNING with the lease of the owner, it is put back to
+     * PENDING if retries are left. A job recovered after an expired lease or claimed again
+     * is not changed.
+     *
+     * @param owner Lease owner that executed the job, null for async jobs
+     * @return The job, empty if the lease is not held by the owner anymore
+     */
+    @Transactional
+    public Optional<WJob> markJobFailed(String jobId, String owner, String errorMessage) {
+        return finishJob(jobId, owner, job -> {
+            job.markFailed(errorMessage);
             if (job.canRetry()) {
                 job.setStatus(JobStatus.PENDING.name());
                 job.setStartedAt(null);
+            }
+        }).map(job -> {
+            if (JobStatus.PENDING.name().equals(job.getStatus())) {
                 log.info("Job failed, retrying: id={} world={} executor={} retry={}/{} error={}",
                         jobId, job.getWorldId(), job.getExecutor(),
                         job.getRetryCount(), job.getMaxRetries(), errorMessage);
@@ -155,8 +454,38 @@ public class WJobService {
                 log.error("Job failed: id={} world={} executor={} error={}",
                         jobId, job.getWorldId(), job.getExecutor(), errorMessage);
             }
+            return job;
+        });
+    }
 
-            return jobRepository.save(job);
+    /**
+     * Apply a state transition to a RUNNING job held by the owner. Like renewLeases the
+     * update is conditional on the lease, so a pod whose lease expired can not overwrite
+     * a recovered or re-claimed job.
+     */
+    private Optional<WJob> finishJob(String jobId, String owner, Consumer<WJob> transition) {
+        return jobRepository.findById(jobId).flatMap(job -> {
+            transition.accept(job);
+            Query query = new Query(Criteria.where("id").is(jobId)
+                    .and("status").is(JobStatus.RUNNING.name())
+                    .and("leaseOwner").is(owner));
+            Update update = new Update()
+                    .set("status", job.getStatus())
+                    .set("async", job.getAsync())
+                    .set("result", job.getResult())
+                    .set("errorMessage", job.getErrorMessage())
+                    .set("retryCount", job.getRetryCount())
+                    .set("startedAt", job.getStartedAt())
+                    .set("completedAt", job.getCompletedAt())
+                    .set("modifiedAt", job.getModifiedAt())
+                    .unset("leaseOwner")
+                    .unset("leaseUntil");
+            WJob finished = mongoTemplate.findAndModify(query, update,
+                    FindAndModifyOptions.options().returnNew(true), WJob.class);
+            if (finished == null) {
+                log.debug("Job not finished, lease not held: id={} owner={}", jobId, owner);
+            }
+            return Optional.ofNullable(finished);
         });
     }
 
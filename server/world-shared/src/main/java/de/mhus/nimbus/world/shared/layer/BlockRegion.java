@@ -0,0 +1,130 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocks in an axis aligned box (bounds inclusive), result of region reads
+ * like WLayerService.loadTerrainRegion() or WEditCacheService.findByRegion().
+ *
+ * Only positions with a block are stored, absent positions are empty (air).
+ *
+ * @param <T> Block representation, e.g. LayerBlock, WEditCache or Block
+ */
+@Getter
+public class BlockRegion<T> {
+
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, T> blocks = new HashMap<>();
+
+    @FunctionalInterface
+    public interface BlockConsumer<T> {
+        void accept(int x, int y, int z, T block);
+    }
+
+    /**
+     * Region between the two corners, in any order.
+     */
+    public BlockRegion(int x1, int y1, int z1, int x2, int y2, int z2) {
+        this.minX = Math.min(x1, x2);
+        this.minY = Math.min(y1, y2);
+        this.minZ = Math.min(z1, z2);
+        this.maxX = Math.max(x1, x2);
+        this.maxY = Math.max(y1, y2);
+        this.maxZ = Math.max(z1, z2);
+    }
+
+    /**
+     * Empty region with the same bounds.
+     */
+    public <U> BlockRegion<U> withSameBounds() {
+        return new BlockRegion<>(minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ;
+    }
+
+    public T get(int x, int y, int z) {
+        return contains(x, y, z) ? blocks.get(key(x, y, z)) : null;
+    }
+
+    /**
+     * Set the block at the position, positions outside of the region are ignored.
+     */
+    public void put(int x, int y, int z, T block) {
+        if (contains(x, y, z)) {
+            blocks.put(key(x, y, z), block);
+        }
+    }
+
+    /**
+     * Set the block if the position is still empty, used to merge sources by priority.
+     *
+     * @return true if the block was set
+     */
+    public boolean putIfAbsent(int x, int y, int z, T block) {
+        return contains(x, y, z) && blocks.putIfAbsent(key(x, y, z), block) == null;
+    }
+
+    public int size() {
+        return blocks.size();
+    }
+
+    public boolean isEmpty() {
+        return blocks.isEmpty();
+    }
+
+    /**
+     * Number of positions in the region.
+     */
+    public long volume() {
+        return (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+    }
+
+    /**
+     * True if every position of the region has a block.
+     */
+    public boolean isComplete() {
+        return blocks.size() == volume();
+    }
+
+    public void forEach(BlockConsumer<T> consumer) {
+        long height = maxY - minY + 1;
+        long depth = maxZ - minZ + 1;
+        blocks.forEach((key, block) -> consumer.accept(
+                (int) (key / (height * depth)) + minX,
+                (int) (key / depth % height) + minY,
+                (int) (key % depth) + minZ,
+                block));
+    }
+
+    /**
+     * Keys ("cx:cz") of the chunks the region covers.
+     */
+    public List<String> chunkKeys(int chunkSize) {
+        List<String> keys = new ArrayList<>();
+        for (int cx = Math.floorDiv(minX, chunkSize); cx <= Math.floorDiv(maxX, chunkSize); cx++) {
+            for (int cz = Math.floorDiv(minZ, chunkSize); cz <= Math.floorDiv(maxZ, chunkSize); cz++) {
+                keys.add(cx + ":" + cz);
+            }
+        }
+        return keys;
+    }
+
+    private long key(int x, int y, int z) {
+        return ((long) (x - minX) * (maxY - minY + 1) + (y - minY)) * (maxZ - minZ + 1) + (z - minZ);
+    }
+}
@@ -1,10 +1,16 @@
 package de.mhus.nimbus.world.shared.layer;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -14,6 +20,9 @@ import java.util.Map;
 /**
  * Layer-specific chunk data.
  * Similar to ChunkData but uses LayerBlock instead of Block.
+ *
+ * Reads the block list and the palette storage form (see LayerChunkPalette).
+ * Packed blocks are decoded on first access of the blocks, always serialized as block list.
  */
 @Data
 @Builder
@@ -44,6 +53,85 @@ public class LayerChunkData {
     @Builder.Default
     private Map<String, int[]> heightData = new HashMap<>();
 
+    /**
+     * Packed blocks as read from storage, null after the blocks are decoded.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private LayerChunkPalette stored;
+
+    public List<LayerBlock> getBlocks() {
+        if (stored != null) {
+            blocks = stored.decode();
+            stored = null;
+        }
+        return blocks;
+    }
+
+    public void setBlocks(List<LayerBlock> blocks) {
+        this.blocks = blocks;
+        this.stored = null;
+    }
+
+    @JsonSetter("palette")
+    public void setPalette(List<LayerBlock> palette) {
+        storedForRead().setPalette(palette);
+    }
+
+    @JsonSetter("packed")
+    public void setPacked(String packed) {
+        storedForRead().setPacked(packed);
+    }
+
+    /**
+     * Number of blocks, without decoding packed blocks.
+     */
+    public int blockCount() {
+        if (stored != null) {
+            return stored.size();
+        }
+        return blocks != null ? blocks.size() : 0;
+    }
+
+    /**
+     * Block at the position, decodes only this block if the blocks are still packed. Null if not found.
+     */
+    public LayerBlock findBlock(int x, int y, int z) {
+        if (stored != null) {
+            return stored.find(x, y, z);
+        }
+        if (blocks == null) {
+            return null;
+        }
+        for (LayerBlock layerBlock : blocks) {
+            if (layerBlock == null || layerBlock.getBlock() == null || layerBlock.getBlock().getPosition() == null) {
+                continue;
+            }
+            var pos = layerBlock.getBlock().getPosition();
+            if (pos.getX() == x && pos.getY() == y && pos.getZ() == z) {
+                return layerBlock;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Storage form if the blocks were not decoded yet.
+     */
+    LayerChunkPalette storedPalette() {
+        return stored;
+    }
+
+    private LayerChunkPalette storedForRead() {
+        if (stored == null) {
+            stored = new LayerChunkPalette();
+        }
+        return stored;
+    }
+
     /**
      * Custom setter to handle both old and new heightData formats.
      * Ignores deserialization errors from old array format.
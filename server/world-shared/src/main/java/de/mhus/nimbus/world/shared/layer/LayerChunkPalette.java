@@ -0,0 +1,220 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage form of LayerChunkData with a per chunk block palette.
+ *
+ * Blocks that differ only in their position share one palette entry (a LayerBlock without position).
+ * Palette indices and positions are packed as varints into one Base64 string:
+ * block count, then per block (paletteIndex << 1 | hasPosition) followed by the zigzag deltas
+ * of x, y and z to the previous position.
+ *
+ * LayerChunkData reads this form and decodes the blocks on first access,
+ * the block list (current DTO) is only built where it is needed.
+ *
+ * Blocks with block metadata get their own palette entry, metadata is modified per block (see WChunkService).
+ * Decoded blocks share offsets, rotation and modifiers with their palette entry, replace them instead of modifying.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LayerChunkPalette {
+
+    private int cx;
+
+    private int cz;
+
+    /**
+     * Distinct blocks of the chunk without position.
+     */
+    private List<LayerBlock> palette = new ArrayList<>();
+
+    /**
+     * Base64 packed palette indices and positions.
+     */
+    private String packed;
+
+    private Map<String, int[]> heightData = new HashMap<>();
+
+    /**
+     * Encode the chunk data, reuses the stored form if the blocks were not decoded yet.
+     */
+    public static LayerChunkPalette encode(LayerChunkData data) {
+        LayerChunkPalette stored = data.storedPalette();
+        if (stored != null) {
+            return new LayerChunkPalette(data.getCx(), data.getCz(), stored.getPalette(), stored.getPacked(), data.getHeightData());
+        }
+
+        List<LayerBlock> blocks = data.getBlocks() != null ? data.getBlocks() : List.of();
+        LayerChunkPalette encoded = encodeBlocks(blocks);
+        encoded.setCx(data.getCx());
+        encoded.setCz(data.getCz());
+        encoded.setHeightData(data.getHeightData());
+        return encoded;
+    }
+
+    /**
+     * Encode a block list in the given order, e.g. the block diffs of WEditJournalPart.
+     */
+    public static LayerChunkPalette encodeBlocks(List<LayerBlock> blocks) {
+        List<LayerBlock> palette = new ArrayList<>();
+        Map<LayerBlock, Integer> paletteIndex = new HashMap<>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(blocks.size() * 4 + 4);
+        writeVarint(out, blocks.size());
+
+        int px = 0, py = 0, pz = 0;
+        for (LayerBlock layerBlock : blocks) {
+            LayerBlock entry = withPosition(layerBlock, null);
+            boolean shared = layerBlock == null || layerBlock.getBlock() == null || layerBlock.getBlock().getMetadata() == null;
+            Integer index = shared ? paletteIndex.get(entry) : null;
+            if (index == null) {
+                index = palette.size();
+                palette.add(entry);
+                if (shared) {
+                    paletteIndex.put(entry, index);
+                }
+            }
+
+            Vector3Int position = layerBlock != null && layerBlock.getBlock() != null ? layerBlock.getBlock().getPosition() : null;
+            writeVarint(out, index << 1 | (position != null ? 1 : 0));
+            if (position != null) {
+                writeVarint(out, zigzag(position.getX() - px));
+                writeVarint(out, zigzag(position.getY() - py));
+                writeVarint(out, zigzag(position.getZ() - pz));
+                px = position.getX();
+                py = position.getY();
+                pz = position.getZ();
+            }
+        }
+
+        return new LayerChunkPalette(0, 0, palette,
+                Base64.getEncoder().encodeToString(out.toByteArray()), new HashMap<>());
+    }
+
+    /**
+     * Number of blocks without decoding them.
+     */
+    public int size() {
+        return packed == null ? 0 : readVarint(buffer());
+    }
+
+    /**
+     * Decode all blocks.
+     */
+    public List<LayerBlock> decode() {
+        if (packed == null) {
+            return new ArrayList<>();
+        }
+        ByteBuffer in = buffer();
+        int count = readVarint(in);
+        List<LayerBlock> blocks = new ArrayList<>(count);
+        int x = 0, y = 0, z = 0;
+        for (int i = 0; i < count; i++) {
+            int head = readVarint(in);
+            Vector3Int position = null;
+            if ((head & 1) != 0) {
+                x += unzigzag(readVarint(in));
+                y += unzigzag(readVarint(in));
+                z += unzigzag(readVarint(in));
+                position = Vector3Int.builder().x(x).y(y).z(z).build();
+            }
+            blocks.add(withPosition(palette.get(head >>> 1), position));
+        }
+        return blocks;
+    }
+
+    /**
+     * Decode only the block at the position, null if not found.
+     */
+    public LayerBlock find(int bx, int by, int bz) {
+        if (packed == null) {
+            return null;
+        }
+        ByteBuffer in = buffer();
+        int count = readVarint(in);
+        int x = 0, y = 0, z = 0;
+        for (int i = 0; i < count; i++) {
+            int head = readVarint(in);
+            if ((head & 1) == 0) {
+                continue;
+            }
+            x += unzigzag(readVarint(in));
+            y += unzigzag(readVarint(in));
+            z += unzigzag(readVarint(in));
+            if (x == bx && y == by && z == bz) {
+                return withPosition(palette.get(head >>> 1), Vector3Int.builder().x(x).y(y).z(z).build());
+            }
+        }
+        return null;
+    }
+
+    private ByteBuffer buffer() {
+        return ByteBuffer.wrap(Base64.getDecoder().decode(packed));
+    }
+
+    /**
+     * Copy of the layer block with another position, nested values are shared.
+     */
+    private static LayerBlock withPosition(LayerBlock layerBlock, Vector3Int position) {
+        if (layerBlock == null) {
+            return null;
+        }
+        Block block = layerBlock.getBlock();
+        Block copy = block == null ? null : Block.builder()
+                .position(position)
+                .blockTypeId(block.getBlockTypeId())
+                .offsets(block.getOffsets())
+                .rotation(block.getRotation())
+                .faceVisibility(block.getFaceVisibility())
+                .status(block.getStatus())
+                .modifiers(block.getModifiers())
+                .metadata(block.getMetadata())
+                .level(block.getLevel())
+                .source(block.getSource())
+                .build();
+        return new LayerBlock(copy, layerBlock.getMetadata(), layerBlock.getGroup());
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Malformed packed layer chunk");
+    }
+}
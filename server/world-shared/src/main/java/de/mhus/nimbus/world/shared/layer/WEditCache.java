@@ -24,6 +24,7 @@ import java.time.Instant;
 @CompoundIndexes({
         @CompoundIndex(name = "worldId_chunk_idx", def = "{ 'worldId': 1, 'chunk': 1 }"),
         @CompoundIndex(name = "worldId_layerDataId_idx", def = "{ 'worldId': 1, 'layerDataId': 1 }"),
+        @CompoundIndex(name = "worldId_layerDataId_chunk_idx", def = "{ 'worldId': 1, 'layerDataId': 1, 'chunk': 1 }"),
         @CompoundIndex(name = "unique_block_position_idx", def = "{ 'worldId': 1, 'layerDataId': 1, 'modelName': 1, 'x': 1, 'y': 1, 'z': 1 }", unique = true)
 })
 @Data
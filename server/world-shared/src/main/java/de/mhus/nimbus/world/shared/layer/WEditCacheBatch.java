@@ -0,0 +1,123 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Painting session for the edit cache.
+ *
+ * Collects block changes of one world in memory and writes them with WEditCacheService.doApplyAndSendBlocks():
+ * one bulk write to the edit cache and batched "b.u" messages grouped by chunk instead of a query, a save
+ * and a message per block. The last change of a position wins, the result is the same as setting and
+ * deleting the blocks one by one.
+ *
+ * Changes are written on flush() / close() and automatically if MAX_PENDING changes are collected.
+ * The batch can be used again after a flush. Not thread safe.
+ *
+ * A batch opened with a WEditJournalRecording records the before and after state of each flushed change,
+ * close() appends the operation to the undo journal of the session (see WEditJournalService).
+ */
+@Slf4j
+public class WEditCacheBatch implements AutoCloseable {
+
+    public static final int MAX_PENDING = 4096;
+
+    private final WEditCacheService editCacheService;
+    @Getter
+    private final WWorld world;
+    private final LinkedHashMap<Key, Operation> pending = new LinkedHashMap<>();
+    @Getter
+    private final WEditJournalRecording journal;
+
+    @Getter
+    private long flushedBlocks;
+    @Getter
+    private long sentMessages;
+
+    private record Key(String layerDataId, String modelName, int x, int y, int z) {
+    }
+
+    /**
+     * One pending change, a block to set or a deletion if block is null.
+     */
+    public record Operation(String layerDataId, String modelName, int x, int y, int z, LayerBlock block) {
+        public boolean isDelete() {
+            return block == null;
+        }
+    }
+
+    WEditCacheBatch(WEditCacheService editCacheService, WWorld world, WEditJournalRecording journal) {
+        this.editCacheService = editCacheService;
+        this.world = world;
+        this.journal = journal;
+    }
+
+    /**
+     * Set a block, like WEditCacheService.doSetAndSendBlock().
+     */
+    public void setBlock(String layerDataId, String modelName, Block block, String group) {
+        var position = block.getPosition();
+        put(new Operation(layerDataId, modelName, position.getX(), position.getY(), position.getZ(),
+                LayerBlock.builder().block(block).group(group).build()));
+    }
+
+    /**
+     * Set a layer block, e.g. a journaled state. The block must have a position.
+     */
+    public void setBlock(String layerDataId, String modelName, LayerBlock layerBlock) {
+        var position = layerBlock.getBlock().getPosition();
+        put(new Operation(layerDataId, modelName, position.getX(), position.getY(), position.getZ(), layerBlock));
+    }
+
+    /**
+     * Delete the block of the model, like WEditCacheService.doDeleteAndSendBlock().
+     */
+    public void deleteBlock(String layerDataId, String modelName, int x, int y, int z) {
+        put(new Operation(layerDataId, modelName, x, y, z, null));
+    }
+
+    /**
+     * Pending change at the position, if any. Changes already flushed are in the edit cache.
+     */
+    public Optional<Operation> getPending(String layerDataId, String modelName, int x, int y, int z) {
+        return Optional.ofNullable(pending.get(new Key(layerDataId, modelName, x, y, z)));
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all pending changes and send them to the clients.
+     */
+    public void flush() {
+        if (pending.isEmpty()) return;
+        var operations = new ArrayList<>(pending.values());
+        pending.clear();
+        sentMessages += editCacheService.doApplyAndSendBlocks(world, operations, journal);
+        flushedBlocks += operations.size();
+        log.debug("Flushed edit cache batch: world={}, blocks={}, total blocks={}, total messages={}",
+                world.getWorldId(), operations.size(), flushedBlocks, sentMessages);
+    }
+
+    @Override
+    public void close() {
+        flush();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void put(Operation operation) {
+        pending.put(new Key(operation.layerDataId(), operation.modelName(), operation.x(), operation.y(), operation.z()), operation);
+        if (pending.size() >= MAX_PENDING) {
+            flush();
+        }
+    }
+}
@@ -51,6 +51,31 @@ public class WEditCacheDirty implements Identifiable {
      */
     private Instant createdAt;
 
+    /**
+     * Progress of the running apply: cached blocks of the layer when the apply started.
+     */
+    private long totalBlocks;
+
+    /**
+     * Progress of the running apply: blocks written to the layer.
+     */
+    private long appliedBlocks;
+
+    /**
+     * Progress of the running apply: terrain chunks or models written.
+     */
+    private long appliedChunks;
+
+    /**
+     * Start of the running apply, null if not started.
+     */
+    private Instant applyStartedAt;
+
+    /**
+     * Last progress update.
+     */
+    private Instant progressAt;
+
     /**
      * Initialize timestamp.
      */
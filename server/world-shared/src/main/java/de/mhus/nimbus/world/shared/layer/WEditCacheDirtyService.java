@@ -3,8 +3,14 @@ package de.mhus.nimbus.world.shared.layer;
 import de.mhus.nimbus.world.shared.redis.WorldRedisLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,12 +18,24 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service for managing WEditCacheDirty entities.
  * Handles the work queue for merging cached edits into layers.
  * Scheduled task processes pending dirty entries and commits changes to layers.
+ *
+ * Applying a layer streams the cached blocks from MongoDB ordered by chunk (or model), so only the
+ * groups in progress are in memory. Terrain chunks are merged in parallel (world.edit-cache.apply-parallelism),
+ * written in batches and the applied cache entries are deleted per batch. The progress is stored
+ * in the WEditCacheDirty entry of the layer.
  */
 @Service
 @RequiredArgsConstructor
@@ -31,9 +49,15 @@ public class WEditCacheDirtyService {
     private final WorldRedisLockService lockService;
     private final WLayerService layerService;
     private final WLayerModelRepository modelRepository;
+    private final MongoTemplate mongoTemplate;
+    private final WEditJournalService journalService;
 
     private static final Duration LOCK_TTL = Duration.ofMinutes(5);
     private static final int MAX_ENTRIES_PER_CYCLE = 10;
+    private static final int TERRAIN_BATCH_CHUNKS = 32;
+
+    @Value("${world.edit-cache.apply-parallelism:4}")
+    private int applyParallelism = 4;
 
     /**
      * Mark a layer as dirty (has pending changes in edit cache).
@@ -94,6 +118,18 @@ public class WEditCacheDirtyService {
         return dirtyRepository.findByWorldId(worldId);
     }
 
+    /**
+     * Dirty entry of the layer with the progress of a running apply.
+     *
+     * @param worldId World identifier
+     * @param layerDataId Layer data identifier
+     * @return Dirty entry if the layer has pending changes
+     */
+    @Transactional(readOnly = true)
+    public Optional<WEditCacheDirty> getProgress(String worldId, String layerDataId) {
+        return dirtyRepository.findByWorldIdAndLayerDataId(worldId, layerDataId);
+    }
+
     /**
      * Get all dirty layers ordered by age (oldest first).
      *
@@ -172,35 +208,33 @@ public class WEditCacheDirtyService {
     /**
      * Process a single dirty layer - merge cached edits into layer.
      * This method:
-     * 1. Loads all cached blocks for the layer
-     * 2. Writes them to WLayerModel
-     * 3. Deletes the cached blocks
+     * 1. Streams the cached blocks for the layer
+     * 2. Writes them to WLayerTerrain or WLayerModel
+     * 3. Deletes the applied cached blocks
      * 4. Creates WDirtyChunk entries for affected chunks
      * 5. Removes the dirty flag
      *
+     * Blocks cached while the layer is applied stay in the cache if they were not streamed.
+     *
      * @param worldId World identifier
      * @param layerDataId Layer data identifier
      */
     @Transactional
     public void processLayer(String worldId, String layerDataId) {
         log.info("Processing dirty layer: worldId={}, layerDataId={}", worldId, layerDataId);
+        long start = System.currentTimeMillis();
 
-        // Load all cached blocks for this layer
-        List<WEditCache> cachedBlocks = cacheService.findByWorldIdAndLayerDataId(worldId, layerDataId);
+        // The cache is streamed from MongoDB, pending changes of the overlay must be written first
+        cacheService.flush(worldId);
 
-        if (cachedBlocks.isEmpty()) {
+        long totalBlocks = cacheRepository.countByWorldIdAndLayerDataId(worldId, layerDataId);
+        if (totalBlocks == 0) {
             log.warn("No cached blocks found for dirty layer: worldId={}, layerDataId={}", worldId, layerDataId);
             clearDirty(worldId, layerDataId);
             return;
         }
 
-        log.debug("Found {} cached blocks to merge into layer", cachedBlocks.size());
-
-        // Get affected chunks for marking dirty after merge
-        Set<String> affectedChunks = cachedBlocks.stream()
-                .map(WEditCache::getChunk)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+        log.debug("Found {} cached blocks to merge into layer", totalBlocks);
 
         // Get layer information
         Optional<WLayer> layerOpt = layerService.findByWorldIdAndLayerDataId(worldId, layerDataId);
@@ -210,33 +244,36 @@ public class WEditCacheDirtyService {
             return;
         }
         WLayer layer = layerOpt.get();
-        String layerName = layer.getName();
+
+        ApplyProgress progress = new ApplyProgress(worldId, layerDataId, totalBlocks);
 
         // Write blocks based on layer type
         if (layer.getLayerType() == LayerType.MODEL) {
-            mergeBlocksIntoLayerModel(worldId, layerDataId, cachedBlocks);
-            log.info("Merged {} blocks into WLayerModel for layerDataId={}", cachedBlocks.size(), layerDataId);
+            mergeBlocksIntoLayerModel(worldId, layerDataId, progress);
+            log.info("Merged {} blocks into WLayerModel for layerDataId={}", progress.appliedBlocks, layerDataId);
         } else if (layer.getLayerType() == LayerType.GROUND) {
-            mergeBlocksIntoLayerTerrain(worldId, layerDataId, cachedBlocks);
-            log.info("Merged {} blocks into WLayerTerrain for layerDataId={}", cachedBlocks.size(), layerDataId);
+            mergeBlocksIntoLayerTerrain(worldId, layerDataId, progress);
+            log.info("Merged {} blocks into WLayerTerrain for layerDataId={}", progress.appliedBlocks, layerDataId);
         } else {
             log.warn("Unknown layer type {}, cannot merge blocks", layer.getLayerType());
+            long deletedCount = cacheService.deleteByWorldIdAndLayerDataId(worldId, layerDataId);
+            log.debug("Deleted {} cached blocks", deletedCount);
         }
 
-        // Delete cached blocks after successful merge
-        long deletedCount = cacheService.deleteByWorldIdAndLayerDataId(worldId, layerDataId);
-        log.debug("Deleted {} cached blocks after merge", deletedCount);
-
         // Mark affected chunks as dirty for regeneration
-        dirtyChunkService.markChunksDirty(worldId, new ArrayList<>(affectedChunks),
+        dirtyChunkService.markChunksDirty(worldId, new ArrayList<>(progress.affectedChunks),
                 "edit_cache_applied:layer=" + layerDataId);
-        log.debug("Marked {} chunks as dirty", affectedChunks.size());
+        log.debug("Marked {} chunks as dirty", progress.affectedChunks.size());
 
         // Remove dirty flag
         clearDirty(worldId, layerDataId);
 
-        log.info("Successfully processed dirty layer: worldId={}, layerDataId={}, blocks={}, chunks={}",
-                worldId, layerDataId, cachedBlocks.size(), affectedChunks.size());
+        // Journaled states refer to the edit cache, they can not be undone in the layer
+        journalService.dropLayer(worldId, layerDataId);
+
+        log.info("Successfully processed dirty layer: worldId={}, layerDataId={}, blocks={}, chunks={}, duration={}ms",
+                worldId, layerDataId, progress.appliedBlocks, progress.affectedChunks.size(),
+                System.currentTimeMillis() - start);
     }
 
     /**
@@ -275,18 +312,18 @@ public class WEditCacheDirtyService {
         log.info("Discard changes requested: worldId={}, layerDataId={}", worldId, layerDataId);
 
         // Get affected chunks before deleting
-        List<WEditCache> cachedBlocks = cacheService.findByWorldIdAndLayerDataId(worldId, layerDataId);
-        Set<String> affectedChunks = cachedBlocks.stream()
-                .map(WEditCache::getChunk)
+        cacheService.flush(worldId);
+        List<String> affectedChunks = mongoTemplate.findDistinct(layerQuery(worldId, layerDataId),
+                        "chunk", WEditCache.class, String.class).stream()
                 .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
+                .toList();
 
         // Delete all cached blocks
         long deletedCount = cacheService.deleteByWorldIdAndLayerDataId(worldId, layerDataId);
 
         // Mark affected chunks dirty to trigger refresh on clients
         if (!affectedChunks.isEmpty()) {
-            dirtyChunkService.markChunksDirty(worldId, new ArrayList<>(affectedChunks),
+            dirtyChunkService.markChunksDirty(worldId, affectedChunks,
                     "edit_cache_discarded:layer=" + layerDataId);
             log.debug("Marked {} chunks dirty for refresh", affectedChunks.size());
         }
@@ -295,6 +332,7 @@ public class WEditCacheDirtyService {
         if (isDirty(worldId, layerDataId)) {
             clearDirty(worldId, layerDataId);
         }
+        journalService.dropLayer(worldId, layerDataId);
 
         log.info("Discarded {} cached blocks for layer: worldId={}, layerDataId={}, chunks={}",
                 deletedCount, worldId, layerDataId, affectedChunks.size());
@@ -306,35 +344,30 @@ public class WEditCacheDirtyService {
      * Merge cached blocks into WLayerModel.
      * Transforms world coordinates to layer-relative coordinates (with inverse rotation).
      * Merges blocks into existing WLayerModel content.
-     * Groups blocks by modelName and merges them into the corresponding models.
+     * Streams the cached blocks ordered by modelName and merges each group into the corresponding model.
      *
      * @param worldId World identifier
      * @param layerDataId Layer data identifier
-     * @param cachedBlocks List of cached blocks to merge
+     * @param progress Progress of the layer
      */
-    private void mergeBlocksIntoLayerModel(String worldId, String layerDataId, List<WEditCache> cachedBlocks) {
+    private void mergeBlocksIntoLayerModel(String worldId, String layerDataId, ApplyProgress progress) {
         // Get all models for this layer (ordered by overlay order)
         List<WLayerModel> models = modelRepository.findByLayerDataIdOrderByOrder(layerDataId);
 
         if (models.isEmpty()) {
             log.warn("No models found for layer, cannot merge blocks: layerDataId={}", layerDataId);
+            cacheService.deleteByWorldIdAndLayerDataId(worldId, layerDataId);
             return;
         }
 
-        // Group cached blocks by modelName
-        Map<String, List<WEditCache>> blocksByModel = cachedBlocks.stream()
-                .collect(Collectors.groupingBy(cache ->
-                    cache.getModelName() != null ? cache.getModelName() : ""));
-
-        log.debug("Merging blocks into {} models: total blocks={}", blocksByModel.size(), cachedBlocks.size());
-
         // Track affected model IDs for terrain regeneration
         Set<String> affectedModelIds = new HashSet<>();
 
         // Process each model group
-        for (Map.Entry<String, List<WEditCache>> entry : blocksByModel.entrySet()) {
-            String modelName = entry.getKey();
-            List<WEditCache> modelBlocks = entry.getValue();
+        streamGroups(worldId, layerDataId, "modelName",
+                cache -> cache.getModelName() != null ? cache.getModelName() : "",
+                modelBlocks -> {
+            String modelName = modelBlocks.get(0).getModelName() != null ? modelBlocks.get(0).getModelName() : "";
 
             // Find model by name
             WLayerModel model = null;
@@ -350,19 +383,22 @@ public class WEditCacheDirtyService {
                         break;
                     }
                 }
-
-                if (model == null) {
-                    log.error("Model not found for name '{}', skipping {} blocks", modelName, modelBlocks.size());
-                    continue;
-                }
             }
 
-            // Merge blocks into this model
-            mergeBlocksIntoSingleModel(worldId, model, modelBlocks);
+            if (model == null) {
+                log.error("Model not found for name '{}', skipping {} blocks", modelName, modelBlocks.size());
+            } else {
+                // Merge blocks into this model
+                mergeBlocksIntoSingleModel(worldId, model, modelBlocks);
+
+                // Track this model for terrain regeneration
+                affectedModelIds.add(model.getId());
+            }
 
-            // Track this model for terrain regeneration
-            affectedModelIds.add(model.getId());
-        }
+            // The model content is saved, the cache entries are not needed anymore
+            cacheService.deleteApplied(worldId, layerDataId, modelBlocks);
+            progress.applied(modelBlocks, 1);
+        });
 
         // Regenerate WLayerTerrain for affected models
         if (!affectedModelIds.isEmpty()) {
@@ -539,101 +575,262 @@ public class WEditCacheDirtyService {
 
     /**
      * Merge cached blocks into WLayerTerrain (for GROUND type layers).
-     * Groups blocks by chunk and merges them into existing terrain chunk data.
+     * Streams the cached blocks ordered by chunk, merges the chunks in parallel into the existing
+     * terrain chunk data and writes them in batches of TERRAIN_BATCH_CHUNKS.
      *
      * @param worldId World identifier
      * @param layerDataId Layer data identifier
-     * @param cachedBlocks List of cached blocks to merge
+     * @param progress Progress of the layer
      */
-    private void mergeBlocksIntoLayerTerrain(String worldId, String layerDataId, List<WEditCache> cachedBlocks) {
-        // Group cached blocks by chunk
-        Map<String, List<WEditCache>> blocksByChunk = cachedBlocks.stream()
-                .collect(Collectors.groupingBy(WEditCache::getChunk));
+    private void mergeBlocksIntoLayerTerrain(String worldId, String layerDataId, ApplyProgress progress) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(applyParallelism,
+                Thread.ofPlatform().name("edit-cache-apply-", 0).factory())) {
+            TerrainApply apply = new TerrainApply(worldId, layerDataId, progress, new ExecutorCompletionService<>(executor));
+            streamGroups(worldId, layerDataId, "chunk",
+                    cache -> cache.getChunk() != null ? cache.getChunk() : "",
+                    apply::submit);
+            apply.finish();
+
+            log.info("Merged blocks into terrain: layerDataId={}, chunks={}, added={}, updated={}, removed={}",
+                    layerDataId, apply.chunksProcessed, apply.blocksAdded, apply.blocksUpdated, apply.blocksRemoved);
+        }
+    }
+
+    /**
+     * Merge cached blocks of one chunk into the existing terrain chunk data.
+     * Runs on the apply pool.
+     */
+    private MergedChunk mergeChunk(String worldId, String layerDataId, String chunkKey, List<WEditCache> chunkBlocks) {
+        // Load existing terrain chunk data
+        Optional<LayerChunkData> chunkDataOpt = layerService.loadTerrainChunk(worldId, layerDataId, chunkKey);
+
+        LayerChunkData chunkData;
+        if (chunkDataOpt.isPresent()) {
+            chunkData = chunkDataOpt.get();
+        } else {
+            // Create new chunk data if not exists
+            chunkData = new LayerChunkData();
+            chunkData.setBlocks(new ArrayList<>());
+        }
+
+        // Build position index of existing blocks
+        List<LayerBlock> blocks = chunkData.getBlocks();
+        if (blocks == null) {
+            blocks = new ArrayList<>();
+            chunkData.setBlocks(blocks);
+        }
 
-        log.debug("Merging blocks into terrain: chunks={}, totalBlocks={}",
-                blocksByChunk.size(), cachedBlocks.size());
+        Map<String, LayerBlock> blockIndex = new HashMap<>();
+        for (LayerBlock layerBlock : blocks) {
+            if (layerBlock.getBlock() != null && layerBlock.getBlock().getPosition() != null) {
+                de.mhus.nimbus.generated.types.Vector3Int pos = layerBlock.getBlock().getPosition();
+                String posKey = pos.getX() + ":" + pos.getY() + ":" + pos.getZ();
+                blockIndex.put(posKey, layerBlock);
+            }
+        }
 
-        int chunksProcessed = 0;
-        int blocksAdded = 0;
-        int blocksUpdated = 0;
-        int blocksRemoved = 0;
+        int added = 0;
+        int updated = 0;
+        int removed = 0;
 
-        for (Map.Entry<String, List<WEditCache>> entry : blocksByChunk.entrySet()) {
-            String chunkKey = entry.getKey();
-            List<WEditCache> chunkBlocks = entry.getValue();
+        // Merge cached blocks into chunk
+        for (WEditCache cache : chunkBlocks) {
+            de.mhus.nimbus.generated.types.Block block = cache.getBlock().getBlock();
+            de.mhus.nimbus.generated.types.Vector3Int pos = block.getPosition();
+            String posKey = pos.getX() + ":" + pos.getY() + ":" + pos.getZ();
 
-            // Load existing terrain chunk data
-            Optional<LayerChunkData> chunkDataOpt = layerService.loadTerrainChunk(worldId, layerDataId, chunkKey);
+            // Check if block is AIR (removal)
+            boolean isAir = de.mhus.nimbus.world.shared.world.BlockUtil.isAirType(block.getBlockTypeId());
 
-            LayerChunkData chunkData;
-            if (chunkDataOpt.isPresent()) {
-                chunkData = chunkDataOpt.get();
+            if (isAir) {
+                // Remove block if exists
+                if (blockIndex.remove(posKey) != null) {
+                    removed++;
+                    log.trace("Removed block at {}", posKey);
+                }
             } else {
-                // Create new chunk data if not exists
-                chunkData = new LayerChunkData();
-                chunkData.setBlocks(new ArrayList<>());
+                // Add or update block
+                LayerBlock layerBlock = LayerBlock.builder()
+                        .block(block)
+                        .group(cache.getBlock().getGroup())
+                        .metadata(cache.getBlock().getMetadata())
+                        .build();
+
+                if (blockIndex.containsKey(posKey)) {
+                    updated++;
+                } else {
+                    added++;
+                }
+                blockIndex.put(posKey, layerBlock);
             }
+        }
+
+        // Rebuild block list from index
+        chunkData.setBlocks(new ArrayList<>(blockIndex.values()));
+        log.trace("Merged chunk {}: blocks={}", chunkKey, chunkData.getBlocks().size());
+
+        return new MergedChunk(chunkKey, chunkData, chunkBlocks, added, updated, removed);
+    }
 
-            // Build position index of existing blocks
-            List<LayerBlock> blocks = chunkData.getBlocks();
-            if (blocks == null) {
-                blocks = new ArrayList<>();
-                chunkData.setBlocks(blocks);
+    private record MergedChunk(String chunkKey, LayerChunkData data, List<WEditCache> entries,
+                               int added, int updated, int removed) {
+    }
+
+    /**
+     * Terrain apply of one layer: submits chunks to the pool, collects the merged chunks
+     * and writes them in batches. Used by the streaming thread only.
+     */
+    private class TerrainApply {
+
+        private final String worldId;
+        private final String layerDataId;
+        private final ApplyProgress progress;
+        private final CompletionService<MergedChunk> completion;
+        private final Map<String, LayerChunkData> batch = new LinkedHashMap<>();
+        private final List<WEditCache> batchEntries = new ArrayList<>();
+        private int inFlight;
+        private int chunksProcessed;
+        private int blocksAdded;
+        private int blocksUpdated;
+        private int blocksRemoved;
+
+        TerrainApply(String worldId, String layerDataId, ApplyProgress progress, CompletionService<MergedChunk> completion) {
+            this.worldId = worldId;
+            this.layerDataId = layerDataId;
+            this.progress = progress;
+            this.completion = completion;
+        }
+
+        void submit(List<WEditCache> chunkBlocks) {
+            String chunkKey = chunkBlocks.get(0).getChunk();
+            if (chunkKey == null) {
+                log.warn("Found {} cached blocks without chunk, deleting them: layerDataId={}", chunkBlocks.size(), layerDataId);
+                cacheService.deleteApplied(worldId, layerDataId, chunkBlocks);
+                return;
+            }
+            completion.submit(() -> mergeChunk(worldId, layerDataId, chunkKey, chunkBlocks));
+            inFlight++;
+            // Bound the chunks in memory
+            while (inFlight >= applyParallelism * 2) {
+                collect();
             }
+        }
 
-            Map<String, LayerBlock> blockIndex = new HashMap<>();
-            for (LayerBlock layerBlock : blocks) {
-                if (layerBlock.getBlock() != null && layerBlock.getBlock().getPosition() != null) {
-                    de.mhus.nimbus.generated.types.Vector3Int pos = layerBlock.getBlock().getPosition();
-                    String posKey = pos.getX() + ":" + pos.getY() + ":" + pos.getZ();
-                    blockIndex.put(posKey, layerBlock);
-                }
+        void finish() {
+            while (inFlight > 0) {
+                collect();
             }
+            write();
+        }
 
-            // Merge cached blocks into chunk
-            for (WEditCache cache : chunkBlocks) {
-                de.mhus.nimbus.generated.types.Block block = cache.getBlock().getBlock();
-                de.mhus.nimbus.generated.types.Vector3Int pos = block.getPosition();
-                String posKey = pos.getX() + ":" + pos.getY() + ":" + pos.getZ();
+        private void collect() {
+            MergedChunk merged;
+            try {
+                merged = completion.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while applying edit cache: layerDataId=" + layerDataId, e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to merge edit cache into terrain: layerDataId=" + layerDataId, e.getCause());
+            } finally {
+                inFlight--;
+            }
+            batch.put(merged.chunkKey(), merged.data());
+            batchEntries.addAll(merged.entries());
+            blocksAdded += merged.added();
+            blocksUpdated += merged.updated();
+            blocksRemoved += merged.removed();
+            if (batch.size() >= TERRAIN_BATCH_CHUNKS) {
+                write();
+            }
+        }
 
-                // Check if block is AIR (removal)
-                boolean isAir = de.mhus.nimbus.world.shared.world.BlockUtil.isAirType(block.getBlockTypeId());
+        private void write() {
+            if (batch.isEmpty()) return;
+            layerService.saveTerrainChunks(worldId, layerDataId, batch);
+            cacheService.deleteApplied(worldId, layerDataId, batchEntries);
+            chunksProcessed += batch.size();
+            progress.applied(batchEntries, batch.size());
+            batch.clear();
+            batchEntries.clear();
+        }
+    }
 
-                if (isAir) {
-                    // Remove block if exists
-                    if (blockIndex.remove(posKey) != null) {
-                        blocksRemoved++;
-                        log.trace("Removed block at {}", posKey);
-                    }
-                } else {
-                    // Add or update block
-                    LayerBlock layerBlock = LayerBlock.builder()
-                            .block(block)
-                            .group(cache.getBlock().getGroup())
-                            .metadata(cache.getBlock().getMetadata())
-                            .build();
-
-                    if (blockIndex.containsKey(posKey)) {
-                        blocksUpdated++;
-                    } else {
-                        blocksAdded++;
-                    }
-                    blockIndex.put(posKey, layerBlock);
+    /**
+     * Stream the cached blocks of the layer from MongoDB ordered by the field and pass them
+     * to the consumer in groups of equal key. Only the current group is held by the cursor.
+     */
+    private void streamGroups(String worldId, String layerDataId, String sortField,
+                              Function<WEditCache, String> groupKey, Consumer<List<WEditCache>> consumer) {
+        Query query = layerQuery(worldId, layerDataId).with(Sort.by(sortField));
+        try (Stream<WEditCache> stream = mongoTemplate.stream(query, WEditCache.class)) {
+            List<WEditCache> group = new ArrayList<>();
+            String key = null;
+            Iterator<WEditCache> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                WEditCache cache = iterator.next();
+                String cacheKey = groupKey.apply(cache);
+                if (!group.isEmpty() && !cacheKey.equals(key)) {
+                    consumer.accept(group);
+                    group = new ArrayList<>();
                 }
+                key = cacheKey;
+                group.add(cache);
             }
+            if (!group.isEmpty()) {
+                consumer.accept(group);
+            }
+        }
+    }
 
-            // Rebuild block list from index
-            List<LayerBlock> newBlocks = new ArrayList<>(blockIndex.values());
-            chunkData.setBlocks(newBlocks);
+    private static Query layerQuery(String worldId, String layerDataId) {
+        return Query.query(Criteria.where("worldId").is(worldId).and("layerDataId").is(layerDataId));
+    }
 
-            // Save terrain chunk data
-            layerService.saveTerrainChunk(worldId, layerDataId, chunkKey, chunkData);
-            chunksProcessed++;
+    /**
+     * Progress of applying one layer, stored in the WEditCacheDirty entry.
+     */
+    private class ApplyProgress {
+
+        private final String worldId;
+        private final String layerDataId;
+        private final Set<String> affectedChunks = new HashSet<>();
+        private long appliedBlocks;
+        private long appliedChunks;
+
+        ApplyProgress(String worldId, String layerDataId, long totalBlocks) {
+            this.worldId = worldId;
+            this.layerDataId = layerDataId;
+            Instant now = Instant.now();
+            update(new Update()
+                    .set("totalBlocks", totalBlocks)
+                    .set("appliedBlocks", 0L)
+                    .set("appliedChunks", 0L)
+                    .set("applyStartedAt", now)
+                    .set("progressAt", now));
+        }
 
-            log.trace("Merged chunk {}: blocks={}", chunkKey, newBlocks.size());
+        void applied(List<WEditCache> entries, int chunks) {
+            for (WEditCache cache : entries) {
+                if (cache.getChunk() != null) {
+                    affectedChunks.add(cache.getChunk());
+                }
+            }
+            appliedBlocks += entries.size();
+            appliedChunks += chunks;
+            update(new Update()
+                    .set("appliedBlocks", appliedBlocks)
+                    .set("appliedChunks", appliedChunks)
+                    .set("progressAt", Instant.now()));
+            log.debug("Apply progress: layerDataId={}, blocks={}, chunks={}", layerDataId, appliedBlocks, appliedChunks);
         }
 
-        log.info("Merged blocks into terrain: layerDataId={}, chunks={}, added={}, updated={}, removed={}",
-                layerDataId, chunksProcessed, blocksAdded, blocksUpdated, blocksRemoved);
+        private void update(Update update) {
+            try {
+                mongoTemplate.updateFirst(layerQuery(worldId, layerDataId), update, WEditCacheDirty.class);
+            } catch (Exception e) {
+                log.warn("Failed to update apply progress: worldId={}, layerDataId={}", worldId, layerDataId, e);
+            }
+        }
     }
 }
@@ -0,0 +1,598 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import de.mhus.nimbus.world.shared.world.WorldMetadataCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the edit cache per world with write-behind persistence.
+ *
+ * If enabled (world.edit-cache.overlay.enabled), the first access loads all WEditCache entries of a world
+ * into an index bucketed by chunk and keyed by layerDataId, modelName and position. WEditCacheService
+ * serves reads from the index and applies writes to it; the changes are written to Mongo with one bulk write
+ * per world by the scheduled flush (world.edit-cache.overlay.flush-interval-ms).
+ *
+ * Every pod publishes written changes on the Redis channel e.i (world:{worldId}:e.i, message
+ * "podId|layerDataId|chunk;chunk", no chunks for the whole layer). Pods with an index reload the changed
+ * chunks on next access, pending changes of the pod and changes being written are applied again on top.
+ * Changes being written stay in memory until the write succeeded and are put back if it fails.
+ *
+ * Indexes above max-worlds are evicted when they have nothing to write. An evicted index is closed,
+ * changes applied to it later go to the current index of the world.
+ *
+ * Worlds with more than max-entries cached blocks are not indexed and use Mongo directly.
+ * Returned entities are shared and must not be modified.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WEditCacheOverlay {
+
+    public static final String INVALIDATION_CHANNEL = "e.i";
+
+    private static final long TOO_LARGE_RETRY_MS = 60_000;
+
+    private final WEditCacheRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final WorldRedisMessagingService redisMessaging;
+    private final WorldMetadataCache metadataCache;
+
+    @Getter
+    @Value("${world.edit-cache.overlay.enabled:false}")
+    private boolean enabled = false;
+
+    @Value("${world.edit-cache.overlay.max-entries:200000}")
+    private long maxEntries = 200000;
+
+    @Value("${world.edit-cache.overlay.max-worlds:16}")
+    private int maxWorlds = 16;
+
+    /**
+     * Pod identifier, own invalidation messages are ignored.
+     */
+    private final String podId = UUID.randomUUID().toString();
+
+    private final Map<String, WorldIndex> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * Worlds that are too large for the index: worldId → time of the check.
+     */
+    private final Map<String, Long> tooLarge = new ConcurrentHashMap<>();
+
+    /**
+     * Change of one cache entry, delete if block is null.
+     */
+    public record Change(String layerDataId, String modelName, int x, int y, int z, String chunk, LayerBlock block) {
+        public boolean isDelete() {
+            return block == null;
+        }
+    }
+
+    private record Key(String layerDataId, String modelName, int x, int y, int z) {
+        static Key of(Change change) {
+            return new Key(change.layerDataId(), change.modelName(), change.x(), change.y(), change.z());
+        }
+
+        static Key of(WEditCache cache) {
+            return new Key(cache.getLayerDataId(), cache.getModelName(), cache.getX(), cache.getY(), cache.getZ());
+        }
+    }
+
+    @PostConstruct
+    public void initialize() {
+        redisMessaging.subscribeToAllWorlds(INVALIDATION_CHANNEL, this::handleInvalidation);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Index of the world, loaded on first access.
+     *
+     * @return Index or null if disabled, the world is unknown or too large
+     */
+    public WorldIndex index(String worldId) {
+        if (!enabled || worldId == null) return null;
+        WorldIndex index = worlds.get(worldId);
+        if (index == null) {
+            Long checked = tooLarge.get(worldId);
+            if (checked != null && System.currentTimeMillis() - checked < TOO_LARGE_RETRY_MS) {
+                return null;
+            }
+            long count = repository.countByWorldId(worldId);
+            if (count > maxEntries) {
+                log.info("Edit cache of world too large for overlay: worldId={}, entries={}", worldId, count);
+                tooLarge.put(worldId, System.currentTimeMillis());
+                return null;
+            }
+            WWorld world = metadataCache.getWorld(worldId).orElse(null);
+            if (world == null || world.getPublicData() == null) return null;
+            tooLarge.remove(worldId);
+            index = worlds.compute(worldId, (id, current) -> current == null || current.isClosed()
+                    ? new WorldIndex(id, world.getPublicData().getChunkSize())
+                    : current);
+        } else if (index.isClosed()) {
+            // Evicted, removed from worlds right after closing
+            worlds.remove(worldId, index);
+            return index(worldId);
+        }
+        index.touch();
+        return index;
+    }
+
+    /**
+     * Apply changes to the index of the world, or write them to Mongo if the world is not indexed.
+     */
+    public void apply(String worldId, Collection<Change> changes) {
+        if (changes.isEmpty()) return;
+        WorldIndex index = index(worldId);
+        if (index != null) {
+            index.apply(changes);
+        } else {
+            write(worldId, changes);
+        }
+    }
+
+    /**
+     * Write changes to Mongo with one unordered bulk write and publish them to the other pods.
+     * Uses the unique index fields (worldId, layerDataId, modelName, x, y, z) as key.
+     */
+    public void write(String worldId, Collection<Change> changes) {
+        if (changes.isEmpty()) return;
+        Instant now = Instant.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WEditCache.class);
+        int upserts = 0;
+        for (Change change : changes) {
+            Query query = Query.query(Criteria.where("worldId").is(worldId)
+                    .and("layerDataId").is(change.layerDataId())
+                    .and("modelName").is(change.modelName())
+                    .and("x").is(change.x())
+                    .and("y").is(change.y())
+                    .and("z").is(change.z()));
+            if (change.isDelete()) {
+                bulk.remove(query);
+            } else {
+                bulk.upsert(query, new Update()
+                        .set("chunk", change.chunk())
+                        .set("block", change.block())
+                        .set("modifiedAt", now)
+                        .setOnInsert("createdAt", now));
+                upserts++;
+            }
+        }
+        bulk.execute();
+        log.debug("Wrote {} cache entries ({} upserts, {} deletes) for worldId={}",
+                changes.size(), upserts, changes.size() - upserts, worldId);
+
+        Map<String, Set<String>> chunksByLayer = new LinkedHashMap<>();
+        for (Change change : changes) {
+            chunksByLayer.computeIfAbsent(change.layerDataId(), k -> new HashSet<>()).add(change.chunk());
+        }
+        chunksByLayer.forEach((layerDataId, chunks) -> publishChanged(worldId, layerDataId, chunks));
+    }
+
+    /**
+     * Delete entries that were applied to the layer with one unordered bulk write.
+     * An entry is only deleted if it was not changed since it was read (id and modifiedAt).
+     * The chunks are reloaded on all pods, pending changes of this pod stay.
+     *
+     * @return Number of deleted entries
+     */
+    public int deleteApplied(String worldId, String layerDataId, Collection<WEditCache> applied) {
+        if (applied.isEmpty()) return 0;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WEditCache.class);
+        Set<String> chunks = new HashSet<>();
+        for (WEditCache cache : applied) {
+            bulk.remove(Query.query(Criteria.where("_id").is(cache.getId())
+                    .and("modifiedAt").is(cache.getModifiedAt())));
+            chunks.add(cache.getChunk());
+        }
+        int deleted = bulk.execute().getDeletedCount();
+
+        WorldIndex index = worlds.get(worldId);
+        if (index != null) {
+            index.markStale(chunks);
+        }
+        publishChanged(worldId, layerDataId, chunks);
+        log.debug("Deleted {} of {} applied cache entries for worldId={}, layerDataId={}",
+                deleted, applied.size(), worldId, layerDataId);
+        return deleted;
+    }
+
+    /**
+     * Publish changes written without the index to the other pods.
+     *
+     * @param chunks Changed chunks, empty for the whole layer
+     */
+    public void publishChanged(String worldId, String layerDataId, Collection<String> chunks) {
+        try {
+            redisMessaging.publish(worldId, INVALIDATION_CHANNEL,
+                    podId + "|" + layerDataId + "|" + String.join(";", chunks));
+        } catch (Exception e) {
+            log.warn("Failed to publish edit cache change: worldId={}, layerDataId={}", worldId, layerDataId, e);
+        }
+    }
+
+    /**
+     * Write pending changes of all worlds and drop the least recently used indexes above max-worlds.
+     */
+    @Scheduled(fixedDelayString = "#{${world.edit-cache.overlay.flush-interval-ms:500}}")
+    public void flush() {
+        if (worlds.isEmpty()) return;
+        for (WorldIndex index : worlds.values()) {
+            flush(index);
+        }
+        if (worlds.size() > maxWorlds) {
+            worlds.values().stream()
+                    .sorted(Comparator.comparingLong(WorldIndex::getLastAccess))
+                    .limit(worlds.size() - maxWorlds)
+                    .filter(WorldIndex::close)
+                    .forEach(index -> worlds.remove(index.getWorldId(), index));
+        }
+    }
+
+    /**
+     * Write pending changes of the world, e.g. before reading it from Mongo directly.
+     */
+    public void flush(String worldId) {
+        WorldIndex index = worlds.get(worldId);
+        if (index != null) {
+            flush(index);
+        }
+    }
+
+    private void flush(WorldIndex index) {
+        // One write per world at a time, the in-flight changes belong to this write
+        synchronized (index.flushLock) {
+            List<Change> changes = index.takePending();
+            if (changes.isEmpty()) return;
+            try {
+                write(index.getWorldId(), changes);
+                index.completeWrite();
+            } catch (Exception e) {
+                log.error("Failed to write {} edit cache changes, retry with next flush: worldId={}",
+                        changes.size(), index.getWorldId(), e);
+                index.restorePending();
+            }
+        }
+    }
+
+    /**
+     * Drop all indexes of this pod, pending changes are written first.
+     */
+    public void clear() {
+        flush();
+        worlds.clear();
+        tooLarge.clear();
+    }
+
+    private void handleInvalidation(String topic, String message) {
+        String worldId = WorldRedisMessagingService.worldIdOf(topic);
+        if (worldId == null || message == null) {
+            log.warn("Invalid edit cache invalidation: topic={}", topic);
+            return;
+        }
+        String[] parts = message.split("\\|", -1);
+        if (parts.length != 3) {
+            log.warn("Invalid edit cache invalidation message: {}", message);
+            return;
+        }
+        if (podId.equals(parts[0])) return;
+
+        WorldIndex index = worlds.get(worldId);
+        if (index == null) return;
+        if (parts[2].isEmpty()) {
+            index.markLayerStale(parts[1]);
+        } else {
+            index.markStale(List.of(parts[2].split(";")));
+        }
+        log.trace("Edit cache invalidated: world={} message={}", index.getWorldId(), message);
+    }
+
+    /**
+     * Edit cache entries of one world. All methods are synchronized on the index.
+     */
+    public class WorldIndex {
+
+        @Getter
+        private final String worldId;
+        /**
+         * chunk → entries of all layers in the chunk.
+         */
+        private final Map<String, Map<Key, WEditCache>> chunks = new HashMap<>();
+        /**
+         * Chunks to reload before the next access.
+         */
+        private final Set<String> stale = new HashSet<>();
+        /**
+         * Changes not yet written to Mongo.
+         */
+        private final LinkedHashMap<Key, Change> pending = new LinkedHashMap<>();
+        /**
+         * Changes taken by the running write, until it succeeded.
+         */
+        private final LinkedHashMap<Key, Change> inFlight = new LinkedHashMap<>();
+        /**
+         * Held while the changes of the index are written.
+         */
+        private final Object flushLock = new Object();
+        @Getter
+        private volatile long lastAccess;
+        private boolean loaded;
+        /**
+         * Evicted, see close().
+         */
+        private volatile boolean closed;
+
+        private final int chunkSize;
+
+        private WorldIndex(String worldId, int chunkSize) {
+            this.worldId = worldId;
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * Chunk key like WWorld.getChunkKey().
+         */
+        public String chunkKey(int x, int z) {
+            return Math.floorDiv(x, chunkSize) + ":" + Math.floorDiv(z, chunkSize);
+        }
+
+        void touch() {
+            lastAccess = System.currentTimeMillis();
+        }
+
+        public synchronized WEditCache get(String layerDataId, String modelName, int x, int y, int z) {
+            return chunk(chunkKey(x, z)).get(new Key(layerDataId, modelName, x, y, z));
+        }
+
+        /**
+         * Entries of all models of the layer at the position.
+         */
+        public synchronized List<WEditCache> findAt(String layerDataId, int x, int y, int z) {
+            List<WEditCache> result = new ArrayList<>();
+            for (WEditCache cache : chunk(chunkKey(x, z)).values()) {
+                if (cache.getX() == x && cache.getY() == y && cache.getZ() == z
+                        && layerDataId.equals(cache.getLayerDataId())) {
+                    result.add(cache);
+                }
+            }
+            return result;
+        }
+
+        public synchronized List<WEditCache> findByChunk(String chunk) {
+            return new ArrayList<>(chunk(chunk).values());
+        }
+
+        public synchronized boolean existsByChunk(String chunk) {
+            return !chunk(chunk).isEmpty();
+        }
+
+        public synchronized List<WEditCache> findByLayerAndChunk(String layerDataId, String chunk) {
+            List<WEditCache> result = new ArrayList<>();
+            for (WEditCache cache : chunk(chunk).values()) {
+                if (layerDataId.equals(cache.getLayerDataId())) {
+                    result.add(cache);
+                }
+            }
+            return result;
+        }
+
+        public synchronized List<WEditCache> findByLayer(String layerDataId) {
+            reloadStale();
+            List<WEditCache> result = new ArrayList<>();
+            for (Map<Key, WEditCache> bucket : chunks.values()) {
+                for (WEditCache cache : bucket.values()) {
+                    if (layerDataId.equals(cache.getLayerDataId())) {
+                        result.add(cache);
+                    }
+                }
+            }
+            return result;
+        }
+
+        public synchronized long countByLayer(String layerDataId) {
+            return findByLayer(layerDataId).size();
+        }
+
+        /**
+         * Apply changes to the index, they are written with the next flush.
+         * If the index was evicted meanwhile, the changes go to the current index of the world.
+         */
+        public void apply(Collection<Change> changes) {
+            synchronized (this) {
+                if (!closed) {
+                    for (Change change : changes) {
+                        chunk(change.chunk());
+                        applyToIndex(change);
+                        pending.put(Key.of(change), change);
+                    }
+                    return;
+                }
+                // Keep reads of callers holding this index consistent, nothing is written from here
+                changes.forEach(this::applyToIndex);
+            }
+            WEditCacheOverlay.this.apply(worldId, changes);
+        }
+
+        /**
+         * Remove the entries of the layer, e.g. after deleting them in Mongo.
+         * Pending changes of the layer are dropped.
+         */
+        public synchronized void removeLayer(String layerDataId) {
+            pending.keySet().removeIf(key -> key.layerDataId().equals(layerDataId));
+            for (Map<Key, WEditCache> bucket : chunks.values()) {
+                bucket.keySet().removeIf(key -> key.layerDataId().equals(layerDataId));
+            }
+        }
+
+        synchronized boolean hasPending() {
+            return !pending.isEmpty() || !inFlight.isEmpty();
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Close the index for eviction if it has nothing to write.
+         *
+         * @return true if closed
+         */
+        synchronized boolean close() {
+            if (hasPending()) return false;
+            closed = true;
+            return true;
+        }
+
+        /**
+         * Move the pending changes to the in-flight changes of a write.
+         */
+        synchronized List<Change> takePending() {
+            inFlight.putAll(pending);
+            pending.clear();
+            return new ArrayList<>(inFlight.values());
+        }
+
+        /**
+         * The in-flight changes are written.
+         */
+        synchronized void completeWrite() {
+            inFlight.clear();
+        }
+
+        /**
+         * Put back the in-flight changes after a failed write, newer changes of the same entry are kept.
+         */
+        synchronized void restorePending() {
+            LinkedHashMap<Key, Change> restored = new LinkedHashMap<>(inFlight);
+            restored.putAll(pending);
+            inFlight.clear();
+            pending.clear();
+            pending.putAll(restored);
+        }
+
+        synchronized void markStale(Collection<String> changedChunks) {
+            for (String chunk : changedChunks) {
+                if (chunks.containsKey(chunk)) {
+                    stale.add(chunk);
+                }
+            }
+        }
+
+        synchronized void markLayerStale(String layerDataId) {
+            for (Map.Entry<String, Map<Key, WEditCache>> entry : chunks.entrySet()) {
+                for (Key key : entry.getValue().keySet()) {
+                    if (key.layerDataId().equals(layerDataId)) {
+                        stale.add(entry.getKey());
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Bucket of the chunk, loads the world or reloads the chunk if required.
+         */
+        private Map<Key, WEditCache> chunk(String chunk) {
+            if (!loaded) {
+                load();
+            }
+            if (stale.remove(chunk)) {
+                reload(chunk);
+            }
+            return chunks.computeIfAbsent(chunk, k -> new HashMap<>());
+        }
+
+        private void load() {
+            List<WEditCache> entries = repository.findByWorldId(worldId);
+            for (WEditCache cache : entries) {
+                chunks.computeIfAbsent(cache.getChunk(), k -> new HashMap<>()).putIfAbsent(Key.of(cache), cache);
+            }
+            loaded = true;
+            log.debug("Loaded edit cache overlay: worldId={}, entries={}, chunks={}", worldId, entries.size(), chunks.size());
+        }
+
+        private void reloadStale() {
+            if (!loaded) {
+                load();
+            }
+            for (String chunk : new ArrayList<>(stale)) {
+                stale.remove(chunk);
+                reload(chunk);
+            }
+        }
+
+        private void reload(String chunk) {
+            Map<Key, WEditCache> bucket = new HashMap<>();
+            for (WEditCache cache : repository.findByWorldIdAndChunk(worldId, chunk)) {
+                bucket.putIfAbsent(Key.of(cache), cache);
+            }
+            chunks.put(chunk, bucket);
+            // Own changes not yet written stay visible, the running write may not have reached Mongo
+            for (Change change : inFlight.values()) {
+                if (Objects.equals(chunk, change.chunk())) {
+                    applyToIndex(change);
+                }
+            }
+            for (Change change : pending.values()) {
+                if (Objects.equals(chunk, change.chunk())) {
+                    applyToIndex(change);
+                }
+            }
+        }
+
+        private void applyToIndex(Change change) {
+            Map<Key, WEditCache> bucket = chunks.computeIfAbsent(change.chunk(), k -> new HashMap<>());
+            Key key = Key.of(change);
+            if (change.isDelete()) {
+                bucket.remove(key);
+                return;
+            }
+            WEditCache existing = bucket.get(key);
+            Instant now = Instant.now();
+            bucket.put(key, WEditCache.builder()
+                    .id(existing != null ? existing.getId() : null)
+                    .worldId(worldId)
+                    .layerDataId(change.layerDataId())
+                    .modelName(change.modelName())
+                    .x(change.x())
+                    .y(change.y())
+                    .z(change.z())
+                    .chunk(change.chunk())
+                    .block(change.block())
+                    .createdAt(existing != null ? existing.getCreatedAt() : now)
+                    .modifiedAt(now)
+                    .build());
+        }
+    }
+}
@@ -11,6 +11,22 @@ import java.util.List;
 @Repository
 public interface WEditCacheRepository extends MongoRepository<WEditCache, String> {
 
+    /**
+     * Find all cached blocks of a world, used to load WEditCacheOverlay.
+     *
+     * @param worldId World identifier
+     * @return List of cached blocks (may contain duplicates)
+     */
+    List<WEditCache> findByWorldId(String worldId);
+
+    /**
+     * Count cached blocks of a world.
+     *
+     * @param worldId World identifier
+     * @return Number of cached blocks
+     */
+    long countByWorldId(String worldId);
+
     /**
      * Find all cached blocks for a specific world and chunk.
      * Returns list because no lock on table - may contain duplicates.
@@ -9,8 +9,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for managing WEditCache entities.
@@ -18,6 +25,9 @@ import java.util.Optional;
  *
  * Important: Since no lock is used on the table, duplicate entries may occur.
  * All find methods handle this by returning the first entry and deleting duplicates.
+ *
+ * If WEditCacheOverlay is enabled, reads and writes use the in-memory index of the world,
+ * changes are written to Mongo asynchronously.
  */
 @Service
 @RequiredArgsConstructor
@@ -26,6 +36,7 @@ public class WEditCacheService {
 
     private final WEditCacheRepository repository;
     private final BlockUpdateService blockUpdateService;
+    private final WEditCacheOverlay overlay;
 
     /**
      * Find specific cached block by world, layer, model, and coordinates.
@@ -41,6 +52,10 @@ public class WEditCacheService {
      */
     @Transactional(readOnly = true)
     public Optional<WEditCache> findByCoordinates(String worldId, String layerDataId, String modelName, int x, int y, int z) {
+        var index = overlay.index(worldId);
+        if (index != null) {
+            return Optional.ofNullable(index.get(layerDataId, modelName, x, y, z));
+        }
         List<WEditCache> results = repository.findByWorldIdAndLayerDataIdAndModelNameAndXAndYAndZ(
                 worldId, layerDataId, modelName, x, y, z);
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
@@ -59,6 +74,10 @@ public class WEditCacheService {
      */
     @Transactional
     public Optional<WEditCache> findByCoordinates(String worldId, String layerDataId, int x, int y, int z) {
+        var index = overlay.index(worldId);
+        if (index != null) {
+            return index.findAt(layerDataId, x, y, z).stream().findFirst();
+        }
         List<WEditCache> results = repository.findByWorldIdAndLayerDataIdAndXAndYAndZ(worldId, layerDataId, x, y, z);
         return cleanupDuplicates(results, "worldId={}, layerDataId={}, x={}, y={}, z={}", worldId, layerDataId, x, y, z);
     }
@@ -73,6 +92,10 @@ public class WEditCacheService {
      */
     @Transactional
     public List<WEditCache> findByWorldIdAndChunk(String worldId, String chunk) {
+        var index = overlay.index(worldId);
+        if (index != null) {
+            return index.findByChunk(chunk);
+        }
         List<WEditCache> results = repository.findByWorldIdAndChunk(worldId, chunk);
         log.debug("Found {} cached blocks for worldId={}, chunk={}", results.size(), worldId, chunk);
         return results;
@@ -87,6 +110,10 @@ public class WEditCacheService {
      */
     @Transactional(readOnly = true)
     public List<WEditCache> findByWorldIdAndLayerDataId(String worldId, String layerDataId) {
+        var index = overlay.index(worldId);
+        if (index != null) {
+            return index.findByLayer(layerDataId);
+        }
         return repository.findByWorldIdAndLayerDataId(worldId, layerDataId);
     }
 
@@ -100,25 +127,187 @@ public class WEditCacheService {
      */
     @Transactional(readOnly = true)
     public List<WEditCache> findByWorldIdAndLayerDataIdAndChunk(String worldId, String layerDataId, String chunk) {
+        var index = overlay.index(worldId);
+        if (index != null) {
+            return index.findByLayerAndChunk(layerDataId, chunk);
+        }
         return repository.findByWorldIdAndLayerDataIdAndChunk(worldId, layerDataId, chunk);
     }
 
+    /**
+     * Find the cached blocks of a layer in a region, with one lookup per chunk.
+     *
+     * @param world World
+     * @param layerDataId Layer data identifier
+     * @param bounds Region bounds
+     * @return Cached blocks in the region
+     */
+    @Transactional(readOnly = true)
+    public BlockRegion<WEditCache> findByRegion(WWorld world, String layerDataId, BlockRegion<?> bounds) {
+        BlockRegion<WEditCache> region = bounds.withSameBounds();
+        for (String chunk : bounds.chunkKeys(world.getPublicData().getChunkSize())) {
+            for (WEditCache cache : findByWorldIdAndLayerDataIdAndChunk(world.getWorldId(), layerDataId, chunk)) {
+                region.putIfAbsent(cache.getX(), cache.getY(), cache.getZ(), cache);
+            }
+        }
+        log.debug("Found {} cached blocks in region: worldId={}, layerDataId={}", region.size(), world.getWorldId(), layerDataId);
+        return region;
+    }
+
     public void doSetAndSendBlock(WWorld world, String layerDataId, String modelName, Block block, String group) {
 
         setBlock(world, layerDataId, modelName, block, group);
 
-        // Set source field for block update
+        // Send block update to client with source parameter, the cached block keeps its source
         String source = layerDataId + ":" + (modelName == null ? "" : modelName);
-        block.setSource(source);
-
-        // Send block update to client with source parameter
-        boolean sent = blockUpdateService.sendBlockUpdateWithSource(world.getWorldId(), "", block, source, null);
+        boolean sent = blockUpdateService.sendBlockUpdateWithSource(world.getWorldId(), "", copyForUpdate(block), source, null);
         if (!sent) {
             log.warn("Failed to send block update to clients: position={}", block.getPosition());
         }
 
     }
 
+    /**
+     * Open a painting session for many blocks of the world, see WEditCacheBatch.
+     * Close the batch to write the remaining blocks.
+     *
+     * @param world World object
+     * @return New batch
+     */
+    public WEditCacheBatch openBatch(WWorld world) {
+        return new WEditCacheBatch(this, world, null);
+    }
+
+    /**
+     * Open a painting session that records its changes in the undo journal, see WEditJournalService.openBatch().
+     *
+     * @param world World object
+     * @param journal Journal recording, null to not record
+     * @return New batch
+     */
+    public WEditCacheBatch openBatch(WWorld world, WEditJournalRecording journal) {
+        return new WEditCacheBatch(this, world, journal);
+    }
+
+    /**
+     * Apply changes to the edit cache with one bulk write (or to the overlay index) and send them
+     * to the clients grouped by source and chunk. Used by WEditCacheBatch.
+     *
+     * @param world World object
+     * @param operations Changes, at most one per position
+     * @return Number of sent block update messages
+     */
+    public int doApplyAndSendBlocks(WWorld world, Collection<WEditCacheBatch.Operation> operations) {
+        return doApplyAndSendBlocks(world, operations, null);
+    }
+
+    /**
+     * Apply changes like doApplyAndSendBlocks() and record the previous state of the positions in the journal.
+     * The previous state is read with one lookup per layer and chunk.
+     * Deletions of positions without cached block are skipped, no update is sent for them.
+     *
+     * @param world World object
+     * @param operations Changes, at most one per position
+     * @param journal Journal recording, null to not record
+     * @return Number of sent block update messages
+     */
+    public int doApplyAndSendBlocks(WWorld world, Collection<WEditCacheBatch.Operation> operations, WEditJournalRecording journal) {
+        if (operations.isEmpty()) return 0;
+
+        boolean hasDeletes = operations.stream().anyMatch(WEditCacheBatch.Operation::isDelete);
+        Map<String, LayerBlock> cached = journal != null || hasDeletes
+                ? findCached(world, operations, journal != null)
+                : Map.of();
+
+        List<WEditCacheBatch.Operation> effective = new ArrayList<>(operations.size());
+        for (WEditCacheBatch.Operation operation : operations) {
+            LayerBlock previous = cached.get(cacheKey(operation));
+            if (operation.isDelete() && previous == null) continue;
+            if (journal != null) {
+                journal.record(operation.layerDataId(), operation.modelName(), operation.x(), operation.y(), operation.z(),
+                        previous, operation.block());
+            }
+            effective.add(operation);
+        }
+        if (effective.isEmpty()) return 0;
+
+        List<WEditCacheOverlay.Change> changes = new ArrayList<>(effective.size());
+        for (WEditCacheBatch.Operation operation : effective) {
+            changes.add(new WEditCacheOverlay.Change(operation.layerDataId(), operation.modelName(),
+                    operation.x(), operation.y(), operation.z(),
+                    world.getChunkKey(operation.x(), operation.z()), operation.block()));
+        }
+        overlay.apply(world.getWorldId(), changes);
+
+        // Group by source, the clients filter updates by source
+        Map<String, List<Block>> blocksBySource = new LinkedHashMap<>();
+        for (WEditCacheBatch.Operation operation : effective) {
+            String modelName = operation.modelName();
+            Block block;
+            String source;
+            if (operation.isDelete()) {
+                block = BlockUtil.createAirBlock(operation.x(), operation.y(), operation.z());
+                source = operation.layerDataId() + ":" + (modelName == null ? "delete" : modelName + ":delete");
+            } else {
+                block = copyForUpdate(operation.block().getBlock());
+                source = operation.layerDataId() + ":" + (modelName == null ? "" : modelName);
+            }
+            blocksBySource.computeIfAbsent(source, k -> new ArrayList<>()).add(block);
+        }
+
+        int messages = 0;
+        for (Map.Entry<String, List<Block>> entry : blocksBySource.entrySet()) {
+            int sent = blockUpdateService.sendBlockUpdatesWithSource(world.getWorldId(), "", entry.getValue(), entry.getKey(), null);
+            if (sent < 0) {
+                log.warn("Failed to send block updates to clients: source={}, blocks={}", entry.getKey(), entry.getValue().size());
+            } else {
+                messages += sent;
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Copy of a block for a client update. The send sets the source on the block, cached blocks
+     * are shared with the overlay index and must keep their own.
+     */
+    private static Block copyForUpdate(Block block) {
+        Block copy = BlockUtil.cloneBlock(block);
+        copy.setPosition(block.getPosition());
+        copy.setLevel(block.getLevel());
+        copy.setSource(block.getSource());
+        return copy;
+    }
+
+    /**
+     * Cached blocks at the positions of the operations, read with one lookup per layer and chunk.
+     *
+     * @param all Read the chunks of all operations, otherwise only the chunks with deletions
+     * @return cacheKey → cached block
+     */
+    private Map<String, LayerBlock> findCached(WWorld world, Collection<WEditCacheBatch.Operation> operations, boolean all) {
+        Map<String, LayerBlock> cached = new HashMap<>();
+        Set<String> loaded = new HashSet<>();
+        for (WEditCacheBatch.Operation operation : operations) {
+            if (!all && !operation.isDelete()) continue;
+            String chunk = world.getChunkKey(operation.x(), operation.z());
+            if (!loaded.add(operation.layerDataId() + "/" + chunk)) continue;
+            for (WEditCache cache : findByWorldIdAndLayerDataIdAndChunk(world.getWorldId(), operation.layerDataId(), chunk)) {
+                cached.putIfAbsent(cacheKey(operation.layerDataId(), cache.getModelName(), cache.getX(), cache.getY(), cache.getZ()),
+                        cache.getBlock());
+            }
+        }
+        return cached;
+    }
+
+    private static String cacheKey(WEditCacheBatch.Operation operation) {
+        return cacheKey(operation.layerDataId(), operation.modelName(), operation.x(), operation.y(), operation.z());
+    }
+
+    private static String cacheKey(String layerDataId, String modelName, int x, int y, int z) {
+        return layerDataId + "/" + (modelName == null ? "" : modelName) + ":" + x + ":" + y + ":" + z;
+    }
+
     public WEditCache setBlock(WWorld world, String layerDataId, String modelName, Block block, String group) {
         LayerBlock layerBlock = LayerBlock.builder()
                 .block(block)
@@ -144,6 +333,12 @@ public class WEditCacheService {
         var z = block.getBlock().getPosition().getZ();
         var chunk = world.getChunkKey(x, z);
 
+        var index = overlay.index(world.getWorldId());
+        if (index != null) {
+            index.apply(List.of(new WEditCacheOverlay.Change(layerDataId, modelName, x, y, z, chunk, block)));
+            return index.get(layerDataId, modelName, x, y, z);
+        }
+
         // Find existing entry using all unique index fields including modelName
         List<WEditCache> existing = repository.findByWorldIdAndLayerDataIdAndModelNameAndXAndYAndZ(
                 world.getWorldId(), layerDataId, modelName, x, y, z);
@@ -174,7 +369,9 @@ public class WEditCacheService {
                     cache.getId(), world.getWorldId(), layerDataId, modelName, x, y, z, chunk);
         }
 
-        return repository.save(cache);
+        WEditCache saved = repository.save(cache);
+        overlay.publishChanged(world.getWorldId(), layerDataId, List.of(chunk));
+        return saved;
     }
 
     /**
@@ -191,10 +388,18 @@ public class WEditCacheService {
      */
     @Transactional
     public boolean deleteBlock(String worldId, String layerDataId, String modelName, int x, int y, int z) {
+        var index = overlay.index(worldId);
+        if (index != null) {
+            WEditCache cached = index.get(layerDataId, modelName, x, y, z);
+            if (cached == null) return false;
+            index.apply(List.of(new WEditCacheOverlay.Change(layerDataId, modelName, x, y, z, cached.getChunk(), null)));
+            return true;
+        }
         List<WEditCache> existing = repository.findByWorldIdAndLayerDataIdAndModelNameAndXAndYAndZ(
                 worldId, layerDataId, modelName, x, y, z);
         if (!existing.isEmpty()) {
             repository.delete(existing.get(0)); // Unique index guarantees only one result
+            overlay.publishChanged(worldId, layerDataId, List.of(existing.get(0).getChunk()));
             log.debug("Deleted cache entry for worldId={}, layerDataId={}, modelName={}, x={}, y={}, z={}",
                     worldId, layerDataId, modelName, x, y, z);
             return true;
@@ -215,9 +420,19 @@ public class WEditCacheService {
      */
     @Transactional
     public boolean deleteBlock(String worldId, String layerDataId, int x, int y, int z) {
+        var index = overlay.index(worldId);
+        if (index != null) {
+            List<WEditCacheOverlay.Change> changes = new ArrayList<>();
+            for (WEditCache cached : index.findAt(layerDataId, x, y, z)) {
+                changes.add(new WEditCacheOverlay.Change(layerDataId, cached.getModelName(), x, y, z, cached.getChunk(), null));
+            }
+            index.apply(changes);
+            return !changes.isEmpty();
+        }
         List<WEditCache> existing = repository.findByWorldIdAndLayerDataIdAndXAndYAndZ(worldId, layerDataId, x, y, z);
         if (!existing.isEmpty()) {
             existing.forEach(repository::delete);
+            overlay.publishChanged(worldId, layerDataId, List.of(existing.get(0).getChunk()));
             log.debug("Deleted {} cache entries for worldId={}, layerDataId={}, x={}, y={}, z={}",
                     existing.size(), worldId, layerDataId, x, y, z);
             return true;
@@ -283,12 +498,41 @@ public class WEditCacheService {
      */
     @Transactional
     public long deleteByWorldIdAndLayerDataId(String worldId, String layerDataId) {
+        // Pending changes of other layers stay, the layer is removed from the index
+        overlay.flush(worldId);
         long count = repository.countByWorldIdAndLayerDataId(worldId, layerDataId);
         repository.deleteByWorldIdAndLayerDataId(worldId, layerDataId);
+        var index = overlay.index(worldId);
+        if (index != null) {
+            index.removeLayer(layerDataId);
+        }
+        overlay.publishChanged(worldId, layerDataId, List.of());
         log.info("Deleted {} cache entries for worldId={}, layerDataId={}", count, worldId, layerDataId);
         return count;
     }
 
+    /**
+     * Write pending changes of the world to MongoDB, e.g. before reading the cache from MongoDB directly.
+     *
+     * @param worldId World identifier
+     */
+    public void flush(String worldId) {
+        overlay.flush(worldId);
+    }
+
+    /**
+     * Delete cached blocks after they were applied to the layer.
+     * Blocks changed since they were read are kept.
+     *
+     * @param worldId World identifier
+     * @param layerDataId Layer data identifier
+     * @param applied Applied blocks as read from MongoDB
+     * @return Number of deleted entries
+     */
+    public int deleteApplied(String worldId, String layerDataId, Collection<WEditCache> applied) {
+        return overlay.deleteApplied(worldId, layerDataId, applied);
+    }
+
     /**
      * Count cached blocks for a specific world and layer.
      *
@@ -298,6 +542,10 @@ public class WEditCacheService {
      */
     @Transactional(readOnly = true)
     public long countByWorldIdAndLayerDataId(String worldId, String layerDataId) {
+        var index = overlay.index(worldId);
+        if (index != null) {
+            return index.countByLayer(layerDataId);
+        }
         return repository.countByWorldIdAndLayerDataId(worldId, layerDataId);
     }
 
@@ -323,6 +571,10 @@ public class WEditCacheService {
 
     @Transactional(readOnly = true)
     public boolean existsByWorldIdAndChunk(String id, String chunkKey) {
+        var index = overlay.index(id);
+        if (index != null) {
+            return index.existsByChunk(chunkKey);
+        }
         return repository.existsByWorldIdAndChunk(id, chunkKey);
     }
 }
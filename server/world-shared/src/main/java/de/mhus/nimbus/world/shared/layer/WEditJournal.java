@@ -0,0 +1,92 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.shared.persistence.ActualSchemaVersion;
+import de.mhus.nimbus.shared.types.Identifiable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Edit journal entry - append-only log of the edit cache operations of an edit session.
+ *
+ * An OPERATION entry describes one recorded operation (e.g. one block manipulator run), its block
+ * diffs are stored in WEditJournalPart. UNDO and REDO entries reference the operation they reverted
+ * or applied again. The undo and redo stacks of a session are the replay of its entries by sequence,
+ * see WEditJournalService.
+ */
+@Document(collection = "w_edit_journal")
+@ActualSchemaVersion("1.0.0")
+@CompoundIndexes({
+        @CompoundIndex(name = "worldId_sessionId_sequence_idx", def = "{ 'worldId': 1, 'sessionId': 1, 'sequence': 1 }", unique = true),
+        @CompoundIndex(name = "worldId_layerDataIds_idx", def = "{ 'worldId': 1, 'layerDataIds': 1 }"),
+        @CompoundIndex(name = "operationId_idx", def = "{ 'operationId': 1 }")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WEditJournal implements Identifiable {
+
+    public enum Kind {
+        OPERATION,
+        UNDO,
+        REDO
+    }
+
+    @Id
+    private String id;
+
+    /**
+     * World identifier.
+     */
+    private String worldId;
+
+    /**
+     * Edit session identifier.
+     */
+    private String sessionId;
+
+    /**
+     * Position of the entry in the journal of the session, unique per session.
+     */
+    private long sequence;
+
+    private Kind kind;
+
+    /**
+     * The recorded operation, also set for UNDO and REDO entries.
+     */
+    private String operationId;
+
+    /**
+     * Description of the operation, e.g. the manipulator name.
+     */
+    private String title;
+
+    /**
+     * Layers changed by the operation.
+     */
+    @Builder.Default
+    private List<String> layerDataIds = new ArrayList<>();
+
+    /**
+     * Number of changed positions.
+     */
+    private long blocks;
+
+    /**
+     * Number of WEditJournalPart documents of the operation.
+     */
+    private int parts;
+
+    private Instant createdAt;
+}
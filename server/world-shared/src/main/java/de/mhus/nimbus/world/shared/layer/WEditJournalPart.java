@@ -0,0 +1,74 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.shared.persistence.ActualSchemaVersion;
+import de.mhus.nimbus.shared.types.Identifiable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Block diffs of a journaled edit operation (see WEditJournal) for one layer and model.
+ *
+ * before and after contain the edit cache state of the same positions in the same order,
+ * packed with a block palette. A position without cached block is stored as a block with
+ * position only (no block type), see WEditJournalRecording.isAbsent().
+ * Undo applies the parts of an operation in reverse order, redo in order.
+ */
+@Document(collection = "w_edit_journal_part")
+@ActualSchemaVersion("1.0.0")
+@CompoundIndexes({
+        @CompoundIndex(name = "operationId_part_idx", def = "{ 'operationId': 1, 'part': 1 }")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WEditJournalPart implements Identifiable {
+
+    @Id
+    private String id;
+
+    /**
+     * World identifier.
+     */
+    private String worldId;
+
+    /**
+     * References WEditJournal.operationId.
+     */
+    private String operationId;
+
+    /**
+     * Position of the part in the operation.
+     */
+    private int part;
+
+    /**
+     * Layer data identifier - references WLayer.layerDataId.
+     */
+    private String layerDataId;
+
+    /**
+     * Model name, null for GROUND layers.
+     */
+    private String modelName;
+
+    /**
+     * Edit cache state before the operation.
+     */
+    private LayerChunkPalette before;
+
+    /**
+     * Edit cache state after the operation.
+     */
+    private LayerChunkPalette after;
+
+    private Instant createdAt;
+}
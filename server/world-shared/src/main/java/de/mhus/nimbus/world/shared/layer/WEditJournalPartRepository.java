@@ -0,0 +1,18 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * MongoDB Repository for WEditJournalPart entities.
+ */
+@Repository
+public interface WEditJournalPartRepository extends MongoRepository<WEditJournalPart, String> {
+
+    Optional<WEditJournalPart> findFirstByOperationIdAndPart(String operationId, int part);
+
+    void deleteByOperationIdIn(Collection<String> operationIds);
+}
@@ -0,0 +1,173 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Journal recording of one edit operation, created by WEditJournalService.begin().
+ *
+ * Collects the before and after state of the changed edit cache positions (WEditCacheBatch records
+ * them on flush). Changing a position again keeps the first before and the latest after state.
+ * If maxMemoryBlocks positions are collected, they are written as WEditJournalPart documents and
+ * the memory is released, so large operations are not kept in memory.
+ *
+ * close() writes the remaining diffs and appends the OPERATION entry to the journal. Operations
+ * without changes are not journaled. Not thread safe.
+ */
+@Slf4j
+public class WEditJournalRecording implements AutoCloseable {
+
+    private final WEditJournalService journalService;
+    @Getter
+    private final String worldId;
+    @Getter
+    private final String sessionId;
+    @Getter
+    private final String operationId;
+    @Getter
+    private final String title;
+    private final int maxMemoryBlocks;
+
+    private final LinkedHashMap<Key, Diff> diffs = new LinkedHashMap<>();
+    @Getter
+    private final Set<String> layerDataIds = new LinkedHashSet<>();
+    @Getter
+    private long blocks;
+    @Getter
+    private int parts;
+    private boolean closed;
+
+    private record Key(String layerDataId, String modelName, int x, int y, int z) {
+    }
+
+    private record Target(String layerDataId, String modelName) {
+    }
+
+    private static final class Diff {
+        private final LayerBlock before;
+        private LayerBlock after;
+
+        private Diff(LayerBlock before) {
+            this.before = before;
+        }
+    }
+
+    WEditJournalRecording(WEditJournalService journalService, String worldId, String sessionId,
+                          String operationId, String title, int maxMemoryBlocks) {
+        this.journalService = journalService;
+        this.worldId = worldId;
+        this.sessionId = sessionId;
+        this.operationId = operationId;
+        this.title = title;
+        this.maxMemoryBlocks = Math.max(1, maxMemoryBlocks);
+    }
+
+    /**
+     * Record a change of the edit cache, null states mean no cached block at the position.
+     */
+    public void record(String layerDataId, String modelName, int x, int y, int z, LayerBlock before, LayerBlock after) {
+        if (closed) {
+            throw new IllegalStateException("Journal recording already closed: " + operationId);
+        }
+        diffs.computeIfAbsent(new Key(layerDataId, modelName, x, y, z), k -> new Diff(before)).after = after;
+        if (diffs.size() >= maxMemoryBlocks) {
+            spill();
+        }
+    }
+
+    public int getPendingCount() {
+        return diffs.size();
+    }
+
+    /**
+     * Write the collected diffs as parts, one per layer and model.
+     */
+    void spill() {
+        if (diffs.isEmpty()) return;
+
+        Map<Target, List<Map.Entry<Key, Diff>>> byTarget = new LinkedHashMap<>();
+        for (Map.Entry<Key, Diff> entry : diffs.entrySet()) {
+            Diff diff = entry.getValue();
+            if (isAbsent(diff.before) && isAbsent(diff.after) || Objects.equals(diff.before, diff.after)) {
+                continue;
+            }
+            Key key = entry.getKey();
+            byTarget.computeIfAbsent(new Target(key.layerDataId(), key.modelName()), k -> new ArrayList<>()).add(entry);
+        }
+        diffs.clear();
+
+        for (Map.Entry<Target, List<Map.Entry<Key, Diff>>> group : byTarget.entrySet()) {
+            List<LayerBlock> before = new ArrayList<>(group.getValue().size());
+            List<LayerBlock> after = new ArrayList<>(group.getValue().size());
+            for (Map.Entry<Key, Diff> entry : group.getValue()) {
+                Key key = entry.getKey();
+                before.add(positioned(entry.getValue().before, key));
+                after.add(positioned(entry.getValue().after, key));
+            }
+            Target target = group.getKey();
+            journalService.writePart(this, parts++, target.layerDataId(), target.modelName(),
+                    LayerChunkPalette.encodeBlocks(before), LayerChunkPalette.encodeBlocks(after));
+            layerDataIds.add(target.layerDataId());
+            blocks += before.size();
+        }
+    }
+
+    /**
+     * Write the remaining diffs and append the operation to the journal.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        spill();
+        closed = true;
+        if (parts > 0) {
+            journalService.commit(this);
+        } else {
+            log.trace("Nothing to journal: worldId={}, sessionId={}, title={}", worldId, sessionId, title);
+        }
+    }
+
+    /**
+     * True if the journaled state is "no cached block at the position".
+     */
+    public static boolean isAbsent(LayerBlock layerBlock) {
+        return layerBlock == null || layerBlock.getBlock() == null || layerBlock.getBlock().getBlockTypeId() == null;
+    }
+
+    private static LayerBlock positioned(LayerBlock layerBlock, Key key) {
+        if (!isAbsent(layerBlock) && layerBlock.getBlock().getPosition() != null) {
+            return layerBlock;
+        }
+        Vector3Int position = Vector3Int.builder().x(key.x()).y(key.y()).z(key.z()).build();
+        if (isAbsent(layerBlock)) {
+            return LayerBlock.builder().block(Block.builder().position(position).build()).build();
+        }
+        Block block = layerBlock.getBlock();
+        return LayerBlock.builder()
+                .block(Block.builder()
+                        .position(position)
+                        .blockTypeId(block.getBlockTypeId())
+                        .offsets(block.getOffsets())
+                        .rotation(block.getRotation())
+                        .faceVisibility(block.getFaceVisibility())
+                        .status(block.getStatus())
+                        .modifiers(block.getModifiers())
+                        .metadata(block.getMetadata())
+                        .level(block.getLevel())
+                        .source(block.getSource())
+                        .build())
+                .metadata(layerBlock.getMetadata())
+                .group(layerBlock.getGroup())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MongoDB Repository for WEditJournal entities.
+ */
+@Repository
+public interface WEditJournalRepository extends MongoRepository<WEditJournal, String> {
+
+    /**
+     * Journal of an edit session in order.
+     */
+    List<WEditJournal> findByWorldIdAndSessionIdOrderBySequenceAsc(String worldId, String sessionId);
+
+    Optional<WEditJournal> findFirstByWorldIdAndSessionIdOrderBySequenceDesc(String worldId, String sessionId);
+
+    Optional<WEditJournal> findFirstByOperationIdAndKind(String operationId, WEditJournal.Kind kind);
+
+    /**
+     * Operations that changed the layer.
+     */
+    List<WEditJournal> findByWorldIdAndLayerDataIdsContaining(String worldId, String layerDataId);
+
+    /**
+     * Delete the operations and their UNDO and REDO entries.
+     */
+    void deleteByOperationIdIn(Collection<String> operationIds);
+}
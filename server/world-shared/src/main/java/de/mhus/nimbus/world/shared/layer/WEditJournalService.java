@@ -0,0 +1,276 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.world.shared.world.WWorld;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Undo/redo journal of the edit cache, per edit session.
+ *
+ * Edit operations are recorded with a WEditJournalRecording (see begin() and openBatch()): the before and
+ * after state of the changed positions is stored append-only as WEditJournalPart documents, the
+ * operation itself as WEditJournal entry. undo() and redo() apply the stored states with one
+ * WEditCacheBatch and append an UNDO or REDO entry, the undo and redo stacks are the replay of the entries.
+ *
+ * The journal keeps the last world.edit-journal.max-operations operations of a session, operations that
+ * can not be redone any more are deleted. The journal describes edit cache states, the operations of a
+ * layer are dropped when its edit cache is applied or discarded (see WEditCacheDirtyService).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WEditJournalService {
+
+    private static final int MAX_APPEND_ATTEMPTS = 10;
+
+    private final WEditJournalRepository journalRepository;
+    private final WEditJournalPartRepository partRepository;
+    private final WEditCacheService editCacheService;
+
+    @Value("${world.edit-journal.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${world.edit-journal.max-operations:50}")
+    private int maxOperations = 50;
+
+    @Value("${world.edit-journal.max-memory-blocks:4096}")
+    private int maxMemoryBlocks = 4096;
+
+    /**
+     * Undo and redo stacks of a session, top is the last element.
+     * dropped contains operations that can not be redone any more.
+     */
+    record History(Deque<String> done, Deque<String> undone, Set<String> dropped) {
+    }
+
+    /**
+     * Start recording an edit operation.
+     *
+     * @param worldId World identifier
+     * @param sessionId Edit session identifier
+     * @param title Description of the operation
+     * @return Recording or null if the journal is disabled or there is no session
+     */
+    public WEditJournalRecording begin(String worldId, String sessionId, String title) {
+        if (!enabled || Strings.isBlank(sessionId)) {
+            return null;
+        }
+        return new WEditJournalRecording(this, worldId, sessionId, UUID.randomUUID().toString(), title, maxMemoryBlocks);
+    }
+
+    /**
+     * Open an edit cache batch that records its changes as one operation of the session.
+     * Closing the batch appends the operation to the journal.
+     */
+    public WEditCacheBatch openBatch(WWorld world, String sessionId, String title) {
+        return editCacheService.openBatch(world, begin(world.getWorldId(), sessionId, title));
+    }
+
+    /**
+     * Revert the last operation of the session.
+     *
+     * @param world World object
+     * @param sessionId Edit session identifier
+     * @return The reverted operation, empty if there is nothing to undo
+     */
+    public Optional<WEditJournal> undo(WWorld world, String sessionId) {
+        History history = replay(world.getWorldId(), sessionId);
+        return revert(world, sessionId, history.done().peekLast(), WEditJournal.Kind.UNDO);
+    }
+
+    /**
+     * Apply the last undone operation of the session again.
+     *
+     * @param world World object
+     * @param sessionId Edit session identifier
+     * @return The applied operation, empty if there is nothing to redo
+     */
+    public Optional<WEditJournal> redo(WWorld world, String sessionId) {
+        History history = replay(world.getWorldId(), sessionId);
+        return revert(world, sessionId, history.undone().peekLast(), WEditJournal.Kind.REDO);
+    }
+
+    /**
+     * Operations of the session that can be undone, the last one first.
+     */
+    public List<WEditJournal> findUndoable(String worldId, String sessionId) {
+        List<WEditJournal> result = new ArrayList<>();
+        replay(worldId, sessionId).done().descendingIterator().forEachRemaining(operationId ->
+                journalRepository.findFirstByOperationIdAndKind(operationId, WEditJournal.Kind.OPERATION).ifPresent(result::add));
+        return result;
+    }
+
+    /**
+     * Delete the operations that changed the layer, e.g. after its edit cache was applied or discarded.
+     */
+    public void dropLayer(String worldId, String layerDataId) {
+        Set<String> operationIds = new LinkedHashSet<>();
+        for (WEditJournal entry : journalRepository.findByWorldIdAndLayerDataIdsContaining(worldId, layerDataId)) {
+            operationIds.add(entry.getOperationId());
+        }
+        delete(operationIds);
+        if (!operationIds.isEmpty()) {
+            log.debug("Dropped {} journaled operations of layer: worldId={}, layerDataId={}",
+                    operationIds.size(), worldId, layerDataId);
+        }
+    }
+
+    void writePart(WEditJournalRecording recording, int part, String layerDataId, String modelName,
+                   LayerChunkPalette before, LayerChunkPalette after) {
+        partRepository.save(WEditJournalPart.builder()
+                .worldId(recording.getWorldId())
+                .operationId(recording.getOperationId())
+                .part(part)
+                .layerDataId(layerDataId)
+                .modelName(modelName)
+                .before(before)
+                .after(after)
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    void commit(WEditJournalRecording recording) {
+        append(WEditJournal.builder()
+                .worldId(recording.getWorldId())
+                .sessionId(recording.getSessionId())
+                .kind(WEditJournal.Kind.OPERATION)
+                .operationId(recording.getOperationId())
+                .title(recording.getTitle())
+                .layerDataIds(new ArrayList<>(recording.getLayerDataIds()))
+                .blocks(recording.getBlocks())
+                .parts(recording.getParts())
+                .build());
+        log.debug("Journaled edit operation: worldId={}, sessionId={}, title={}, blocks={}, parts={}",
+                recording.getWorldId(), recording.getSessionId(), recording.getTitle(),
+                recording.getBlocks(), recording.getParts());
+        prune(recording.getWorldId(), recording.getSessionId());
+    }
+
+    History replay(String worldId, String sessionId) {
+        Deque<String> done = new ArrayDeque<>();
+        Deque<String> undone = new ArrayDeque<>();
+        Set<String> dropped = new HashSet<>();
+        for (WEditJournal entry : journalRepository.findByWorldIdAndSessionIdOrderBySequenceAsc(worldId, sessionId)) {
+            String operationId = entry.getOperationId();
+            switch (entry.getKind()) {
+                case OPERATION -> {
+                    done.addLast(operationId);
+                    dropped.addAll(undone);
+                    undone.clear();
+                }
+                case UNDO -> {
+                    if (done.remove(operationId)) undone.addLast(operationId);
+                }
+                case REDO -> {
+                    if (undone.remove(operationId)) done.addLast(operationId);
+                }
+            }
+        }
+        return new History(done, undone, dropped);
+    }
+
+    private Optional<WEditJournal> revert(WWorld world, String sessionId, String operationId, WEditJournal.Kind kind) {
+        if (operationId == null) {
+            return Optional.empty();
+        }
+        Optional<WEditJournal> operation = journalRepository.findFirstByOperationIdAndKind(operationId, WEditJournal.Kind.OPERATION);
+        if (operation.isEmpty()) {
+            return Optional.empty();
+        }
+        WEditJournal journal = operation.get();
+        boolean undo = kind == WEditJournal.Kind.UNDO;
+
+        // Not recorded, undo and redo are entries of the journal
+        try (WEditCacheBatch batch = editCacheService.openBatch(world)) {
+            for (int i = 0; i < journal.getParts(); i++) {
+                int part = undo ? journal.getParts() - 1 - i : i;
+                partRepository.findFirstByOperationIdAndPart(operationId, part).ifPresent(p ->
+                        apply(batch, p, undo ? p.getBefore() : p.getAfter()));
+            }
+        }
+
+        append(WEditJournal.builder()
+                .worldId(world.getWorldId())
+                .sessionId(sessionId)
+                .kind(kind)
+                .operationId(operationId)
+                .title(journal.getTitle())
+                .layerDataIds(journal.getLayerDataIds())
+                .blocks(journal.getBlocks())
+                .build());
+        log.info("{} edit operation: worldId={}, sessionId={}, title={}, blocks={}",
+                kind, world.getWorldId(), sessionId, journal.getTitle(), journal.getBlocks());
+        return operation;
+    }
+
+    private void apply(WEditCacheBatch batch, WEditJournalPart part, LayerChunkPalette state) {
+        if (state == null) return;
+        for (LayerBlock layerBlock : state.decode()) {
+            var position = layerBlock.getBlock().getPosition();
+            if (WEditJournalRecording.isAbsent(layerBlock)) {
+                batch.deleteBlock(part.getLayerDataId(), part.getModelName(), position.getX(), position.getY(), position.getZ());
+            } else {
+                batch.setBlock(part.getLayerDataId(), part.getModelName(), layerBlock);
+            }
+        }
+    }
+
+    /**
+     * Append the entry with the next sequence of the session. The sequence is unique per session,
+     * an entry appended concurrently with the same sequence is retried with the next one.
+     */
+    private void append(WEditJournal entry) {
+        for (int attempt = 1; ; attempt++) {
+            long sequence = journalRepository.findFirstByWorldIdAndSessionIdOrderBySequenceDesc(entry.getWorldId(), entry.getSessionId())
+                    .map(last -> last.getSequence() + 1)
+                    .orElse(1L);
+            entry.setId(null);
+            entry.setSequence(sequence);
+            entry.setCreatedAt(Instant.now());
+            try {
+                journalRepository.insert(entry);
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_APPEND_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Journal sequence taken concurrently, retry: worldId={}, sessionId={}, sequence={}",
+                        entry.getWorldId(), entry.getSessionId(), sequence);
+            }
+        }
+    }
+
+    /**
+     * Delete operations beyond max-operations and operations that can not be redone.
+     */
+    private void prune(String worldId, String sessionId) {
+        History history = replay(worldId, sessionId);
+        Set<String> operationIds = new HashSet<>(history.dropped());
+        while (history.done().size() > maxOperations) {
+            operationIds.add(history.done().pollFirst());
+        }
+        delete(operationIds);
+    }
+
+    private void delete(Collection<String> operationIds) {
+        if (operationIds.isEmpty()) return;
+        partRepository.deleteByOperationIdIn(operationIds);
+        journalRepository.deleteByOperationIdIn(operationIds);
+    }
+}
@@ -10,11 +10,10 @@ import de.mhus.nimbus.generated.types.Vector3Int;
 import de.mhus.nimbus.shared.storage.StorageService;
 import de.mhus.nimbus.shared.types.WorldId;
 import de.mhus.nimbus.shared.utils.TypeUtil;
-import de.mhus.nimbus.world.shared.world.HexMathUtil;
 import de.mhus.nimbus.world.shared.world.WBlockType;
 import de.mhus.nimbus.world.shared.world.WHexGridService;
 import de.mhus.nimbus.world.shared.world.WWorld;
-import de.mhus.nimbus.world.shared.world.WWorldService;
+import de.mhus.nimbus.world.shared.world.WorldMetadataCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -37,9 +36,9 @@ public class WLayerOverlayService {
     private final WLayerModelRepository modelRepository;
     private final StorageService storageService;
     private final ObjectMapper objectMapper;
-    private final WWorldService worldService;
-    private final de.mhus.nimbus.world.shared.world.WBlockTypeService blockTypeService;
+    private final WorldMetadataCache metadataCache;
     private final WHexGridService hexGridService;
+    private final de.mhus.nimbus.world.shared.world.WBlockTypeRegistry blockTypeRegistry;
 
     /**
      * Generate final chunk by overlaying all enabled layers.
@@ -56,7 +55,7 @@ public class WLayerOverlayService {
     // dont need or? @Transactional(readOnly = true)
     public Optional<ChunkData> generateChunk(String worldId, String chunkKey) {
 
-        var world = worldService.getByWorldId(worldId).orElseThrow(
+        var world = metadataCache.getWorld(worldId).orElseThrow(
                 () -> new IllegalArgumentException("World not found: " + worldId)
         );
         var chunkSize = (byte) world.getPublicData().getChunkSize();
@@ -148,9 +147,9 @@ public class WLayerOverlayService {
     }
 
     private List<AreaData> calculateAreaData(WWorld world, int cx, int cz) {
-        var hexes = HexMathUtil.getHexesForChunk(world, cx, cz);
-        var mainHex = HexMathUtil.getDominantHexForChunk(world, cx, cz);
-        var mainGridOpt = hexGridService.findByWorldIdAndPosition(
+        var hexes = hexGridService.getHexesForChunk(world, cx, cz);
+        var mainHex = hexGridService.getDominantHexForChunk(world, cx, cz);
+        var mainGridOpt = metadataCache.getHexGrid(
                 world.getWorldId(),
                 mainHex
         );
@@ -162,7 +161,7 @@ public class WLayerOverlayService {
 
         List<AreaData> areaDataList = new ArrayList<>();
         for (var hex : hexes) {
-            var gridOpt = hexGridService.findByWorldIdAndPosition(
+            var gridOpt = metadataCache.getHexGrid(
                     world.getWorldId(),
                     hex
             );
@@ -321,7 +320,7 @@ public class WLayerOverlayService {
         }
 
         var worldId = layer.getWorldId();
-        var world = worldService.getByWorldId(worldId).orElseThrow(
+        var world = metadataCache.getWorld(worldId).orElseThrow(
                 () -> new IllegalArgumentException("World not found: " + worldId)
         );
         var chunkSize = (byte) world.getPublicData().getChunkSize();
@@ -443,7 +442,7 @@ public class WLayerOverlayService {
                 // Use cache to avoid repeated database lookups
                 var blockType = blockTypeCache.computeIfAbsent(
                     block.getBlockTypeId(),
-                    blockTypeId -> blockTypeService.findByBlockId(worldId, blockTypeId)
+                    blockTypeId -> blockTypeRegistry.findByBlockId(worldId, blockTypeId)
                 );
 
                 if (blockType.isPresent() && blockType.get().getPublicData() != null) {
@@ -542,7 +541,7 @@ public class WLayerOverlayService {
             // Only process GROUND, PATH or BLOCK type blocks - get or cache block type
             String blockTypeId = block.getBlockTypeId();
             WBlockType blockType = blockTypeCache.computeIfAbsent(blockTypeId, id ->
-                    blockTypeService.findByBlockId(wid, id).orElse(null)
+                    blockTypeRegistry.findByBlockId(wid, id).orElse(null)
             );
 
             if (blockType == null || blockType.getPublicData() == null || blockType.getPublicData().getType() == null) {
@@ -636,7 +635,7 @@ public class WLayerOverlayService {
 
         // Get or cache block type
         WBlockType blockType = blockTypeCache.computeIfAbsent(blockTypeId, id ->
-                blockTypeService.findByBlockId(wid, id).orElse(null)
+                blockTypeRegistry.findByBlockId(wid, id).orElse(null)
         );
 
         if (blockType == null || blockType.getPublicData() == null || blockType.getPublicData().getType() == null) {
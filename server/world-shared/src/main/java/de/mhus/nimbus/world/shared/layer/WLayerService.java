@@ -45,7 +45,7 @@ import java.util.zip.GZIPOutputStream;
 public class WLayerService implements StorageProvider {
 
     public static final String STORAGE_SCHEMA = "WLayerTerrainStorage";
-    public static final SchemaVersion STORAGE_SCHEMA_VERSION = SchemaVersion.create("1.0.1");
+    public static final SchemaVersion STORAGE_SCHEMA_VERSION = SchemaVersion.create("1.0.2");
 
     private final WLayerRepository layerRepository;
     private final WLayerTerrainRepository terrainRepository;
@@ -363,14 +363,6 @@ public class WLayerService implements StorageProvider {
             throw new IllegalArgumentException("Cannot create layer for instance worldId");
         }
 
-        // Serialize to JSON
-        String json;
-        try {
-            json = objectMapper.writeValueAsString(data);
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to serialize ChunkData", e);
-        }
-
         // Find or create entity
         WLayerTerrain entity = terrainRepository
                 .findByWorldIdAndLayerDataIdAndChunkKey(worldId, layerDataId, chunkKey)
@@ -384,6 +376,80 @@ public class WLayerService implements StorageProvider {
                     return newEntity;
                 });
 
+        storeTerrainData(entity, worldId, layerDataId, chunkKey, data);
+
+        entity.touchUpdate();
+        WLayerTerrain saved = terrainRepository.save(entity);
+
+        // Mark chunk as dirty
+        dirtyChunkService.markChunkDirty(worldId, chunkKey, "terrain_layer_updated");
+
+        return saved;
+    }
+
+    /**
+     * Save terrain data of many chunks of a layer, e.g. after applying the edit cache.
+     * Loads the existing entities with one query, saves them with one saveAll and marks the chunks dirty.
+     *
+     * @param worldId     World identifier
+     * @param layerDataId Layer data ID
+     * @param chunks      Chunk key to layer chunk data
+     * @return Saved terrain entities
+     */
+    @Transactional
+    public List<WLayerTerrain> saveTerrainChunks(String worldId, String layerDataId, Map<String, LayerChunkData> chunks) {
+        if (chunks.isEmpty()) {
+            return List.of();
+        }
+        WorldId parsedWorldId = WorldId.of(worldId).orElseThrow();
+        if (parsedWorldId.isInstance()) {
+            throw new IllegalArgumentException("Cannot create layer for instance worldId");
+        }
+
+        Map<String, WLayerTerrain> existing = new HashMap<>();
+        for (WLayerTerrain terrain : mongoTemplate.find(Query.query(Criteria.where("worldId").is(worldId)
+                .and("layerDataId").is(layerDataId)
+                .and("chunkKey").in(chunks.keySet())), WLayerTerrain.class)) {
+            existing.putIfAbsent(terrain.getChunkKey(), terrain);
+        }
+
+        List<WLayerTerrain> entities = new ArrayList<>(chunks.size());
+        for (Map.Entry<String, LayerChunkData> entry : chunks.entrySet()) {
+            String chunkKey = entry.getKey();
+            WLayerTerrain entity = existing.get(chunkKey);
+            if (entity == null) {
+                entity = WLayerTerrain.builder()
+                        .worldId(worldId)
+                        .layerDataId(layerDataId)
+                        .chunkKey(chunkKey)
+                        .build();
+                entity.touchCreate();
+            }
+            storeTerrainData(entity, worldId, layerDataId, chunkKey, entry.getValue());
+            entity.touchUpdate();
+            entities.add(entity);
+        }
+        List<WLayerTerrain> saved = terrainRepository.saveAll(entities);
+
+        dirtyChunkService.markChunksDirty(worldId, new ArrayList<>(chunks.keySet()), "terrain_layer_updated");
+        log.debug("Saved {} terrain chunks: layerDataId={}", saved.size(), layerDataId);
+        return saved;
+    }
+
+    /**
+     * Serialize in palette form (see LayerChunkPalette), compress and store the chunk data,
+     * sets storageId and compressed of the entity.
+     */
+    private void storeTerrainData(WLayerTerrain entity, String worldId, String layerDataId,
+                                  String chunkKey, LayerChunkData data) {
+        // Serialize to JSON
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(LayerChunkPalette.encode(data));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize ChunkData", e);
+        }
+
         // Compression if enabled
         byte[] dataBytes;
         if (compressionEnabled) {
@@ -418,18 +484,11 @@ public class WLayerService implements StorageProvider {
         } catch (Exception e) {
             throw new IllegalStateException("Failed to store terrain chunk", e);
         }
-
-        entity.touchUpdate();
-        WLayerTerrain saved = terrainRepository.save(entity);
-
-        // Mark chunk as dirty
-        dirtyChunkService.markChunkDirty(worldId, chunkKey, "terrain_layer_updated");
-
-        return saved;
     }
 
     /**
      * Load terrain chunk data.
+     * Blocks stored in palette form are decoded on first access of LayerChunkData.getBlocks().
      *
      * @param layerDataId Layer data ID
      * @param chunkKey    Chunk key
@@ -469,6 +528,37 @@ public class WLayerService implements StorageProvider {
         }
     }
 
+    /**
+     * Load the terrain blocks of a layer in a region, each chunk is loaded once.
+     *
+     * @param worldId     World identifier
+     * @param layerDataId Layer data ID
+     * @param bounds      Region bounds
+     * @return Layer blocks in the region
+     */
+    @Transactional(readOnly = true)
+    public BlockRegion<LayerBlock> loadTerrainRegion(String worldId, String layerDataId, BlockRegion<?> bounds) {
+        var world = worldService.getByWorldId(worldId).orElseThrow(
+                () -> new IllegalArgumentException("World not found: " + worldId)
+        );
+        BlockRegion<LayerBlock> region = bounds.withSameBounds();
+        for (String chunkKey : bounds.chunkKeys(world.getPublicData().getChunkSize())) {
+            Optional<LayerChunkData> chunkDataOpt = loadTerrainChunk(worldId, layerDataId, chunkKey);
+            if (chunkDataOpt.isEmpty() || chunkDataOpt.get().getBlocks() == null) {
+                continue;
+            }
+            for (LayerBlock layerBlock : chunkDataOpt.get().getBlocks()) {
+                if (layerBlock == null || layerBlock.getBlock() == null || layerBlock.getBlock().getPosition() == null) {
+                    continue;
+                }
+                var pos = layerBlock.getBlock().getPosition();
+                region.putIfAbsent(pos.getX(), pos.getY(), pos.getZ(), layerBlock);
+            }
+        }
+        log.debug("Loaded terrain region: layerDataId={} blocks={}", layerDataId, region.size());
+        return region;
+    }
+
     /**
      * Delete terrain chunk.
      */
@@ -1810,26 +1900,16 @@ public class WLayerService implements StorageProvider {
 
             LayerChunkData chunkData = chunkDataOpt.get();
 
-            // Search for block at position in terrain data
-            if (chunkData.getBlocks() != null) {
-                for (LayerBlock layerBlock : chunkData.getBlocks()) {
-                    if (layerBlock.getBlock() == null || layerBlock.getBlock().getPosition() == null) {
-                        continue;
-                    }
-
-                    de.mhus.nimbus.generated.types.Vector3Int pos = layerBlock.getBlock().getPosition();
-                    if (pos.getX() == x && pos.getY() == y && pos.getZ() == z) {
-                        // Found block at this position
-
-                        // For MODEL layers: Find which model contains this block
-                        WLayerModel sourceModel = null;
-                        if (layer.getLayerType() == LayerType.MODEL) {
-                            sourceModel = findModelForBlock(layer.getLayerDataId(), x, y, z);
-                        }
-
-                        return new BlockOrigin(layer, terrain, sourceModel, layerBlock);
-                    }
+            // Search for block at position in terrain data, decodes only the found block
+            LayerBlock layerBlock = chunkData.findBlock(x, y, z);
+            if (layerBlock != null) {
+                // For MODEL layers: Find which model contains this block
+                WLayerModel sourceModel = null;
+                if (layer.getLayerType() == LayerType.MODEL) {
+                    sourceModel = findModelForBlock(layer.getLayerDataId(), x, y, z);
                 }
+
+                return new BlockOrigin(layer, terrain, sourceModel, layerBlock);
             }
         }
 
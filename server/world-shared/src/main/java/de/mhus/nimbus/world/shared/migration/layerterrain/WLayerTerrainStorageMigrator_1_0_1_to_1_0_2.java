@@ -0,0 +1,33 @@
+package de.mhus.nimbus.world.shared.migration.layerterrain;
+
+import de.mhus.nimbus.shared.persistence.SchemaMigrator;
+import de.mhus.nimbus.shared.types.SchemaVersion;
+import org.springframework.stereotype.Service;
+
+/**
+ * 1.0.2 adds the palette form (see LayerChunkPalette), the block list stays valid.
+ * Chunks are written in palette form on the next save.
+ */
+@Service
+public class WLayerTerrainStorageMigrator_1_0_1_to_1_0_2 implements SchemaMigrator {
+
+    @Override
+    public String getEntityType() {
+        return "WLayerTerrainStorage";
+    }
+
+    @Override
+    public SchemaVersion getFromVersion() {
+        return SchemaVersion.create("1.0.1");
+    }
+
+    @Override
+    public SchemaVersion getToVersion() {
+        return SchemaVersion.create("1.0.2");
+    }
+
+    @Override
+    public String migrate(String entityJson) throws Exception {
+        return entityJson;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Message format for block update broadcasts via Redis.
  * Used to broadcast block updates from world-control to all world-player pods.
@@ -12,6 +14,10 @@ import lombok.NoArgsConstructor;
  * Channel: world:{worldId}:b.u
  *
  * This ensures both sender (world-control) and receiver (world-player) use the exact same message structure.
+ *
+ * Batch format: if chunks is set, the message carries the blocks of several chunks and
+ * blockJson, cx and cz are not used. Receivers send each session one frame with the blocks
+ * of all chunks it has registered.
  */
 @Data
 @NoArgsConstructor
@@ -64,6 +70,30 @@ public class BlockUpdateBroadcastMessage {
      */
     private String source;
 
+    /**
+     * Blocks grouped by chunk (batch format, optional).
+     */
+    private List<ChunkBlocks> chunks;
+
+    /**
+     * Blocks of one chunk in a batch message.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChunkBlocks {
+
+        private int cx;
+
+        private int cz;
+
+        /**
+         * Block array as JSON string "[{...},{...}]".
+         */
+        private String blockJson;
+    }
+
     /**
      * Target audience: ALL sessions.
      */
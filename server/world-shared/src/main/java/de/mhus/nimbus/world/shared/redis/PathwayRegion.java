@@ -0,0 +1,41 @@
+package de.mhus.nimbus.world.shared.redis;
+
+/**
+ * Chunk region used to partition entity pathway publication.
+ *
+ * A region is a square of {@link #REGION_SIZE} x {@link #REGION_SIZE} chunks.
+ * world-life publishes pathways per region and world-player pods only subscribe
+ * to the regions their sessions have registered chunks in.
+ *
+ * Channel: world:{worldId}:e.p.r.{rx}.{rz}
+ */
+public record PathwayRegion(int rx, int rz) {
+
+    /**
+     * Region edge length in chunks.
+     */
+    public static final int REGION_SIZE = 8;
+
+    /**
+     * Channel prefix for region pathway messages.
+     */
+    public static final String CHANNEL_PREFIX = "e.p.r.";
+
+    /**
+     * Get the region containing the given chunk.
+     *
+     * @param cx Chunk X coordinate
+     * @param cz Chunk Z coordinate
+     * @return Region of the chunk
+     */
+    public static PathwayRegion ofChunk(int cx, int cz) {
+        return new PathwayRegion(Math.floorDiv(cx, REGION_SIZE), Math.floorDiv(cz, REGION_SIZE));
+    }
+
+    /**
+     * Redis channel name (without world prefix) for this region.
+     */
+    public String channel() {
+        return CHANNEL_PREFIX + rx + "." + rz;
+    }
+}
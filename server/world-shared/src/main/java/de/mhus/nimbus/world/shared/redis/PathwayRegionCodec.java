@@ -0,0 +1,182 @@
+package de.mhus.nimbus.world.shared.redis;
+
+import de.mhus.nimbus.generated.types.ENTITY_POSES;
+import de.mhus.nimbus.generated.types.EntityPathway;
+import de.mhus.nimbus.generated.types.Rotation;
+import de.mhus.nimbus.generated.types.Vector3;
+import de.mhus.nimbus.generated.types.Waypoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes entity pathways for {@link PathwayRegionMessage}.
+ *
+ * Waypoint encoding (stride 9 ints per waypoint):
+ * - dx, dy, dz: position in 1/100 blocks, first waypoint absolute, following ones as delta to the previous
+ * - dt: timestamp in ms, first waypoint relative to the message base time, following ones as delta
+ * - rotation flag: 0 no rotation, 1 yaw and pitch, 2 yaw, pitch and roll
+ * - yaw, pitch, roll: rotation in 1/100 units, 0 if not set
+ * - pose: pose index, -1 if not set
+ *
+ * Positions and rotations are therefore rounded to 0.01, which is below what clients can display.
+ */
+public final class PathwayRegionCodec {
+
+    public static final int WAYPOINT_STRIDE = 9;
+    public static final double POSITION_SCALE = 100.0;
+    public static final double ROTATION_SCALE = 100.0;
+
+    private static final int ROTATION_NONE = 0;
+    private static final int ROTATION_YAW_PITCH = 1;
+    private static final int ROTATION_YAW_PITCH_ROLL = 2;
+
+    private static final ENTITY_POSES[] POSES_BY_INDEX = buildPoseIndex();
+
+    private PathwayRegionCodec() {
+    }
+
+    /**
+     * Encode a pathway.
+     *
+     * @param pathway Entity pathway
+     * @param sessionId Originating session (null for NPC pathways)
+     * @param chunks Chunks touched by the pathway as flat (cx, cz) pairs
+     * @param baseTime Message base time
+     * @return Encoded pathway
+     */
+    public static PathwayRegionMessage.CompactPathway encode(EntityPathway pathway, String sessionId, int[] chunks, long baseTime) {
+        List<Waypoint> waypoints = pathway.getWaypoints();
+        int count = waypoints != null ? waypoints.size() : 0;
+        int[] encoded = new int[count * WAYPOINT_STRIDE];
+
+        int lastX = 0, lastY = 0, lastZ = 0;
+        long lastTime = baseTime;
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            Waypoint waypoint = waypoints.get(i);
+            Vector3 target = waypoint.getTarget();
+            int x = target != null ? quantize(target.getX(), POSITION_SCALE) : lastX;
+            int y = target != null ? quantize(target.getY(), POSITION_SCALE) : lastY;
+            int z = target != null ? quantize(target.getZ(), POSITION_SCALE) : lastZ;
+            Rotation rotation = waypoint.getRotation();
+
+            encoded[offset] = x - lastX;
+            encoded[offset + 1] = y - lastY;
+            encoded[offset + 2] = z - lastZ;
+            encoded[offset + 3] = (int) (waypoint.getTimestamp() - lastTime);
+            Double roll = rotation != null ? rotation.getR() : null;
+            encoded[offset + 4] = rotation == null ? ROTATION_NONE : roll == null ? ROTATION_YAW_PITCH : ROTATION_YAW_PITCH_ROLL;
+            encoded[offset + 5] = rotation != null ? quantize(rotation.getY(), ROTATION_SCALE) : 0;
+            encoded[offset + 6] = rotation != null ? quantize(rotation.getP(), ROTATION_SCALE) : 0;
+            encoded[offset + 7] = roll != null ? quantize(roll, ROTATION_SCALE) : 0;
+            encoded[offset + 8] = waypoint.getPose() != null ? waypoint.getPose().getTsIndex() : -1;
+
+            lastX = x;
+            lastY = y;
+            lastZ = z;
+            lastTime = waypoint.getTimestamp();
+            offset += WAYPOINT_STRIDE;
+        }
+
+        Vector3 velocity = pathway.getVelocity();
+        return PathwayRegionMessage.CompactPathway.builder()
+                .entityId(pathway.getEntityId())
+                .sessionId(sessionId)
+                .startAt(pathway.getStartAt() - baseTime)
+                .queryAt(pathway.getQueryAt() - baseTime)
+                .looping(pathway.getIsLooping())
+                .physicsEnabled(pathway.getPhysicsEnabled())
+                .grounded(pathway.getGrounded())
+                .idlePose(pathway.getIdlePose() != null ? pathway.getIdlePose().getTsIndex() : null)
+                .velocity(velocity != null ? new int[] {
+                        quantize(velocity.getX(), POSITION_SCALE),
+                        quantize(velocity.getY(), POSITION_SCALE),
+                        quantize(velocity.getZ(), POSITION_SCALE)} : null)
+                .chunks(chunks)
+                .waypoints(encoded)
+                .build();
+    }
+
+    /**
+     * Decode a pathway.
+     *
+     * @param compact Encoded pathway
+     * @param baseTime Message base time
+     * @return Entity pathway
+     */
+    public static EntityPathway decode(PathwayRegionMessage.CompactPathway compact, long baseTime) {
+        int[] encoded = compact.getWaypoints();
+        int count = encoded != null ? encoded.length / WAYPOINT_STRIDE : 0;
+        List<Waypoint> waypoints = new ArrayList<>(count);
+
+        int x = 0, y = 0, z = 0;
+        long time = baseTime;
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            x += encoded[offset];
+            y += encoded[offset + 1];
+            z += encoded[offset + 2];
+            time += encoded[offset + 3];
+            waypoints.add(Waypoint.builder()
+                    .timestamp(time)
+                    .target(Vector3.builder()
+                            .x(x / POSITION_SCALE)
+                            .y(y / POSITION_SCALE)
+                            .z(z / POSITION_SCALE)
+                            .build())
+                    .rotation(decodeRotation(encoded, offset))
+                    .pose(poseOf(encoded[offset + 8]))
+                    .build());
+            offset += WAYPOINT_STRIDE;
+        }
+
+        int[] velocity = compact.getVelocity();
+        return EntityPathway.builder()
+                .entityId(compact.getEntityId())
+                .startAt(baseTime + compact.getStartAt())
+                .queryAt(baseTime + compact.getQueryAt())
+                .waypoints(waypoints)
+                .isLooping(compact.getLooping())
+                .physicsEnabled(compact.getPhysicsEnabled())
+                .grounded(compact.getGrounded())
+                .idlePose(compact.getIdlePose() != null ? poseOf(compact.getIdlePose()) : null)
+                .velocity(velocity != null && velocity.length == 3 ? Vector3.builder()
+                        .x(velocity[0] / POSITION_SCALE)
+                        .y(velocity[1] / POSITION_SCALE)
+                        .z(velocity[2] / POSITION_SCALE)
+                        .build() : null)
+                .build();
+    }
+
+    private static Rotation decodeRotation(int[] encoded, int offset) {
+        int flag = encoded[offset + 4];
+        if (flag == ROTATION_NONE) return null;
+        return Rotation.builder()
+                .y(encoded[offset + 5] / ROTATION_SCALE)
+                .p(encoded[offset + 6] / ROTATION_SCALE)
+                .r(flag == ROTATION_YAW_PITCH_ROLL ? encoded[offset + 7] / ROTATION_SCALE : null)
+                .build();
+    }
+
+    private static int quantize(double value, double scale) {
+        return (int) Math.round(value * scale);
+    }
+
+    private static ENTITY_POSES poseOf(int index) {
+        if (index < 0 || index >= POSES_BY_INDEX.length) return null;
+        return POSES_BY_INDEX[index];
+    }
+
+    private static ENTITY_POSES[] buildPoseIndex() {
+        int max = 0;
+        for (ENTITY_POSES pose : ENTITY_POSES.values()) {
+            max = Math.max(max, pose.getTsIndex());
+        }
+        ENTITY_POSES[] index = new ENTITY_POSES[max + 1];
+        for (ENTITY_POSES pose : ENTITY_POSES.values()) {
+            index[pose.getTsIndex()] = pose;
+        }
+        return index;
+    }
+}
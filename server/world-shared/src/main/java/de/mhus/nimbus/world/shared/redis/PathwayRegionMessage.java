@@ -0,0 +1,114 @@
+package de.mhus.nimbus.world.shared.redis;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Compact message format for entity pathways published per chunk region.
+ * Used by world-life to publish pathways and world-player to receive them.
+ *
+ * Channel: world:{worldId}:e.p.r.{rx}.{rz} (see {@link PathwayRegion})
+ *
+ * Pathways are encoded by {@link PathwayRegionCodec}: times are relative to
+ * {@link #baseTime}, positions are quantized and delta encoded.
+ *
+ * Message format:
+ * {
+ *   "t": 1700000000000,
+ *   "p": [{"e": "cow1", "s": 0, "q": 0, "c": [6, -13], "w": [...]}, ...]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PathwayRegionMessage {
+
+    /**
+     * Base timestamp, all pathway and waypoint times are relative to it.
+     */
+    @JsonProperty("t")
+    private long baseTime;
+
+    /**
+     * Encoded pathways of this region.
+     */
+    @JsonProperty("p")
+    private List<CompactPathway> pathways;
+
+    /**
+     * Single encoded pathway.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CompactPathway {
+
+        /**
+         * Entity ID.
+         */
+        @JsonProperty("e")
+        private String entityId;
+
+        /**
+         * Session ID that originated this pathway (null for NPC/AI pathways).
+         */
+        @JsonProperty("o")
+        private String sessionId;
+
+        /**
+         * Pathway start time relative to the message base time.
+         */
+        @JsonProperty("s")
+        private long startAt;
+
+        /**
+         * Query time relative to the message base time.
+         */
+        @JsonProperty("q")
+        private long queryAt;
+
+        @JsonProperty("l")
+        private Boolean looping;
+
+        @JsonProperty("ph")
+        private Boolean physicsEnabled;
+
+        @JsonProperty("g")
+        private Boolean grounded;
+
+        /**
+         * Idle pose index, null if not set.
+         */
+        @JsonProperty("ip")
+        private Integer idlePose;
+
+        /**
+         * Quantized velocity (x, y, z), null if not set.
+         */
+        @JsonProperty("v")
+        private int[] velocity;
+
+        /**
+         * Chunks touched by this pathway as flat (cx, cz) pairs.
+         */
+        @JsonProperty("c")
+        private int[] chunks;
+
+        /**
+         * Waypoints as flat array with stride {@link PathwayRegionCodec#WAYPOINT_STRIDE}:
+         * dx, dy, dz, dt, rotation flag, yaw, pitch, roll, pose.
+         */
+        @JsonProperty("w")
+        private int[] waypoints;
+    }
+}
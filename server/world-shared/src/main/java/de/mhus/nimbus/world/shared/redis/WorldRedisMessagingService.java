@@ -86,6 +86,20 @@ public class WorldRedisMessagingService {
         }
     }
 
+    /**
+     * World id of a topic "world:{worldId}:{channel}", e.g. in the handlers of subscribeToAllWorlds().
+     * World ids may contain ':', channels not.
+     *
+     * @return worldId or null if the topic has another format
+     */
+    public static String worldIdOf(String topic) {
+        if (topic == null) return null;
+        int start = topic.indexOf(':');
+        int end = topic.lastIndexOf(':');
+        if (start < 0 || end <= start + 1) return null;
+        return topic.substring(start + 1, end);
+    }
+
     private String topic(String worldId, String channel) {
         // Use ':' as delimiter to match Redis topic convention and tests
         return "world:" + worldId + ":" + channel;
@@ -0,0 +1,92 @@
+package de.mhus.nimbus.world.shared.session;
+
+import de.mhus.nimbus.shared.utils.VersionedCache;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Read-through cache for WSession states, for the access filter that validates the session on every request.
+ *
+ * Entries (also missing sessions) are kept in an LRU cache with a short time to live as safety net.
+ * WSessionService publishes changes on the Redis channel s.i (world:{worldId}:s.i, message is the
+ * session id), all pods drop the entry, see VersionedCache. Expired sessions are not returned.
+ *
+ * Returned sessions are shared between callers and must not be modified.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WSessionCache {
+
+    public static final String INVALIDATION_CHANNEL = "s.i";
+
+    private final WSessionService sessionService;
+    private final WorldRedisMessagingService redisMessaging;
+
+    @Value("${world.session-cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    @Value("${world.session-cache.ttl-seconds:10}")
+    private long ttlSeconds = 10;
+
+    /**
+     * sessionId → session.
+     */
+    private final VersionedCache<String, Optional<WSession>> entries =
+            new VersionedCache<>(() -> maxEntries, () -> ttlSeconds * 1000);
+
+    @PostConstruct
+    public void initialize() {
+        redisMessaging.subscribeToAllWorlds(INVALIDATION_CHANNEL, this::handleInvalidation);
+    }
+
+    /**
+     * Session like WSessionService.get(), empty if the session is missing or expired.
+     */
+    public Optional<WSession> get(String sessionId) {
+        if (sessionId == null || sessionId.isBlank()) {
+            return Optional.empty();
+        }
+        return entries.get(sessionId, sessionService::get)
+                .filter(session -> session.getExpireAt() == null || session.getExpireAt().isAfter(Instant.now()));
+    }
+
+    /**
+     * Drop a session on this pod.
+     */
+    public void invalidate(String sessionId) {
+        entries.invalidate(sessionId);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getHits() {
+        return entries.getHits();
+    }
+
+    public long getMisses() {
+        return entries.getMisses();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void handleInvalidation(String topic, String message) {
+        if (message == null || message.isBlank()) {
+            log.warn("Invalid session invalidation message on topic: {}", topic);
+            return;
+        }
+        invalidate(message);
+        log.trace("Session invalidated: topic={} sessionId={}", topic, message);
+    }
+}
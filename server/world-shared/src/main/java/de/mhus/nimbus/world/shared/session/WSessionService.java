@@ -4,6 +4,7 @@ import de.mhus.nimbus.generated.types.Block;
 import de.mhus.nimbus.shared.engine.EngineMapper;
 import de.mhus.nimbus.shared.types.PlayerId;
 import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
 import de.mhus.nimbus.world.shared.util.ModelSelector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +27,7 @@ public class WSessionService {
     private final StringRedisTemplate redis;
     private final WorldSettings props;
     private final EngineMapper mapper;
+    private final WorldRedisMessagingService redisMessaging;
 
     private static final String KEY_PREFIX = "wsession:"; // Namespace
     private static final String FIELD_STATUS = "status";
@@ -208,7 +210,12 @@ public class WSessionService {
     }
 
     public boolean delete(String id) {
-        return Boolean.TRUE.equals(redis.delete(key(id)));
+        Object worldId = redis.opsForHash().get(key(id), FIELD_WORLD);
+        boolean deleted = Boolean.TRUE.equals(redis.delete(key(id)));
+        if (worldId != null) {
+            publishInvalidation(worldId.toString(), id);
+        }
+        return deleted;
     }
 
     private void write(WSession session, Duration ttl) {
@@ -244,6 +251,18 @@ public class WSessionService {
         ops.put(k, FIELD_EXPIRE, session.getExpireAt().toString());
         if (ttl == null || ttl.isNegative() || ttl.isZero()) ttl = Duration.ofSeconds(1);
         redis.expire(k, ttl);
+        publishInvalidation(session.getWorldId(), session.getId());
+    }
+
+    /**
+     * Drop the session from the WSessionCache of all pods.
+     */
+    private void publishInvalidation(String worldId, String sessionId) {
+        try {
+            redisMessaging.publish(worldId, WSessionCache.INVALIDATION_CHANNEL, sessionId);
+        } catch (Exception e) {
+            log.warn("Failed to publish session invalidation {}: {}", sessionId, e.getMessage());
+        }
     }
 
     private String key(String id) { return KEY_PREFIX + "session:" + id; }
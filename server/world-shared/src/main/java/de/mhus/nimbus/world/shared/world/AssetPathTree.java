@@ -0,0 +1,168 @@
+package de.mhus.nimbus.world.shared.world;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Asset paths of one world: path → asset id and the virtual folder tree, see SAssetPathIndex.
+ *
+ * Folders are derived from the asset paths (see FolderInfo), a collection prefix (w:, r:, xyz:)
+ * is not part of the folder path. Paths with more than one asset (legacy duplicates) are ambiguous
+ * and must be looked up in the database.
+ *
+ * Thread safe.
+ */
+public class AssetPathTree {
+
+    private static class Folder {
+        private final TreeMap<String, Folder> children = new TreeMap<>();
+        private int assetCount;
+        private int totalAssetCount;
+    }
+
+    private final Folder root = new Folder();
+    private final TreeMap<String, String> assets = new TreeMap<>();
+    private final Set<String> ambiguous = new HashSet<>();
+
+    /**
+     * Asset id of the path or null.
+     */
+    public synchronized String getAssetId(String path) {
+        return assets.get(path);
+    }
+
+    public synchronized boolean isAmbiguous(String path) {
+        return ambiguous.contains(path);
+    }
+
+    public synchronized int size() {
+        return assets.size();
+    }
+
+    /**
+     * Set the asset of the path, e.g. after create, duplicate or move.
+     */
+    public synchronized void put(String path, String assetId) {
+        ambiguous.remove(path);
+        if (assets.put(path, assetId) == null) {
+            count(path, 1);
+        }
+    }
+
+    /**
+     * Remove the path if it points to the asset. Ambiguous paths are kept.
+     *
+     * @param assetId Asset id or null to remove the path in any case
+     */
+    public synchronized void remove(String path, String assetId) {
+        String current = assets.get(path);
+        if (current == null || ambiguous.contains(path) || (assetId != null && !assetId.equals(current))) {
+            return;
+        }
+        assets.remove(path);
+        count(path, -1);
+    }
+
+    /**
+     * Assets with the path itself or below the folder path.
+     *
+     * @return path → asset id, sorted by path
+     */
+    public synchronized Map<String, String> findByPrefix(String prefix) {
+        Map<String, String> result = new LinkedHashMap<>();
+        String current = assets.get(prefix);
+        if (current != null) {
+            result.put(prefix, current);
+        }
+        // '0' is the character after '/'
+        result.putAll(assets.subMap(prefix + "/", prefix + "0"));
+        return result;
+    }
+
+    /**
+     * Folders of the tree, sorted by path.
+     *
+     * @param parentPath Folder path without trailing slash, returns the folder itself and all subfolders,
+     *                   null for all folders
+     */
+    public synchronized List<FolderInfo> getFolders(String parentPath) {
+        List<FolderInfo> result = new ArrayList<>();
+        if (parentPath == null) {
+            root.children.forEach((name, child) -> collect(child, name, "", result));
+        } else {
+            Folder folder = root;
+            for (String name : parentPath.split("/")) {
+                folder = folder.children.get(name);
+                if (folder == null) {
+                    return result;
+                }
+            }
+            int pos = parentPath.lastIndexOf('/');
+            collect(folder, parentPath, pos >= 0 ? parentPath.substring(0, pos) : "", result);
+        }
+        result.sort(Comparator.comparing(FolderInfo::path));
+        return result;
+    }
+
+    /**
+     * Add a path while loading, a second asset with the same path makes the path ambiguous.
+     */
+    synchronized void add(String path, String assetId) {
+        if (assets.containsKey(path)) {
+            ambiguous.add(path);
+            return;
+        }
+        assets.put(path, assetId);
+        count(path, 1);
+    }
+
+    private void collect(Folder folder, String path, String parentPath, List<FolderInfo> result) {
+        int pos = path.lastIndexOf('/');
+        result.add(new FolderInfo(
+                path,
+                pos >= 0 ? path.substring(pos + 1) : path,
+                folder.assetCount,
+                folder.totalAssetCount,
+                folder.children.size(),
+                parentPath
+        ));
+        folder.children.forEach((name, child) -> collect(child, path + "/" + name, path, result));
+    }
+
+    /**
+     * Update the asset counts of the folders of the path, empty folders are removed.
+     */
+    private void count(String path, int delta) {
+        // Remove collection prefix (w:, r:, p:, xyz:)
+        int colonPos = path.indexOf(':');
+        if (colonPos > 0) {
+            path = path.substring(colonPos + 1);
+        }
+        // The last part is the file name
+        String[] parts = path.split("/");
+        Folder folder = root;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Folder child = folder.children.get(parts[i]);
+            if (child == null) {
+                if (delta < 0) return;
+                child = new Folder();
+                folder.children.put(parts[i], child);
+            }
+            child.totalAssetCount += delta;
+            if (i == parts.length - 2) {
+                child.assetCount += delta;
+            }
+            if (child.totalAssetCount <= 0) {
+                folder.children.remove(parts[i]);
+                return;
+            }
+            folder = child;
+        }
+    }
+}
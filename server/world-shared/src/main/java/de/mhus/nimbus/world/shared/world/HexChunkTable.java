@@ -0,0 +1,215 @@
+package de.mhus.nimbus.world.shared.world;
+
+import de.mhus.nimbus.generated.types.HexVector2;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed mapping between chunks and hexes for one hex grid size and chunk size.
+ *
+ * Chunks are grouped in pages of 32 x 32 chunks. A page is computed completely on first access
+ * with HexMathUtil.getHexesForChunk() and HexMathUtil.getDominantHexForChunk(), so lookups return
+ * the same results without the geometry. Hexes are stored packed in longs (q high, r low).
+ *
+ * Thread safe. The number of pages is limited, if the limit is reached the table starts over.
+ */
+public class HexChunkTable {
+
+    static final int PAGE_BITS = 5;
+    static final int PAGE_SIZE = 1 << PAGE_BITS;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+    static final int MAX_HEXES_PER_CHUNK = 3;
+    static final int MAX_PAGES = 512;
+
+    @Getter
+    private final int hexSize;
+    @Getter
+    private final int chunkSize;
+    private final ConcurrentHashMap<Long, Page> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Hexes of the chunks of one page, index (cx & mask) + (cz & mask) * PAGE_SIZE.
+     */
+    private static final class Page {
+        final long[] dominant = new long[PAGE_SIZE * PAGE_SIZE];
+        final long[] hexes = new long[PAGE_SIZE * PAGE_SIZE * MAX_HEXES_PER_CHUNK];
+        final byte[] hexCount = new byte[PAGE_SIZE * PAGE_SIZE];
+    }
+
+    public HexChunkTable(int hexSize, int chunkSize) {
+        if (hexSize <= 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("hexSize and chunkSize must be positive");
+        }
+        this.hexSize = hexSize;
+        this.chunkSize = chunkSize;
+    }
+
+    public static long pack(int q, int r) {
+        return ((long) q << 32) | (r & 0xffffffffL);
+    }
+
+    public static int unpackQ(long hex) {
+        return (int) (hex >> 32);
+    }
+
+    public static int unpackR(long hex) {
+        return (int) hex;
+    }
+
+    public static HexVector2 toHexVector(long hex) {
+        return HexVector2.builder().q(unpackQ(hex)).r(unpackR(hex)).build();
+    }
+
+    /**
+     * Hex with the largest overlap with the chunk, packed.
+     */
+    public long getDominantHex(int cx, int cz) {
+        return page(cx, cz).dominant[index(cx, cz)];
+    }
+
+    /**
+     * Same result as HexMathUtil.getDominantHexForChunk().
+     */
+    public HexVector2 getDominantHexVector(int cx, int cz) {
+        return toHexVector(getDominantHex(cx, cz));
+    }
+
+    /**
+     * Hexes overlapping the chunk corners (1 to 3), packed.
+     */
+    public long[] getHexes(int cx, int cz) {
+        Page page = page(cx, cz);
+        int index = index(cx, cz);
+        long[] result = new long[page.hexCount[index]];
+        System.arraycopy(page.hexes, index * MAX_HEXES_PER_CHUNK, result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * Same result as HexMathUtil.getHexesForChunk().
+     */
+    public HexVector2[] getHexVectors(int cx, int cz) {
+        long[] hexes = getHexes(cx, cz);
+        HexVector2[] result = new HexVector2[hexes.length];
+        for (int i = 0; i < hexes.length; i++) {
+            result[i] = toHexVector(hexes[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Chunks whose dominant hex is the given hex, packed like hexes (cx high, cz low).
+     * Consistent with getDominantHex(), i.e. with the hex stored on each chunk.
+     */
+    public long[] getDominantChunks(int q, int r) {
+        long hex = pack(q, r);
+        return findChunks(q, r, (cx, cz) -> getDominantHex(cx, cz) == hex);
+    }
+
+    /**
+     * Chunk keys "cx:cz" whose dominant hex is the given hex.
+     */
+    public Set<String> getDominantChunkKeys(int q, int r) {
+        return toChunkKeys(getDominantChunks(q, r));
+    }
+
+    /**
+     * Chunks overlapped by the given hex, packed like hexes (cx high, cz low).
+     * Consistent with getHexes(), i.e. all chunks that read the hex when they are generated.
+     */
+    public long[] getChunks(int q, int r) {
+        long hex = pack(q, r);
+        return findChunks(q, r, (cx, cz) -> {
+            Page page = page(cx, cz);
+            int offset = index(cx, cz) * MAX_HEXES_PER_CHUNK;
+            for (int i = 0; i < page.hexCount[index(cx, cz)]; i++) {
+                if (page.hexes[offset + i] == hex) return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Chunk keys "cx:cz" overlapped by the given hex.
+     */
+    public Set<String> getChunkKeys(int q, int r) {
+        return toChunkKeys(getChunks(q, r));
+    }
+
+    /**
+     * Number of computed pages.
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    private interface ChunkFilter {
+        boolean test(int cx, int cz);
+    }
+
+    private long[] findChunks(int q, int r, ChunkFilter filter) {
+        // Bounding box of the hex, one chunk margin for the sampling
+        double[] center = HexMathUtil.hexToCartesian(HexVector2.builder().q(q).r(r).build(), hexSize);
+        double radius = hexSize / 2.0;
+        int minCx = Math.floorDiv((int) Math.floor(center[0] - radius), chunkSize) - 1;
+        int maxCx = Math.floorDiv((int) Math.ceil(center[0] + radius), chunkSize) + 1;
+        int minCz = Math.floorDiv((int) Math.floor(center[1] - radius), chunkSize) - 1;
+        int maxCz = Math.floorDiv((int) Math.ceil(center[1] + radius), chunkSize) + 1;
+
+        long[] result = new long[(maxCx - minCx + 1) * (maxCz - minCz + 1)];
+        int count = 0;
+        for (int cz = minCz; cz <= maxCz; cz++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                if (filter.test(cx, cz)) {
+                    result[count++] = pack(cx, cz);
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static Set<String> toChunkKeys(long[] chunks) {
+        Set<String> keys = new LinkedHashSet<>(chunks.length * 2);
+        for (long chunk : chunks) {
+            keys.add(unpackQ(chunk) + ":" + unpackR(chunk));
+        }
+        return keys;
+    }
+
+    private static int index(int cx, int cz) {
+        return (cx & PAGE_MASK) + (cz & PAGE_MASK) * PAGE_SIZE;
+    }
+
+    private Page page(int cx, int cz) {
+        long key = pack(cx >> PAGE_BITS, cz >> PAGE_BITS);
+        Page page = pages.get(key);
+        if (page != null) return page;
+        if (pages.size() >= MAX_PAGES) {
+            pages.clear();
+        }
+        return pages.computeIfAbsent(key, k -> computePage(unpackQ(k) << PAGE_BITS, unpackR(k) << PAGE_BITS));
+    }
+
+    private Page computePage(int firstCx, int firstCz) {
+        Page page = new Page();
+        for (int dz = 0; dz < PAGE_SIZE; dz++) {
+            for (int dx = 0; dx < PAGE_SIZE; dx++) {
+                int cx = firstCx + dx;
+                int cz = firstCz + dz;
+                int index = dx + dz * PAGE_SIZE;
+                HexVector2[] hexes = HexMathUtil.getHexesForChunk(hexSize, chunkSize, cx, cz);
+                page.hexCount[index] = (byte) hexes.length;
+                for (int i = 0; i < hexes.length; i++) {
+                    page.hexes[index * MAX_HEXES_PER_CHUNK + i] = pack(hexes[i].getQ(), hexes[i].getR());
+                }
+                HexVector2 dominant = HexMathUtil.getDominantHexForChunk(hexSize, chunkSize, cx, cz);
+                page.dominant[index] = pack(dominant.getQ(), dominant.getR());
+            }
+        }
+        return page;
+    }
+}
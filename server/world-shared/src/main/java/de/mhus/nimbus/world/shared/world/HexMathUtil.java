@@ -526,6 +526,10 @@ public class HexMathUtil {
     public static HexVector2 getDominantHexForChunk(WWorld world, int cx, int cz) {
         int hexSize = world.getPublicData().getHexGridSize();
         int chunkSize = world.getPublicData().getChunkSize();
+        return getDominantHexForChunk(hexSize, chunkSize, cx, cz);
+    }
+
+    public static HexVector2 getDominantHexForChunk(int hexSize, int chunkSize, int cx, int cz) {
         // Get all hexes overlapping the chunk
         HexVector2[] hexes = getHexesForChunk(hexSize, chunkSize, cx, cz);
         // Rectangle (chunk) bounds
@@ -0,0 +1,149 @@
+package de.mhus.nimbus.world.shared.world;
+
+import de.mhus.nimbus.shared.utils.VersionedCache;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Per world index of the asset paths (AssetPathTree), for path lookups, folder listings and
+ * folder moves without loading all assets of a world.
+ *
+ * The index of a world is loaded on first access (only id and path of the assets) and kept in an
+ * LRU cache with a time to live as safety net. SAssetService updates the index of this pod on
+ * save, delete and move and publishes the change on the Redis channel a.i (world:{worldId}:a.i,
+ * message is the id of the publishing pod), the other pods drop the index of the world,
+ * see VersionedCache.
+ *
+ * Changes in the database outside of SAssetService must call invalidate().
+ * If disabled (world.asset-index.enabled) SAssetService looks up paths in the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SAssetPathIndex {
+
+    public static final String INVALIDATION_CHANNEL = "a.i";
+
+    private final MongoTemplate mongoTemplate;
+    private final WorldRedisMessagingService redisMessaging;
+
+    @Value("${world.asset-index.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${world.asset-index.max-worlds:100}")
+    private int maxWorlds = 100;
+
+    @Value("${world.asset-index.ttl-seconds:600}")
+    private long ttlSeconds = 600;
+
+    /**
+     * Sender of the invalidation messages, changes of this pod are already applied.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * worldId → index.
+     */
+    private final VersionedCache<String, AssetPathTree> entries =
+            new VersionedCache<>(() -> maxWorlds, () -> ttlSeconds * 1000);
+
+    @PostConstruct
+    public void initialize() {
+        redisMessaging.subscribeToAllWorlds(INVALIDATION_CHANNEL, this::handleInvalidation);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Index of the assets stored with the worldId (main world or collection).
+     * If the index is disabled it is loaded on every call.
+     */
+    public AssetPathTree get(String worldId) {
+        if (!enabled) {
+            return load(worldId);
+        }
+        return entries.get(worldId, this::load);
+    }
+
+    /**
+     * The asset is stored with the path, e.g. created, duplicated or moved.
+     */
+    public void put(String worldId, String path, String assetId) {
+        update(worldId, tree -> tree.put(path, assetId));
+    }
+
+    /**
+     * The asset is not stored with the path any more.
+     */
+    public void remove(String worldId, String path, String assetId) {
+        update(worldId, tree -> tree.remove(path, assetId));
+    }
+
+    /**
+     * Drop the index of the world on all pods, e.g. after bulk changes in the database.
+     */
+    public void invalidate(String worldId) {
+        drop(worldId);
+        publish(worldId);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private void update(String worldId, Consumer<AssetPathTree> change) {
+        entries.update(worldId, change);
+        publish(worldId);
+    }
+
+    private void drop(String worldId) {
+        entries.invalidate(worldId);
+    }
+
+    private AssetPathTree load(String worldId) {
+        Query query = new Query(Criteria.where("worldId").is(worldId));
+        query.fields().include("path");
+
+        AssetPathTree tree = new AssetPathTree();
+        for (SAsset asset : mongoTemplate.find(query, SAsset.class)) {
+            if (asset.getPath() != null) {
+                tree.add(asset.getPath(), asset.getId());
+            }
+        }
+        log.debug("Loaded asset path index: worldId={}, assets={}", worldId, tree.size());
+        return tree;
+    }
+
+    private void publish(String worldId) {
+        try {
+            redisMessaging.publish(worldId, INVALIDATION_CHANNEL, nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to publish asset index change: {}: {}", worldId, e.getMessage());
+        }
+    }
+
+    private void handleInvalidation(String topic, String message) {
+        if (nodeId.equals(message)) {
+            return;
+        }
+        String worldId = WorldRedisMessagingService.worldIdOf(topic);
+        if (worldId == null) {
+            log.warn("Invalid asset index invalidation topic: {}", topic);
+            return;
+        }
+        drop(worldId);
+        log.trace("Asset index invalidated: world={}", worldId);
+    }
+}
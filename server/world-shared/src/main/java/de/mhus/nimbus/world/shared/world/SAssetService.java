@@ -22,7 +22,6 @@ import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -40,6 +39,7 @@ public class SAssetService implements StorageProvider {
     private final SAssetRepository repository;
     private final StorageService storageService; // optional injected
     private final MongoTemplate mongoTemplate;
+    private final SAssetPathIndex pathIndex;
 
     // ExecutorService for background compression tasks
     private final ExecutorService compressionExecutor = Executors.newCachedThreadPool(r -> {
@@ -163,7 +163,9 @@ public class SAssetService implements StorageProvider {
         log.debug("Storing asset externally path={} originalSize={} storageSize={} storageId={} world={} compressed={}",
                 collection.path(), asset.getSize(), storageInfo.size(), storageInfo.id(), collection.worldId(), asset.isCompressed());
 
-        return repository.save(asset);
+        SAsset saved = repository.save(asset);
+        pathIndex.put(saved.getWorldId(), saved.getPath(), saved.getId());
+        return saved;
     }
 
     /**
@@ -182,6 +184,7 @@ public class SAssetService implements StorageProvider {
      * und nur das neueste (basierend auf createdAt) zurückgegeben.
      * World instances and branches never own Assets.
      * Assets are only stored in main worlds.
+     * Der Pfad wird im SAssetPathIndex nachgeschlagen, fehlende Pfade ohne Datenbankzugriff.
      *
      * @param worldId
      * @param path
@@ -193,6 +196,42 @@ public class SAssetService implements StorageProvider {
         var lookupWorld = worldId.mainWorld();
         var collection = WorldCollection.of(lookupWorld, path);
 
+        AssetPathTree index = pathIndex.isEnabled() ? pathIndex.get(collection.worldId().getId()) : null;
+        if (index != null && !index.isAmbiguous(collection.path())) {
+            String assetId = index.getAssetId(collection.path());
+            if (assetId == null) {
+                return Optional.empty();
+            }
+            Optional<SAsset> asset = repository.findById(assetId);
+            if (asset.isPresent() && collection.path().equals(asset.get().getPath())) {
+                return asset;
+            }
+            // Changed outside of this service, reload the index
+            log.debug("Asset path index is stale: worldId={}, path={}, assetId={}",
+                    collection.worldId(), collection.path(), assetId);
+            pathIndex.invalidate(collection.worldId().getId());
+        }
+
+        return findByPathInDatabase(collection, worldId, path);
+    }
+
+    /**
+     * Findet ein Asset in der Datenbank (ohne Index) und aktualisiert den SAssetPathIndex.
+     * Für Assets die außerhalb dieses Service gespeichert wurden, z.B. beim Import.
+     */
+    public Optional<SAsset> refreshByPath(WorldId worldId, String path) {
+        var collection = WorldCollection.of(worldId.mainWorld(), path);
+        Optional<SAsset> asset = findByPathInDatabase(collection, worldId, path);
+        if (asset.isPresent()) {
+            pathIndex.put(collection.worldId().getId(), asset.get().getPath(), asset.get().getId());
+        } else {
+            pathIndex.remove(collection.worldId().getId(), collection.path(), null);
+        }
+        return asset;
+    }
+
+    private Optional<SAsset> findByPathInDatabase(WorldCollection collection, WorldId worldId, String path) {
+
         // Find all assets with this path
         List<SAsset> assets = repository.findAllByWorldIdAndPath(collection.worldId().getId(), collection.path());
 
@@ -232,6 +271,7 @@ public class SAssetService implements StorageProvider {
                 log.error("Failed to delete old duplicate asset: id={}", old.getId(), e);
             }
         }
+        pathIndex.put(newest.getWorldId(), newest.getPath(), newest.getId());
 
         return Optional.of(newest);
     }
@@ -258,6 +298,16 @@ public class SAssetService implements StorageProvider {
         return stream;
     }
 
+    /**
+     * Lädt den gespeicherten Inhalt ohne Dekompression, gzip wenn das Asset compressed ist.
+     * Für die Auslieferung mit Content-Encoding: gzip.
+     */
+    public InputStream loadStoredContent(SAsset asset) {
+        if (asset == null) return null;
+        if (!asset.isEnabled()) throw new IllegalStateException("Asset disabled: " + asset.getId());
+        return storageService.load(asset.getStorageId());
+    }
+
     @Transactional
     public void disable(SAsset asset) {
 
@@ -289,6 +339,7 @@ public class SAssetService implements StorageProvider {
                 log.warn("Failed to delete external storage {}", a.getStorageId(), e);
             }
             repository.delete(a);
+            pathIndex.remove(a.getWorldId(), a.getPath(), a.getId());
             log.debug("Deleted asset id={} path={}", asset.getId(), a.getPath());
         });
     }
@@ -512,7 +563,9 @@ public class SAssetService implements StorageProvider {
         log.debug("Duplicated asset: sourcePath={}, sourceWorldId={}, newPath={}, targetWorldId={}, originalSize={}, storageSize={}, storageId={}, compressed={}",
                   source.getPath(), source.getWorldId(), collection.path(), collection.worldId().getId(), duplicate.getSize(), storageInfo.size(), storageInfo.id(), duplicate.isCompressed());
 
-        return repository.save(duplicate);
+        SAsset saved = repository.save(duplicate);
+        pathIndex.put(saved.getWorldId(), saved.getPath(), saved.getId());
+        return saved;
     }
 
     private String extractName(String path) {
@@ -598,6 +651,7 @@ public class SAssetService implements StorageProvider {
      * Extract unique folder paths from assets in a world.
      * Folders are virtual - they are derived from asset paths and don't exist as entities in MongoDB.
      * Example: Asset "textures/block/stone.png" creates folders "textures" and "textures/block".
+     * The folder tree is maintained in the SAssetPathIndex.
      *
      * @param worldId The world identifier
      * @param parentPath Optional parent path filter (e.g., "textures/" to get only subfolders of textures)
@@ -611,122 +665,13 @@ public class SAssetService implements StorageProvider {
                 ? parentPath.replaceAll("/+$", "")
                 : null;
 
-        // Load all assets for the world
         WorldId lookupWorld = worldId.mainWorld();
-        List<SAsset> assets = repository.findByWorldId(lookupWorld.getId());
-
-        log.debug("Extracting folders from {} assets (worldId={}, parent={})",
-                assets.size(), lookupWorld.getId(), normalizedParent);
-
-        // Extract folder paths and count assets per folder
-        Map<String, FolderStats> folderMap = new HashMap<>();
-
-        for (SAsset asset : assets) {
-            Set<String> folders = extractFolderPathsFromAssetPath(asset.getPath());
-
-            for (String folder : folders) {
-                // Filter by parent path if specified
-                if (normalizedParent != null) {
-                    if (!folder.startsWith(normalizedParent + "/") && !folder.equals(normalizedParent)) {
-                        continue;
-                    }
-                }
-
-                // Track folder statistics
-                folderMap.computeIfAbsent(folder, k -> new FolderStats()).incrementAssetCount();
-            }
-        }
-
-        // Count subfolders for each folder
-        for (String folder : folderMap.keySet()) {
-            long subfoldersCount = folderMap.keySet().stream()
-                    .filter(f -> !f.equals(folder) && f.startsWith(folder + "/"))
-                    .filter(f -> f.substring(folder.length() + 1).indexOf('/') == -1) // Only direct children
-                    .count();
-            folderMap.get(folder).setSubfolderCount((int) subfoldersCount);
-        }
-
-        // Convert to FolderInfo DTOs and sort
-        List<FolderInfo> result = folderMap.entrySet().stream()
-                .map(entry -> buildFolderInfo(entry.getKey(), entry.getValue()))
-                .sorted(Comparator.comparing(FolderInfo::path))
-                .collect(Collectors.toList());
+        List<FolderInfo> result = pathIndex.get(lookupWorld.getId()).getFolders(normalizedParent);
 
-        log.debug("Extracted {} folders", result.size());
+        log.debug("Extracted {} folders (worldId={}, parent={})", result.size(), lookupWorld.getId(), normalizedParent);
         return result;
     }
 
-    /**
-     * Extract all folder paths from a single asset path.
-     * Handles collection prefixes (w:, r:, p:, xyz:) - removes them before extracting folders.
-     * Examples:
-     *   "w:textures/block/stone.png" → ["textures", "textures/block"]
-     *   "textures/magic/book.png" → ["textures", "textures/magic"] (legacy)
-     */
-    private Set<String> extractFolderPathsFromAssetPath(String assetPath) {
-        if (assetPath == null || assetPath.isEmpty()) return Collections.emptySet();
-
-        // Remove collection prefix (w:, r:, p:, xyz:)
-        int colonPos = assetPath.indexOf(':');
-        if (colonPos > 0) {
-            assetPath = assetPath.substring(colonPos + 1);
-        }
-
-        Set<String> folders = new HashSet<>();
-        String[] parts = assetPath.split("/");
-
-        // Build incremental paths (exclude the last part which is the filename)
-        StringBuilder current = new StringBuilder();
-        for (int i = 0; i < parts.length - 1; i++) {
-            if (i > 0) current.append("/");
-            current.append(parts[i]);
-            folders.add(current.toString());
-        }
-
-        return folders;
-    }
-
-    /**
-     * Build FolderInfo DTO from folder path and statistics.
-     */
-    private FolderInfo buildFolderInfo(String path, FolderStats stats) {
-        String name = path.contains("/")
-                ? path.substring(path.lastIndexOf("/") + 1)
-                : path;
-
-        String parentPath = path.contains("/")
-                ? path.substring(0, path.lastIndexOf("/"))
-                : "";
-
-        return new FolderInfo(
-                path,
-                name,
-                stats.getAssetCount(),
-                stats.getTotalAssetCount(),
-                stats.getSubfolderCount(),
-                parentPath
-        );
-    }
-
-    /**
-     * Internal statistics holder for folder metadata calculation.
-     */
-    private static class FolderStats {
-        private int assetCount = 0;
-        private int totalAssetCount = 0;
-        private int subfolderCount = 0;
-
-        void incrementAssetCount() {
-            assetCount++;
-            totalAssetCount++;
-        }
-
-        int getAssetCount() { return assetCount; }
-        int getTotalAssetCount() { return totalAssetCount; }
-        int getSubfolderCount() { return subfolderCount; }
-        void setSubfolderCount(int count) { this.subfolderCount = count; }
-    }
-
     /**
      * Update all asset paths with a given prefix (folder rename/move).
      * This is a bulk operation that affects all assets in a folder and its subfolders.
@@ -760,10 +705,8 @@ public class SAssetService implements StorageProvider {
                 lookupWorld.getId(), normalizedOldPrefix, normalizedNewPrefix);
 
         // 1. Find all assets with path starting with oldPrefix
-        List<SAsset> assetsToUpdate = repository.findByWorldId(lookupWorld.getId())
-                .stream()
-                .filter(asset -> asset.getPath().startsWith(normalizedOldPrefix + "/") || asset.getPath().equals(normalizedOldPrefix))
-                .collect(Collectors.toList());
+        AssetPathTree index = pathIndex.get(lookupWorld.getId());
+        Map<String, String> assetsToUpdate = index.findByPrefix(normalizedOldPrefix);
 
         if (assetsToUpdate.isEmpty()) {
             log.debug("No assets found with prefix '{}'", normalizedOldPrefix);
@@ -773,18 +716,15 @@ public class SAssetService implements StorageProvider {
         log.info("Found {} assets to update for prefix change", assetsToUpdate.size());
 
         // 2. Check for conflicts (newPath already exists)
+        Set<String> movedIds = new HashSet<>(assetsToUpdate.values());
         List<String> conflicts = new ArrayList<>();
-        for (SAsset asset : assetsToUpdate) {
-            String newPath = generateNewPath(asset.getPath(), normalizedOldPrefix, normalizedNewPrefix);
+        for (Map.Entry<String, String> entry : assetsToUpdate.entrySet()) {
+            String newPath = generateNewPath(entry.getKey(), normalizedOldPrefix, normalizedNewPrefix);
 
             // Check if target path already exists
-            Optional<SAsset> existingAsset = repository.findByWorldIdAndPath(
-                    lookupWorld.getId(),
-                    newPath
-            );
-
-            if (existingAsset.isPresent() && !existingAsset.get().getId().equals(asset.getId())) {
-                conflicts.add(asset.getPath() + " -> " + newPath);
+            String existingId = index.getAssetId(newPath);
+            if ((existingId != null && !movedIds.contains(existingId)) || index.isAmbiguous(newPath)) {
+                conflicts.add(entry.getKey() + " -> " + newPath);
             }
         }
 
@@ -798,14 +738,20 @@ public class SAssetService implements StorageProvider {
 
         // 3. Update all assets (path and name)
         int updatedCount = 0;
-        for (SAsset asset : assetsToUpdate) {
+        for (SAsset asset : repository.findAllById(assetsToUpdate.values())) {
             String oldPath = asset.getPath();
+            if (!assetsToUpdate.containsKey(oldPath)) {
+                // Moved in the meantime
+                continue;
+            }
             String newPath = generateNewPath(oldPath, normalizedOldPrefix, normalizedNewPrefix);
 
             asset.setPath(newPath);
             asset.setName(extractName(newPath));
 
             repository.save(asset);
+            pathIndex.remove(asset.getWorldId(), oldPath, asset.getId());
+            pathIndex.put(asset.getWorldId(), newPath, asset.getId());
             updatedCount++;
 
             log.debug("Updated asset path: '{}' -> '{}'", oldPath, newPath);
@@ -0,0 +1,231 @@
+package de.mhus.nimbus.world.shared.world;
+
+import de.mhus.nimbus.generated.types.BlockType;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.shared.utils.VersionedCache;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through registry of block types, for hot read paths like the layer overlay, block painters and the player.
+ *
+ * Block types are loaded per collection (world, region or shared collection, see WorldCollection) into an
+ * immutable Snapshot. Each block type gets a compact numeric id, assigned in order of first appearance and
+ * kept over refreshes for the lifetime of the process. Numeric ids are process local, do not persist or send them.
+ *
+ * WBlockTypeService publishes changes on the Redis channel bt.i (world:{collectionWorldId}:bt.i),
+ * all pods drop the snapshot of the collection. Snapshots are kept in an LRU cache with a time to live
+ * as safety net, see VersionedCache.
+ *
+ * Returned entities are shared between callers and must not be modified.
+ * Use WBlockTypeService to load block types for updates.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WBlockTypeRegistry {
+
+    public static final String INVALIDATION_CHANNEL = "bt.i";
+
+    private final WBlockTypeRepository repository;
+    private final WorldRedisMessagingService redisMessaging;
+
+    @Value("${world.block-type-registry.max-collections:1000}")
+    private int maxCollections = 1000;
+
+    @Value("${world.block-type-registry.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    /**
+     * Collection worldId → snapshot.
+     */
+    private final VersionedCache<String, Snapshot> snapshots =
+            new VersionedCache<>(() -> maxCollections, () -> ttlSeconds * 1000);
+
+    /**
+     * Collection worldId → blockId → numeric id. Guarded by itself, ids are never reused.
+     */
+    private final Map<String, Map<String, Integer>> numericIds = new HashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        redisMessaging.subscribeToAllWorlds(INVALIDATION_CHANNEL, this::handleInvalidation);
+    }
+
+    /**
+     * Block type like WBlockTypeService.findByBlockId(), instances and zones use their main world.
+     */
+    public Optional<WBlockType> findByBlockId(WorldId worldId, String blockId) {
+        if (blockId == null || blockId.isBlank()) {
+            return Optional.empty();
+        }
+        var collection = WorldCollection.of(worldId.mainWorld(), blockId);
+        return Optional.ofNullable(getSnapshot(collection.worldId()).get(collection.path()));
+    }
+
+    /**
+     * Numeric id of the block type, 0 if unknown.
+     */
+    public int getNumericId(WorldId worldId, String blockId) {
+        if (blockId == null || blockId.isBlank()) {
+            return 0;
+        }
+        var collection = WorldCollection.of(worldId.mainWorld(), blockId);
+        return getSnapshot(collection.worldId()).getNumericId(collection.path());
+    }
+
+    /**
+     * Snapshot of the block types of the group, like WBlockTypeService.findByBlockTypeGroup().
+     */
+    public Snapshot getGroupSnapshot(WorldId worldId, String blockTypeGroup) {
+        return getSnapshot(WorldCollection.of(worldId.mainWorld(), blockTypeGroup + ":").worldId());
+    }
+
+    /**
+     * Snapshot of all block types of the collection.
+     *
+     * @param collectionWorldId World or collection id as stored in WBlockType.worldId
+     */
+    public Snapshot getSnapshot(WorldId collectionWorldId) {
+        return snapshots.get(collectionWorldId.getId(), this::load);
+    }
+
+    /**
+     * Drop the snapshot of the collection on this pod.
+     */
+    public void invalidate(String collectionWorldId) {
+        snapshots.invalidate(collectionWorldId);
+    }
+
+    public void clear() {
+        snapshots.clear();
+    }
+
+    private Snapshot load(String collectionWorldId) {
+        List<WBlockType> blockTypes = new ArrayList<>(repository.findByWorldId(collectionWorldId));
+        blockTypes.sort(Comparator.comparing(WBlockType::getBlockId, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Map<String, Integer> ids;
+        synchronized (numericIds) {
+            Map<String, Integer> known = numericIds.computeIfAbsent(collectionWorldId, k -> new HashMap<>());
+            for (WBlockType blockType : blockTypes) {
+                if (blockType.getBlockId() != null) {
+                    known.computeIfAbsent(blockType.getBlockId(), k -> known.size() + 1);
+                }
+            }
+            ids = Map.copyOf(known);
+        }
+
+        log.debug("Loaded block type snapshot: collection={}, types={}", collectionWorldId, blockTypes.size());
+        return new Snapshot(collectionWorldId, blockTypes, ids);
+    }
+
+    private void handleInvalidation(String topic, String message) {
+        // Message is the collection worldId
+        if (message == null || message.isBlank()) {
+            log.warn("Invalid block type invalidation: topic={}", topic);
+            return;
+        }
+        invalidate(message);
+        log.trace("Block types invalidated: collection={}", message);
+    }
+
+    /**
+     * Immutable block types of one collection.
+     */
+    public static final class Snapshot {
+
+        @Getter
+        private final String worldId;
+        /**
+         * All block types ordered by blockId.
+         */
+        @Getter
+        private final List<WBlockType> blockTypes;
+        private final Map<String, WBlockType> byBlockId;
+        private final Map<String, Integer> numericIds;
+        private final WBlockType[] byNumericId;
+        /**
+         * Strong ETag of the enabled block types, equal on all pods for the same data.
+         */
+        @Getter
+        private final String etag;
+
+        Snapshot(String worldId, List<WBlockType> blockTypes, Map<String, Integer> numericIds) {
+            this.worldId = worldId;
+            this.blockTypes = List.copyOf(blockTypes);
+            this.numericIds = numericIds;
+            Map<String, WBlockType> index = new HashMap<>();
+            int maxId = numericIds.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+            this.byNumericId = new WBlockType[maxId + 1];
+            for (WBlockType blockType : blockTypes) {
+                if (blockType.getBlockId() == null) continue;
+                index.putIfAbsent(blockType.getBlockId(), blockType);
+                byNumericId[numericIds.get(blockType.getBlockId())] = blockType;
+            }
+            this.byBlockId = index;
+            this.etag = computeEtag(blockTypes);
+        }
+
+        /**
+         * Block type by blockId without collection prefix.
+         */
+        public WBlockType get(String blockId) {
+            return byBlockId.get(blockId);
+        }
+
+        /**
+         * Numeric id by blockId without collection prefix, 0 if unknown.
+         */
+        public int getNumericId(String blockId) {
+            return numericIds.getOrDefault(blockId, 0);
+        }
+
+        /**
+         * Block type by numeric id, null if unknown or deleted.
+         */
+        public WBlockType getByNumericId(int numericId) {
+            return numericId > 0 && numericId < byNumericId.length ? byNumericId[numericId] : null;
+        }
+
+        /**
+         * Public data of the enabled block types, as served to the clients.
+         */
+        public List<BlockType> getEnabledPublicData() {
+            return blockTypes.stream()
+                    .filter(WBlockType::isEnabled)
+                    .map(WBlockType::getPublicData)
+                    .toList();
+        }
+
+        private static String computeEtag(List<WBlockType> blockTypes) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (WBlockType blockType : blockTypes) {
+                    if (!blockType.isEnabled()) continue;
+                    digest.update((blockType.getBlockId() + "|" + blockType.getUpdatedAt() + "\n")
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+                return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
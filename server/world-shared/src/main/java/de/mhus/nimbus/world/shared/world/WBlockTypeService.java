@@ -2,6 +2,7 @@ package de.mhus.nimbus.world.shared.world;
 
 import de.mhus.nimbus.generated.types.BlockType;
 import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.logging.log4j.util.Strings;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 /**
  * Service for managing WBlockType entities.
  * Block types are stored per main world (no instances, no zones).
+ * Changes are published for WBlockTypeRegistry.
  */
 @Service
 @RequiredArgsConstructor
@@ -24,6 +26,7 @@ import java.util.stream.Collectors;
 public class WBlockTypeService {
 
     private final WBlockTypeRepository repository;
+    private final WorldRedisMessagingService redisMessaging;
 
     /**
      * Find block type by blockId.
@@ -111,6 +114,7 @@ public class WBlockTypeService {
         entity.touchUpdate();
 
         WBlockType saved = repository.save(entity);
+        notifyChanged(collection.worldId());
         log.debug("Saved WBlockType: {}", blockId);
         return saved;
     }
@@ -140,6 +144,7 @@ public class WBlockTypeService {
             entity.touchUpdate();
             entity.removeWorldPrefix();
             WBlockType saved = repository.save(entity);
+            notifyChanged(collection.worldId());
             log.debug("Updated WBlockType: {}", blockId);
             return saved;
         });
@@ -155,6 +160,7 @@ public class WBlockTypeService {
 
         return repository.findByWorldIdAndBlockId(collection.worldId().getId(), collection.path()).map(entity -> {
             repository.delete(entity);
+            notifyChanged(collection.worldId());
             log.debug("Deleted WBlockType: {}", blockId);
             return true;
         }).orElse(false);
@@ -276,6 +282,17 @@ public class WBlockTypeService {
         return all;
     }
 
+    /**
+     * Invalidate the collection in the WBlockTypeRegistry of all pods.
+     */
+    private void notifyChanged(WorldId collectionWorldId) {
+        try {
+            redisMessaging.publish(collectionWorldId.getId(), WBlockTypeRegistry.INVALIDATION_CHANNEL, collectionWorldId.getId());
+        } catch (Exception e) {
+            log.warn("Failed to publish block type change: {}: {}", collectionWorldId, e.getMessage());
+        }
+    }
+
     private List<WBlockType> filterByQuery(List<WBlockType> blockTypes, String query) {
         String lowerQuery = query.toLowerCase();
         return blockTypes.stream()
@@ -8,8 +8,8 @@ import de.mhus.nimbus.generated.types.Vector3Int;
 import de.mhus.nimbus.shared.storage.StorageService;
 import de.mhus.nimbus.shared.types.SchemaVersion;
 import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.shared.utils.FastNoiseLite;
 import de.mhus.nimbus.shared.utils.TypeUtil;
-import de.mhus.nimbus.world.shared.util.FastNoiseLite;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -49,7 +49,8 @@ public class WChunkService implements StorageProvider {
 
     private final WChunkRepository repository;
     private final StorageService storageService;
-    private final WWorldService worldService;
+    private final WorldMetadataCache metadataCache;
+    private final WHexGridService hexGridService;
     private final WItemPositionService itemRegistryService;
     private final MongoTemplate mongoTemplate;
 
@@ -65,6 +66,8 @@ public class WChunkService implements StorageProvider {
     @PostConstruct
     private void initNoise() {
         noise = new FastNoiseLite(1337);
+        // Noise of the former world-shared generator, default chunks of existing worlds stay unchanged
+        noise.SetNoiseType(FastNoiseLite.NoiseType.Gradient);
         noise.SetFrequency(0.02f); // Controls terrain smoothness
     }
 
@@ -114,8 +117,8 @@ public class WChunkService implements StorageProvider {
                     neu.touchCreate();
                     // set hex coordinate
                     var chunkCoordinates = TypeUtil.parseChunkCoord(chunkKey);
-                    WWorld world = worldService.getByWorldId(worldId).orElseThrow();
-                    var mainHex = HexMathUtil.getDominantHexForChunk(world, chunkCoordinates[0], chunkCoordinates[1]);
+                    WWorld world = metadataCache.getWorld(worldId).orElseThrow();
+                    var mainHex = hexGridService.getDominantHexForChunk(world, chunkCoordinates[0], chunkCoordinates[1]);
                     neu.setHex(TypeUtil.toStringHexCoord(mainHex));
                     // fine
                     return neu;
@@ -328,7 +331,10 @@ public class WChunkService implements StorageProvider {
      * @return Height value (groundLevel + noise offset with amplitude)
      */
     public int getNoiseHeight(int worldX, int worldZ, int groundLevel) {
-        float noiseValue = noise.GetNoise(worldX, worldZ);
+        return toNoiseHeight(noise.GetNoise(worldX, worldZ), groundLevel);
+    }
+
+    private static int toNoiseHeight(float noiseValue, int groundLevel) {
         // noiseValue is between -1.0 and 1.0
         // Scale by amplitude and add to groundLevel
         int heightOffset = Math.round(noiseValue * TERRAIN_AMPLITUDE);
@@ -353,7 +359,7 @@ public class WChunkService implements StorageProvider {
 
             // Load world configuration
             WorldId lookupWorldId = WorldId.of(worldId).orElseThrow().withoutInstance();
-            WWorld world = worldService.getByWorldId(lookupWorldId).orElse(null);
+            WWorld world = metadataCache.getWorld(lookupWorldId).orElse(null);
             if (world == null) {
                 log.warn("World not found for default chunk generation: {}", worldId);
                 return null;
@@ -383,6 +389,10 @@ public class WChunkService implements StorageProvider {
             List<Block> blocks = new ArrayList<>(estimatedBlockCount);
             Map<String, int[]> heightData = new HashMap<>(totalPositions);
 
+            // Sample the noise of the whole chunk at once, index localX + localZ * chunkSize
+            float[] chunkNoise = new float[totalPositions];
+            noise.GetNoiseGrid(chunkNoise, cx * chunkSize, cz * chunkSize, chunkSize, chunkSize, 1f, 1f);
+
             // Generate blocks for the chunk (32x32 xz area)
             for (int localX = 0; localX < chunkSize; localX++) {
                 for (int localZ = 0; localZ < chunkSize; localZ++) {
@@ -390,7 +400,7 @@ public class WChunkService implements StorageProvider {
                     int worldZ = cz * chunkSize + localZ;
 
                     // Calculate noise-based height for this position
-                    int noiseHeight = getNoiseHeight(worldX, worldZ, groundLevel);
+                    int noiseHeight = toNoiseHeight(chunkNoise[localX + localZ * chunkSize], groundLevel);
 
                     // Create ground block at noise-based height
                     if (noiseHeight >= 0 && groundBlockType != null) {
@@ -727,7 +737,7 @@ public class WChunkService implements StorageProvider {
             throw new IllegalArgumentException("Chunks can't be in Collections");
         }
         WorldId lookupWorldId = worldId.withoutInstance();
-        Optional<WWorld> worldOpt = worldService.getByWorldId(lookupWorldId.getId());
+        Optional<WWorld> worldOpt = metadataCache.getWorld(lookupWorldId.getId());
         if (worldOpt.isEmpty()) {
             log.warn("World not found for server info lookup: worldId={}", worldId);
             return null;
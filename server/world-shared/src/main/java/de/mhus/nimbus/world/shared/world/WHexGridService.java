@@ -4,15 +4,19 @@ import de.mhus.nimbus.generated.types.HexGrid;
 import de.mhus.nimbus.generated.types.HexVector2;
 import de.mhus.nimbus.shared.types.WorldId;
 import de.mhus.nimbus.shared.utils.TypeUtil;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.logging.log4j.util.Strings;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 /**
@@ -23,6 +27,10 @@ import java.util.function.Consumer;
  * Instances CANNOT have their own hex grids - always taken from the defined world.
  *
  * Hex Position Key Format: "q;r"
+ *
+ * Changes are published for WorldMetadataCache.
+ *
+ * Chunk to hex mapping is looked up in a HexChunkTable per hex grid size and chunk size.
  */
 @Service
 @RequiredArgsConstructor
@@ -30,6 +38,50 @@ import java.util.function.Consumer;
 public class WHexGridService {
 
     private final WHexGridRepository repository;
+    private final WorldRedisMessagingService redisMessaging;
+
+    /**
+     * Chunk to hex tables, key is hexSize (high) and chunkSize (low).
+     */
+    private final Map<Long, HexChunkTable> hexChunkTables = new ConcurrentHashMap<>();
+
+    /**
+     * Precomputed chunk to hex mapping for the hex grid size and chunk size of the world.
+     */
+    public HexChunkTable getHexChunkTable(WWorld world) {
+        int hexSize = world.getPublicData().getHexGridSize();
+        int chunkSize = world.getPublicData().getChunkSize();
+        return hexChunkTables.computeIfAbsent(HexChunkTable.pack(hexSize, chunkSize),
+                key -> new HexChunkTable(hexSize, chunkSize));
+    }
+
+    /**
+     * Hex with the largest overlap with the chunk, like HexMathUtil.getDominantHexForChunk().
+     */
+    public HexVector2 getDominantHexForChunk(WWorld world, int cx, int cz) {
+        return getHexChunkTable(world).getDominantHexVector(cx, cz);
+    }
+
+    /**
+     * Hexes overlapping the chunk, like HexMathUtil.getHexesForChunk().
+     */
+    public HexVector2[] getHexesForChunk(WWorld world, int cx, int cz) {
+        return getHexChunkTable(world).getHexVectors(cx, cz);
+    }
+
+    /**
+     * Chunk keys "cx:cz" whose dominant hex is the given hex, consistent with getDominantHexForChunk().
+     */
+    public Set<String> getDominantChunkKeys(WWorld world, HexVector2 hexPos) {
+        return getHexChunkTable(world).getDominantChunkKeys(hexPos.getQ(), hexPos.getR());
+    }
+
+    /**
+     * Chunk keys "cx:cz" overlapped by the given hex, consistent with getHexesForChunk().
+     */
+    public Set<String> getChunkKeys(WWorld world, HexVector2 hexPos) {
+        return getHexChunkTable(world).getChunkKeys(hexPos.getQ(), hexPos.getR());
+    }
 
     /**
      * Finds a hex grid by world ID and hex position.
@@ -137,6 +189,30 @@ public class WHexGridService {
 
         WHexGrid saved = repository.save(entity);
         log.debug("Saved WHexGrid: worldId={}, position={}", saved.getWorldId(), saved.getPosition());
+        notifyChanged(saved.getWorldId(), saved.getPosition());
+        return saved;
+    }
+
+    /**
+     * Saves new or changed hex grids in one batch.
+     * Like save(), without per-entity validation of the world id.
+     *
+     * @param entities The hex grid entities to save
+     * @return The saved entities
+     */
+    @Transactional
+    public List<WHexGrid> saveAll(Collection<WHexGrid> entities) {
+        for (WHexGrid entity : entities) {
+            entity.syncPositionKey();
+            if (entity.getCreatedAt() == null) {
+                entity.touchCreate();
+            } else {
+                entity.touchUpdate();
+            }
+        }
+        List<WHexGrid> saved = repository.saveAll(entities);
+        saved.forEach(grid -> notifyChanged(grid.getWorldId(), grid.getPosition()));
+        log.debug("Saved {} WHexGrids", saved.size());
         return saved;
     }
 
@@ -185,6 +261,7 @@ public class WHexGridService {
 
         WHexGrid saved = repository.save(entity);
         log.info("Created WHexGrid: worldId={}, position={}", parsedWorldId.getId(), positionKey);
+        notifyChanged(parsedWorldId.getId(), positionKey);
         return saved;
     }
 
@@ -223,6 +300,10 @@ public class WHexGridService {
 
             WHexGrid saved = repository.save(entity);
             log.debug("Updated WHexGrid: worldId={}, position={}", parsedWorldId.getId(), positionKey);
+            notifyChanged(parsedWorldId.getId(), saved.getPosition());
+            if (!positionKey.equals(saved.getPosition())) {
+                notifyChanged(parsedWorldId.getId(), positionKey);
+            }
             return saved;
         });
     }
@@ -278,8 +359,34 @@ public class WHexGridService {
         return repository.findByWorldIdAndPosition(parsedWorldId.getId(), positionKey).map(entity -> {
             repository.delete(entity);
             log.info("Deleted WHexGrid: worldId={}, position={}", parsedWorldId.getId(), positionKey);
+            notifyChanged(parsedWorldId.getId(), positionKey);
             return true;
         }).orElse(false);
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Deletes the given hex grids, e.g. all hex grids of a deleted world.
+     * Like delete(), without validation of the world id.
+     *
+     * @param entities The hex grid entities to delete
+     */
+    @Transactional
+    public void deleteAll(Collection<WHexGrid> entities) {
+        repository.deleteAll(entities);
+        entities.forEach(grid -> notifyChanged(grid.getWorldId(), grid.getPosition()));
+        log.debug("Deleted {} WHexGrids", entities.size());
+    }
+
+    /**
+     * Invalidate the hex grid in the WorldMetadataCache of all pods.
+     */
+    private void notifyChanged(String worldId, String positionKey) {
+        try {
+            redisMessaging.publish(worldId, WorldMetadataCache.INVALIDATION_CHANNEL,
+                    WorldMetadataCache.HEX_GRID_MESSAGE_PREFIX + positionKey);
+        } catch (Exception e) {
+            log.warn("Failed to publish hex grid change: worldId={}, position={}: {}", worldId, positionKey, e.getMessage());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package de.mhus.nimbus.world.shared.world;
 
 import de.mhus.nimbus.generated.types.WorldInfo;
 import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -22,6 +23,7 @@ public class WWorldService {
     private final WWorldRepository repository;
     private final WWorldCollectionRepository worldCollectionRepository;
     private final WWorldInstanceService instanceService;
+    private final WorldRedisMessagingService redisMessaging;
 
     @Transactional(readOnly = true)
     public Optional<WWorld> getByWorldId(WorldId worldId) {
@@ -298,6 +300,7 @@ public class WWorldService {
         entity.touchForCreate();
         repository.save(entity);
         log.debug("WWorld angelegt: {} (Era 1 started)", worldId);
+        notifyChanged(worldId.getId());
         return entity;
     }
 
@@ -309,6 +312,7 @@ public class WWorldService {
             existing.touchForUpdate();
             repository.save(existing);
             log.debug("WWorld aktualisiert: {}", worldId);
+            notifyChanged(worldId.getId());
             return existing;
         });
     }
@@ -318,6 +322,7 @@ public class WWorldService {
         world.touchForUpdate();
         WWorld saved = repository.save(world);
         log.debug("WWorld gespeichert: {}", world.getWorldId());
+        notifyChanged(world.getWorldId());
         return saved;
     }
 
@@ -326,6 +331,7 @@ public class WWorldService {
         return repository.findByWorldId(worldId.getId()).map(e -> {
             repository.delete(e);
             log.debug("WWorld geloescht: {}", worldId);
+            notifyChanged(worldId.getId());
             return true;
         }).orElse(false);
     }
@@ -395,6 +401,7 @@ public class WWorldService {
         repository.save(zoneWorld);
 
         log.info("Created zone world: {} (copied from {})", zoneWorldId, sourceWorldId);
+        notifyChanged(zoneWorldId.getId());
         return zoneWorld;
     }
 
@@ -587,6 +594,7 @@ public class WWorldService {
 
         log.info("Incremented era for world {}: Era {} -> Era {}, new epoch delta: {} minutes",
                 worldId, currentEra, newEra, currentUnixMinutes);
+        notifyChanged(worldId.getId());
 
         return Optional.of(world);
     }
@@ -685,10 +693,22 @@ public class WWorldService {
                 worldId, totalMinutes, totalMinutes / (double) minutesPerHour,
                 totalMinutes / (double) (minutesPerHour * hoursPerDay),
                 currentEpochDelta, newEpochDelta);
+        notifyChanged(worldId.getId());
 
         return Optional.of(world);
     }
 
+    /**
+     * Invalidate the world (with its zones and instances) in the WorldMetadataCache of all pods.
+     */
+    private void notifyChanged(String worldId) {
+        try {
+            redisMessaging.publish(worldId, WorldMetadataCache.INVALIDATION_CHANNEL, WorldMetadataCache.WORLD_MESSAGE);
+        } catch (Exception e) {
+            log.warn("Failed to publish world change: {}: {}", worldId, e.getMessage());
+        }
+    }
+
     /**
      * Result wrapper for world search with pagination info.
      */
@@ -0,0 +1,120 @@
+package de.mhus.nimbus.world.shared.world;
+
+import de.mhus.nimbus.generated.types.HexVector2;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.shared.utils.TypeUtil;
+import de.mhus.nimbus.shared.utils.VersionedCache;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for WWorld and WHexGrid entities, for hot read paths like chunk generation.
+ *
+ * Entries (also missing entities) are kept in an LRU cache with a time to live as safety net.
+ * WWorldService and WHexGridService publish changes on the Redis channel m.i
+ * (world:{worldId}:m.i, message "w" for the world, "h:q;r" for a hex grid), all pods drop the entries,
+ * see VersionedCache.
+ *
+ * Returned entities are shared between callers and must not be modified.
+ * Use WWorldService / WHexGridService to load entities for updates.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorldMetadataCache {
+
+    public static final String INVALIDATION_CHANNEL = "m.i";
+    public static final String WORLD_MESSAGE = "w";
+    public static final String HEX_GRID_MESSAGE_PREFIX = "h:";
+
+    private final WWorldService worldService;
+    private final WHexGridService hexGridService;
+    private final WorldRedisMessagingService redisMessaging;
+
+    @Value("${world.metadata-cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    @Value("${world.metadata-cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    /**
+     * "w/worldId" or "h/worldId/q;r" → entity.
+     */
+    private final VersionedCache<String, Optional<?>> entries =
+            new VersionedCache<>(() -> maxEntries, () -> ttlSeconds * 1000);
+
+    @PostConstruct
+    public void initialize() {
+        redisMessaging.subscribeToAllWorlds(INVALIDATION_CHANNEL, this::handleInvalidation);
+    }
+
+    /**
+     * World like WWorldService.getByWorldId(), including zone and instance worlds.
+     */
+    public Optional<WWorld> getWorld(String worldId) {
+        if (worldId == null || worldId.isBlank()) {
+            return Optional.empty();
+        }
+        return get("w/" + worldId, () -> worldService.getByWorldId(worldId));
+    }
+
+    public Optional<WWorld> getWorld(WorldId worldId) {
+        return getWorld(worldId.getId());
+    }
+
+    /**
+     * Hex grid like WHexGridService.findByWorldIdAndPosition(), instances use the grid of their world.
+     */
+    public Optional<WHexGrid> getHexGrid(String worldId, HexVector2 hexPos) {
+        String lookupWorldId = WorldId.of(worldId).orElseThrow().withoutInstance().getId();
+        return get("h/" + lookupWorldId + "/" + TypeUtil.toStringHexCoord(hexPos),
+                () -> hexGridService.findByWorldIdAndPosition(lookupWorldId, hexPos));
+    }
+
+    /**
+     * Drop the world and its zone and instance worlds on this pod.
+     */
+    public void invalidateWorld(String worldId) {
+        String key = "w/" + worldId;
+        entries.invalidateIf(k -> k.equals(key) || k.startsWith(key + ":") || k.startsWith(key + "!"));
+    }
+
+    /**
+     * Drop a hex grid on this pod.
+     *
+     * @param positionKey Hex position "q;r"
+     */
+    public void invalidateHexGrid(String worldId, String positionKey) {
+        entries.invalidate("h/" + worldId + "/" + positionKey);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> get(String key, Supplier<Optional<T>> loader) {
+        return (Optional<T>) entries.get(key, k -> loader.get());
+    }
+
+    private void handleInvalidation(String topic, String message) {
+        String worldId = WorldRedisMessagingService.worldIdOf(topic);
+        if (worldId == null) {
+            log.warn("Invalid metadata invalidation topic: {}", topic);
+            return;
+        }
+        if (message != null && message.startsWith(HEX_GRID_MESSAGE_PREFIX)) {
+            invalidateHexGrid(worldId, message.substring(HEX_GRID_MESSAGE_PREFIX.length()));
+        } else {
+            invalidateWorld(worldId);
+        }
+        log.trace("Metadata invalidated: world={} message={}", worldId, message);
+    }
+}
@@ -0,0 +1,104 @@
+package de.mhus.nimbus.world.shared.edit;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.generated.types.WorldInfo;
+import de.mhus.nimbus.shared.engine.EngineMapper;
+import de.mhus.nimbus.world.shared.redis.BlockUpdateBroadcastMessage;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import de.mhus.nimbus.world.shared.world.WWorldService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlockUpdateServiceTest {
+
+    private static final String WORLD_ID = "test-region:test-world";
+
+    private final WorldRedisMessagingService redisMessaging = mock(WorldRedisMessagingService.class);
+    private final WWorldService worldService = mock(WWorldService.class);
+    private final EngineMapper engineMapper = new EngineMapper();
+    private BlockUpdateService service;
+
+    @BeforeEach
+    void setUp() {
+        WWorld world = WWorld.builder()
+                .worldId(WORLD_ID)
+                .publicData(WorldInfo.builder().chunkSize(16).build())
+                .build();
+        when(worldService.getByWorldId(WORLD_ID)).thenReturn(Optional.of(world));
+        service = new BlockUpdateService(redisMessaging, worldService, engineMapper);
+    }
+
+    private static Block block(int x, int y, int z) {
+        return Block.builder()
+                .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                .blockTypeId("1")
+                .build();
+    }
+
+    private List<BlockUpdateBroadcastMessage> published(int count) throws Exception {
+        ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+        verify(redisMessaging, times(count)).publish(eq(WORLD_ID), eq("b.u"), messages.capture());
+        List<BlockUpdateBroadcastMessage> result = new ArrayList<>();
+        for (String message : messages.getAllValues()) {
+            result.add(engineMapper.readValue(message, BlockUpdateBroadcastMessage.class));
+        }
+        return result;
+    }
+
+    @Test
+    void blocksAreGroupedByChunkInOneMessage() throws Exception {
+        List<Block> blocks = List.of(block(0, 0, 0), block(-1, 0, 0), block(15, 5, 15), block(16, 0, -1));
+
+        assertEquals(1, service.sendBlockUpdatesWithSource(WORLD_ID, "", blocks, "layer:", null));
+
+        BlockUpdateBroadcastMessage message = published(1).get(0);
+        assertEquals("layer:", message.getSource());
+        assertNull(message.getBlockJson());
+        assertEquals(3, message.getChunks().size());
+
+        var first = message.getChunks().get(0);
+        assertEquals(0, first.getCx());
+        assertEquals(0, first.getCz());
+        Block[] firstBlocks = engineMapper.readValue(first.getBlockJson(), Block[].class);
+        assertEquals(2, firstBlocks.length);
+        assertEquals("layer:", firstBlocks[0].getSource());
+        assertEquals(-1, message.getChunks().get(1).getCx());
+        assertEquals(1, message.getChunks().get(2).getCx());
+        assertEquals(-1, message.getChunks().get(2).getCz());
+    }
+
+    @Test
+    void largeUpdatesAreSplit() throws Exception {
+        List<Block> blocks = new ArrayList<>();
+        for (int i = 0; i < BlockUpdateService.MAX_BLOCKS_PER_MESSAGE * 2 + 10; i++) {
+            blocks.add(block(i % 32, i / 32, 0));
+        }
+
+        assertEquals(3, service.sendBlockUpdatesWithSource(WORLD_ID, "", blocks, null, null));
+
+        int total = 0;
+        for (BlockUpdateBroadcastMessage message : published(3)) {
+            int messageBlocks = 0;
+            for (var chunk : message.getChunks()) {
+                messageBlocks += engineMapper.readValue(chunk.getBlockJson(), Block[].class).length;
+            }
+            assertTrue(messageBlocks <= BlockUpdateService.MAX_BLOCKS_PER_MESSAGE);
+            total += messageBlocks;
+        }
+        assertEquals(blocks.size(), total);
+    }
+}
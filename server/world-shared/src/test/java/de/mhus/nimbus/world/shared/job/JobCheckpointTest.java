@@ -0,0 +1,120 @@
+package de.mhus.nimbus.world.shared.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobCheckpointTest {
+
+    private static WJob job(Map<String, String> parameters, List<String> doneUnits) {
+        WJob job = WJob.builder()
+                .id("job-1")
+                .executor("test")
+                .parameters(parameters)
+                .build();
+        if (doneUnits != null) {
+            job.setProgress(JobProgress.builder().units(new ArrayList<>(doneUnits)).total(10).build());
+        }
+        return job;
+    }
+
+    @Test
+    void skipsUnitsOfPreviousExecution() {
+        JobCheckpoint checkpoint = JobCheckpoint.detached(job(Map.of(), List.of("a", "b")));
+
+        assertFalse(checkpoint.shouldRun("a"));
+        assertFalse(checkpoint.shouldRun("b"));
+        assertTrue(checkpoint.shouldRun("c"));
+        assertEquals(2, checkpoint.getDoneCount());
+
+        checkpoint.markDone("c");
+        assertFalse(checkpoint.shouldRun("c"));
+        assertEquals(3, checkpoint.getDoneCount());
+    }
+
+    @Test
+    void writesUnitsInBatches() {
+        List<List<String>> saved = new ArrayList<>();
+        List<Integer> totals = new ArrayList<>();
+        JobCheckpoint checkpoint = new JobCheckpoint(job(Map.of(), null), (jobId, units, total) -> {
+            assertEquals("job-1", jobId);
+            saved.add(units);
+            totals.add(total);
+        });
+
+        checkpoint.setTotal(JobCheckpoint.FLUSH_UNITS + 5);
+        for (int i = 0; i < JobCheckpoint.FLUSH_UNITS + 5; i++) {
+            checkpoint.markDone("u" + i);
+        }
+        // Marking a unit twice is ignored
+        checkpoint.markDone("u0");
+        assertEquals(1, saved.size());
+        assertEquals(JobCheckpoint.FLUSH_UNITS, saved.get(0).size());
+        assertEquals(JobCheckpoint.FLUSH_UNITS + 5, totals.get(0));
+
+        checkpoint.flush();
+        assertEquals(2, saved.size());
+        assertEquals(List.of("u50", "u51", "u52", "u53", "u54"), saved.get(1));
+        assertNull(totals.get(1));
+
+        // Nothing new, nothing written
+        checkpoint.flush();
+        assertEquals(2, saved.size());
+    }
+
+    @Test
+    void keepsUnitsWhenStoreFails() {
+        List<List<String>> saved = new ArrayList<>();
+        boolean[] fail = {true};
+        JobCheckpoint checkpoint = new JobCheckpoint(job(Map.of(), null), (jobId, units, total) -> {
+            if (fail[0]) throw new IllegalStateException("down");
+            saved.add(units);
+        });
+
+        checkpoint.markDone("a");
+        checkpoint.flush();
+        assertTrue(saved.isEmpty());
+
+        fail[0] = false;
+        checkpoint.markDone("b");
+        checkpoint.flush();
+        assertEquals(List.of(List.of("a", "b")), saved);
+    }
+
+    @Test
+    void partitionsSplitUnits() {
+        int partitions = 3;
+        List<JobCheckpoint> checkpoints = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            checkpoints.add(JobCheckpoint.detached(job(Map.of(
+                    JobCheckpoint.PARAM_PARTITION, String.valueOf(i),
+                    JobCheckpoint.PARAM_PARTITIONS, String.valueOf(partitions)), null)));
+        }
+
+        for (int unit = -50; unit < 50; unit++) {
+            String key = unit + ":" + (unit * 7);
+            long owners = checkpoints.stream().filter(c -> c.isMine(key)).count();
+            assertEquals(1, owners, "unit " + key);
+        }
+        assertTrue(JobCheckpoint.detached(job(Map.of(), null)).isMine("any"));
+    }
+
+    @Test
+    void resumeOnlyWithProgressAndLimited() {
+        WJob job = job(Map.of(), null);
+        assertFalse(job.canResume());
+
+        job.setProgress(JobProgress.builder().units(new ArrayList<>(List.of("a"))).build());
+        for (int i = 0; i < WJob.MAX_RESUMES; i++) {
+            assertTrue(job.canResume());
+            job.markResumed("lease expired");
+            assertEquals(JobStatus.PENDING.name(), job.getStatus());
+        }
+        assertFalse(job.canResume());
+        assertEquals(0, job.getRetryCount());
+    }
+}
@@ -0,0 +1,243 @@
+package de.mhus.nimbus.world.shared.job;
+
+import de.mhus.nimbus.shared.utils.LocationService;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobProcessingSchedulerTest {
+
+    private final WJobService jobService = Mockito.mock(WJobService.class);
+    private final JobExecutorRegistry registry = Mockito.mock(JobExecutorRegistry.class);
+    private final JobSettings settings = Mockito.mock(JobSettings.class);
+    private final LocationService locationService = Mockito.mock(LocationService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<WJob> pending = new ArrayList<>();
+    private JobProcessingScheduler scheduler;
+
+    private record TestExecutor(String name, int concurrency, Function<WJob, JobExecutor.JobResult> body)
+            implements JobExecutor {
+        @Override
+        public String getExecutorName() {
+            return name;
+        }
+
+        @Override
+        public JobResult execute(WJob job) throws JobExecutionException {
+            return body.apply(job);
+        }
+
+        @Override
+        public int getConcurrency() {
+            return concurrency;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(settings.isProcessingEnabled()).thenReturn(true);
+        when(settings.getMaxJobsPerCycle()).thenReturn(10);
+        when(settings.getMaxConcurrentJobs()).thenReturn(4);
+        when(settings.getLeaseSeconds()).thenReturn(300L);
+        when(settings.getExecutorConcurrency(anyString(), anyInt())).thenAnswer(i -> i.getArgument(1));
+        when(locationService.getApplicationServiceName()).thenReturn("test");
+        when(jobService.openCheckpoint(any())).thenAnswer(i -> JobCheckpoint.detached(i.getArgument(0)));
+        // The lease is still held by this scheduler
+        when(jobService.markJobCompleted(anyString(), anyString(), any())).thenReturn(Optional.of(new WJob()));
+        when(jobService.markJobFailed(anyString(), anyString(), any())).thenReturn(Optional.of(new WJob()));
+
+        // Claim the first pending job of the offered executors, like the Mongo query
+        when(jobService.claimNextJob(anyCollection(), any(), anyString(), any())).thenAnswer(invocation -> {
+            Collection<String> executors = invocation.getArgument(0);
+            synchronized (pending) {
+                for (Iterator<WJob> it = pending.iterator(); it.hasNext(); ) {
+                    WJob job = it.next();
+                    if (executors.contains(job.getExecutor())) {
+                        it.remove();
+                        job.setStartedAt(Instant.now());
+                        return Optional.of(job);
+                    }
+                }
+            }
+            return Optional.empty();
+        });
+
+        scheduler = new JobProcessingScheduler(jobService, registry,
+                Mockito.mock(WorldRedisMessagingService.class), settings, locationService, meterRegistry);
+        scheduler.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private void register(JobExecutor... executors) {
+        Map<String, JobExecutor> map = new LinkedHashMap<>();
+        for (JobExecutor executor : executors) {
+            map.put(executor.getExecutorName(), executor);
+        }
+        when(registry.getExecutorNames()).thenReturn(map.keySet());
+        when(registry.getExecutor(anyString())).thenAnswer(i -> Optional.ofNullable(map.get(i.<String>getArgument(0))));
+    }
+
+    private void addPending(String id, String executor) {
+        synchronized (pending) {
+            pending.add(WJob.builder()
+                    .id(id)
+                    .worldId("r1:w1")
+                    .executor(executor)
+                    .status(JobStatus.PENDING.name())
+                    .createdAt(Instant.now())
+                    .build());
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < end, "condition not reached");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void slowExecutorDoesNotBlockOthersAndRespectsConcurrency() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger slowRunning = new AtomicInteger();
+        AtomicInteger slowMax = new AtomicInteger();
+        register(
+                new TestExecutor("slow", 2, job -> {
+                    slowMax.accumulateAndGet(slowRunning.incrementAndGet(), Math::max);
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    slowRunning.decrementAndGet();
+                    return JobExecutor.JobResult.success();
+                }),
+                new TestExecutor("fast", 1, job -> JobExecutor.JobResult.success("done")));
+
+        addPending("s1", "slow");
+        addPending("s2", "slow");
+        addPending("s3", "slow");
+        addPending("f1", "fast");
+
+        scheduler.dispatch();
+
+        // fast job finishes while the slow ones are still running
+        verify(jobService, timeout(5000)).markJobCompleted(eq("f1"), anyString(), eq("done"));
+
+        release.countDown();
+        verify(jobService, timeout(5000)).markJobCompleted(eq("s1"), anyString(), Mockito.isNull());
+        verify(jobService, timeout(5000)).markJobCompleted(eq("s2"), anyString(), Mockito.isNull());
+        // started by the wake-up after a slow worker was free again
+        verify(jobService, timeout(5000)).markJobCompleted(eq("s3"), anyString(), Mockito.isNull());
+        assertEquals(2, slowMax.get());
+
+        // run time is recorded after the result is stored
+        awaitTrue(() -> meterRegistry.find("nimbus.job.run").tag("executor", "slow").tag("outcome", "completed")
+                .timers().stream().mapToLong(t -> t.count()).sum() == 3);
+        assertEquals(1, meterRegistry.get("nimbus.job.queue.wait").tag("executor", "fast").timer().count());
+    }
+
+    @Test
+    void failedExecutionIsRecorded() {
+        register(new TestExecutor("broken", 1, job -> {
+            throw new IllegalStateException("boom");
+        }));
+        addPending("b1", "broken");
+
+        scheduler.dispatch();
+
+        verify(jobService, timeout(5000)).markJobFailed(eq("b1"), anyString(), Mockito.contains("boom"));
+        verify(jobService, Mockito.never()).markJobCompleted(anyString(), anyString(), any());
+    }
+
+    @Test
+    void resultIsDroppedWhenLeaseWasLost() {
+        register(new TestExecutor("repair", 1, job -> JobExecutor.JobResult.success("late")));
+        when(jobService.markJobCompleted(eq("l1"), anyString(), any())).thenReturn(Optional.empty());
+        addPending("l1", "repair");
+
+        scheduler.dispatch();
+
+        verify(jobService, timeout(5000)).markJobCompleted(eq("l1"), anyString(), eq("late"));
+        awaitTrue(() -> meterRegistry.find("nimbus.job.run").tag("outcome", "dropped").timer() != null);
+        verify(jobService, Mockito.never()).completeFanOut(any());
+    }
+
+    @Test
+    void intervalRenewsRunningLeasesAndRecoversExpired() {
+        CountDownLatch release = new CountDownLatch(1);
+        register(new TestExecutor("slow", 1, job -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return JobExecutor.JobResult.success();
+        }));
+        addPending("s1", "slow");
+        scheduler.dispatch();
+
+        scheduler.processPendingJobs();
+
+        verify(jobService).renewLeases(anyString(), eq(List.of("s1")), any());
+        verify(jobService).recoverExpiredLeases();
+        release.countDown();
+        verify(jobService, timeout(5000)).markJobCompleted(eq("s1"), anyString(), Mockito.isNull());
+    }
+
+    @Test
+    void lastPartitionCompletesFanOutAndSchedulesFollowUp() {
+        register(new TestExecutor("repair", 1, job -> JobExecutor.JobResult.success("repaired")));
+        WJob parent = WJob.builder()
+                .id("parent")
+                .worldId("r1:w1")
+                .executor("repair")
+                .status(JobStatus.COMPLETED.name())
+                .result("Partition 0 (p1): repaired")
+                .onSuccess(NextJob.builder().executor("report").build())
+                .build();
+        when(jobService.completeFanOut(any())).thenAnswer(i ->
+                "p1".equals(i.<WJob>getArgument(0).getId()) ? Optional.of(parent) : Optional.empty());
+        addPending("p1", "repair");
+
+        scheduler.dispatch();
+
+        verify(jobService, timeout(5000)).markJobCompleted(eq("p1"), anyString(), eq("repaired"));
+        verify(jobService, timeout(5000)).createJob(eq("r1:w1"), eq("report"), eq("report"),
+                Mockito.argThat(parameters -> "parent".equals(parameters.get(JobExecutor.PREVIOUS_JOB_ID))
+                        && "Partition 0 (p1): repaired".equals(parameters.get(JobExecutor.PREVIOUS_JOB_RESULT))),
+                any(), anyInt(), anyInt(), any(), any());
+    }
+}
@@ -0,0 +1,50 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockRegionTest {
+
+    @Test
+    void positionsInsideBoundsAreStored() {
+        BlockRegion<String> region = new BlockRegion<>(5, 70, -3, -20, 64, 2);
+
+        assertEquals(-20, region.getMinX());
+        assertEquals(70, region.getMaxY());
+        region.put(-20, 64, -3, "corner");
+        region.put(5, 70, 2, "other-corner");
+        region.put(6, 70, 2, "outside");
+        assertFalse(region.putIfAbsent(-20, 64, -3, "second"));
+
+        assertEquals("corner", region.get(-20, 64, -3));
+        assertEquals("other-corner", region.get(5, 70, 2));
+        assertNull(region.get(6, 70, 2));
+        assertEquals(2, region.size());
+        assertEquals(26L * 7 * 6, region.volume());
+        assertFalse(region.isComplete());
+    }
+
+    @Test
+    void forEachReturnsPositions() {
+        BlockRegion<String> region = new BlockRegion<>(-1, 0, -1, 1, 2, 1);
+        region.put(-1, 2, 1, "a");
+        region.put(1, 0, -1, "b");
+
+        List<String> visited = new ArrayList<>();
+        region.forEach((x, y, z, block) -> visited.add(x + "," + y + "," + z + "=" + block));
+
+        assertEquals(List.of("-1,2,1=a", "1,0,-1=b"), visited.stream().sorted().toList());
+    }
+
+    @Test
+    void chunkKeysCoverBounds() {
+        BlockRegion<String> region = new BlockRegion<>(-1, 0, 15, 16, 0, 16);
+
+        assertEquals(List.of("-1:0", "-1:1", "0:0", "0:1", "1:0", "1:1"), region.chunkKeys(16));
+        assertEquals(List.of("0:0"), new BlockRegion<>(0, 0, 0, 15, 255, 15).chunkKeys(16));
+    }
+}
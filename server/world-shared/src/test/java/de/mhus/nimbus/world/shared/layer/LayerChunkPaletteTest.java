@@ -0,0 +1,99 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.BlockMetadata;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayerChunkPaletteTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static LayerBlock layerBlock(int x, int y, int z, String type) {
+        return LayerBlock.builder()
+                .block(Block.builder()
+                        .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                        .blockTypeId(type)
+                        .build())
+                .build();
+    }
+
+    private static LayerChunkData chunk(List<LayerBlock> blocks) {
+        LayerChunkData data = LayerChunkData.builder().cx(-1).cz(2).build();
+        data.setBlocks(new ArrayList<>(blocks));
+        data.setHeightData(Map.of("1,2", new int[]{10, 0, 5}));
+        return data;
+    }
+
+    private LayerChunkData storeAndLoad(LayerChunkData data) throws Exception {
+        String json = objectMapper.writeValueAsString(LayerChunkPalette.encode(data));
+        return objectMapper.readValue(json, LayerChunkData.class);
+    }
+
+    @Test
+    void blocksAreSharedInPaletteAndRestored() throws Exception {
+        List<LayerBlock> blocks = new ArrayList<>();
+        for (int x = -16; x < 0; x++) {
+            blocks.add(layerBlock(x, 64, 40, "stone"));
+            blocks.add(layerBlock(x, 65, 40, "grass"));
+        }
+        blocks.add(LayerBlock.builder().block(Block.builder().blockTypeId("stone").build()).group("g").build());
+
+        LayerChunkPalette palette = LayerChunkPalette.encode(chunk(blocks));
+        assertEquals(3, palette.getPalette().size());
+        assertEquals(33, palette.size());
+
+        LayerChunkData loaded = storeAndLoad(chunk(blocks));
+        assertEquals(33, loaded.blockCount());
+        assertEquals(blocks, loaded.getBlocks());
+        assertEquals(-1, loaded.getCx());
+        assertTrue(loaded.getHeightData().containsKey("1,2"));
+    }
+
+    @Test
+    void findDecodesSingleBlock() throws Exception {
+        LayerChunkData loaded = storeAndLoad(chunk(List.of(
+                layerBlock(1, 2, 3, "a"), layerBlock(1, 3, 3, "b"), layerBlock(-5, -200, 7, "c"))));
+
+        assertEquals("c", loaded.findBlock(-5, -200, 7).getBlock().getBlockTypeId());
+        assertEquals(-200, loaded.findBlock(-5, -200, 7).getBlock().getPosition().getY());
+        assertNull(loaded.findBlock(1, 4, 3));
+        // Still packed, saved again without decoding
+        assertNotNull(loaded.storedPalette());
+        assertEquals(3, storeAndLoad(loaded).getBlocks().size());
+    }
+
+    @Test
+    void blocksWithMetadataAreNotShared() throws Exception {
+        BlockMetadata metadata = new BlockMetadata();
+        List<LayerBlock> blocks = List.of(layerBlock(1, 2, 3, "a"), layerBlock(2, 2, 3, "a"));
+        blocks.forEach(layerBlock -> layerBlock.getBlock().setMetadata(metadata));
+
+        LayerChunkData loaded = storeAndLoad(chunk(blocks));
+
+        assertEquals(2, LayerChunkPalette.encode(chunk(blocks)).getPalette().size());
+        assertNotSame(loaded.getBlocks().get(0).getBlock().getMetadata(), loaded.getBlocks().get(1).getBlock().getMetadata());
+    }
+
+    @Test
+    void blockListIsStillReadAndWritten() throws Exception {
+        LayerChunkData data = chunk(List.of(layerBlock(1, 2, 3, "a")));
+        String json = objectMapper.writeValueAsString(data);
+        assertTrue(json.contains("\"blocks\""));
+        assertFalse(json.contains("packed"));
+
+        LayerChunkData loaded = objectMapper.readValue(json, LayerChunkData.class);
+        assertNull(loaded.storedPalette());
+        assertEquals("a", loaded.findBlock(1, 2, 3).getBlock().getBlockTypeId());
+
+        String decodedJson = objectMapper.writeValueAsString(storeAndLoad(data));
+        assertEquals(json, decodedJson);
+    }
+}
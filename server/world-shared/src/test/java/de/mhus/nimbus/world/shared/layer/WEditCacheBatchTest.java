@@ -0,0 +1,83 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WEditCacheBatchTest {
+
+    private final WEditCacheService editCacheService = mock(WEditCacheService.class);
+    private final List<List<WEditCacheBatch.Operation>> flushes = new ArrayList<>();
+    private WEditCacheBatch batch;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(editCacheService.doApplyAndSendBlocks(any(), any(), any())).thenAnswer(invocation -> {
+            flushes.add(new ArrayList<>(invocation.getArgument(1, Collection.class)));
+            return 1;
+        });
+        batch = new WEditCacheBatch(editCacheService, WWorld.builder().worldId("test-region:test-world").build(), null);
+    }
+
+    private static Block block(int x, int y, int z, String type) {
+        return Block.builder()
+                .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                .blockTypeId(type)
+                .build();
+    }
+
+    @Test
+    void lastChangeOfPositionWins() {
+        batch.setBlock("layer", null, block(1, 2, 3, "a"), null);
+        batch.setBlock("layer", null, block(1, 2, 3, "b"), null);
+        batch.setBlock("layer", "model", block(1, 2, 3, "c"), null);
+        batch.deleteBlock("layer", null, 4, 5, 6);
+        batch.setBlock("layer", null, block(4, 5, 6, "d"), null);
+        batch.setBlock("layer", null, block(7, 8, 9, "e"), null);
+        batch.deleteBlock("layer", null, 7, 8, 9);
+
+        assertEquals(4, batch.getPendingCount());
+        assertEquals("b", batch.getPending("layer", null, 1, 2, 3).orElseThrow().block().getBlock().getBlockTypeId());
+        assertEquals("c", batch.getPending("layer", "model", 1, 2, 3).orElseThrow().block().getBlock().getBlockTypeId());
+        assertFalse(batch.getPending("layer", null, 4, 5, 6).orElseThrow().isDelete());
+        assertTrue(batch.getPending("layer", null, 7, 8, 9).orElseThrow().isDelete());
+        assertTrue(flushes.isEmpty());
+
+        batch.close();
+
+        assertEquals(1, flushes.size());
+        assertEquals(4, flushes.get(0).size());
+        assertEquals(0, batch.getPendingCount());
+        assertEquals(4, batch.getFlushedBlocks());
+        assertEquals(1, batch.getSentMessages());
+        assertTrue(batch.getPending("layer", null, 1, 2, 3).isEmpty());
+    }
+
+    @Test
+    void flushesAutomaticallyWhenFull() {
+        for (int i = 0; i < WEditCacheBatch.MAX_PENDING + 10; i++) {
+            batch.setBlock("layer", null, block(i, 0, 0, "a"), null);
+        }
+
+        assertEquals(1, flushes.size());
+        assertEquals(WEditCacheBatch.MAX_PENDING, flushes.get(0).size());
+        assertEquals(10, batch.getPendingCount());
+
+        batch.flush();
+        batch.flush();
+        assertEquals(2, flushes.size());
+        assertEquals(WEditCacheBatch.MAX_PENDING + 10, batch.getFlushedBlocks());
+    }
+}
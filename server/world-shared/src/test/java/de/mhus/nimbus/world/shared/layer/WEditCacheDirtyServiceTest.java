@@ -0,0 +1,132 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.world.shared.redis.WorldRedisLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WEditCacheDirtyServiceTest {
+
+    private static final String WORLD_ID = "test-region:test-world";
+    private static final String LAYER = "layer-data";
+
+    private final WEditCacheDirtyRepository dirtyRepository = mock(WEditCacheDirtyRepository.class);
+    private final WEditCacheRepository cacheRepository = mock(WEditCacheRepository.class);
+    private final WEditCacheService cacheService = mock(WEditCacheService.class);
+    private final WDirtyChunkService dirtyChunkService = mock(WDirtyChunkService.class);
+    private final WLayerService layerService = mock(WLayerService.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<WEditCache> deleted = new ArrayList<>();
+    private final Map<String, LayerChunkData> saved = new HashMap<>();
+    private WEditCacheDirtyService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new WEditCacheDirtyService(dirtyRepository, cacheRepository, cacheService, dirtyChunkService,
+                mock(WorldRedisLockService.class), layerService, mock(WLayerModelRepository.class), mongoTemplate,
+                mock(WEditJournalService.class));
+        when(layerService.findByWorldIdAndLayerDataId(WORLD_ID, LAYER))
+                .thenReturn(Optional.of(WLayer.builder().layerDataId(LAYER).layerType(LayerType.GROUND).build()));
+        when(cacheService.deleteApplied(eq(WORLD_ID), eq(LAYER), any())).thenAnswer(invocation -> {
+            deleted.addAll(invocation.getArgument(2, Collection.class));
+            return 0;
+        });
+        when(layerService.saveTerrainChunks(eq(WORLD_ID), eq(LAYER), any())).thenAnswer(invocation -> {
+            saved.putAll(invocation.getArgument(2, Map.class));
+            return List.of();
+        });
+    }
+
+    private static Block block(int x, int y, int z, String type) {
+        return Block.builder()
+                .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                .blockTypeId(type)
+                .build();
+    }
+
+    private static WEditCache cache(int x, int y, int z, String type) {
+        return WEditCache.builder()
+                .worldId(WORLD_ID)
+                .layerDataId(LAYER)
+                .x(x)
+                .y(y)
+                .z(z)
+                .chunk(Math.floorDiv(x, 16) + ":" + Math.floorDiv(z, 16))
+                .block(LayerBlock.builder().block(block(x, y, z, type)).build())
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void terrainIsMergedPerChunkAndAppliedEntriesAreDeleted() {
+        // Ordered by chunk like the cursor
+        List<WEditCache> entries = List.of(
+                cache(1, 0, 1, "stone"), cache(2, 0, 1, "0"),
+                cache(17, 0, 1, "sand"),
+                cache(40, 0, 1, "grass"));
+        when(cacheRepository.countByWorldIdAndLayerDataId(WORLD_ID, LAYER)).thenReturn((long) entries.size());
+        when(mongoTemplate.stream(any(Query.class), eq(WEditCache.class))).thenReturn(entries.stream());
+
+        LayerChunkData existing = new LayerChunkData();
+        existing.setBlocks(new ArrayList<>(List.of(
+                LayerBlock.builder().block(block(2, 0, 1, "dirt")).build(),
+                LayerBlock.builder().block(block(3, 0, 1, "dirt")).build())));
+        when(layerService.loadTerrainChunk(WORLD_ID, LAYER, "0:0")).thenReturn(Optional.of(existing));
+        when(layerService.loadTerrainChunk(WORLD_ID, LAYER, "1:0")).thenReturn(Optional.empty());
+        when(layerService.loadTerrainChunk(WORLD_ID, LAYER, "2:0")).thenReturn(Optional.empty());
+
+        service.processLayer(WORLD_ID, LAYER);
+
+        verify(cacheService).flush(WORLD_ID);
+        assertEquals(3, saved.size());
+        List<String> chunk0 = saved.get("0:0").getBlocks().stream()
+                .map(layerBlock -> layerBlock.getBlock().getPosition().getX() + ":" + layerBlock.getBlock().getBlockTypeId())
+                .sorted()
+                .toList();
+        assertEquals(List.of("1:stone", "3:dirt"), chunk0);
+        assertEquals(1, saved.get("1:0").getBlocks().size());
+        assertEquals(4, deleted.size());
+        verify(cacheService, never()).deleteByWorldIdAndLayerDataId(anyString(), anyString());
+
+        ArgumentCaptor<List<String>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(dirtyChunkService).markChunksDirty(eq(WORLD_ID), chunks.capture(), anyString());
+        assertEquals(3, chunks.getValue().size());
+        verify(dirtyRepository).deleteByWorldIdAndLayerDataId(WORLD_ID, LAYER);
+    }
+
+    @Test
+    void failedChunkKeepsDirtyFlag() {
+        List<WEditCache> entries = List.of(cache(1, 0, 1, "stone"));
+        when(cacheRepository.countByWorldIdAndLayerDataId(WORLD_ID, LAYER)).thenReturn(1L);
+        when(mongoTemplate.stream(any(Query.class), eq(WEditCache.class))).thenReturn(entries.stream());
+        when(layerService.loadTerrainChunk(WORLD_ID, LAYER, "0:0")).thenThrow(new IllegalStateException("storage"));
+
+        assertThrows(IllegalStateException.class, () -> service.processLayer(WORLD_ID, LAYER));
+
+        assertTrue(deleted.isEmpty());
+        verify(dirtyChunkService, never()).markChunksDirty(anyString(), anyList(), anyString());
+        verify(dirtyRepository, never()).deleteByWorldIdAndLayerDataId(WORLD_ID, LAYER);
+    }
+}
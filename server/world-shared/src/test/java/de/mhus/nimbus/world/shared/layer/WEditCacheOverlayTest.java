@@ -0,0 +1,256 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.generated.types.WorldInfo;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import de.mhus.nimbus.world.shared.world.WorldMetadataCache;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WEditCacheOverlayTest {
+
+    private static final String WORLD_ID = "test-region:test-world";
+
+    private final WEditCacheRepository repository = mock(WEditCacheRepository.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final WorldRedisMessagingService redisMessaging = mock(WorldRedisMessagingService.class);
+    private final WorldMetadataCache metadataCache = mock(WorldMetadataCache.class);
+    private final List<WEditCache> stored = new ArrayList<>();
+    private WEditCacheOverlay overlay;
+    private BiConsumer<String, String> invalidationHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        WWorld world = WWorld.builder()
+                .worldId(WORLD_ID)
+                .publicData(WorldInfo.builder().chunkSize(16).build())
+                .build();
+        when(metadataCache.getWorld(WORLD_ID)).thenReturn(Optional.of(world));
+        when(repository.findByWorldId(WORLD_ID)).thenAnswer(invocation -> new ArrayList<>(stored));
+        when(repository.findByWorldIdAndChunk(eq(WORLD_ID), any())).thenAnswer(invocation -> stored.stream()
+                .filter(cache -> cache.getChunk().equals(invocation.getArgument(1)))
+                .toList());
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(WEditCache.class))).thenReturn(bulk);
+
+        overlay = new WEditCacheOverlay(repository, mongoTemplate, redisMessaging, metadataCache);
+        ReflectionTestUtils.setField(overlay, "enabled", true);
+        overlay.initialize();
+        ArgumentCaptor<BiConsumer<String, String>> handler = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(redisMessaging).subscribeToAllWorlds(eq(WEditCacheOverlay.INVALIDATION_CHANNEL), handler.capture());
+        invalidationHandler = handler.getValue();
+    }
+
+    private static WEditCache cache(String layerDataId, int x, int y, int z, String type) {
+        return WEditCache.builder()
+                .worldId(WORLD_ID)
+                .layerDataId(layerDataId)
+                .x(x)
+                .y(y)
+                .z(z)
+                .chunk(Math.floorDiv(x, 16) + ":" + Math.floorDiv(z, 16))
+                .block(layerBlock(x, y, z, type))
+                .build();
+    }
+
+    private static LayerBlock layerBlock(int x, int y, int z, String type) {
+        return LayerBlock.builder()
+                .block(Block.builder()
+                        .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                        .blockTypeId(type)
+                        .build())
+                .build();
+    }
+
+    private static WEditCacheOverlay.Change set(String layerDataId, int x, int y, int z, String type) {
+        return new WEditCacheOverlay.Change(layerDataId, null, x, y, z,
+                Math.floorDiv(x, 16) + ":" + Math.floorDiv(z, 16), layerBlock(x, y, z, type));
+    }
+
+    private void publish(String message) {
+        invalidationHandler.accept("world:" + WORLD_ID + ":" + WEditCacheOverlay.INVALIDATION_CHANNEL, message);
+    }
+
+    private static String type(WEditCache cache) {
+        return cache.getBlock().getBlock().getBlockTypeId();
+    }
+
+    @Test
+    void readsAreServedFromMemory() {
+        stored.add(cache("layer", 1, 2, 3, "a"));
+        stored.add(cache("layer", 20, 2, 3, "b"));
+        stored.add(cache("other", 1, 2, 3, "c"));
+
+        var index = overlay.index(WORLD_ID);
+        assertEquals("a", type(index.get("layer", null, 1, 2, 3)));
+        assertNull(index.get("layer", null, 1, 2, 4));
+        assertEquals(2, index.findByChunk("0:0").size());
+        assertEquals(1, index.findByLayerAndChunk("layer", "1:0").size());
+        assertEquals(2, index.countByLayer("layer"));
+        assertFalse(index.existsByChunk("5:5"));
+
+        verify(repository, times(1)).findByWorldId(WORLD_ID);
+        verify(repository, never()).findByWorldIdAndChunk(any(), any());
+    }
+
+    @Test
+    void changesAreWrittenWithOneBulkOnFlush() {
+        var index = overlay.index(WORLD_ID);
+        index.apply(List.of(set("layer", 1, 2, 3, "a"), set("layer", 1, 2, 3, "b"), set("layer", 40, 0, 0, "c")));
+        index.apply(List.of(new WEditCacheOverlay.Change("layer", null, 40, 0, 0, "2:0", null)));
+
+        assertEquals("b", type(index.get("layer", null, 1, 2, 3)));
+        assertNull(index.get("layer", null, 40, 0, 0));
+        verify(bulk, never()).execute();
+
+        overlay.flush();
+
+        verify(bulk, times(1)).upsert(any(Query.class), any(Update.class));
+        verify(bulk, times(1)).remove(any(Query.class));
+        verify(bulk, times(1)).execute();
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisMessaging).publish(eq(WORLD_ID), eq(WEditCacheOverlay.INVALIDATION_CHANNEL), message.capture());
+        assertTrue(message.getValue().contains("|layer|"));
+
+        overlay.flush();
+        verify(bulk, times(1)).execute();
+    }
+
+    @Test
+    void failedWriteIsRetried() {
+        when(bulk.execute()).thenThrow(new IllegalStateException("offline")).thenReturn(null);
+        overlay.index(WORLD_ID).apply(List.of(set("layer", 1, 2, 3, "a")));
+
+        overlay.flush();
+        overlay.flush();
+
+        verify(bulk, times(2)).execute();
+        overlay.flush();
+        verify(bulk, times(2)).execute();
+    }
+
+    @Test
+    void invalidationReloadsChunkAndKeepsPendingChanges() {
+        stored.add(cache("layer", 1, 2, 3, "a"));
+        var index = overlay.index(WORLD_ID);
+        index.apply(List.of(set("layer", 5, 2, 3, "mine")));
+        assertEquals("a", type(index.get("layer", null, 1, 2, 3)));
+
+        stored.clear();
+        stored.add(cache("layer", 1, 2, 3, "changed"));
+        publish("other-pod|layer|0:0");
+
+        assertEquals("changed", type(index.get("layer", null, 1, 2, 3)));
+        assertEquals("mine", type(index.get("layer", null, 5, 2, 3)));
+        verify(repository, times(1)).findByWorldIdAndChunk(WORLD_ID, "0:0");
+    }
+
+    @Test
+    void changesBeingWrittenStayVisibleOnReload() {
+        stored.add(cache("layer", 1, 2, 3, "a"));
+        var index = overlay.index(WORLD_ID);
+        index.apply(List.of(set("layer", 1, 2, 3, "mine")));
+        when(bulk.execute()).thenAnswer(invocation -> {
+            // Another pod changed the chunk, Mongo does not contain the running write yet
+            publish("other-pod|layer|0:0");
+            assertEquals("mine", type(index.get("layer", null, 1, 2, 3)));
+            return null;
+        });
+
+        overlay.flush();
+
+        verify(repository, times(1)).findByWorldIdAndChunk(WORLD_ID, "0:0");
+        assertFalse(index.hasPending());
+    }
+
+    @Test
+    void failedWriteKeepsNewerChanges() {
+        var index = overlay.index(WORLD_ID);
+        index.apply(List.of(set("layer", 1, 2, 3, "old")));
+        when(bulk.execute()).thenAnswer(invocation -> {
+            index.apply(List.of(set("layer", 1, 2, 3, "new")));
+            throw new IllegalStateException("offline");
+        });
+
+        overlay.flush();
+
+        assertTrue(index.hasPending());
+        assertEquals("new", type(index.get("layer", null, 1, 2, 3)));
+        doReturn(null).when(bulk).execute();
+        overlay.flush();
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).upsert(any(Query.class), update.capture());
+        LayerBlock written = (LayerBlock) update.getValue().getUpdateObject().get("$set", Document.class).get("block");
+        assertEquals("new", written.getBlock().getBlockTypeId());
+    }
+
+    @Test
+    void changesToEvictedIndexAreNotLost() throws Exception {
+        ReflectionTestUtils.setField(overlay, "maxWorlds", 0);
+        AtomicInteger upserts = new AtomicInteger();
+        when(bulk.upsert(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            upserts.incrementAndGet();
+            return bulk;
+        });
+        int changes = 2000;
+
+        Thread writer = new Thread(() -> {
+            var index = overlay.index(WORLD_ID);
+            for (int i = 0; i < changes; i++) {
+                // Keep the index like a long running caller, it may be evicted meanwhile
+                index.apply(List.of(set("layer", i, 0, 0, "a")));
+            }
+        });
+        AtomicBoolean done = new AtomicBoolean();
+        Thread flusher = new Thread(() -> {
+            while (!done.get()) {
+                overlay.flush();
+            }
+        });
+        flusher.start();
+        writer.start();
+        writer.join();
+        done.set(true);
+        flusher.join();
+        overlay.flush();
+
+        assertEquals(changes, upserts.get());
+    }
+
+    @Test
+    void tooLargeWorldIsNotIndexed() {
+        when(repository.countByWorldId(WORLD_ID)).thenReturn(1_000_000L);
+
+        assertNull(overlay.index(WORLD_ID));
+        assertNull(overlay.index(WORLD_ID));
+        verify(repository, times(1)).countByWorldId(WORLD_ID);
+        verify(repository, never()).findByWorldId(any());
+    }
+}
@@ -0,0 +1,91 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.generated.types.WorldInfo;
+import de.mhus.nimbus.world.shared.edit.BlockUpdateService;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WEditCacheServiceTest {
+
+    private static final String WORLD_ID = "test-region:test-world";
+
+    private final WEditCacheRepository repository = mock(WEditCacheRepository.class);
+    private final BlockUpdateService blockUpdateService = mock(BlockUpdateService.class);
+    private final WEditCacheOverlay overlay = mock(WEditCacheOverlay.class);
+    private final WEditCacheService service = new WEditCacheService(repository, blockUpdateService, overlay);
+    private final WWorld world = WWorld.builder()
+            .worldId(WORLD_ID)
+            .publicData(WorldInfo.builder().chunkSize(16).build())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(blockUpdateService.sendBlockUpdatesWithSource(anyString(), anyString(), anyList(), anyString(), any()))
+                .thenReturn(1);
+        when(repository.findByWorldIdAndLayerDataIdAndChunk(WORLD_ID, "layer", "0:0")).thenReturn(List.of(
+                WEditCache.builder()
+                        .worldId(WORLD_ID)
+                        .layerDataId("layer")
+                        .x(1).y(2).z(3)
+                        .chunk("0:0")
+                        .block(LayerBlock.builder().block(block(1, 2, 3, "stone")).build())
+                        .build()));
+    }
+
+    private static Block block(int x, int y, int z, String type) {
+        return Block.builder()
+                .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                .blockTypeId(type)
+                .build();
+    }
+
+    private static WEditCacheBatch.Operation delete(int x, int y, int z) {
+        return new WEditCacheBatch.Operation("layer", null, x, y, z, null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deletionsOfMissingBlocksAreNotSent() {
+        int messages = service.doApplyAndSendBlocks(world, List.of(
+                delete(1, 2, 3),
+                delete(4, 5, 6),
+                new WEditCacheBatch.Operation("layer", null, 7, 8, 9,
+                        LayerBlock.builder().block(block(7, 8, 9, "dirt")).build())));
+
+        assertEquals(2, messages);
+        ArgumentCaptor<Collection<WEditCacheOverlay.Change>> changes = ArgumentCaptor.forClass(Collection.class);
+        verify(overlay).apply(eq(WORLD_ID), changes.capture());
+        assertEquals(2, changes.getValue().size());
+
+        ArgumentCaptor<List<Block>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(blockUpdateService).sendBlockUpdatesWithSource(eq(WORLD_ID), eq(""), deleted.capture(), eq("layer:delete"), any());
+        assertEquals(1, deleted.getValue().size());
+        assertEquals(1, deleted.getValue().get(0).getPosition().getX());
+        verify(blockUpdateService).sendBlockUpdatesWithSource(eq(WORLD_ID), eq(""), anyList(), eq("layer:"), any());
+    }
+
+    @Test
+    void onlyMissingDeletionsChangeNothing() {
+        assertEquals(0, service.doApplyAndSendBlocks(world, List.of(delete(4, 5, 6), delete(5, 5, 6))));
+
+        verify(overlay, never()).apply(anyString(), any());
+        verify(blockUpdateService, never()).sendBlockUpdatesWithSource(anyString(), anyString(), anyList(), anyString(), any());
+    }
+}
@@ -0,0 +1,212 @@
+package de.mhus.nimbus.world.shared.layer;
+
+import de.mhus.nimbus.generated.types.Block;
+import de.mhus.nimbus.generated.types.Vector3Int;
+import de.mhus.nimbus.world.shared.world.WWorld;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WEditJournalServiceTest {
+
+    private static final String WORLD_ID = "test-region:test-world";
+    private static final String SESSION = "session";
+    private static final String LAYER = "layer-data";
+
+    private final WEditJournalRepository journalRepository = mock(WEditJournalRepository.class);
+    private final WEditJournalPartRepository partRepository = mock(WEditJournalPartRepository.class);
+    private final WEditCacheService editCacheService = mock(WEditCacheService.class);
+    private final List<WEditJournal> entries = new ArrayList<>();
+    private final List<WEditJournalPart> parts = new ArrayList<>();
+    private final List<WEditCacheBatch.Operation> applied = new ArrayList<>();
+    private final AtomicBoolean concurrentAppend = new AtomicBoolean();
+    private final WWorld world = WWorld.builder().worldId(WORLD_ID).build();
+    private WEditJournalService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        service = new WEditJournalService(journalRepository, partRepository, editCacheService);
+        ReflectionTestUtils.setField(service, "maxMemoryBlocks", 2);
+
+        when(journalRepository.insert(any(WEditJournal.class))).thenAnswer(invocation -> {
+            WEditJournal entry = invocation.getArgument(0);
+            // Unique index on worldId, sessionId, sequence
+            if (entries.stream().anyMatch(e -> e.getSequence() == entry.getSequence())) {
+                throw new DuplicateKeyException("sequence " + entry.getSequence());
+            }
+            entries.add(entry);
+            return entry;
+        });
+        when(journalRepository.findByWorldIdAndSessionIdOrderBySequenceAsc(WORLD_ID, SESSION)).thenAnswer(invocation ->
+                entries.stream().sorted(Comparator.comparingLong(WEditJournal::getSequence)).toList());
+        when(journalRepository.findFirstByWorldIdAndSessionIdOrderBySequenceDesc(WORLD_ID, SESSION)).thenAnswer(invocation -> {
+            Optional<WEditJournal> last = entries.stream().max(Comparator.comparingLong(WEditJournal::getSequence));
+            if (concurrentAppend.getAndSet(false)) {
+                // Another pod appends between the lookup and the insert
+                entries.add(WEditJournal.builder()
+                        .worldId(WORLD_ID)
+                        .sessionId(SESSION)
+                        .kind(WEditJournal.Kind.OPERATION)
+                        .operationId("other")
+                        .sequence(last.map(WEditJournal::getSequence).orElse(0L) + 1)
+                        .build());
+            }
+            return last;
+        });
+        when(journalRepository.findFirstByOperationIdAndKind(anyString(), any())).thenAnswer(invocation ->
+                entries.stream()
+                        .filter(e -> e.getOperationId().equals(invocation.getArgument(0)) && e.getKind() == invocation.getArgument(1))
+                        .findFirst());
+        when(journalRepository.findByWorldIdAndLayerDataIdsContaining(WORLD_ID, LAYER)).thenAnswer(invocation ->
+                entries.stream().filter(e -> e.getLayerDataIds().contains(LAYER)).toList());
+        when(partRepository.save(any())).thenAnswer(invocation -> {
+            parts.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(partRepository.findFirstByOperationIdAndPart(anyString(), anyInt())).thenAnswer(invocation ->
+                parts.stream()
+                        .filter(p -> p.getOperationId().equals(invocation.getArgument(0)) && p.getPart() == invocation.<Integer>getArgument(1))
+                        .findFirst());
+        doAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            entries.removeIf(e -> ids.contains(e.getOperationId()));
+            return null;
+        }).when(journalRepository).deleteByOperationIdIn(any());
+        doAnswer(invocation -> {
+            Collection<String> ids = invocation.getArgument(0);
+            parts.removeIf(p -> ids.contains(p.getOperationId()));
+            return null;
+        }).when(partRepository).deleteByOperationIdIn(any());
+
+        when(editCacheService.openBatch(world)).thenAnswer(invocation -> new WEditCacheBatch(editCacheService, world, null));
+        when(editCacheService.doApplyAndSendBlocks(any(), any(), isNull())).thenAnswer(invocation -> {
+            applied.addAll(invocation.getArgument(1, Collection.class));
+            return 1;
+        });
+    }
+
+    private static LayerBlock block(int x, int y, int z, String type) {
+        return LayerBlock.builder()
+                .block(Block.builder()
+                        .position(Vector3Int.builder().x(x).y(y).z(z).build())
+                        .blockTypeId(type)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Operation: (1,0,0) absent -> "b" (set twice), (2,0,0) "a" -> absent, (3,0,0) absent -> "c".
+     */
+    private WEditJournalRecording recordOperation(String title) {
+        WEditJournalRecording recording = service.begin(WORLD_ID, SESSION, title);
+        recording.record(LAYER, null, 1, 0, 0, null, block(1, 0, 0, "a"));
+        recording.record(LAYER, null, 1, 0, 0, block(1, 0, 0, "a"), block(1, 0, 0, "b"));
+        recording.record(LAYER, null, 2, 0, 0, block(2, 0, 0, "a"), null);
+        recording.record(LAYER, null, 3, 0, 0, null, block(3, 0, 0, "c"));
+        recording.close();
+        return recording;
+    }
+
+    @Test
+    void recordingSpillsPartsAndKeepsFirstBeforeState() {
+        WEditJournalRecording recording = recordOperation("fill");
+
+        // Memory cap of two positions, the third position is a second part
+        assertEquals(2, parts.size());
+        assertEquals(3, recording.getBlocks());
+        List<LayerBlock> before = parts.get(0).getBefore().decode();
+        List<LayerBlock> after = parts.get(0).getAfter().decode();
+        assertTrue(WEditJournalRecording.isAbsent(before.get(0)));
+        assertEquals(1, before.get(0).getBlock().getPosition().getX());
+        assertEquals("b", after.get(0).getBlock().getBlockTypeId());
+        assertEquals("a", before.get(1).getBlock().getBlockTypeId());
+        assertTrue(WEditJournalRecording.isAbsent(after.get(1)));
+
+        assertEquals(1, entries.size());
+        WEditJournal operation = entries.get(0);
+        assertEquals(WEditJournal.Kind.OPERATION, operation.getKind());
+        assertEquals(2, operation.getParts());
+        assertEquals(List.of(LAYER), operation.getLayerDataIds());
+    }
+
+    @Test
+    void undoAndRedoApplyStoredStates() {
+        recordOperation("fill");
+
+        Optional<WEditJournal> undone = service.undo(world, SESSION);
+        assertTrue(undone.isPresent());
+        assertEquals("fill", undone.get().getTitle());
+        assertEquals(3, applied.size());
+        assertTrue(applied.stream().filter(o -> o.x() == 1).findFirst().orElseThrow().isDelete());
+        assertEquals("a", applied.stream().filter(o -> o.x() == 2).findFirst().orElseThrow().block().getBlock().getBlockTypeId());
+        assertTrue(applied.stream().filter(o -> o.x() == 3).findFirst().orElseThrow().isDelete());
+        assertTrue(service.undo(world, SESSION).isEmpty());
+
+        applied.clear();
+        assertTrue(service.redo(world, SESSION).isPresent());
+        assertEquals("b", applied.stream().filter(o -> o.x() == 1).findFirst().orElseThrow().block().getBlock().getBlockTypeId());
+        assertTrue(applied.stream().filter(o -> o.x() == 2).findFirst().orElseThrow().isDelete());
+        assertTrue(service.redo(world, SESSION).isEmpty());
+        assertEquals(1, service.findUndoable(WORLD_ID, SESSION).size());
+    }
+
+    @Test
+    void newOperationDropsUndoneOperations() {
+        WEditJournalRecording first = recordOperation("first");
+        service.undo(world, SESSION);
+        recordOperation("second");
+
+        assertTrue(entries.stream().noneMatch(e -> e.getOperationId().equals(first.getOperationId())));
+        assertTrue(parts.stream().noneMatch(p -> p.getOperationId().equals(first.getOperationId())));
+        assertTrue(service.redo(world, SESSION).isEmpty());
+        assertEquals("second", service.findUndoable(WORLD_ID, SESSION).get(0).getTitle());
+    }
+
+    @Test
+    void dropLayerDeletesOperations() {
+        recordOperation("fill");
+
+        service.dropLayer(WORLD_ID, LAYER);
+
+        assertTrue(entries.isEmpty());
+        assertTrue(parts.isEmpty());
+        assertTrue(service.undo(world, SESSION).isEmpty());
+    }
+
+    @Test
+    void concurrentAppendTakesNextSequence() {
+        recordOperation("first");
+        concurrentAppend.set(true);
+        WEditJournalRecording second = recordOperation("second");
+
+        assertEquals(3, entries.size());
+        assertEquals(3, entries.stream().mapToLong(WEditJournal::getSequence).distinct().count());
+        assertEquals(3, service.findUndoable(WORLD_ID, SESSION).size());
+        assertEquals(second.getOperationId(), service.findUndoable(WORLD_ID, SESSION).get(0).getOperationId());
+    }
+
+    @Test
+    void noRecordingWithoutSession() {
+        assertNull(service.begin(WORLD_ID, null, "fill"));
+        ReflectionTestUtils.setField(service, "enabled", false);
+        assertNull(service.begin(WORLD_ID, SESSION, "fill"));
+    }
+}
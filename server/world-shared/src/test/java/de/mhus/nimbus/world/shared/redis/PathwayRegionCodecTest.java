@@ -0,0 +1,85 @@
+package de.mhus.nimbus.world.shared.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.mhus.nimbus.generated.types.ENTITY_POSES;
+import de.mhus.nimbus.generated.types.EntityPathway;
+import de.mhus.nimbus.generated.types.Rotation;
+import de.mhus.nimbus.generated.types.Vector3;
+import de.mhus.nimbus.generated.types.Waypoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathwayRegionCodecTest {
+
+    @Test
+    void roundTripKeepsPathway() throws Exception {
+        long now = 1_700_000_000_000L;
+        EntityPathway pathway = EntityPathway.builder()
+                .entityId("cow1")
+                .startAt(now)
+                .queryAt(now)
+                .isLooping(false)
+                .idlePose(ENTITY_POSES.IDLE)
+                .waypoints(List.of(
+                        waypoint(now, 100.5, 64.0, -200.25, ENTITY_POSES.WALK,
+                                Rotation.builder().y(90.5).p(-12.25).build()),
+                        waypoint(now + 1500, 101.75, 64.0, -201.0, ENTITY_POSES.WALK,
+                                Rotation.builder().y(180.0).p(5.0).r(-30.75).build()),
+                        waypoint(now + 4500, 101.75, 65.0, -201.0, ENTITY_POSES.IDLE, null)))
+                .build();
+
+        PathwayRegionMessage message = PathwayRegionMessage.builder()
+                .baseTime(now)
+                .pathways(List.of(PathwayRegionCodec.encode(pathway, null, new int[] {6, -13}, now)))
+                .build();
+
+        ObjectMapper mapper = new ObjectMapper();
+        String json = mapper.writeValueAsString(message);
+        PathwayRegionMessage parsed = mapper.readValue(json, PathwayRegionMessage.class);
+        EntityPathway decoded = PathwayRegionCodec.decode(parsed.getPathways().get(0), parsed.getBaseTime());
+
+        assertEquals("cow1", decoded.getEntityId());
+        assertEquals(now, decoded.getStartAt());
+        assertEquals(ENTITY_POSES.IDLE, decoded.getIdlePose());
+        assertArrayEquals(new int[] {6, -13}, parsed.getPathways().get(0).getChunks());
+        assertEquals(3, decoded.getWaypoints().size());
+        for (int i = 0; i < 3; i++) {
+            Waypoint expected = pathway.getWaypoints().get(i);
+            Waypoint actual = decoded.getWaypoints().get(i);
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+            assertEquals(expected.getTarget().getX(), actual.getTarget().getX(), 0.005);
+            assertEquals(expected.getTarget().getY(), actual.getTarget().getY(), 0.005);
+            assertEquals(expected.getTarget().getZ(), actual.getTarget().getZ(), 0.005);
+            assertEquals(expected.getPose(), actual.getPose());
+        }
+
+        Rotation yawPitch = decoded.getWaypoints().get(0).getRotation();
+        assertEquals(90.5, yawPitch.getY(), 0.005);
+        assertEquals(-12.25, yawPitch.getP(), 0.005);
+        assertNull(yawPitch.getR());
+        Rotation withRoll = decoded.getWaypoints().get(1).getRotation();
+        assertEquals(180.0, withRoll.getY(), 0.005);
+        assertEquals(5.0, withRoll.getP(), 0.005);
+        assertEquals(-30.75, withRoll.getR(), 0.005);
+        assertNull(decoded.getWaypoints().get(2).getRotation());
+    }
+
+    @Test
+    void regionOfNegativeChunks() {
+        assertEquals(new PathwayRegion(0, 0), PathwayRegion.ofChunk(7, 0));
+        assertEquals(new PathwayRegion(-1, -2), PathwayRegion.ofChunk(-1, -9));
+        assertEquals("e.p.r.-1.-2", PathwayRegion.ofChunk(-1, -9).channel());
+    }
+
+    private Waypoint waypoint(long timestamp, double x, double y, double z, ENTITY_POSES pose, Rotation rotation) {
+        return Waypoint.builder()
+                .timestamp(timestamp)
+                .target(Vector3.builder().x(x).y(y).z(z).build())
+                .rotation(rotation)
+                .pose(pose)
+                .build();
+    }
+}
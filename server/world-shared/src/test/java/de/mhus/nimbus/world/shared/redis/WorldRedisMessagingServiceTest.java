@@ -31,4 +31,13 @@ class WorldRedisMessagingServiceTest {
         svc.unsubscribe("w1","updates");
         Mockito.verify(container).removeMessageListener(any(MessageListener.class), eq(ChannelTopic.of("world:w1:updates")));
     }
+
+    @Test
+    void worldIdOfTopic() {
+        assertEquals("w1", WorldRedisMessagingService.worldIdOf("world:w1:m.i"));
+        assertEquals("region:world", WorldRedisMessagingService.worldIdOf("world:region:world:m.i"));
+        assertNull(WorldRedisMessagingService.worldIdOf("world:m.i"));
+        assertNull(WorldRedisMessagingService.worldIdOf("world::m.i"));
+        assertNull(WorldRedisMessagingService.worldIdOf(null));
+    }
 }
@@ -0,0 +1,76 @@
+package de.mhus.nimbus.world.shared.session;
+
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class WSessionCacheTest {
+
+    private final WSessionService sessionService = Mockito.mock(WSessionService.class);
+    private final WorldRedisMessagingService messaging = Mockito.mock(WorldRedisMessagingService.class);
+    private WSessionCache cache;
+    private BiConsumer<String, String> invalidationHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cache = new WSessionCache(sessionService, messaging);
+        cache.initialize();
+        ArgumentCaptor<BiConsumer<String, String>> handler = ArgumentCaptor.forClass(BiConsumer.class);
+        Mockito.verify(messaging).subscribeToAllWorlds(eq(WSessionCache.INVALIDATION_CHANNEL), handler.capture());
+        invalidationHandler = handler.getValue();
+    }
+
+    private static WSession session(String id, WSessionStatus status, Instant expireAt) {
+        return WSession.builder()
+                .id(id)
+                .status(status)
+                .worldId("r1:w1")
+                .playerId("@u1:c1")
+                .expireAt(expireAt)
+                .build();
+    }
+
+    @Test
+    void sessionIsLoadedOnceUntilInvalidated() {
+        Mockito.when(sessionService.get("s1"))
+                .thenReturn(Optional.of(session("s1", WSessionStatus.RUNNING, Instant.now().plusSeconds(600))))
+                .thenReturn(Optional.of(session("s1", WSessionStatus.CLOSED, Instant.now().plusSeconds(600))));
+
+        assertEquals(WSessionStatus.RUNNING, cache.get("s1").orElseThrow().getStatus());
+        assertEquals(WSessionStatus.RUNNING, cache.get("s1").orElseThrow().getStatus());
+        Mockito.verify(sessionService, Mockito.times(1)).get("s1");
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        invalidationHandler.accept("world:r1:w1:s.i", "s1");
+
+        assertEquals(WSessionStatus.CLOSED, cache.get("s1").orElseThrow().getStatus());
+        Mockito.verify(sessionService, Mockito.times(2)).get("s1");
+    }
+
+    @Test
+    void missingAndExpiredSessionsAreEmpty() {
+        Mockito.when(sessionService.get("missing")).thenReturn(Optional.empty());
+        Mockito.when(sessionService.get("expired"))
+                .thenReturn(Optional.of(session("expired", WSessionStatus.RUNNING, Instant.now().minusSeconds(1))));
+
+        assertTrue(cache.get("missing").isEmpty());
+        assertTrue(cache.get("missing").isEmpty());
+        assertTrue(cache.get("expired").isEmpty());
+        assertTrue(cache.get(null).isEmpty());
+        Mockito.verify(sessionService, Mockito.times(1)).get("missing");
+        Mockito.verify(sessionService, Mockito.never()).get(null);
+        Mockito.verify(sessionService, Mockito.times(2)).get(any());
+    }
+}
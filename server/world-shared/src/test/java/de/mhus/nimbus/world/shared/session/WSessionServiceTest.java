@@ -3,6 +3,7 @@ package de.mhus.nimbus.world.shared.session;
 import de.mhus.nimbus.shared.engine.EngineMapper;
 import de.mhus.nimbus.shared.types.PlayerId;
 import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.data.redis.core.HashOperations;
@@ -38,7 +39,9 @@ class WSessionServiceTest {
                 "expire", Instant.now().plusSeconds(300).toString()
         ));
         Mockito.when(template.delete(anyString())).thenReturn(true);
-        WSessionService svc = new WSessionService(template, props, new EngineMapper());
+        Mockito.when(hashOps.get(Mockito.matches("wsession.*"), Mockito.eq("world"))).thenReturn("r1:w1");
+        WorldRedisMessagingService messaging = Mockito.mock(WorldRedisMessagingService.class);
+        WSessionService svc = new WSessionService(template, props, new EngineMapper(), messaging);
         WSession session = svc.create(WorldId.of("r1:w1").get(), PlayerId.of("u1:c1").get(), "PLAYER");
         assertNotNull(session.getId());
         assertEquals(60, session.getId().length());
@@ -52,6 +55,8 @@ class WSessionServiceTest {
         Optional<WSession> deprecated = svc.updateStatus(session.getId(), WSessionStatus.CLOSED);
         assertTrue(deprecated.isPresent());
         assertTrue(svc.delete(session.getId()));
+        // create, two status updates and delete drop the cached session
+        Mockito.verify(messaging, Mockito.times(4)).publish("r1:w1", WSessionCache.INVALIDATION_CHANNEL, session.getId());
     }
 
     @Test
@@ -74,7 +79,7 @@ class WSessionServiceTest {
         Mockito.when(template.keys("wsession:session:*")).thenReturn(java.util.Set.of("wsession:session:expiredKey","wsession:session:validKey"));
         // Mock getConnectionFactory to return null, so fallback logic is used
         Mockito.when(template.getConnectionFactory()).thenReturn(null);
-        WSessionService svc = new WSessionService(template, props, new EngineMapper());
+        WSessionService svc = new WSessionService(template, props, new EngineMapper(), Mockito.mock(WorldRedisMessagingService.class));
         var result = svc.cleanupExpired("0");
         assertEquals(1, result.deleted());
         Mockito.verify(template).delete("wsession:session:expiredKey");
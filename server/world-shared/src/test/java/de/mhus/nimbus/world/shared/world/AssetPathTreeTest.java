@@ -0,0 +1,83 @@
+package de.mhus.nimbus.world.shared.world;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetPathTreeTest {
+
+    private static AssetPathTree tree() {
+        AssetPathTree tree = new AssetPathTree();
+        tree.add("textures/block/stone.png", "a1");
+        tree.add("textures/block/dirt.png", "a2");
+        tree.add("textures/sky.png", "a3");
+        tree.add("textures-old/grass.png", "a4");
+        tree.add("readme.txt", "a5");
+        return tree;
+    }
+
+    @Test
+    void foldersCountDirectAndTotalAssets() {
+        List<FolderInfo> folders = tree().getFolders(null);
+
+        assertEquals(List.of("textures", "textures-old", "textures/block"),
+                folders.stream().map(FolderInfo::path).toList());
+        FolderInfo textures = folders.get(0);
+        assertEquals(1, textures.assetCount());
+        assertEquals(3, textures.totalAssetCount());
+        assertEquals(1, textures.subfolderCount());
+        assertEquals("", textures.parentPath());
+        FolderInfo block = folders.get(2);
+        assertEquals("block", block.name());
+        assertEquals("textures", block.parentPath());
+        assertEquals(2, block.assetCount());
+
+        assertEquals(List.of("textures", "textures/block"),
+                tree().getFolders("textures").stream().map(FolderInfo::path).toList());
+        assertTrue(tree().getFolders("missing").isEmpty());
+    }
+
+    @Test
+    void removeDropsEmptyFolders() {
+        AssetPathTree tree = tree();
+
+        tree.remove("textures/block/stone.png", "other");
+        assertEquals("a1", tree.getAssetId("textures/block/stone.png"));
+
+        tree.remove("textures/block/stone.png", "a1");
+        tree.remove("textures/block/dirt.png", null);
+
+        assertNull(tree.getAssetId("textures/block/stone.png"));
+        assertEquals(List.of("textures", "textures-old"),
+                tree.getFolders(null).stream().map(FolderInfo::path).toList());
+        assertEquals(1, tree.getFolders("textures").get(0).totalAssetCount());
+    }
+
+    @Test
+    void findByPrefixMatchesFolderOnly() {
+        Map<String, String> assets = tree().findByPrefix("textures");
+
+        assertEquals(List.of("textures/block/dirt.png", "textures/block/stone.png", "textures/sky.png"),
+                List.copyOf(assets.keySet()));
+        assertEquals("a3", assets.get("textures/sky.png"));
+    }
+
+    @Test
+    void duplicatePathsAreAmbiguousUntilPut() {
+        AssetPathTree tree = tree();
+        tree.add("textures/sky.png", "a6");
+
+        assertTrue(tree.isAmbiguous("textures/sky.png"));
+        assertEquals(5, tree.size());
+        tree.remove("textures/sky.png", "a3");
+        assertTrue(tree.isAmbiguous("textures/sky.png"));
+
+        tree.put("textures/sky.png", "a6");
+        assertFalse(tree.isAmbiguous("textures/sky.png"));
+        assertEquals("a6", tree.getAssetId("textures/sky.png"));
+        assertEquals(3, tree.getFolders("textures").get(0).totalAssetCount());
+    }
+}
@@ -0,0 +1,110 @@
+package de.mhus.nimbus.world.shared.world;
+
+import de.mhus.nimbus.generated.types.HexVector2;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HexChunkTableTest {
+
+    private static String key(HexVector2 hex) {
+        return hex.getQ() + ";" + hex.getR();
+    }
+
+    @Test
+    void lookupsMatchHexMath() {
+        for (int[] sizes : new int[][]{{400, 32}, {90, 16}, {40, 32}}) {
+            int hexSize = sizes[0];
+            int chunkSize = sizes[1];
+            HexChunkTable table = new HexChunkTable(hexSize, chunkSize);
+
+            // Crosses page borders in both directions, including negative coordinates
+            for (int cz = -40; cz <= 40; cz += 3) {
+                for (int cx = -40; cx <= 40; cx += 3) {
+                    HexVector2 expected = HexMathUtil.getDominantHexForChunk(hexSize, chunkSize, cx, cz);
+                    assertThat(key(table.getDominantHexVector(cx, cz)))
+                            .as("dominant %d:%d size %d/%d", cx, cz, hexSize, chunkSize)
+                            .isEqualTo(key(expected));
+
+                    HexVector2[] expectedHexes = HexMathUtil.getHexesForChunk(hexSize, chunkSize, cx, cz);
+                    HexVector2[] hexes = table.getHexVectors(cx, cz);
+                    assertThat(hexes).hasSameSizeAs(expectedHexes);
+                    for (int i = 0; i < hexes.length; i++) {
+                        assertThat(key(hexes[i])).isEqualTo(key(expectedHexes[i]));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void dominantChunksAreInverseOfDominantHex() {
+        int hexSize = 90;
+        int chunkSize = 16;
+        HexChunkTable table = new HexChunkTable(hexSize, chunkSize);
+
+        Set<String> all = new HashSet<>();
+        for (int q = -3; q <= 3; q++) {
+            for (int r = -3; r <= 3; r++) {
+                for (String chunkKey : table.getDominantChunkKeys(q, r)) {
+                    String[] parts = chunkKey.split(":");
+                    HexVector2 dominant = table.getDominantHexVector(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                    assertThat(dominant.getQ()).isEqualTo(q);
+                    assertThat(dominant.getR()).isEqualTo(r);
+                    assertThat(all.add(chunkKey)).as("chunk %s in one hex only", chunkKey).isTrue();
+                }
+            }
+        }
+
+        // Every chunk near the origin belongs to one of the hexes around it
+        for (int cz = -3; cz <= 3; cz++) {
+            for (int cx = -3; cx <= 3; cx++) {
+                assertThat(all).contains(cx + ":" + cz);
+            }
+        }
+    }
+
+    @Test
+    void chunksAreInverseOfHexes() {
+        HexChunkTable table = new HexChunkTable(90, 16);
+
+        for (int q = -2; q <= 2; q++) {
+            for (int r = -2; r <= 2; r++) {
+                int hexQ = q;
+                int hexR = r;
+                Set<String> chunkKeys = table.getChunkKeys(q, r);
+                assertThat(chunkKeys).containsAll(table.getDominantChunkKeys(q, r));
+                for (String chunkKey : chunkKeys) {
+                    String[] parts = chunkKey.split(":");
+                    assertThat(table.getHexVectors(Integer.parseInt(parts[0]), Integer.parseInt(parts[1])))
+                            .anySatisfy(hex -> {
+                                assertThat(hex.getQ()).isEqualTo(hexQ);
+                                assertThat(hex.getR()).isEqualTo(hexR);
+                            });
+                }
+            }
+        }
+
+        // Every hex of a chunk near the origin lists the chunk
+        for (int cz = -3; cz <= 3; cz++) {
+            for (int cx = -3; cx <= 3; cx++) {
+                for (HexVector2 hex : table.getHexVectors(cx, cz)) {
+                    assertThat(table.getChunkKeys(hex.getQ(), hex.getR())).contains(cx + ":" + cz);
+                }
+            }
+        }
+    }
+
+    @Test
+    void packKeepsNegativeCoordinates() {
+        long packed = HexChunkTable.pack(-7, 12);
+        assertThat(HexChunkTable.unpackQ(packed)).isEqualTo(-7);
+        assertThat(HexChunkTable.unpackR(packed)).isEqualTo(12);
+        packed = HexChunkTable.pack(5, -1);
+        assertThat(HexChunkTable.unpackQ(packed)).isEqualTo(5);
+        assertThat(HexChunkTable.unpackR(packed)).isEqualTo(-1);
+    }
+}
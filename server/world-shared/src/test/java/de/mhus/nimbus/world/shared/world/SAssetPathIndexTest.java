@@ -0,0 +1,79 @@
+package de.mhus.nimbus.world.shared.world;
+
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SAssetPathIndexTest {
+
+    private static final String WORLD_ID = "test-region:test-world";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final WorldRedisMessagingService redisMessaging = mock(WorldRedisMessagingService.class);
+    private SAssetPathIndex index;
+    private BiConsumer<String, String> invalidationHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        index = new SAssetPathIndex(mongoTemplate, redisMessaging);
+        index.initialize();
+        ArgumentCaptor<BiConsumer<String, String>> handler = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(redisMessaging).subscribeToAllWorlds(eq(SAssetPathIndex.INVALIDATION_CHANNEL), handler.capture());
+        invalidationHandler = handler.getValue();
+
+        when(mongoTemplate.find(any(Query.class), eq(SAsset.class))).thenReturn(List.of(
+                SAsset.builder().id("a1").path("textures/stone.png").build(),
+                SAsset.builder().id("a2").path("textures/dirt.png").build()));
+    }
+
+    private void publish(String message) {
+        invalidationHandler.accept("world:" + WORLD_ID + ":" + SAssetPathIndex.INVALIDATION_CHANNEL, message);
+    }
+
+    @Test
+    void indexIsLoadedOnceAndUpdatedLocally() {
+        assertEquals("a1", index.get(WORLD_ID).getAssetId("textures/stone.png"));
+
+        index.put(WORLD_ID, "textures/sky.png", "a3");
+        index.remove(WORLD_ID, "textures/dirt.png", "a2");
+
+        AssetPathTree tree = index.get(WORLD_ID);
+        assertEquals("a3", tree.getAssetId("textures/sky.png"));
+        assertNull(tree.getAssetId("textures/dirt.png"));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(SAsset.class));
+        verify(redisMessaging, times(2)).publish(eq(WORLD_ID), eq(SAssetPathIndex.INVALIDATION_CHANNEL), anyString());
+    }
+
+    @Test
+    void changesOfOtherPodsDropTheIndex() {
+        index.get(WORLD_ID);
+        ArgumentCaptor<String> ownMessage = ArgumentCaptor.forClass(String.class);
+        index.put(WORLD_ID, "textures/sky.png", "a3");
+        verify(redisMessaging).publish(eq(WORLD_ID), eq(SAssetPathIndex.INVALIDATION_CHANNEL), ownMessage.capture());
+
+        // Own message is ignored, the change is already applied
+        publish(ownMessage.getValue());
+        assertEquals("a3", index.get(WORLD_ID).getAssetId("textures/sky.png"));
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(SAsset.class));
+
+        publish("other-pod");
+        assertNull(index.get(WORLD_ID).getAssetId("textures/sky.png"));
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(SAsset.class));
+    }
+}
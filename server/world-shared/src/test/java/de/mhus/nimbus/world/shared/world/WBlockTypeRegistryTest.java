@@ -0,0 +1,112 @@
+package de.mhus.nimbus.world.shared.world;
+
+import de.mhus.nimbus.generated.types.BlockType;
+import de.mhus.nimbus.shared.types.WorldId;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WBlockTypeRegistryTest {
+
+    private static final String WORLD_ID = "test-region:test-world";
+
+    private final WBlockTypeRepository repository = mock(WBlockTypeRepository.class);
+    private final WorldRedisMessagingService redisMessaging = mock(WorldRedisMessagingService.class);
+    private final List<WBlockType> stored = new ArrayList<>();
+    private WBlockTypeRegistry registry;
+    private BiConsumer<String, String> invalidationHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(repository.findByWorldId(WORLD_ID)).thenAnswer(invocation -> new ArrayList<>(stored));
+        registry = new WBlockTypeRegistry(repository, redisMessaging);
+        registry.initialize();
+        ArgumentCaptor<BiConsumer<String, String>> handler = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(redisMessaging).subscribeToAllWorlds(eq(WBlockTypeRegistry.INVALIDATION_CHANNEL), handler.capture());
+        invalidationHandler = handler.getValue();
+    }
+
+    private static WBlockType blockType(String blockId, boolean enabled, long updatedAt) {
+        return WBlockType.builder()
+                .worldId(WORLD_ID)
+                .blockId(blockId)
+                .enabled(enabled)
+                .updatedAt(Instant.ofEpochMilli(updatedAt))
+                .publicData(BlockType.builder().id(blockId).build())
+                .build();
+    }
+
+    private static WorldId world() {
+        return WorldId.of(WORLD_ID).orElseThrow();
+    }
+
+    private void publish() {
+        invalidationHandler.accept("world:" + WORLD_ID + ":" + WBlockTypeRegistry.INVALIDATION_CHANNEL, WORLD_ID);
+    }
+
+    @Test
+    void blockTypesAreLoadedOncePerCollection() {
+        stored.add(blockType("stone", true, 1));
+        stored.add(blockType("grass", true, 1));
+
+        assertEquals("stone", registry.findByBlockId(world(), "stone").orElseThrow().getBlockId());
+        assertEquals("grass", registry.findByBlockId(world(), "w:grass").orElseThrow().getBlockId());
+        assertTrue(registry.findByBlockId(world(), "missing").isEmpty());
+
+        verify(repository, times(1)).findByWorldId(WORLD_ID);
+    }
+
+    @Test
+    void numericIdsStayStableOverRefresh() {
+        stored.add(blockType("stone", true, 1));
+        stored.add(blockType("grass", true, 1));
+        int grass = registry.getNumericId(world(), "grass");
+        int stone = registry.getNumericId(world(), "stone");
+        assertNotEquals(0, grass);
+        assertNotEquals(grass, stone);
+        assertEquals(0, registry.getNumericId(world(), "missing"));
+
+        stored.add(blockType("dirt", true, 1));
+        publish();
+
+        assertEquals(grass, registry.getNumericId(world(), "grass"));
+        assertEquals(stone, registry.getNumericId(world(), "stone"));
+        int dirt = registry.getNumericId(world(), "dirt");
+        assertEquals(3, dirt);
+        var snapshot = registry.getSnapshot(world());
+        assertEquals("dirt", snapshot.getByNumericId(dirt).getBlockId());
+        assertNull(snapshot.getByNumericId(99));
+        verify(repository, times(2)).findByWorldId(WORLD_ID);
+    }
+
+    @Test
+    void etagChangesWithEnabledBlockTypes() {
+        stored.add(blockType("stone", true, 1));
+        stored.add(blockType("hidden", false, 1));
+        var snapshot = registry.getSnapshot(world());
+        String etag = snapshot.getEtag();
+        assertEquals(1, snapshot.getEnabledPublicData().size());
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+
+        publish();
+        assertEquals(etag, registry.getSnapshot(world()).getEtag());
+
+        stored.set(0, blockType("stone", true, 2));
+        publish();
+        assertNotEquals(etag, registry.getSnapshot(world()).getEtag());
+    }
+}
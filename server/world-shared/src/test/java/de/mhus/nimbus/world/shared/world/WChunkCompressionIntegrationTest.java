@@ -26,6 +26,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
@@ -52,7 +53,10 @@ class WChunkCompressionIntegrationTest {
     private StorageService storageService;
 
     @MockBean
-    private WWorldService worldService;
+    private WorldMetadataCache metadataCache;
+
+    @MockBean
+    private WHexGridService hexGridService;
 
     @MockBean
     private WItemPositionService itemRegistryService;
@@ -78,10 +82,13 @@ class WChunkCompressionIntegrationTest {
                                 .build()
                 )
                 .build();
-        lenient().when(worldService.getByWorldId("test-region:test-world"))
+        lenient().when(metadataCache.getWorld("test-region:test-world"))
                 .thenReturn(Optional.of(world));
-        lenient().when(worldService.getByWorldId(any(WorldId.class)))
+        lenient().when(metadataCache.getWorld(any(WorldId.class)))
                 .thenReturn(Optional.of(world));
+        lenient().when(hexGridService.getDominantHexForChunk(any(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> HexMathUtil.getDominantHexForChunk(
+                        world, invocation.getArgument(1), invocation.getArgument(2)));
 
 
         // Given: Test chunk data
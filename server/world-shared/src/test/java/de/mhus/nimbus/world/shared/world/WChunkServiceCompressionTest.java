@@ -45,7 +45,10 @@ class WChunkServiceCompressionTest {
     private StorageService storageService;
 
     @Mock
-    private WWorldService worldService;
+    private WorldMetadataCache metadataCache;
+
+    @Mock
+    private WHexGridService hexGridService;
 
     @Mock
     private WItemPositionService itemRegistryService;
@@ -72,10 +75,13 @@ class WChunkServiceCompressionTest {
                                 .build()
                 )
                 .build();
-        lenient().when(worldService.getByWorldId("test-region:test-world"))
+        lenient().when(metadataCache.getWorld("test-region:test-world"))
                 .thenReturn(Optional.of(world));
-        lenient().when(worldService.getByWorldId(any(WorldId.class)))
+        lenient().when(metadataCache.getWorld(any(WorldId.class)))
                 .thenReturn(Optional.of(world));
+        lenient().when(hexGridService.getDominantHexForChunk(any(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> HexMathUtil.getDominantHexForChunk(
+                        world, invocation.getArgument(1), invocation.getArgument(2)));
     }
 
     @Test
@@ -0,0 +1,117 @@
+package de.mhus.nimbus.world.shared.world;
+
+import de.mhus.nimbus.generated.types.HexVector2;
+import de.mhus.nimbus.world.shared.redis.WorldRedisMessagingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorldMetadataCacheTest {
+
+    private static final String WORLD_ID = "test-region:test-world";
+
+    private final WWorldService worldService = mock(WWorldService.class);
+    private final WHexGridService hexGridService = mock(WHexGridService.class);
+    private final WorldRedisMessagingService redisMessaging = mock(WorldRedisMessagingService.class);
+    private WorldMetadataCache cache;
+    private BiConsumer<String, String> invalidationHandler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cache = new WorldMetadataCache(worldService, hexGridService, redisMessaging);
+        cache.initialize();
+        ArgumentCaptor<BiConsumer<String, String>> handler = ArgumentCaptor.forClass(BiConsumer.class);
+        verify(redisMessaging).subscribeToAllWorlds(eq(WorldMetadataCache.INVALIDATION_CHANNEL), handler.capture());
+        invalidationHandler = handler.getValue();
+    }
+
+    private static HexVector2 hex(int q, int r) {
+        return HexVector2.builder().q(q).r(r).build();
+    }
+
+    private void publish(String worldId, String message) {
+        invalidationHandler.accept("world:" + worldId + ":" + WorldMetadataCache.INVALIDATION_CHANNEL, message);
+    }
+
+    @Test
+    void worldIsLoadedOnceUntilInvalidated() {
+        WWorld world = WWorld.builder().worldId(WORLD_ID).build();
+        when(worldService.getByWorldId(WORLD_ID)).thenReturn(Optional.of(world));
+
+        assertSame(world, cache.getWorld(WORLD_ID).orElseThrow());
+        assertSame(world, cache.getWorld(WORLD_ID).orElseThrow());
+        verify(worldService, times(1)).getByWorldId(WORLD_ID);
+
+        publish(WORLD_ID, WorldMetadataCache.WORLD_MESSAGE);
+        cache.getWorld(WORLD_ID);
+        verify(worldService, times(2)).getByWorldId(WORLD_ID);
+    }
+
+    @Test
+    void worldInvalidationDropsZonesAndInstances() {
+        String zone = WORLD_ID + ":zone";
+        String other = WORLD_ID + "2";
+        when(worldService.getByWorldId(anyString())).thenReturn(Optional.of(new WWorld()));
+
+        cache.getWorld(WORLD_ID);
+        cache.getWorld(zone);
+        cache.getWorld(other);
+        publish(WORLD_ID, WorldMetadataCache.WORLD_MESSAGE);
+        cache.getWorld(WORLD_ID);
+        cache.getWorld(zone);
+        cache.getWorld(other);
+
+        verify(worldService, times(2)).getByWorldId(WORLD_ID);
+        verify(worldService, times(2)).getByWorldId(zone);
+        verify(worldService, times(1)).getByWorldId(other);
+    }
+
+    @Test
+    void missingHexGridIsCachedUntilCreated() {
+        when(hexGridService.findByWorldIdAndPosition(eq(WORLD_ID), any())).thenReturn(Optional.empty());
+
+        assertTrue(cache.getHexGrid(WORLD_ID, hex(1, -2)).isEmpty());
+        assertTrue(cache.getHexGrid(WORLD_ID, hex(1, -2)).isEmpty());
+        assertTrue(cache.getHexGrid(WORLD_ID, hex(0, 0)).isEmpty());
+        verify(hexGridService, times(2)).findByWorldIdAndPosition(eq(WORLD_ID), any());
+
+        WHexGrid grid = WHexGrid.builder().worldId(WORLD_ID).position("1;-2").build();
+        when(hexGridService.findByWorldIdAndPosition(eq(WORLD_ID), any())).thenReturn(Optional.of(grid));
+        publish(WORLD_ID, WorldMetadataCache.HEX_GRID_MESSAGE_PREFIX + "1;-2");
+
+        assertSame(grid, cache.getHexGrid(WORLD_ID, hex(1, -2)).orElseThrow());
+        // Other hex was not invalidated
+        assertTrue(cache.getHexGrid(WORLD_ID, hex(0, 0)).isEmpty());
+    }
+
+    @Test
+    void loadOverlappingInvalidationIsNotCached() {
+        WWorld stale = WWorld.builder().worldId(WORLD_ID).description("stale").build();
+        WWorld fresh = WWorld.builder().worldId(WORLD_ID).description("fresh").build();
+        when(worldService.getByWorldId(WORLD_ID))
+                .thenAnswer(invocation -> {
+                    // The world changes while it is loaded
+                    cache.invalidateWorld(WORLD_ID);
+                    return Optional.of(stale);
+                })
+                .thenReturn(Optional.of(fresh));
+
+        assertSame(stale, cache.getWorld(WORLD_ID).orElseThrow());
+        assertSame(fresh, cache.getWorld(WORLD_ID).orElseThrow());
+        assertSame(fresh, cache.getWorld(WORLD_ID).orElseThrow());
+        verify(worldService, times(2)).getByWorldId(WORLD_ID);
+    }
+}